@@ -0,0 +1,84 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.api.application.slash.autocomplete.AutocompleteAlgorithms;
+import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompleteIndex;
+import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletion over large collections, with the public {@link AutocompleteAlgorithms},
+ * and with the {@link AutocompleteIndex} used by the String autocompletion handlers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutocompleteBenchmark {
+	private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "sha", "to", "vi", "xe", "zu", "bra", "cle"};
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param({"ka", "kalomi"})
+	public String query;
+
+	private List<String> items;
+	private CommandAutoCompleteInteractionEvent event;
+	private AutocompleteIndex index;
+
+	@Setup
+	public void setup() {
+		final SplittableRandom random = new SplittableRandom(42);
+
+		items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			final StringBuilder sb = new StringBuilder();
+
+			final int syllables = 2 + random.nextInt(4);
+			for (int j = 0; j < syllables; j++) {
+				sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+			}
+
+			items.add(sb.append(i).toString());
+		}
+
+		event = Stubs.autocompleteEvent(query);
+		index = AutocompleteIndex.of(items);
+	}
+
+	@Benchmark
+	public List<BoundExtractedResult<String>> algorithmsContinuity() {
+		return AutocompleteAlgorithms.fuzzyMatchingWithContinuity(items, s -> s, event);
+	}
+
+	@Benchmark
+	public List<BoundExtractedResult<String>> algorithmsFuzzy() {
+		return AutocompleteAlgorithms.fuzzyMatching(items, s -> s, event);
+	}
+
+	@Benchmark
+	public List<String> indexContinuity() {
+		return index.findWithContinuity(query, OptionData.MAX_CHOICES);
+	}
+
+	@Benchmark
+	public List<String> indexFuzzy() {
+		return index.findFuzzy(query, OptionData.MAX_CHOICES);
+	}
+
+	@Benchmark
+	@Warmup(iterations = 2, time = 2)
+	@Measurement(iterations = 3, time = 2)
+	public AutocompleteIndex indexBuild() {
+		return AutocompleteIndex.of(items);
+	}
+}
@@ -0,0 +1,77 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.api.CooldownScope;
+import com.freya02.botcommands.internal.CooldownStrategy;
+import com.freya02.botcommands.internal.Cooldownable;
+import com.freya02.botcommands.internal.cooldown.CooldownStore;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooldown checks and updates from many threads at once, on a single command
+ * <br>Each operation picks a random user out of a fixed set of interactions, most operations only check the cooldown
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class CooldownContentionBenchmark {
+	private static final int USERS = 4096;
+
+	@Param({"USER", "GUILD", "CHANNEL"})
+	public CooldownScope scope;
+
+	private Cooldownable cooldownable;
+	private Interaction[] interactions;
+
+	@Setup
+	public void setup() {
+		cooldownable = new Cooldownable(new CooldownStore(), "benchmark", new CooldownStrategy(5, TimeUnit.SECONDS, scope)) {};
+
+		final Guild[] guilds = {Stubs.guild(1), Stubs.guild(2), Stubs.guild(3), Stubs.guild(4)};
+		final MessageChannel[] channels = {Stubs.channel(10), Stubs.channel(11), Stubs.channel(12), Stubs.channel(13)};
+
+		interactions = new Interaction[USERS];
+		for (int i = 0; i < USERS; i++) {
+			interactions[i] = Stubs.interaction(guilds[i % guilds.length], Stubs.user(100 + i), channels[i % channels.length]);
+		}
+	}
+
+	private Interaction randomInteraction() {
+		return interactions[ThreadLocalRandom.current().nextInt(USERS)];
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(7)
+	public long check() {
+		return cooldownable.getCooldown(randomInteraction(), () -> "bench");
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public void apply() {
+		cooldownable.applyCooldown(randomInteraction());
+	}
+
+	@Benchmark
+	public long checkAndApply() {
+		final Interaction interaction = randomInteraction();
+
+		final long cooldown = cooldownable.getCooldown(interaction, () -> "bench");
+		if (cooldown == 0) {
+			cooldownable.applyCooldown(interaction);
+		}
+
+		return cooldown;
+	}
+}
@@ -0,0 +1,46 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.api.localization.DefaultLocalizationTemplate;
+import com.freya02.botcommands.api.localization.Localization;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static com.freya02.botcommands.api.localization.Localization.Entry.entry;
+
+/**
+ * Formatting of localization templates, with raw strings, Java format specifiers and {@link java.text.MessageFormat} choices
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalizationTemplateBenchmark {
+	private final DefaultLocalizationTemplate rawTemplate = new DefaultLocalizationTemplate("You cannot use this command", Locale.US);
+	private final DefaultLocalizationTemplate javaFormatTemplate = new DefaultLocalizationTemplate("You must wait {time:%.2f} seconds before using {command}", Locale.US);
+	private final DefaultLocalizationTemplate messageFormatTemplate = new DefaultLocalizationTemplate(
+			"There are {user_amount} {user_amount, choice, 0#users|1#user|2<users} and my up-time is {uptime, number} seconds",
+			Locale.US
+	);
+
+	private final Localization.Entry[] javaFormatArgs = {entry("time", 4.5), entry("command", "ban")};
+	private final Localization.Entry[] messageFormatArgs = {entry("user_amount", 42), entry("uptime", 123456)};
+
+	@Benchmark
+	public String raw() {
+		return rawTemplate.localize();
+	}
+
+	@Benchmark
+	public String javaFormat() {
+		return javaFormatTemplate.localize(javaFormatArgs);
+	}
+
+	@Benchmark
+	public String messageFormat() {
+		return messageFormatTemplate.localize(messageFormatArgs);
+	}
+}
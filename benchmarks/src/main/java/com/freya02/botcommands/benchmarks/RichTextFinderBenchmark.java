@@ -0,0 +1,33 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.api.utils.RichTextFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detection of mentions, emojis and URLs in message contents, as done for rich text arguments
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RichTextFinderBenchmark {
+	@Param({
+			"hello there, how are you doing today?",
+			"<@222078108977594368> check <#722891685755093076> :joy: 😂 <:kekw:798258429385457684> @here https://github.com/freya022/BotCommands"
+	})
+	public String input;
+
+	@Benchmark
+	public int findAll() {
+		return new RichTextFinder(input, true, true, true, true).getResults().size();
+	}
+
+	@Benchmark
+	public int findMentionsOnly() {
+		return new RichTextFinder(input, true, false, false, false).getResults().size();
+	}
+}
@@ -0,0 +1,85 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.api.parameters.SlashParameterResolver;
+import com.freya02.botcommands.internal.parameters.BooleanResolver;
+import com.freya02.botcommands.internal.parameters.DoubleResolver;
+import com.freya02.botcommands.internal.parameters.LongResolver;
+import com.freya02.botcommands.internal.parameters.StringResolver;
+import com.freya02.botcommands.internal.runner.MethodHandleRunner;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argument resolution and handler invocation of a slash command, as done by {@code SlashCommandInfo#execute}
+ * <br>The options are resolved by the framework resolvers, then the handler is invoked either reflectively or with a {@link MethodHandleRunner}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlashArgumentResolutionBenchmark {
+	private final SlashParameterResolver[] resolvers = {
+			new StringResolver(),
+			new LongResolver(),
+			new DoubleResolver(),
+			new BooleanResolver()
+	};
+
+	private final OptionMapping[] options = {
+			Stubs.option("reason", OptionType.STRING, "spamming in every channel"),
+			Stubs.option("days", OptionType.INTEGER, 7L),
+			Stubs.option("ratio", OptionType.NUMBER, 0.5),
+			Stubs.option("silent", OptionType.BOOLEAN, true)
+	};
+
+	private Blackhole blackhole;
+	private Method method;
+	private MethodHandleRunner methodHandleRunner;
+
+	@Setup
+	public void setup(Blackhole blackhole) throws Exception {
+		this.blackhole = blackhole;
+		this.method = SlashArgumentResolutionBenchmark.class.getDeclaredMethod("onSlashBan", String.class, long.class, double.class, boolean.class);
+		this.methodHandleRunner = MethodHandleRunner.of(this, method);
+	}
+
+	@SuppressWarnings("unused")
+	public void onSlashBan(String reason, long days, double ratio, boolean silent) {
+		blackhole.consume(reason);
+		blackhole.consume(days);
+		blackhole.consume(ratio);
+		blackhole.consume(silent);
+	}
+
+	private Object[] resolveArguments() {
+		final Object[] args = new Object[resolvers.length];
+		for (int i = 0; i < resolvers.length; i++) {
+			//The resolvers used here do not use the context nor the command info
+			args[i] = resolvers[i].resolve(null, null, null, options[i]);
+		}
+
+		return args;
+	}
+
+	@Benchmark
+	public Object[] resolveOnly() {
+		return resolveArguments();
+	}
+
+	@Benchmark
+	public void resolveAndInvokeReflectively() throws Exception {
+		method.invoke(this, resolveArguments());
+	}
+
+	@Benchmark
+	public void resolveAndInvokeMethodHandle() throws Exception {
+		methodHandleRunner.invoke(resolveArguments(), null, null);
+	}
+}
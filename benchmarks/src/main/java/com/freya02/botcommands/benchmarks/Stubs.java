@@ -0,0 +1,86 @@
+package com.freya02.botcommands.benchmarks;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Stubbed JDA entities, so the benchmarks run without any connection to Discord
+ * <br>Each stub only answers the methods the benchmarked code calls, other methods throw
+ */
+public final class Stubs {
+	/** Never logged in, this is only needed as JDA entities require the internal implementation */
+	public static final JDA JDA = new JDAImpl(new AuthorizationConfig("benchmark"));
+
+	private Stubs() {}
+
+	@SuppressWarnings("unchecked")
+	public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+		return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			final String name = method.getName();
+
+			if (answers.containsKey(name)) return answers.get(name);
+
+			return switch (name) {
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> "Stub " + type.getSimpleName();
+				default -> throw new UnsupportedOperationException("Stubbed " + type.getSimpleName() + " does not implement " + name);
+			};
+		});
+	}
+
+	public static Guild guild(long id) {
+		return stub(Guild.class, Map.of("getIdLong", id, "getJDA", JDA));
+	}
+
+	public static User user(long id) {
+		return stub(User.class, Map.of("getIdLong", id, "getJDA", JDA));
+	}
+
+	public static MessageChannel channel(long id) {
+		return stub(MessageChannel.class, Map.of("getIdLong", id, "getJDA", JDA));
+	}
+
+	public static Interaction interaction(Guild guild, User user, MessageChannel channel) {
+		return stub(Interaction.class, Map.of(
+				"getGuild", guild,
+				"getUser", user,
+				"getChannel", channel,
+				"getJDA", JDA
+		));
+	}
+
+	public static OptionMapping option(String name, OptionType type, Object value) {
+		final DataObject data = DataObject.empty()
+				.put("name", name)
+				.put("type", type.getKey())
+				.put("value", value);
+
+		return new OptionMapping(data, new TLongObjectHashMap<>(), JDA, null);
+	}
+
+	public static CommandAutoCompleteInteractionEvent autocompleteEvent(String query) {
+		final AutoCompleteQuery focusedOption = new AutoCompleteQuery(option("query", OptionType.STRING, query));
+		final CommandAutoCompleteInteraction interaction = stub(CommandAutoCompleteInteraction.class, Map.of(
+				"getFocusedOption", focusedOption,
+				"getJDA", JDA
+		));
+
+		return new CommandAutoCompleteInteractionEvent(JDA, 0, interaction);
+	}
+}
@@ -0,0 +1,74 @@
+package com.freya02.botcommands.benchmarks;
+
+import com.freya02.botcommands.internal.parameters.LongResolver;
+import com.freya02.botcommands.internal.parameters.StringResolver;
+import com.freya02.botcommands.internal.parameters.UserResolver;
+import com.freya02.botcommands.internal.prefixed.CommandPattern;
+import com.freya02.botcommands.internal.prefixed.CommandPattern.ParameterPattern;
+import com.freya02.botcommands.internal.prefixed.PrefixTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix detection and argument matching of text commands, as done by the CommandListener
+ * <br>The complete pattern is built the same way as {@code TextCommandInfo#getCompletePattern()}, for a <code>User Long? String?</code> command
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextCommandMatchingBenchmark {
+	private final List<String> prefixes = List.of("!", "?", "bc!", "<@222078108977594368>", "<@!222078108977594368>");
+	private final PrefixTrie prefixTrie = new PrefixTrie(prefixes);
+
+	private final Pattern completePattern = CommandPattern.joinPatterns(List.of(
+			new ParameterPattern(new UserResolver(), false, false),
+			new ParameterPattern(new LongResolver(), true, false),
+			new ParameterPattern(new StringResolver(), true, false)
+	));
+
+	@Param({"<@!222078108977594368> ban <@222078108977594368> 7 spamming in every channel", "not a command, only a message from a user"})
+	public String message;
+
+	private String args;
+
+	@Setup
+	public void setup() {
+		final int prefixLength = prefixTrie.findPrefixLength(message);
+		if (prefixLength == -1) {
+			args = message;
+		} else {
+			final String content = message.substring(prefixLength).trim();
+			final int space = content.indexOf(' ');
+
+			args = space == -1 ? "" : content.substring(space + 1);
+		}
+	}
+
+	@Benchmark
+	public int prefixTrie() {
+		return prefixTrie.findPrefixLength(message);
+	}
+
+	@Benchmark
+	public int prefixLinearScan() {
+		for (String prefix : prefixes) {
+			if (message.startsWith(prefix)) return prefix.length();
+		}
+
+		return -1;
+	}
+
+	@Benchmark
+	public boolean completePatternMatch() {
+		final Matcher matcher = completePattern.matcher(args);
+
+		return matcher.matches();
+	}
+}
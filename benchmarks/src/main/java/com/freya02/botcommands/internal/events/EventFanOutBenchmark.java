@@ -0,0 +1,90 @@
+package com.freya02.botcommands.internal.events;
+
+import com.freya02.botcommands.api.ExecutorProvider;
+import com.freya02.botcommands.benchmarks.Stubs;
+import com.freya02.botcommands.internal.BContextImpl;
+import com.freya02.botcommands.internal.runner.MethodHandleRunner;
+import net.dv8tion.jda.api.events.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of one event to all of its listeners by {@link EventListenerImpl}, until every listener has run
+ * <br>This class is in the package of the listener, as the event listener is not exposed outside the framework
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFanOutBenchmark {
+	@Param({"1", "16", "64"})
+	public int listeners;
+
+	private final List<ExecutorService> executors = new ArrayList<>();
+	private EventListenerImpl eventListener;
+
+	public static final class BenchmarkEvent extends Event {
+		private final CountDownLatch latch;
+
+		private BenchmarkEvent(int listeners) {
+			super(Stubs.JDA);
+
+			this.latch = new CountDownLatch(listeners);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	public void onBenchmarkEvent(BenchmarkEvent event) {
+		event.latch.countDown();
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		final BContextImpl context = new BContextImpl();
+
+		//Daemon threads so the executors can be shut down without keeping the fork alive
+		final ExecutorProvider platformThreads = ExecutorProvider.platformThreads();
+		context.setExecutorProvider((pool, threadFactory) -> {
+			final ExecutorService executor = platformThreads.provide(pool, r -> {
+				final Thread thread = threadFactory.newThread(r);
+				thread.setDaemon(true);
+
+				return thread;
+			});
+			executors.add(executor);
+
+			return executor;
+		});
+
+		//Same consumer as the ones built by EventListenersBuilder, without resolving custom parameters
+		final MethodHandleRunner runner = MethodHandleRunner.of(this, EventFanOutBenchmark.class.getDeclaredMethod("onBenchmarkEvent", BenchmarkEvent.class));
+		final List<EventConsumer> consumers = new ArrayList<>();
+		for (int i = 0; i < listeners; i++) {
+			consumers.add(event -> runner.invoke(new Object[]{event}, null));
+		}
+
+		eventListener = new EventListenerImpl(context, Map.of(BenchmarkEvent.class, consumers));
+	}
+
+	@TearDown
+	public void tearDown() {
+		executors.forEach(ExecutorService::shutdownNow);
+	}
+
+	@Benchmark
+	public void fanOut() throws InterruptedException {
+		final BenchmarkEvent event = new BenchmarkEvent(listeners);
+
+		eventListener.onEvent(event);
+
+		event.latch.await();
+	}
+}
@@ -9,6 +9,7 @@ import com.freya02.botcommands.api.application.slash.autocomplete.annotations.Au
 import com.freya02.botcommands.api.builder.ApplicationCommandsBuilder;
 import com.freya02.botcommands.api.components.ComponentInteractionFilter;
 import com.freya02.botcommands.api.components.ComponentManager;
+import com.freya02.botcommands.api.metrics.MetricsSink;
 import com.freya02.botcommands.api.parameters.CustomResolverFunction;
 import com.freya02.botcommands.api.prefixed.HelpBuilderConsumer;
 import com.freya02.botcommands.api.prefixed.TextCommandFilter;
@@ -25,7 +26,9 @@ import net.dv8tion.jda.api.interactions.Interaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -73,6 +76,16 @@ public interface BContext {
 	 */
 	void addPrefix(String prefix);
 
+	/**
+	 * Invalidates the cached prefixes of the specified guild
+	 * <br>When {@link com.freya02.botcommands.api.builder.TextCommandsBuilder#cacheGuildPrefixes(boolean) enabled},
+	 * the prefixes returned by {@link SettingsProvider#getPrefixes(Guild)} are cached per guild,
+	 * this needs to be called when they change, so they can be retrieved again
+	 *
+	 * @param guild The guild to invalidate the prefixes of, or <code>null</code> to invalidate the prefixes of all guilds
+	 */
+	void invalidatePrefixes(@Nullable Guild guild);
+
 	/**
 	 * Returns a list of IDs of the bot owners
 	 *
@@ -383,6 +396,42 @@ public interface BContext {
 	@Nullable
 	ExceptionHandler getUncaughtExceptionHandler();
 
+	/**
+	 * Returns the metrics of a framework pool, such as its queue depth, active tasks and wait times
+	 *
+	 * @param pool The pool to get the metrics of
+	 * @return The metrics of the pool, or <code>null</code> if the pool is not used, for example if text commands are disabled
+	 */
+	@Nullable
+	DispatchPoolMetrics getDispatchPoolMetrics(@NotNull DispatchPool pool);
+
+	/**
+	 * Returns the sink receiving the execution metrics of the handlers
+	 *
+	 * @return The metrics sink, or <code>null</code> if handlers are not measured
+	 * @see CommandsBuilder#setMetricsSink(MetricsSink)
+	 */
+	@Nullable
+	MetricsSink getMetricsSink();
+
+	/**
+	 * Writes the command cooldowns which are still running, so they can be loaded back after a restart
+	 *
+	 * @param stream The stream to write the cooldowns to, it is not closed
+	 * @throws IOException If the cooldowns could not be written
+	 * @see #loadCooldowns(InputStream)
+	 */
+	void saveCooldowns(@NotNull OutputStream stream) throws IOException;
+
+	/**
+	 * Loads the command cooldowns written by {@link #saveCooldowns(OutputStream)}, the cooldowns which expired in the meantime are skipped
+	 * <br>Cooldowns are identified by the signature of the command methods, cooldowns of renamed or removed commands are ignored.
+	 *
+	 * @param stream The stream to read the cooldowns from, it is not closed
+	 * @throws IOException If the cooldowns could not be read
+	 */
+	void loadCooldowns(@NotNull InputStream stream) throws IOException;
+
 	/**
 	 * Returns the test guilds IDs, slash commands annotated with {@link Test @Test} will only be included in these guilds
 	 *
@@ -392,7 +441,8 @@ public interface BContext {
 
 	/**
 	 * Invalides the autocompletion cache of the specified autocompletion handler
-	 * <br>This means that the cache of this autocompletion handler will be fully cleared
+	 * <br>This means that the cache of this autocompletion handler will be fully cleared,
+	 * as well as its {@link AutocompletionHandler#indexResults() indexed results}
 	 *
 	 * @param autocompletionHandlerName The name of the autocompletion handler, supplied at {@link AutocompletionHandler#name()}
 	 */
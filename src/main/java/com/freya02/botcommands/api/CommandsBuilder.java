@@ -6,8 +6,15 @@ import com.freya02.botcommands.api.builder.ApplicationCommandsBuilder;
 import com.freya02.botcommands.api.builder.DebugBuilder;
 import com.freya02.botcommands.api.builder.ExtensionsBuilder;
 import com.freya02.botcommands.api.builder.TextCommandsBuilder;
+import com.freya02.botcommands.api.components.CachedComponentManager;
 import com.freya02.botcommands.api.components.ComponentManager;
 import com.freya02.botcommands.api.components.DefaultComponentManager;
+import com.freya02.botcommands.api.cooldown.CooldownBackend;
+import com.freya02.botcommands.api.cooldown.KeyValueCooldownBackend;
+import com.freya02.botcommands.api.localization.Localization;
+import com.freya02.botcommands.api.metrics.InMemoryMetricsSink;
+import com.freya02.botcommands.api.metrics.MeterMetricsSink;
+import com.freya02.botcommands.api.metrics.MetricsSink;
 import com.freya02.botcommands.api.prefixed.TextCommand;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.CommandsBuilderImpl;
@@ -15,17 +22,19 @@ import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.annotations.ReplaceWith;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import net.dv8tion.jda.internal.utils.Checks;
 import org.jetbrains.annotations.Blocking;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.io.InputStream;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -36,6 +45,7 @@ public final class CommandsBuilder {
 
 	private final Set<String> packageNames = new HashSet<>();
 	private final Set<Class<?>> manualClasses = new HashSet<>();
+	private boolean useHandlerIndex = false;
 
 	private final TextCommandsBuilder textCommandBuilder = new TextCommandsBuilder(context);
 	private final ApplicationCommandsBuilder applicationCommandBuilder = new ApplicationCommandsBuilder(context);
@@ -117,12 +127,81 @@ public final class CommandsBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the sink receiving the execution metrics of the handlers, such as their latencies, errors and cooldown rejections
+	 * <br>Handlers are not measured by default.
+	 *
+	 * @param metricsSink The sink to report the metrics to, or <code>null</code> to not measure handlers
+	 * @return This builder for chaining convenience
+	 * @see InMemoryMetricsSink
+	 * @see MeterMetricsSink
+	 */
+	public CommandsBuilder setMetricsSink(@Nullable MetricsSink metricsSink) {
+		context.setMetricsSink(metricsSink);
+
+		return this;
+	}
+
+	/**
+	 * Sets the backend sharing the command cooldowns with the other processes of the bot
+	 * <br>Cooldowns are only kept in memory by default, which lets users bypass them by using another process.
+	 *
+	 * @param cooldownBackend The backend to share the cooldowns with, or <code>null</code> to only keep them in memory
+	 * @return This builder for chaining convenience
+	 * @see KeyValueCooldownBackend
+	 */
+	public CommandsBuilder setCooldownBackend(@Nullable CooldownBackend cooldownBackend) {
+		context.getCooldownStore().setBackend(cooldownBackend);
+
+		return this;
+	}
+
+	/**
+	 * Loads the specified localization bundle, with the specified locales, in parallel while the framework is being built
+	 * <br>Bundles are otherwise loaded when first used, making the first user of each locale wait for the bundle to be read.
+	 *
+	 * <p>Bundles used for application command localization are also preloaded.
+	 *
+	 * @param bundleName The name of the localization bundle
+	 * @param locales    The locales to load
+	 * @return This builder for chaining convenience
+	 * @see ApplicationCommandsBuilder#addLocalizations(String, DiscordLocale...)
+	 */
+	public CommandsBuilder preloadLocalizations(@NotNull String bundleName, @NotNull DiscordLocale @NotNull ... locales) {
+		Checks.notBlank(bundleName, "Bundle name");
+		Checks.noneNull(locales, "Locales");
+
+		context.getLocalizationManager().addPreloadedLocalizations(bundleName, Arrays.stream(locales).map(l -> Locale.forLanguageTag(l.getLocale())).toList());
+
+		return this;
+	}
+
+	/**
+	 * Watches the specified directory, and reloads the loaded localization bundles whose files are modified
+	 * <br>The directory must be the one the bundles are read from, with the default provider,
+	 * this is the <code>bc_localization</code> directory of your build output, such as <code>target/classes/bc_localization</code>.
+	 *
+	 * <p>Bundles are swapped once they are fully loaded, see {@link Localization#reloadLocalization(String)}.
+	 *
+	 * @param directory The directory containing the localization bundles
+	 * @return This builder for chaining convenience
+	 */
+	public CommandsBuilder watchLocalizations(@NotNull Path directory) {
+		Checks.notNull(directory, "Localization directory");
+		Checks.check(Files.isDirectory(directory), "Localization directory '%s' is not a directory", directory);
+
+		context.getLocalizationManager().setWatchedDirectory(directory);
+
+		return this;
+	}
+
 	/**
 	 * Sets the component manager, used to handle storing/retrieving persistent/lambda components handlers
 	 *
 	 * @param componentManager The {@link ComponentManager}
 	 * @return This builder for chaining convenience
 	 * @see DefaultComponentManager
+	 * @see CachedComponentManager
 	 */
 	public CommandsBuilder setComponentManager(ComponentManager componentManager) {
 		context.setComponentManager(Objects.requireNonNull(componentManager, "Component manager cannot be null"));
@@ -130,6 +209,58 @@ public final class CommandsBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the provider of the executors which run the commands, components, event listeners and other handlers
+	 * <br>The default uses pools of platform threads, use {@link ExecutorProvider#virtualThreads()} to run the handlers on virtual threads
+	 *
+	 * @param executorProvider The {@link ExecutorProvider}
+	 * @return This builder for chaining convenience
+	 * @see DispatchPool
+	 */
+	public CommandsBuilder setExecutorProvider(@NotNull ExecutorProvider executorProvider) {
+		context.setExecutorProvider(Objects.requireNonNull(executorProvider, "Executor provider cannot be null"));
+
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of tasks which can be pending on a framework pool, 10000 by default
+	 * <br>Past this limit, interactions are handled according to the {@link #setRejectionPolicy(DispatchPool, RejectionPolicy) rejection policy},
+	 * other tasks such as text commands and event listeners are dropped.
+	 *
+	 * <p>Regardless of this limit, interactions which waited past their acknowledgement deadline are not handled.
+	 *
+	 * @param pool            The pool to set the limit of
+	 * @param maxPendingTasks The maximum number of waiting and running tasks
+	 * @return This builder for chaining convenience
+	 * @see BContext#getDispatchPoolMetrics(DispatchPool)
+	 */
+	public CommandsBuilder setMaxPendingTasks(@NotNull DispatchPool pool, int maxPendingTasks) {
+		Checks.notNull(pool, "Dispatch pool");
+		Checks.positive(maxPendingTasks, "Max pending tasks");
+
+		context.setMaxPendingTasks(pool, maxPendingTasks);
+
+		return this;
+	}
+
+	/**
+	 * Sets what a framework pool does with the interactions it rejects, once it has {@link #setMaxPendingTasks(DispatchPool, int) too many pending tasks}
+	 * <br>Interactions are replied to with {@link DefaultMessages#getBusyErrorMsg()} by default.
+	 *
+	 * @param pool            The pool to set the rejection policy of
+	 * @param rejectionPolicy The {@link RejectionPolicy}
+	 * @return This builder for chaining convenience
+	 */
+	public CommandsBuilder setRejectionPolicy(@NotNull DispatchPool pool, @NotNull RejectionPolicy rejectionPolicy) {
+		Checks.notNull(pool, "Dispatch pool");
+		Checks.notNull(rejectionPolicy, "Rejection policy");
+
+		context.setRejectionPolicy(pool, rejectionPolicy);
+
+		return this;
+	}
+
 	/**
 	 * Adds a {@link RegistrationListener} to this command builder, giving you various event of what is getting loaded
 	 *
@@ -219,6 +350,25 @@ public final class CommandsBuilder {
 		return this;
 	}
 
+	/**
+	 * Finds the classes of the search paths with the handler index written at compile time, instead of scanning the classpath
+	 * <br>The index is written by an annotation processor shipped with the framework, it runs automatically when compiling your project.
+	 * <br>Classes registered manually are used even if they are not in the index.
+	 *
+	 * <p>If no index is found, the classpath is scanned as usual,
+	 * search paths which have no class in the index are also scanned, such as packages of Kotlin classes compiled without kapt.
+	 * <br><b>Note:</b> Kotlin handlers are only indexed with kapt, packages mixing Java and Kotlin handlers need it.
+	 * <br><b>Note:</b> The index is only complete when all the sources are compiled at once, incremental compilation may omit handlers.
+	 *
+	 * @return This builder for chaining convenience
+	 * @see #addSearchPath(String)
+	 */
+	public CommandsBuilder useHandlerIndex() {
+		this.useHandlerIndex = true;
+
+		return this;
+	}
+
 	/**
 	 * Configures some settings related to framework extensions
 	 *
@@ -296,7 +446,7 @@ public final class CommandsBuilder {
 	@Blocking
 	public void build(JDA jda) {
 		try {
-			new CommandsBuilderImpl(context, packageNames, manualClasses, applicationCommandBuilder.getSlashGuildIds()).build(jda);
+			new CommandsBuilderImpl(context, packageNames, manualClasses, useHandlerIndex, applicationCommandBuilder.getSlashGuildIds()).build(jda);
 		} catch (RuntimeException e) {
 			LOGGER.error("An error occurred while creating the framework, aborted");
 
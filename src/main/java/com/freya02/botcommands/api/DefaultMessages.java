@@ -70,6 +70,13 @@ public final class DefaultMessages {
 		return getLocalizationTemplate("general_error_message").localize();
 	}
 
+	/**
+	 * @return Message to display when an interaction cannot be handled as too many are pending
+	 */
+	public String getBusyErrorMsg() {
+		return getLocalizationTemplate("busy.error.message").localize();
+	}
+
 	/**
 	 * @return Message to display when the user does not have enough permissions
 	 */
@@ -0,0 +1,43 @@
+package com.freya02.botcommands.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The executors used by the framework to run handlers, each of them is created by the {@link ExecutorProvider}
+ *
+ * @see CommandsBuilder#setExecutorProvider(ExecutorProvider)
+ */
+public enum DispatchPool {
+	/** Runs text commands */
+	TEXT_COMMANDS("Command thread"),
+	/** Runs slash commands and context commands */
+	APPLICATION_COMMANDS("Application command thread"),
+	/** Runs autocompletion handlers */
+	AUTOCOMPLETION("Autocompletion thread"),
+	/** Runs modal handlers */
+	MODALS("Modal handling thread"),
+	/** Retrieves the components which got interacted with, from the component manager */
+	COMPONENT_HANDLING("Component ID handling thread"),
+	/** Runs component handlers and callbacks */
+	COMPONENT_CALLBACKS("Component callback thread"),
+	/** Runs the methods annotated with {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} */
+	EVENT_LISTENERS("Event executor thread"),
+	/** Runs the callbacks of the {@link com.freya02.botcommands.api.waiter.EventWaiter EventWaiter} */
+	EVENT_WAITERS("Event waiter thread");
+
+	private final String threadName;
+
+	DispatchPool(String threadName) {
+		this.threadName = threadName;
+	}
+
+	/**
+	 * Returns the base name of the threads of this pool, the thread number is appended to it
+	 *
+	 * @return The base name of the threads
+	 */
+	@NotNull
+	public String getThreadName() {
+		return threadName;
+	}
+}
@@ -0,0 +1,81 @@
+package com.freya02.botcommands.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gauges and counters of a {@link DispatchPool}
+ * <br>Counters only increase, you can compute rates by sampling them periodically.
+ *
+ * @see BContext#getDispatchPoolMetrics(DispatchPool)
+ */
+public interface DispatchPoolMetrics {
+	@NotNull
+	DispatchPool getPool();
+
+	/**
+	 * Returns the maximum number of pending tasks, after which new tasks are rejected
+	 *
+	 * @return The maximum number of pending tasks
+	 * @see CommandsBuilder#setMaxPendingTasks(DispatchPool, int)
+	 */
+	int getMaxPendingTasks();
+
+	/**
+	 * Returns the number of tasks waiting to be run
+	 *
+	 * @return The number of queued tasks
+	 */
+	int getQueuedTasks();
+
+	/**
+	 * Returns the number of tasks waiting for another task of the same key to complete,
+	 * such as the interactions on a one-use or grouped component, which are handled one after the other
+	 * <br>These tasks are not included in {@link #getQueuedTasks()}, but count towards {@link #getMaxPendingTasks()}
+	 *
+	 * @return The number of serialized tasks
+	 */
+	int getSerializedTasks();
+
+	/**
+	 * Returns the number of tasks currently running
+	 *
+	 * @return The number of running tasks
+	 */
+	int getActiveTasks();
+
+	/**
+	 * Returns the number of tasks which have finished running
+	 *
+	 * @return The number of completed tasks
+	 */
+	long getCompletedTasks();
+
+	/**
+	 * Returns the number of tasks which were rejected, as too many tasks were pending
+	 *
+	 * @return The number of rejected tasks
+	 */
+	long getRejectedTasks();
+
+	/**
+	 * Returns the number of interactions which were dropped, as they waited past their acknowledgement deadline
+	 *
+	 * @return The number of expired interactions
+	 */
+	long getExpiredTasks();
+
+	/**
+	 * Returns the sum of the times the started tasks waited in the queue
+	 * <br>Divide its increase by the increase of started tasks to get the average wait time
+	 *
+	 * @return The total wait time, in nanoseconds
+	 */
+	long getTotalWaitTimeNanos();
+
+	/**
+	 * Returns the number of tasks which have started running
+	 *
+	 * @return The number of started tasks
+	 */
+	long getStartedTasks();
+}
@@ -0,0 +1,79 @@
+package com.freya02.botcommands.api;
+
+import com.freya02.botcommands.internal.utils.Utils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the executors which run the framework's handlers
+ * <br>Handlers may block (on {@link net.dv8tion.jda.api.requests.RestAction#complete() RestAction#complete()} for example),
+ * the executors should account for it.
+ *
+ * <p>Exceptions escaping the tasks are logged and sent to the bot owners by the framework, whatever the executor is,
+ * exceptions thrown by the handlers themselves still go through the {@link ExceptionHandler}.
+ *
+ * @see #platformThreads()
+ * @see #virtualThreads()
+ * @see CommandsBuilder#setExecutorProvider(ExecutorProvider)
+ */
+@FunctionalInterface
+public interface ExecutorProvider {
+	/**
+	 * Creates the executor of a framework pool
+	 *
+	 * @param pool          The pool to create the executor for
+	 * @param threadFactory A factory of platform threads, named after the pool, which you may use
+	 * @return The executor of the pool
+	 */
+	@NotNull
+	ExecutorService provide(@NotNull DispatchPool pool, @NotNull ThreadFactory threadFactory);
+
+	/**
+	 * Runs the handlers on pools of platform threads, this is the default
+	 *
+	 * @return An {@link ExecutorProvider} using thread pools
+	 */
+	@NotNull
+	static ExecutorProvider platformThreads() {
+		return (pool, threadFactory) -> Utils.createCommandPool(threadFactory);
+	}
+
+	/**
+	 * Runs each handler on its own virtual thread, blocking handlers then don't starve each other
+	 * <br><b>This requires Java 21 or above</b>, the executors are created using reflection as the framework targets Java 17.
+	 *
+	 * @return An {@link ExecutorProvider} using virtual threads
+	 * @throws UnsupportedOperationException If the current JVM does not support virtual threads
+	 */
+	@NotNull
+	static ExecutorProvider virtualThreads() {
+		final Method ofVirtualMethod, nameMethod, factoryMethod, newThreadPerTaskExecutorMethod;
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+			ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+			nameMethod = builderClass.getMethod("name", String.class, long.class);
+			factoryMethod = builderClass.getMethod("factory");
+			newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or above, current version is " + Runtime.version(), e);
+		}
+
+		return (pool, threadFactory) -> {
+			try {
+				Object builder = ofVirtualMethod.invoke(null);
+				builder = nameMethod.invoke(builder, pool.getThreadName() + " #", 0L);
+
+				final ThreadFactory virtualThreadFactory = (ThreadFactory) factoryMethod.invoke(builder);
+
+				return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, virtualThreadFactory);
+			} catch (ReflectiveOperationException e) {
+				throw new UnsupportedOperationException("Unable to create a virtual thread executor", e);
+			}
+		};
+	}
+}
@@ -0,0 +1,14 @@
+package com.freya02.botcommands.api;
+
+/**
+ * What a {@link DispatchPool} does with the interactions it rejects, when too many of its tasks are pending
+ * <br>Other tasks, such as text commands and event listeners, are always dropped.
+ *
+ * @see CommandsBuilder#setRejectionPolicy(DispatchPool, RejectionPolicy)
+ */
+public enum RejectionPolicy {
+	/** Replies with {@link DefaultMessages#getBusyErrorMsg()}, if the interaction can be replied to, this is the default */
+	REPLY_BUSY,
+	/** Drops the interaction without replying, Discord then shows that the interaction failed */
+	DROP
+}
@@ -17,6 +17,8 @@ public interface SettingsProvider extends GuildApplicationSettings {
 	/**
 	 * Returns the list of prefix this Guild should use <br>
 	 * <b>If the returned list is null or empty, the global prefixes will be used</b>
+	 * <br>This is called for each message, unless the prefixes are {@link com.freya02.botcommands.api.builder.TextCommandsBuilder#cacheGuildPrefixes(boolean) cached},
+	 * in which case you must call {@link BContext#invalidatePrefixes(Guild)} when they change
 	 *
 	 * @return The list of prefixes
 	 */
@@ -34,4 +34,15 @@ public @interface Cooldown {
 	 * @return Scope of the cooldown
 	 */
 	CooldownScope cooldownScope() default CooldownScope.USER;
+
+	/**
+	 * Number of times the command can be used in the scope, during the cooldown time
+	 * <br>This works as a token bucket: the command can be used this many times in a row,
+	 * then one more use is allowed every <code>cooldown / uses</code>.
+	 *
+	 * <p>The default, 1, makes the command unusable for the whole cooldown time, after each use.
+	 *
+	 * @return Number of uses allowed during the cooldown time
+	 */
+	int uses() default 1;
 }
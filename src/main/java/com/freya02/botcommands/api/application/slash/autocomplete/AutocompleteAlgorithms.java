@@ -1,5 +1,6 @@
 package com.freya02.botcommands.api.application.slash.autocomplete;
 
+import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompleteIndex;
 import com.freya02.botcommands.internal.utils.StringUtils;
 import me.xdrop.fuzzywuzzy.FuzzySearch;
 import me.xdrop.fuzzywuzzy.ToStringFunction;
@@ -8,6 +9,7 @@ import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInterac
 import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.List;
 /**
  * Helper class used by the autocompletion handlers to filter lists using their string representation.
  * <br>You might use them if for example you want to provide your own list of choices directly, while still having some sort of relevance sorting.
+ * <br>Only the most relevant results are kept while scoring, the collection is never fully sorted.
  */
 public class AutocompleteAlgorithms {
 	/**
@@ -25,23 +28,26 @@ public class AutocompleteAlgorithms {
 	 * @param toStringFunction The function to transform an item into a String
 	 * @param event            The autocompletion event
 	 * @param <T>              Type of the items
-	 * @return A list of extract results with the scores of each item
+	 * @return A list of extract results with the scores of the {@value OptionData#MAX_CHOICES} most relevant items
 	 */
 	public static <T> List<BoundExtractedResult<T>> fuzzyMatchingWithContinuity(Collection<T> items, ToStringFunction<T> toStringFunction, CommandAutoCompleteInteractionEvent event) {
 		final AutoCompleteQuery autoCompleteQuery = event.getFocusedOption();
 
 		final String query = autoCompleteQuery.getValue();
-		final List<T> list = items
-				.stream()
-				.filter(s -> StringUtils.startsWithIgnoreCase(toStringFunction.apply(s), query))
-				.sorted(Comparator.comparing(toStringFunction::apply))
-				.toList();
-
-		return FuzzySearch.extractTop(query,
-				list,
-				toStringFunction,
-				FuzzySearch::ratio,
-				OptionData.MAX_CHOICES);
+		final List<BoundExtractedResult<T>> results = new ArrayList<>();
+
+		int index = 0;
+		for (T item : items) {
+			final String string = toStringFunction.apply(item);
+
+			if (StringUtils.startsWithIgnoreCase(string, query)) {
+				results.add(new BoundExtractedResult<>(item, string, FuzzySearch.ratio(query, string), index));
+			}
+
+			index++;
+		}
+
+		return AutocompleteIndex.selectTop(results, relevanceOrder(), OptionData.MAX_CHOICES);
 	}
 
 	/**
@@ -52,27 +58,39 @@ public class AutocompleteAlgorithms {
 	 * @param toStringFunction The function to transform an item into a String
 	 * @param event            The autocompletion event
 	 * @param <T>              Type of the items
-	 * @return A list of extract results with the scores of each item
+	 * @return A list of extract results with the scores of the {@value OptionData#MAX_CHOICES} most relevant items
 	 */
 	public static <T> List<BoundExtractedResult<T>> fuzzyMatching(Collection<T> items, ToStringFunction<T> toStringFunction, CommandAutoCompleteInteractionEvent event) {
-		final List<T> list = items
-				.stream()
-				.sorted(Comparator.comparing(toStringFunction::apply))
-				.toList();
-
 		final AutoCompleteQuery autoCompleteQuery = event.getFocusedOption();
+		final String query = autoCompleteQuery.getValue();
+
 		//First sort the results by similarities but by taking into account an incomplete input
-		final List<BoundExtractedResult<T>> bigLengthDiffResults = FuzzySearch.extractTop(autoCompleteQuery.getValue(),
-				list,
-				toStringFunction,
-				FuzzySearch::partialRatio,
-				OptionData.MAX_CHOICES);
+		final List<BoundExtractedResult<T>> partialResults = new ArrayList<>(items.size());
+
+		int index = 0;
+		for (T item : items) {
+			final String string = toStringFunction.apply(item);
+
+			partialResults.add(new BoundExtractedResult<>(item, string, FuzzySearch.partialRatio(query, string), index++));
+		}
+
+		final List<BoundExtractedResult<T>> bigLengthDiffResults = AutocompleteIndex.selectTop(partialResults, relevanceOrder(), OptionData.MAX_CHOICES);
 
 		//Then sort the results by similarities but don't take length into account
-		return FuzzySearch.extractTop(autoCompleteQuery.getValue(),
-				bigLengthDiffResults.stream().map(BoundExtractedResult::getReferent).toList(),
-				toStringFunction,
-				FuzzySearch::ratio,
-				OptionData.MAX_CHOICES);
+		final List<BoundExtractedResult<T>> results = new ArrayList<>(bigLengthDiffResults.size());
+		for (BoundExtractedResult<T> result : bigLengthDiffResults) {
+			results.add(new BoundExtractedResult<>(result.getReferent(), result.getString(), FuzzySearch.ratio(query, result.getString()), result.getIndex()));
+		}
+
+		return AutocompleteIndex.selectTop(results, relevanceOrder(), OptionData.MAX_CHOICES);
+	}
+
+	/**
+	 * Highest score first, ties are sorted by their string representation
+	 */
+	private static <T> Comparator<BoundExtractedResult<T>> relevanceOrder() {
+		return Comparator.<BoundExtractedResult<T>>comparingInt(BoundExtractedResult::getScore)
+				.reversed()
+				.thenComparing(BoundExtractedResult::getString);
 	}
 }
@@ -1,5 +1,6 @@
 package com.freya02.botcommands.api.application.slash.autocomplete.annotations;
 
+import com.freya02.botcommands.api.BContext;
 import com.freya02.botcommands.api.application.annotations.AppOption;
 import com.freya02.botcommands.api.application.slash.annotations.JDASlashCommand;
 import com.freya02.botcommands.api.application.slash.autocomplete.AutocompletionMode;
@@ -86,4 +87,16 @@ public @interface AutocompletionHandler {
 	 * @return <code>true</code> if the user's input should be shown, <code>false</code> if not
 	 */
 	boolean showUserInput() default true;
+
+	/**
+	 * Determines if the returned strings are indexed once, and reused for the next queries of the same command
+	 * <br>The index is kept for each command path and values of the {@link CompositeKey composite keys}, other than the focused option,
+	 * this means the handler must return the same items for these, whatever the user has typed in the focused option.
+	 * <br>You can rebuild the indexes, as well as clearing the {@link CacheAutocompletion cache}, using {@link BContext#invalidateAutocompletionCache(String)}
+	 *
+	 * <p><b>This is only usable on collection return types of String, Double and Long</b>
+	 *
+	 * @return <code>true</code> if the results should be indexed across queries, <code>false</code> if they are indexed on each query
+	 */
+	boolean indexResults() default false;
 }
@@ -136,7 +136,7 @@ public class ExtensionsBuilder {
 
 	/**
 	 * Sets the method runner factory, which allows methods to be reflectively executed
-	 * <br>A method runner factory is already set for pure java methods,
+	 * <br>A method runner factory is already set for pure java methods, which invokes them through method handles,
 	 * but you can set a <code>KotlinMethodRunnerFactory</code> (see class) to support <code>suspend</code> functions
 	 *
 	 * @param factory The {@link MethodRunnerFactory} to set
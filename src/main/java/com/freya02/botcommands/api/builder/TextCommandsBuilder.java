@@ -25,6 +25,22 @@ public final class TextCommandsBuilder {
 		return this;
 	}
 
+	/**
+	 * Caches the prefixes returned by {@link com.freya02.botcommands.api.SettingsProvider#getPrefixes(net.dv8tion.jda.api.entities.Guild) SettingsProvider#getPrefixes(Guild)}, per guild
+	 * <br>When enabled, you must call {@link BContext#invalidatePrefixes(net.dv8tion.jda.api.entities.Guild) BContext#invalidatePrefixes(Guild)} when the prefixes of a guild change,
+	 * in exchange, messages without a prefix are rejected without asking the settings provider.
+	 *
+	 * <p>This is disabled by default, the settings provider is then asked for each message.
+	 *
+	 * @param cacheGuildPrefixes <code>true</code> to cache the prefixes of each guild
+	 * @return This builder for chaining convenience
+	 */
+	public TextCommandsBuilder cacheGuildPrefixes(boolean cacheGuildPrefixes) {
+		this.context.cacheGuildPrefixes(cacheGuildPrefixes);
+
+		return this;
+	}
+
 	/**
 	 * Disables the built-in help command for prefixed commands.
 	 * <br>This still lets you implement a custom help command with the help of {@link IHelpCommand}.
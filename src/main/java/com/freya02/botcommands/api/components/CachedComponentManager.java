@@ -0,0 +1,477 @@
+package com.freya02.botcommands.api.components;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.components.builder.ComponentBuilder;
+import com.freya02.botcommands.api.components.builder.LambdaComponentTimeoutInfo;
+import com.freya02.botcommands.api.components.builder.PersistentComponentBuilder;
+import com.freya02.botcommands.api.components.builder.PersistentComponentTimeoutInfo;
+import com.freya02.botcommands.api.components.builder.buttons.LambdaButtonBuilder;
+import com.freya02.botcommands.api.components.builder.buttons.PersistentButtonBuilder;
+import com.freya02.botcommands.api.components.builder.selects.LambdaSelectionMenuBuilder;
+import com.freya02.botcommands.api.components.builder.selects.PersistentSelectionMenuBuilder;
+import com.freya02.botcommands.internal.components.ComponentDataChecks;
+import com.freya02.botcommands.internal.components.HandleComponentResult;
+import com.freya02.botcommands.internal.components.data.LambdaButtonData;
+import com.freya02.botcommands.internal.components.data.LambdaSelectionMenuData;
+import com.freya02.botcommands.internal.components.data.PersistentButtonData;
+import com.freya02.botcommands.internal.components.data.PersistentSelectionMenuData;
+import com.freya02.botcommands.internal.components.memory.MemoryComponentData;
+import com.freya02.botcommands.internal.components.memory.MemoryFetchResult;
+import com.freya02.botcommands.internal.components.sql.SQLComponentWriter;
+import com.freya02.botcommands.internal.utils.TimingWheel;
+import com.freya02.botcommands.internal.utils.Utils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.component.GenericSelectMenuInteractionEvent;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ComponentManager} which keeps the components in memory, and writes the persistent components to the database asynchronously
+ *
+ * <p>Compared to {@link DefaultComponentManager}:
+ * <ul>
+ *     <li>Creating a component does not wait for the database, IDs are generated in memory</li>
+ *     <li>Lambda components never reach the database, as they cannot survive a restart anyway</li>
+ *     <li>Persistent components are written by batches, see {@link #CachedComponentManager(Supplier, int, long, TimeUnit, int)}</li>
+ *     <li>Fetching a component is served from memory, only persistent components which are not cached are read from the database</li>
+ * </ul>
+ *
+ * <p>The database uses the same tables as {@link DefaultComponentManager}, you can switch between the two implementations.
+ * <br>As writes are asynchronous, the persistent components created in the last moments before a crash may be lost,
+ * the pending writes are however flushed on a normal shutdown.
+ */
+public class CachedComponentManager implements ComponentManager {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	/** Number of group IDs reserved from the database at once */
+	private static final int GROUP_ID_BLOCK_SIZE = 32;
+
+	private final SQLComponentWriter writer;
+
+	private final Map<String, MemoryComponentData> lambdaComponents = new ConcurrentHashMap<>();
+	private final Cache<String, MemoryComponentData> persistentComponents;
+	//Only contains the members which are in memory, groups are removed once they have no member left
+	private final Map<Long, ComponentGroup> groups = new ConcurrentHashMap<>();
+	//Group IDs reserved from the sequence, so they never collide with the other managers using the database
+	private final TLongList reservedGroupIds = new TLongArrayList();
+
+	/**
+	 * Creates a cached component manager, keeping up to 10000 persistent components in memory,
+	 * and writing them to the database every 100 ms or every 500 operations
+	 *
+	 * @param connectionSupplier The supplier of database connections
+	 */
+	public CachedComponentManager(@NotNull Supplier<Connection> connectionSupplier) {
+		this(connectionSupplier, 10000, 100, TimeUnit.MILLISECONDS, 500);
+	}
+
+	/**
+	 * Creates a cached component manager
+	 *
+	 * @param connectionSupplier      The supplier of database connections
+	 * @param maxPersistentComponents The maximum number of persistent components kept in memory, the others are read from the database
+	 * @param flushInterval           The delay between two writes to the database
+	 * @param flushIntervalUnit       The unit of the delay between two writes
+	 * @param maxBatchSize            The number of pending operations after which they are written without waiting for the delay
+	 */
+	public CachedComponentManager(@NotNull Supplier<Connection> connectionSupplier, int maxPersistentComponents, long flushInterval, @NotNull TimeUnit flushIntervalUnit, int maxBatchSize) {
+		this.persistentComponents = Caffeine.newBuilder()
+				.maximumSize(maxPersistentComponents)
+				.removalListener((String id, MemoryComponentData data, RemovalCause cause) -> {
+					//Evicted components are still in the database, only forget them from their group
+					if (cause.wasEvicted() && data != null) {
+						removeGroupMember(data.getGroupId(), id);
+					}
+				})
+				.build();
+
+		try (Connection connection = connectionSupplier.get()) {
+			connection.setAutoCommit(true);
+
+			DefaultComponentManager.setupTables(connection);
+		} catch (SQLException e) {
+			LOGGER.error("Unable to create CachedComponentManager", e);
+
+			throw new RuntimeException("Unable to create CachedComponentManager", e);
+		}
+
+		this.writer = new SQLComponentWriter(connectionSupplier, flushInterval, flushIntervalUnit, maxBatchSize);
+	}
+
+	@Override
+	@NotNull
+	public MemoryFetchResult fetchComponent(String id) {
+		MemoryComponentData data = lambdaComponents.get(id);
+		if (data != null) return new MemoryFetchResult(data);
+
+		data = persistentComponents.getIfPresent(id);
+		if (data != null) return new MemoryFetchResult(data);
+
+		try {
+			data = writer.readPersistent(id);
+			if (data != null) {
+				persistentComponents.put(id, data);
+			}
+
+			return new MemoryFetchResult(data);
+		} catch (SQLException e) {
+			LOGGER.error("Unable to read the persistent component '{}'", id, e);
+
+			return new MemoryFetchResult(null);
+		}
+	}
+
+	@Override
+	public void handleLambdaButton(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<LambdaButtonData> dataConsumer) {
+		handleLambdaComponent(event,
+				(MemoryFetchResult) fetchResult,
+				onError,
+				dataConsumer,
+				(ButtonConsumer consumer) -> new LambdaButtonData(consumer));
+	}
+
+	@Override
+	public <E extends GenericSelectMenuInteractionEvent<?, ?>> void handleLambdaSelectMenu(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<LambdaSelectionMenuData<E>> dataConsumer) {
+		handleLambdaComponent(event,
+				(MemoryFetchResult) fetchResult,
+				onError,
+				dataConsumer,
+				(SelectionConsumer<E> consumer) -> new LambdaSelectionMenuData<>(consumer));
+	}
+
+	private <CONSUMER extends ComponentConsumer<?>, DATA> void handleLambdaComponent(GenericComponentInteractionCreateEvent event,
+	                                                                                 MemoryFetchResult fetchResult,
+	                                                                                 Consumer<ComponentErrorReason> onError,
+	                                                                                 Consumer<DATA> dataConsumer,
+	                                                                                 Function<CONSUMER, DATA> eventFunc) {
+		final MemoryComponentData data = getComponentToHandle(event, fetchResult, onError);
+		if (data == null) return;
+
+		//The consumer's type has been checked by the ComponentListener, using the component type
+		@SuppressWarnings("unchecked")
+		final CONSUMER consumer = (CONSUMER) data.getConsumer();
+		if (consumer == null) {
+			throw new IllegalArgumentException("Could not find a consumer on component %s".formatted(event.getComponentId()));
+		}
+
+		dataConsumer.accept(eventFunc.apply(consumer));
+	}
+
+	@Override
+	public void handlePersistentButton(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<PersistentButtonData> dataConsumer) {
+		handlePersistentComponent(event,
+				(MemoryFetchResult) fetchResult,
+				onError,
+				dataConsumer,
+				PersistentButtonData::new);
+	}
+
+	@Override
+	public void handlePersistentSelectMenu(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<PersistentSelectionMenuData> dataConsumer) {
+		handlePersistentComponent(event,
+				(MemoryFetchResult) fetchResult,
+				onError,
+				dataConsumer,
+				PersistentSelectionMenuData::new);
+	}
+
+	private <DATA> void handlePersistentComponent(GenericComponentInteractionCreateEvent event, MemoryFetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<DATA> dataConsumer, BiFunction<String, String[], DATA> dataFunction) {
+		final MemoryComponentData data = getComponentToHandle(event, fetchResult, onError);
+		if (data == null) return;
+
+		dataConsumer.accept(dataFunction.apply(data.getHandlerName(), data.getArgs()));
+	}
+
+	/**
+	 * Checks the component and deletes it if needed
+	 *
+	 * @return The component to handle, or <code>null</code> if it has been refused, <code>onError</code> is then called
+	 */
+	private MemoryComponentData getComponentToHandle(GenericComponentInteractionCreateEvent event, MemoryFetchResult fetchResult, Consumer<ComponentErrorReason> onError) {
+		final MemoryComponentData data = fetchResult.getFetchedComponent();
+		if (data == null)
+			throw new IllegalArgumentException("A null fetched component cannot be handled");
+
+		final HandleComponentResult result = ComponentDataChecks.handleComponentData(event,
+				data.isOneUse(),
+				data.getGroupId(),
+				data.getInteractionConstraints(),
+				data.getExpirationTimestamp());
+
+		if (result.getErrorReason() != null) {
+			if (result.shouldDelete()) {
+				delete(data);
+			}
+
+			onError.accept(result.getErrorReason());
+
+			return null;
+		}
+
+		//Only one of the concurrent interactions on a one-use component can use it
+		if (result.shouldDelete() && !delete(data)) {
+			onError.accept(ComponentErrorReason.EXPIRED);
+
+			return null;
+		}
+
+		return data;
+	}
+
+	@Override
+	@NotNull
+	public String putLambdaButton(LambdaButtonBuilder builder) {
+		final MemoryComponentData data = putLambdaComponent(ComponentType.LAMBDA_BUTTON,
+				builder.isOneUse(),
+				builder.getInteractionConstraints(),
+				builder.getTimeout(),
+				builder.getConsumer());
+
+		LOGGER.trace("Created a lambda button with id {}", data.getComponentId());
+		return data.getComponentId();
+	}
+
+	@NotNull
+	@Override
+	public <E extends GenericSelectMenuInteractionEvent<?, ?>> String putLambdaSelectMenu(LambdaSelectionMenuBuilder<?, E> builder) {
+		final MemoryComponentData data = putLambdaComponent(ComponentType.LAMBDA_SELECTION_MENU,
+				builder.isOneUse(),
+				builder.getInteractionConstraints(),
+				builder.getTimeout(),
+				builder.getConsumer());
+
+		LOGGER.trace("Created a lambda select menu with id {}", data.getComponentId());
+		return data.getComponentId();
+	}
+
+	private MemoryComponentData putLambdaComponent(ComponentType type, boolean oneUse, InteractionConstraints constraints, LambdaComponentTimeoutInfo timeout, ComponentConsumer<?> consumer) {
+		final long expirationTimestamp = getExpirationTimestamp(timeout.toMillis());
+
+		MemoryComponentData data;
+		do {
+			data = MemoryComponentData.ofLambda(Utils.randomId(64), type, oneUse, constraints, expirationTimestamp, consumer);
+		} while (lambdaComponents.putIfAbsent(data.getComponentId(), data) != null);
+
+		if (timeout.timeout() > 0) {
+			final MemoryComponentData finalData = data;
+			scheduleTimeout(() -> {
+				if (delete(finalData)) {
+					timeout.timeoutCallback().run();
+				}
+			}, timeout.timeout(), timeout.timeoutUnit());
+		}
+
+		return data;
+	}
+
+	private <T extends ComponentBuilder<T> & PersistentComponentBuilder<T>> String putPersistentComponent(T builder, ComponentType type) {
+		final PersistentComponentTimeoutInfo timeout = builder.getTimeout();
+		final MemoryComponentData data = MemoryComponentData.ofPersistent(Utils.randomId(64),
+				type,
+				0,
+				builder.isOneUse(),
+				builder.getInteractionConstraints(),
+				getExpirationTimestamp(timeout.toMillis()),
+				builder.getHandlerName(),
+				builder.getArgs());
+
+		persistentComponents.put(data.getComponentId(), data);
+		writer.insert(data);
+
+		if (timeout.timeout() > 0) {
+			scheduleTimeout(() -> delete(data), timeout.timeout(), timeout.timeoutUnit());
+		}
+
+		LOGGER.trace("Created a persistent component with id {}", data.getComponentId());
+		return data.getComponentId();
+	}
+
+	private static void scheduleTimeout(Runnable task, long timeout, TimeUnit unit) {
+		//The timing wheel tasks must not block, deleting a group and the user callbacks may take longer
+		TimingWheel.getShared().schedule(() -> ForkJoinPool.commonPool().execute(() -> {
+			try {
+				task.run();
+			} catch (Throwable e) {
+				LOGGER.error("An exception occurred while running a component timeout", e);
+			}
+		}), timeout, unit);
+	}
+
+	@Override
+	@NotNull
+	public String putPersistentButton(PersistentButtonBuilder builder) {
+		return putPersistentComponent(builder, ComponentType.PERSISTENT_BUTTON);
+	}
+
+	@NotNull
+	@Override
+	public <T extends PersistentSelectionMenuBuilder<T>> String putPersistentSelectMenu(T builder) {
+		return putPersistentComponent(builder, ComponentType.PERSISTENT_SELECTION_MENU);
+	}
+
+	@Override
+	public void registerGroup(Collection<String> ids) {
+		final long groupId = nextGroupId();
+		final Set<String> members = ConcurrentHashMap.newKeySet();
+
+		boolean hasPersistentComponents = false;
+		for (String id : ids) {
+			final MemoryComponentData lambdaData = lambdaComponents.get(id);
+			if (lambdaData != null) {
+				lambdaData.setGroupId(groupId);
+				members.add(id);
+
+				continue;
+			}
+
+			//Either a cached persistent component, or one which has to be updated in the database
+			final MemoryComponentData persistentData = persistentComponents.getIfPresent(id);
+			if (persistentData != null) {
+				persistentData.setGroupId(groupId);
+				members.add(id);
+			}
+
+			hasPersistentComponents = true;
+		}
+
+		//Groups without members in memory are deleted from the database directly
+		if (!members.isEmpty()) {
+			groups.put(groupId, new ComponentGroup(members, hasPersistentComponents));
+		}
+
+		if (hasPersistentComponents) {
+			writer.setGroup(groupId, ids);
+		}
+	}
+
+	private long nextGroupId() {
+		synchronized (reservedGroupIds) {
+			if (reservedGroupIds.isEmpty()) {
+				try {
+					reservedGroupIds.add(writer.reserveGroupIds(GROUP_ID_BLOCK_SIZE));
+				} catch (SQLException e) {
+					LOGGER.error("Unable to reserve group IDs", e);
+
+					throw new RuntimeException("Unable to reserve group IDs", e);
+				}
+			}
+
+			return reservedGroupIds.removeAt(reservedGroupIds.size() - 1);
+		}
+	}
+
+	@Override
+	public int deleteIds(Collection<String> ids) {
+		if (ids.isEmpty()) return 0;
+
+		final List<String> persistentIds = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			if (!lambdaComponents.containsKey(id)) {
+				persistentIds.add(id);
+			}
+		}
+
+		//Write the deletion before removing from memory, so a concurrent fetch either sees the component, or reads after the deletion
+		writer.deleteIds(persistentIds);
+
+		int deleted = 0;
+		for (String id : ids) {
+			MemoryComponentData data = lambdaComponents.remove(id);
+			if (data == null) {
+				data = persistentComponents.asMap().remove(id);
+			}
+
+			if (data != null) {
+				deleted++;
+
+				removeGroupMember(data.getGroupId(), id);
+			}
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Deletes the component, or the group it belongs to
+	 *
+	 * @return <code>true</code> if the component was deleted by this call
+	 */
+	private boolean delete(MemoryComponentData data) {
+		final long groupId = data.getGroupId();
+		if (groupId > 0) {
+			final ComponentGroup group = groups.remove(groupId);
+			if (group == null) {
+				//Already deleted by a concurrent interaction
+				if (data.isLambda()) return false;
+
+				//Group from a previous run, or whose members left the memory, the members can only be persistent components
+				writer.deleteGroup(groupId);
+
+				return persistentComponents.asMap().values().removeIf(d -> d.getGroupId() == groupId);
+			}
+
+			if (group.hasPersistentComponents()) {
+				writer.deleteGroup(groupId);
+			}
+
+			boolean deleted = false;
+			for (String member : group.members()) {
+				final MemoryComponentData memberData = removeFromMemory(member);
+				if (memberData == data) {
+					deleted = true;
+				}
+			}
+
+			return deleted;
+		} else {
+			if (!data.isLambda()) {
+				writer.deleteIds(List.of(data.getComponentId()));
+			}
+
+			return removeFromMemory(data.getComponentId()) == data;
+		}
+	}
+
+	private void removeGroupMember(long groupId, String id) {
+		if (groupId <= 0) return;
+
+		groups.computeIfPresent(groupId, (k, group) -> {
+			group.members().remove(id);
+
+			return group.members().isEmpty() ? null : group;
+		});
+	}
+
+	private MemoryComponentData removeFromMemory(String id) {
+		final MemoryComponentData lambdaData = lambdaComponents.remove(id);
+		if (lambdaData != null) return lambdaData;
+
+		return persistentComponents.asMap().remove(id);
+	}
+
+	private static long getExpirationTimestamp(long timeoutMillis) {
+		return timeoutMillis == 0 ? 0 : System.currentTimeMillis() + timeoutMillis;
+	}
+
+	private record ComponentGroup(Set<String> members, boolean hasPersistentComponents) {}
+}
@@ -1,15 +1,20 @@
 package com.freya02.botcommands.api.components;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.api.ExceptionHandler;
 import com.freya02.botcommands.api.Logging;
 import com.freya02.botcommands.api.components.event.ButtonEvent;
 import com.freya02.botcommands.api.components.event.EntitySelectionEvent;
 import com.freya02.botcommands.api.components.event.StringSelectionEvent;
+import com.freya02.botcommands.api.metrics.HandlerType;
 import com.freya02.botcommands.api.parameters.ComponentParameterResolver;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.RunnableEx;
 import com.freya02.botcommands.internal.application.CommandParameter;
 import com.freya02.botcommands.internal.components.ComponentDescriptor;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
+import com.freya02.botcommands.internal.utils.KeyedSerialExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.events.interaction.component.*;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -23,22 +28,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class ComponentListener extends ListenerAdapter {
 	private static final Logger LOGGER = Logging.getLogger();
 
-	private final ExecutorService idHandlingExecutor = Executors.newSingleThreadExecutor(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in a component ID handler thread '" + t.getName() + "':", e));
-		thread.setName("Component ID handling thread");
-
-		return thread;
-	});
+	private final DispatchExecutor idHandlingExecutor;
+	//Interactions on the same one-use component, or on the same group, are handled in order, as they delete the components
+	private final KeyedSerialExecutor serialHandlingExecutor;
 
 	private final BContextImpl context;
 	private final ComponentManager componentManager;
@@ -46,18 +48,13 @@ public class ComponentListener extends ListenerAdapter {
 	private final Map<String, ComponentDescriptor> buttonsMap;
 	private final Map<String, ComponentDescriptor> selectionMenuMap;
 
-	private int callbackThreadNumber;
-	private final ExecutorService callbackExecutor = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in a component callback thread '" + t.getName() + "':", e));
-		thread.setName("Component callback thread #" + callbackThreadNumber++);
-
-		return thread;
-	});
+	private final DispatchExecutor callbackExecutor;
 
 	public ComponentListener(BContextImpl context, Map<String, ComponentDescriptor> buttonsMap, Map<String, ComponentDescriptor> selectionMenuMap) {
 		this.context = context;
+		this.idHandlingExecutor = context.createExecutor(DispatchPool.COMPONENT_HANDLING);
+		this.serialHandlingExecutor = new KeyedSerialExecutor(idHandlingExecutor);
+		this.callbackExecutor = context.createExecutor(DispatchPool.COMPONENT_CALLBACKS);
 		this.componentManager = Utils.getComponentManager(context);
 		this.buttonsMap = buttonsMap;
 		this.selectionMenuMap = selectionMenuMap;
@@ -70,10 +67,11 @@ public class ComponentListener extends ListenerAdapter {
 	public void onGenericComponentInteractionCreate(@NotNull GenericComponentInteractionCreateEvent event) {
 		if (!(event instanceof ButtonInteractionEvent) && !(event instanceof GenericSelectMenuInteractionEvent<?, ?>)) return;
 
-		runHandler(() -> handleComponentInteraction(event), event);
+		final HandlerTimer timer = HandlerTimer.start(context, HandlerType.COMPONENT);
+		runHandler(() -> handleComponentInteraction(event, timer), event, timer);
 	}
 
-	private void handleComponentInteraction(@NotNull GenericComponentInteractionCreateEvent event) throws Exception {
+	private void handleComponentInteraction(@NotNull GenericComponentInteractionCreateEvent event, HandlerTimer timer) throws Exception {
 		for (ComponentInteractionFilter componentFilter : context.getComponentFilters()) {
 			if (!componentFilter.isAccepted(new ComponentFilteringData(context, event))) {
 				LOGGER.trace("Cancelled component interaction due to filter");
@@ -85,63 +83,118 @@ public class ComponentListener extends ListenerAdapter {
 		try (FetchResult fetchResult = componentManager.fetchComponent(event.getComponentId())) {
 			final FetchedComponent fetchedComponent = fetchResult.getFetchedComponent();
 
-			if (fetchedComponent == null) {
-				LOGGER.trace("Could not find components with id {}", event.getComponentId());
-				event.reply(context.getDefaultMessages(event).getComponentNotFoundErrorMsg())
-						.setEphemeral(true)
-						.queue();
+			//Other components are handled in parallel
+			if (fetchedComponent != null && (fetchedComponent.isOneUse() || fetchedComponent.getGroupId() > 0)) {
+				final Object serialKey = fetchedComponent.getGroupId() > 0 ? fetchedComponent.getGroupId() : event.getComponentId();
+
+				serialHandlingExecutor.execute(serialKey, () -> handleSerialComponentInteraction(event, timer));
 
 				return;
 			}
 
-			final ComponentType idType = fetchedComponent.getType();
-			if ((idType == ComponentType.PERSISTENT_BUTTON || idType == ComponentType.LAMBDA_BUTTON) && !(event instanceof ButtonInteractionEvent)) {
-				LOGGER.error("Received a button id type but event is not a ButtonInteractionEvent");
+			handleFetchedComponent(event, fetchResult, timer);
+		}
+	}
 
-				return;
-			}
+	/**
+	 * Handles an interaction on a one-use or grouped component, once the previous interactions on the component, or on its group, have been handled
+	 * <br>The component is fetched again, as the previous interactions may have deleted it.
+	 *
+	 * @return The stage completing once the component handler has completed
+	 */
+	private CompletionStage<?> handleSerialComponentInteraction(@NotNull GenericComponentInteractionCreateEvent event, HandlerTimer timer) {
+		if (idHandlingExecutor.dropIfExpired(event)) return CompletableFuture.completedFuture(null);
 
-			if ((idType == ComponentType.PERSISTENT_SELECTION_MENU || idType == ComponentType.LAMBDA_SELECTION_MENU) && !(event instanceof GenericSelectMenuInteractionEvent<?, ?>)) {
-				LOGGER.error("Received a selection menu id type but event is not a GenericSelectMenuInteractionEvent");
+		try (FetchResult fetchResult = componentManager.fetchComponent(event.getComponentId())) {
+			return handleFetchedComponent(event, fetchResult, timer);
+		} catch (Throwable e) {
+			handleException(event, e, "Unhandled exception in thread '" + Thread.currentThread().getName() + "' while executing the component ID handler", "Exception in component ID handler");
 
-				return;
-			}
+			return CompletableFuture.completedFuture(null);
+		}
+	}
 
-			switch (idType) {
-				case PERSISTENT_BUTTON -> componentManager.handlePersistentButton(event,
-						fetchResult,
-						e -> onError(event, e),
-						data -> runCallback(() -> handlePersistentComponent(event,
-										buttonsMap,
-										data.getHandlerName(),
-										data.getArgs(),
-										descriptor -> new ButtonEvent(descriptor.getMethod(), context, (ButtonInteractionEvent) event)),
-								event));
-				case LAMBDA_BUTTON -> componentManager.handleLambdaButton(event,
-						fetchResult,
-						e -> onError(event, e),
-						data -> runCallback(() -> data.getConsumer().accept(new ButtonEvent(null, context, (ButtonInteractionEvent) event)), event)
-				);
-				case PERSISTENT_SELECTION_MENU -> componentManager.handlePersistentSelectMenu(event,
-						fetchResult,
-						e -> onError(event, e),
-						data -> runCallback(() -> handlePersistentComponent(event,
-										selectionMenuMap,
-										data.getHandlerName(),
-										data.getArgs(),
-										descriptor -> transformSelectEvent(descriptor.getMethod(), context, event)),
-								event));
-				case LAMBDA_SELECTION_MENU -> componentManager.handleLambdaSelectMenu(event,
-						fetchResult,
-						e -> onError(event, e),
-						data -> runCallback(() -> data.getConsumer().accept(transformSelectEvent(null, context, event)), event));
-				default -> throw new IllegalArgumentException("Unknown id type: " + idType.name());
-			}
+	/**
+	 * @return The stage completing once the component handler has completed
+	 */
+	private CompletionStage<?> handleFetchedComponent(@NotNull GenericComponentInteractionCreateEvent event, FetchResult fetchResult, HandlerTimer timer) {
+		final FetchedComponent fetchedComponent = fetchResult.getFetchedComponent();
+
+		if (fetchedComponent == null) {
+			LOGGER.trace("Could not find components with id {}", event.getComponentId());
+			event.reply(context.getDefaultMessages(event).getComponentNotFoundErrorMsg())
+					.setEphemeral(true)
+					.queue();
+
+			return CompletableFuture.completedFuture(null);
+		}
+
+		final ComponentType idType = fetchedComponent.getType();
+		if ((idType == ComponentType.PERSISTENT_BUTTON || idType == ComponentType.LAMBDA_BUTTON) && !(event instanceof ButtonInteractionEvent)) {
+			LOGGER.error("Received a button id type but event is not a ButtonInteractionEvent");
+
+			return CompletableFuture.completedFuture(null);
+		}
+
+		if ((idType == ComponentType.PERSISTENT_SELECTION_MENU || idType == ComponentType.LAMBDA_SELECTION_MENU) && !(event instanceof GenericSelectMenuInteractionEvent<?, ?>)) {
+			LOGGER.error("Received a selection menu id type but event is not a GenericSelectMenuInteractionEvent");
+
+			return CompletableFuture.completedFuture(null);
 		}
+
+		//Set if the component passed its checks, the manager then calls the data consumer synchronously
+		final AtomicReference<CompletionStage<?>> callbackCompletion = new AtomicReference<>(CompletableFuture.completedFuture(null));
+		switch (idType) {
+			case PERSISTENT_BUTTON -> componentManager.handlePersistentButton(event,
+					fetchResult,
+					e -> onError(event, e),
+					data -> callbackCompletion.set(runCallback(data.getHandlerName(), () -> handlePersistentComponent(event,
+									buttonsMap,
+									data.getHandlerName(),
+									data.getArgs(),
+									descriptor -> new ButtonEvent(descriptor.getMethod(), context, (ButtonInteractionEvent) event),
+									timer),
+							event, timer)));
+			case LAMBDA_BUTTON -> componentManager.handleLambdaButton(event,
+					fetchResult,
+					e -> onError(event, e),
+					data -> callbackCompletion.set(runCallback(idType.name(), () -> {
+						timer.onResolved();
+						data.getConsumer().accept(new ButtonEvent(null, context, (ButtonInteractionEvent) event));
+						timer.onHandled();
+
+						return null;
+					}, event, timer))
+			);
+			case PERSISTENT_SELECTION_MENU -> componentManager.handlePersistentSelectMenu(event,
+					fetchResult,
+					e -> onError(event, e),
+					data -> callbackCompletion.set(runCallback(data.getHandlerName(), () -> handlePersistentComponent(event,
+									selectionMenuMap,
+									data.getHandlerName(),
+									data.getArgs(),
+									descriptor -> transformSelectEvent(descriptor.getMethod(), context, event),
+									timer),
+							event, timer)));
+			case LAMBDA_SELECTION_MENU -> componentManager.handleLambdaSelectMenu(event,
+					fetchResult,
+					e -> onError(event, e),
+					data -> callbackCompletion.set(runCallback(idType.name(), () -> {
+						timer.onResolved();
+						data.getConsumer().accept(transformSelectEvent(null, context, event));
+						timer.onHandled();
+
+						return null;
+					}, event, timer)));
+			default -> throw new IllegalArgumentException("Unknown id type: " + idType.name());
+		}
+
+		return callbackCompletion.get();
 	}
 
-	private void runHandler(RunnableEx code, @NotNull GenericComponentInteractionCreateEvent event) {
-		idHandlingExecutor.execute(() -> {
+	private void runHandler(RunnableEx code, @NotNull GenericComponentInteractionCreateEvent event, HandlerTimer timer) {
+		idHandlingExecutor.executeInteraction(event, () -> {
+			timer.onStarted();
 			try {
 				long start = System.nanoTime();
 				code.run();
@@ -149,55 +202,66 @@ public class ComponentListener extends ListenerAdapter {
 
 				LOGGER.trace("Component handler took {} ms", (end - start) / 1000000.0);
 			} catch (Throwable e) {
-				final ExceptionHandler handler = context.getUncaughtExceptionHandler();
-				if (handler != null) {
-					handler.onException(context, event, e);
-
-					return;
-				}
-
-				Throwable baseEx = Utils.getException(e);
-
-				Utils.printExceptionString("Unhandled exception in thread '" + Thread.currentThread().getName() + "' while executing the component ID handler", baseEx);
-				if (event.isAcknowledged()) {
-					event.getHook().sendMessage(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
-				} else {
-					event.reply(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
-				}
-
-				context.dispatchException("Exception in component ID handler", baseEx);
+				handleException(event, e, "Unhandled exception in thread '" + Thread.currentThread().getName() + "' while executing the component ID handler", "Exception in component ID handler");
 			}
 		});
 	}
 
-	private void runCallback(RunnableEx code, @NotNull GenericComponentInteractionCreateEvent event) {
+	/**
+	 * Runs the component callback on the callback executor
+	 *
+	 * @return The stage completing once the callback, and the asynchronous work it returned, have completed
+	 */
+	private CompletionStage<?> runCallback(String handlerName, CallbackEx code, @NotNull GenericComponentInteractionCreateEvent event, HandlerTimer timer) {
+		//Fetching the component and checking its constraints is part of the filtering
+		timer.setName(handlerName);
+		timer.onFiltered();
+
+		final CompletableFuture<Void> completion = new CompletableFuture<>();
 		callbackExecutor.execute(() -> {
+			timer.onStarted();
+
+			CompletionStage<?> asyncCompletion = null;
 			try {
 				long start = System.nanoTime();
-				code.run();
+				asyncCompletion = code.run();
 				long end = System.nanoTime();
 
 				LOGGER.trace("Component callback took {} ms", (end - start) / 1000000.0);
 			} catch (Throwable e) {
-				final ExceptionHandler handler = context.getUncaughtExceptionHandler();
-				if (handler != null) {
-					handler.onException(context, event, e);
+				timer.onError(e);
 
-					return;
-				}
-
-				Throwable baseEx = Utils.getException(e);
-
-				Utils.printExceptionString("Unhandled exception in thread '" + Thread.currentThread().getName() + "' while executing a component callback", baseEx);
-				if (event.isAcknowledged()) {
-					event.getHook().sendMessage(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
+				handleException(event, e, "Unhandled exception in thread '" + Thread.currentThread().getName() + "' while executing a component callback", "Exception in component callback");
+			} finally {
+				if (asyncCompletion == null) {
+					completion.complete(null);
 				} else {
-					event.reply(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
+					asyncCompletion.whenComplete((r, e) -> completion.complete(null));
 				}
-
-				context.dispatchException("Exception in component callback", baseEx);
 			}
 		});
+
+		return completion;
+	}
+
+	private void handleException(GenericComponentInteractionCreateEvent event, Throwable e, String logMessage, String dispatchMessage) {
+		final ExceptionHandler handler = context.getUncaughtExceptionHandler();
+		if (handler != null) {
+			handler.onException(context, event, e);
+
+			return;
+		}
+
+		Throwable baseEx = Utils.getException(e);
+
+		Utils.printExceptionString(logMessage, baseEx);
+		if (event.isAcknowledged()) {
+			event.getHook().sendMessage(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
+		} else {
+			event.reply(context.getDefaultMessages(event).getGeneralErrorMsg()).setEphemeral(true).queue();
+		}
+
+		context.dispatchException(dispatchMessage, baseEx);
 	}
 
 	@NotNull
@@ -211,17 +275,22 @@ public class ComponentListener extends ListenerAdapter {
 		}
 	}
 
-	private void handlePersistentComponent(GenericComponentInteractionCreateEvent event,
+	/**
+	 * @return The stage completing once the handler has run, or <code>null</code> if it ran synchronously
+	 */
+	@Nullable
+	private CompletionStage<?> handlePersistentComponent(GenericComponentInteractionCreateEvent event,
 	                                       Map<String, ComponentDescriptor> map,
 	                                       String handlerName,
 	                                       String[] args,
-	                                       Function<ComponentDescriptor, ? extends GenericComponentInteractionCreateEvent> eventFunction) {
+	                                       Function<ComponentDescriptor, ? extends GenericComponentInteractionCreateEvent> eventFunction,
+	                                       HandlerTimer timer) {
 		final ComponentDescriptor descriptor = map.get(handlerName);
 
 		if (descriptor == null) {
 			LOGGER.error("No component descriptor found for component handler '{}'", handlerName);
 
-			return;
+			return null;
 		}
 
 		final var parameters = descriptor.getParameters();
@@ -229,33 +298,33 @@ public class ComponentListener extends ListenerAdapter {
 			throw new IllegalArgumentException("Resolver for %s has %d arguments but component had %d data objects".formatted(Utils.formatMethodShort(descriptor.getMethod()), parameters.size(), args.length));
 		}
 
-		final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event, handlerName, args);
+		final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event, handlerName, args));
 		try {
-			//For some reason using an array list instead of a regular array
-			// magically unboxes primitives when passed to Method#invoke
-			final List<Object> methodArgs = new ArrayList<>(parameters.size() + 1);
+			//All the parameters are resolved concurrently, the handler runs once all of them are resolved
+			final List<CompletableFuture<Object>> resolvedArgs = new ArrayList<>(parameters.size() + 1);
 
-			methodArgs.add(eventFunction.apply(descriptor));
+			resolvedArgs.add(CompletableFuture.completedFuture(eventFunction.apply(descriptor)));
 
 			int optionIndex = 0;
 			for (final CommandParameter<ComponentParameterResolver> parameter : parameters) {
-				final Object obj;
 				if (parameter.isOption()) {
 					final String arg = args[optionIndex];
 					optionIndex++;
 
-					obj = parameter.getResolver().resolve(context, descriptor, event, arg);
-
-					if (obj == null) {
-						throw new IllegalArgumentException("Component id '%s', tried to resolve '%s' with an option resolver %s on method %s but result is null".formatted(
-								event.getComponentId(),
-								arg,
-								parameter.getCustomResolver().getClass().getSimpleName(),
-								Utils.formatMethodShort(descriptor.getMethod())
-						));
-					}
+					resolvedArgs.add(parameter.getResolver().resolveAsync(context, descriptor, event, arg).thenApply(obj -> {
+						if (obj == null) {
+							throw new IllegalArgumentException("Component id '%s', tried to resolve '%s' with an option resolver %s on method %s but result is null".formatted(
+									event.getComponentId(),
+									arg,
+									parameter.getResolver().getClass().getSimpleName(),
+									Utils.formatMethodShort(descriptor.getMethod())
+							));
+						}
+
+						return obj;
+					}));
 				} else {
-					obj = parameter.getCustomResolver().resolve(context, descriptor, event);
+					final Object obj = parameter.getCustomResolver().resolve(context, descriptor, event);
 
 					if (obj == null) {
 						throw new IllegalArgumentException("Component id '%s', tried to use custom resolver %s on method %s but result is null".formatted(
@@ -264,12 +333,46 @@ public class ComponentListener extends ListenerAdapter {
 								Utils.formatMethodShort(descriptor.getMethod())
 						));
 					}
+
+					resolvedArgs.add(CompletableFuture.completedFuture(obj));
 				}
+			}
 
-				methodArgs.add(obj);
+			final CompletableFuture<Void> allResolved = CompletableFuture.allOf(resolvedArgs.toArray(CompletableFuture<?>[]::new));
+			if (allResolved.isDone()) {
+				invokePersistentHandler(descriptor, resolvedArgs, throwableConsumer, timer);
+
+				return null;
+			} else {
+				//Do not run the handler on the thread which completed the requests
+				return allResolved.whenCompleteAsync((v, e) -> invokePersistentHandler(descriptor, resolvedArgs, throwableConsumer, timer), callbackExecutor);
 			}
+		} catch (Exception e) {
+			throwableConsumer.accept(e);
+
+			return null;
+		}
+	}
+
+	private void invokePersistentHandler(ComponentDescriptor descriptor,
+	                                     List<CompletableFuture<Object>> resolvedArgs,
+	                                     Consumer<Throwable> throwableConsumer,
+	                                     HandlerTimer timer) {
+		try {
+			//For some reason using an array list instead of a regular array
+			// magically unboxes primitives when passed to Method#invoke
+			final List<Object> methodArgs = new ArrayList<>(resolvedArgs.size());
+			for (CompletableFuture<Object> resolvedArg : resolvedArgs) {
+				methodArgs.add(resolvedArg.join());
+			}
+
+			timer.onResolved();
 
 			descriptor.getMethodRunner().invoke(methodArgs.toArray(), throwableConsumer);
+
+			timer.onHandled();
+		} catch (CompletionException e) {
+			throwableConsumer.accept(e.getCause());
 		} catch (Exception e) {
 			throwableConsumer.accept(e);
 		}
@@ -298,6 +401,14 @@ public class ComponentListener extends ListenerAdapter {
 		};
 	}
 
+	private interface CallbackEx {
+		/**
+		 * @return The stage completing once the asynchronous part of the callback has completed, or <code>null</code> if there is none
+		 */
+		@Nullable
+		CompletionStage<?> run() throws Exception;
+	}
+
 	private void onError(GenericComponentInteractionCreateEvent event, ComponentErrorReason reason) {
 		event.reply(reason.getReason(context.getDefaultMessages(event)))
 				.setEphemeral(true)
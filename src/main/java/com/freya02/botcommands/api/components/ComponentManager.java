@@ -21,7 +21,9 @@ import java.util.function.Consumer;
 /**
  * The interface which manages components, this goes from creating components, deleting them, or handling their timeouts
  *
- * <p>The default implementation should be used: {@link DefaultComponentManager}
+ * <p>The default implementation should be used: {@link DefaultComponentManager},
+ * or {@link CachedComponentManager} if the database latency matters
+ * <br>Either of them can be wrapped in a {@link SignedComponentManager}, to avoid storing most persistent components
  */
 public interface ComponentManager {
 	@NotNull
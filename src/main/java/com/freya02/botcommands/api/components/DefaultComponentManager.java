@@ -9,6 +9,7 @@ import com.freya02.botcommands.api.components.builder.buttons.LambdaButtonBuilde
 import com.freya02.botcommands.api.components.builder.buttons.PersistentButtonBuilder;
 import com.freya02.botcommands.api.components.builder.selects.LambdaSelectionMenuBuilder;
 import com.freya02.botcommands.api.components.builder.selects.PersistentSelectionMenuBuilder;
+import com.freya02.botcommands.internal.components.ComponentDataChecks;
 import com.freya02.botcommands.internal.components.HandleComponentResult;
 import com.freya02.botcommands.internal.components.data.LambdaButtonData;
 import com.freya02.botcommands.internal.components.data.LambdaSelectionMenuData;
@@ -16,8 +17,6 @@ import com.freya02.botcommands.internal.components.data.PersistentButtonData;
 import com.freya02.botcommands.internal.components.data.PersistentSelectionMenuData;
 import com.freya02.botcommands.internal.components.sql.*;
 import com.freya02.botcommands.internal.utils.Utils;
-import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
 import net.dv8tion.jda.api.events.interaction.component.GenericSelectMenuInteractionEvent;
 import org.jetbrains.annotations.NotNull;
@@ -28,9 +27,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
@@ -46,8 +45,9 @@ public class DefaultComponentManager implements ComponentManager {
 
 	private final Supplier<Connection> connectionSupplier;
 
-	private final Map<Long, ButtonConsumer> buttonLambdaMap = new HashMap<>();
-	private final Map<Long, SelectionConsumer<? extends GenericSelectMenuInteractionEvent<?, ?>>> selectionMenuLambdaMap = new HashMap<>();
+	//Components are handled concurrently
+	private final Map<Long, ButtonConsumer> buttonLambdaMap = new ConcurrentHashMap<>();
+	private final Map<Long, SelectionConsumer<? extends GenericSelectMenuInteractionEvent<?, ?>>> selectionMenuLambdaMap = new ConcurrentHashMap<>();
 
 	public DefaultComponentManager(@NotNull Supplier<Connection> connectionSupplier) {
 		this.connectionSupplier = connectionSupplier;
@@ -403,9 +403,17 @@ public class DefaultComponentManager implements ComponentManager {
 	}
 
 	private void setupTables() throws SQLException {
+		try (Connection connection = getConnection()) {
+			setupTables(connection);
+		}
+	}
+
+	/**
+	 * Creates or upgrades the component tables, and removes the lambda components of the previous runs
+	 */
+	static void setupTables(Connection connection) throws SQLException {
 		final String setupVersionSql = Utils.readResource("setupVersion.sql");
-		try (Connection connection = getConnection();
-		     PreparedStatement setupVersionStatement = connection.prepareStatement(
+		try (PreparedStatement setupVersionStatement = connection.prepareStatement(
 				     setupVersionSql
 		     );
 		     PreparedStatement readVersionStatement = connection.prepareStatement(
@@ -443,7 +451,7 @@ public class DefaultComponentManager implements ComponentManager {
 		}
 	}
 
-	private void askUpdate(Connection connection, String currentVersion) throws SQLException {
+	private static void askUpdate(Connection connection, String currentVersion) throws SQLException {
 		LOGGER.warn("Database is at version {} but should be at version {}, do you wish to upgrade ?", currentVersion, LATEST_VERSION);
 		LOGGER.warn("This will delete all the component tables, other tables are not modified.");
 		LOGGER.warn("Enter 'yes' in order to continue, or anything else to abort");
@@ -460,7 +468,7 @@ public class DefaultComponentManager implements ComponentManager {
 		}
 	}
 
-	private void resetTables(Connection connection) throws SQLException {
+	private static void resetTables(Connection connection) throws SQLException {
 		try (PreparedStatement resetTablesStatement = connection.prepareStatement(
 				Utils.readResource("resetTables.sql")
 		)) {
@@ -470,51 +478,6 @@ public class DefaultComponentManager implements ComponentManager {
 
 	@NotNull
 	private HandleComponentResult handleComponentData(GenericComponentInteractionCreateEvent event, SQLComponentData data) {
-		final boolean oneUse = data.isOneUse() || data.getGroupId() > 0;
-		final InteractionConstraints constraints = data.getInteractionConstraints();
-		final long expirationTimestamp = data.getExpirationTimestamp();
-
-		if (expirationTimestamp > 0 && System.currentTimeMillis() > expirationTimestamp) {
-			return new HandleComponentResult(ComponentErrorReason.EXPIRED, true);
-		}
-
-		boolean allowed = checkConstraints(event, constraints);
-
-		if (!allowed) {
-			return new HandleComponentResult(ComponentErrorReason.NOT_ALLOWED, false);
-		}
-
-		return new HandleComponentResult(null, oneUse);
-	}
-
-	private boolean checkConstraints(GenericComponentInteractionCreateEvent event, InteractionConstraints constraints) {
-		if (constraints.isEmpty()) return true;
-
-		if (constraints.getUserList().contains(event.getUser().getIdLong())) {
-			return true;
-		}
-
-		final Member member = event.getMember();
-		if (member != null) {
-			if (!constraints.getPermissions().isEmpty()) {
-				if (member.hasPermission(event.getGuildChannel(), constraints.getPermissions())) {
-					return true;
-				}
-			}
-
-			if (event.getGuild() != null && constraints.getRoleList().contains(event.getGuild().getIdLong())) {
-				return true; //Everyone role
-			}
-
-			for (Role role : member.getRoles()) {
-				boolean hasRole = constraints.getRoleList().contains(role.getIdLong());
-
-				if (hasRole) {
-					return true;
-				}
-			}
-		}
-
-		return false;
+		return ComponentDataChecks.handleComponentData(event, data.isOneUse(), data.getGroupId(), data.getInteractionConstraints(), data.getExpirationTimestamp());
 	}
-}
\ No newline at end of file
+}
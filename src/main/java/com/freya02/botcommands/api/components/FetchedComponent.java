@@ -5,4 +5,24 @@ import org.jetbrains.annotations.NotNull;
 public interface FetchedComponent{
 	@NotNull
 	ComponentType getType();
+
+	/**
+	 * Whether the component is deleted once used
+	 * <br>The interactions on one-use components are handled one after the other.
+	 *
+	 * @return <code>true</code> if the component is one-use, <code>true</code> by default, as it is always safe
+	 */
+	default boolean isOneUse() {
+		return true;
+	}
+
+	/**
+	 * Returns the ID of the group the component belongs to
+	 * <br>The interactions on the components of a group are handled one after the other.
+	 *
+	 * @return The group ID, or <code>0</code> if the component is not in a group
+	 */
+	default long getGroupId() {
+		return 0;
+	}
 }
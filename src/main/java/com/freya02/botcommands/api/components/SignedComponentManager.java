@@ -0,0 +1,225 @@
+package com.freya02.botcommands.api.components;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.components.builder.ComponentBuilder;
+import com.freya02.botcommands.api.components.builder.PersistentComponentBuilder;
+import com.freya02.botcommands.api.components.builder.buttons.LambdaButtonBuilder;
+import com.freya02.botcommands.api.components.builder.buttons.PersistentButtonBuilder;
+import com.freya02.botcommands.api.components.builder.selects.LambdaSelectionMenuBuilder;
+import com.freya02.botcommands.api.components.builder.selects.PersistentSelectionMenuBuilder;
+import com.freya02.botcommands.internal.components.ComponentDataChecks;
+import com.freya02.botcommands.internal.components.HandleComponentResult;
+import com.freya02.botcommands.internal.components.data.LambdaButtonData;
+import com.freya02.botcommands.internal.components.data.LambdaSelectionMenuData;
+import com.freya02.botcommands.internal.components.data.PersistentButtonData;
+import com.freya02.botcommands.internal.components.data.PersistentSelectionMenuData;
+import com.freya02.botcommands.internal.components.memory.MemoryComponentData;
+import com.freya02.botcommands.internal.components.memory.MemoryFetchResult;
+import com.freya02.botcommands.internal.components.signed.SignedComponentCodec;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.component.GenericSelectMenuInteractionEvent;
+import net.dv8tion.jda.internal.utils.Checks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ComponentManager} which encodes persistent components directly in their ID, instead of storing them
+ *
+ * <p>The handler name, arguments, expiration and interaction constraints are written in the component ID,
+ * which is signed with an HMAC using your secret key, so the IDs cannot be forged.
+ * <br>Creating and using these components does not involve any storage.
+ *
+ * <p>The other components are given to the storage manager, such as {@link DefaultComponentManager} or {@link CachedComponentManager}:
+ * <ul>
+ *     <li>Lambda components, as their callbacks cannot be encoded</li>
+ *     <li>One-use components, as they need to remember that they have been used</li>
+ *     <li>Persistent components which do not fit in the 100 characters of a component ID</li>
+ * </ul>
+ *
+ * <p>As signed components are not stored, they cannot be deleted and cannot be {@link Components#group(ActionComponent...) grouped},
+ * make the grouped components one-use so they are stored instead.
+ * <br>A signed component stays usable until it expires, even after its message is deleted,
+ * give a timeout to the persistent components which may need to stop working.
+ * <br>Changing the secret key invalidates all the signed components, you can use a long random key stored alongside your bot token.
+ */
+public class SignedComponentManager implements ComponentManager {
+	private static final Logger LOGGER = Logging.getLogger();
+	private static final int LOGGED_ID_LENGTH = 16;
+
+	private final ComponentManager storageManager;
+	private final SignedComponentCodec codec;
+
+	/**
+	 * Creates a signed component manager
+	 *
+	 * @param storageManager The component manager storing the components which cannot be signed
+	 * @param secretKey      The key used to sign the component IDs, at least 32 bytes long
+	 */
+	public SignedComponentManager(@NotNull ComponentManager storageManager, byte @NotNull [] secretKey) {
+		Checks.notNull(storageManager, "Storage component manager");
+		Checks.check(secretKey.length >= 32, "Secret key must be at least 32 bytes long");
+
+		this.storageManager = storageManager;
+		this.codec = new SignedComponentCodec(secretKey);
+	}
+
+	@Override
+	@NotNull
+	public FetchResult fetchComponent(String id) {
+		if (SignedComponentCodec.isSigned(id)) {
+			final MemoryComponentData data = codec.decode(id);
+			if (data == null) {
+				//Anyone can send arbitrary IDs, do not let them fill the logs
+				LOGGER.debug("Received a component ID with an invalid signature: '{}...'", id.substring(0, Math.min(id.length(), LOGGED_ID_LENGTH)));
+			}
+
+			return new SignedFetchResult(data);
+		}
+
+		return storageManager.fetchComponent(id);
+	}
+
+	@Override
+	public void handleLambdaButton(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<LambdaButtonData> dataConsumer) {
+		storageManager.handleLambdaButton(event, fetchResult, onError, dataConsumer);
+	}
+
+	@Override
+	public <E extends GenericSelectMenuInteractionEvent<?, ?>> void handleLambdaSelectMenu(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<LambdaSelectionMenuData<E>> dataConsumer) {
+		storageManager.handleLambdaSelectMenu(event, fetchResult, onError, dataConsumer);
+	}
+
+	@Override
+	public void handlePersistentButton(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<PersistentButtonData> dataConsumer) {
+		if (fetchResult instanceof SignedFetchResult signedFetchResult) {
+			handleSignedComponent(event, signedFetchResult, onError, dataConsumer, PersistentButtonData::new);
+		} else {
+			storageManager.handlePersistentButton(event, fetchResult, onError, dataConsumer);
+		}
+	}
+
+	@Override
+	public void handlePersistentSelectMenu(GenericComponentInteractionCreateEvent event, FetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<PersistentSelectionMenuData> dataConsumer) {
+		if (fetchResult instanceof SignedFetchResult signedFetchResult) {
+			handleSignedComponent(event, signedFetchResult, onError, dataConsumer, PersistentSelectionMenuData::new);
+		} else {
+			storageManager.handlePersistentSelectMenu(event, fetchResult, onError, dataConsumer);
+		}
+	}
+
+	private <DATA> void handleSignedComponent(GenericComponentInteractionCreateEvent event, SignedFetchResult fetchResult, Consumer<ComponentErrorReason> onError, Consumer<DATA> dataConsumer, BiFunction<String, String[], DATA> dataFunction) {
+		final MemoryComponentData data = fetchResult.getFetchedComponent();
+		if (data == null)
+			throw new IllegalArgumentException("A null fetched component cannot be handled");
+
+		//Signed components are never one-use nor grouped, there is nothing to delete
+		final HandleComponentResult result = ComponentDataChecks.handleComponentData(event,
+				false,
+				0,
+				data.getInteractionConstraints(),
+				data.getExpirationTimestamp());
+
+		if (result.getErrorReason() != null) {
+			onError.accept(result.getErrorReason());
+
+			return;
+		}
+
+		dataConsumer.accept(dataFunction.apply(data.getHandlerName(), data.getArgs()));
+	}
+
+	@Override
+	@NotNull
+	public String putLambdaButton(LambdaButtonBuilder builder) {
+		return storageManager.putLambdaButton(builder);
+	}
+
+	@Override
+	@NotNull
+	public <E extends GenericSelectMenuInteractionEvent<?, ?>> String putLambdaSelectMenu(LambdaSelectionMenuBuilder<?, E> builder) {
+		return storageManager.putLambdaSelectMenu(builder);
+	}
+
+	@Override
+	@NotNull
+	public String putPersistentButton(PersistentButtonBuilder builder) {
+		final String signedId = trySign(builder, ComponentType.PERSISTENT_BUTTON);
+		if (signedId != null) return signedId;
+
+		return storageManager.putPersistentButton(builder);
+	}
+
+	@Override
+	@NotNull
+	public <T extends PersistentSelectionMenuBuilder<T>> String putPersistentSelectMenu(T builder) {
+		final String signedId = trySign(builder, ComponentType.PERSISTENT_SELECTION_MENU);
+		if (signedId != null) return signedId;
+
+		return storageManager.putPersistentSelectMenu(builder);
+	}
+
+	@Nullable
+	private <T extends ComponentBuilder<T> & PersistentComponentBuilder<T>> String trySign(T builder, ComponentType type) {
+		if (builder.isOneUse()) return null;
+
+		final long timeoutMillis = builder.getTimeout().toMillis();
+		final String signedId = codec.encode(type,
+				timeoutMillis == 0 ? 0 : System.currentTimeMillis() + timeoutMillis,
+				builder.getInteractionConstraints(),
+				builder.getHandlerName(),
+				builder.getArgs());
+
+		if (signedId == null) {
+			LOGGER.trace("Persistent component with handler '{}' does not fit in a signed ID, storing it", builder.getHandlerName());
+		} else {
+			LOGGER.trace("Created a signed persistent component with id {}", signedId);
+		}
+
+		return signedId;
+	}
+
+	@Override
+	public void registerGroup(Collection<String> ids) {
+		for (String id : ids) {
+			if (SignedComponentCodec.isSigned(id)) {
+				throw new IllegalArgumentException("Component '" + id + "' is a signed component, which cannot be grouped, make the grouped components one-use so they are stored");
+			}
+		}
+
+		storageManager.registerGroup(ids);
+	}
+
+	/**
+	 * Deletes the stored components
+	 * <br>Signed components are ignored, they cannot be revoked and stay usable until they expire.
+	 *
+	 * @return The number of deleted stored components
+	 */
+	@Override
+	public int deleteIds(Collection<String> ids) {
+		//Signed components only expire
+		final List<String> storedIds = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			if (!SignedComponentCodec.isSigned(id)) {
+				storedIds.add(id);
+			}
+		}
+
+		if (storedIds.isEmpty()) return 0;
+
+		return storageManager.deleteIds(storedIds);
+	}
+
+	private static final class SignedFetchResult extends MemoryFetchResult {
+		private SignedFetchResult(@Nullable MemoryComponentData fetchedComponent) {
+			super(fetchedComponent);
+		}
+	}
+}
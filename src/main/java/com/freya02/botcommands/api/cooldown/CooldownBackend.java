@@ -0,0 +1,49 @@
+package com.freya02.botcommands.api.cooldown;
+
+import com.freya02.botcommands.api.CommandsBuilder;
+import com.freya02.botcommands.api.CooldownScope;
+import org.jetbrains.annotations.Blocking;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shares command cooldowns between the processes of a bot, so a cooldown started on one process also applies on the others
+ * <br>Each process keeps its cooldowns in memory, the backend is only asked for cooldowns which are not known locally,
+ * a command which is on cooldown locally is rejected without asking the backend.
+ *
+ * <p>Cooldowns are identified by the name of the command, and by two keys, depending on the {@link CooldownScope}:
+ * <ul>
+ *     <li>{@link CooldownScope#USER}: the guild ID and the user ID</li>
+ *     <li>{@link CooldownScope#GUILD}: the guild ID and 0</li>
+ *     <li>{@link CooldownScope#CHANNEL}: the channel ID and 0</li>
+ * </ul>
+ * The values are the time on which the cooldown expires, in epoch milliseconds.
+ *
+ * <p>Sharing is best effort, two processes running the same command at the same instant may both accept it.
+ *
+ * @see CommandsBuilder#setCooldownBackend(CooldownBackend)
+ * @see KeyValueCooldownBackend
+ */
+public interface CooldownBackend {
+	/**
+	 * Returns the time on which the cooldown expires, in epoch milliseconds
+	 * <br>This is called on the command threads, implementations should give up after a short time, rather than holding the command.
+	 *
+	 * @param name The name of the command
+	 * @param key1 The first key of the cooldown
+	 * @param key2 The second key of the cooldown
+	 * @return The time on which the cooldown expires, or 0 if there is none, or if it could not be retrieved
+	 */
+	@Blocking
+	long getExpiration(@NotNull String name, long key1, long key2);
+
+	/**
+	 * Shares a cooldown with the other processes, the cooldown must only be replaced if it expires later than the current one
+	 * <br>This is called on the command threads, this should not wait for the cooldown to be written.
+	 *
+	 * @param name       The name of the command
+	 * @param key1       The first key of the cooldown
+	 * @param key2       The second key of the cooldown
+	 * @param expiration The time on which the cooldown expires, in epoch milliseconds
+	 */
+	void setExpiration(@NotNull String name, long key1, long key2, long expiration);
+}
@@ -0,0 +1,36 @@
+package com.freya02.botcommands.api.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Key-value store holding the shared cooldowns of a {@link KeyValueCooldownBackend}
+ * <br>Keys are strings such as "<code>name:key1:key2</code>", values are the time on which the cooldown expires, in epoch milliseconds.
+ *
+ * <p>Operations receive whole batches, so they can be sent in a single request, or pipelined.
+ * <br>The store may drop keys once their cooldown expired.
+ *
+ * @see InMemoryCooldownKeyValueStore
+ */
+public interface CooldownKeyValueStore {
+	/**
+	 * Retrieves the values of the keys
+	 *
+	 * @param keys The keys to get the values of
+	 * @return The values of the keys which exist
+	 */
+	@NotNull
+	CompletableFuture<Map<String, Long>> getAll(@NotNull Set<String> keys);
+
+	/**
+	 * Sets the values of the keys, values must only replace existing values if they are greater
+	 *
+	 * @param values The new values of the keys
+	 * @return A future completing once the values are written
+	 */
+	@NotNull
+	CompletableFuture<Void> putAllIfGreater(@NotNull Map<String, Long> values);
+}
@@ -0,0 +1,45 @@
+package com.freya02.botcommands.api.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CooldownKeyValueStore} keeping the values in memory
+ * <br>This is meant for testing, a single instance can be shared by the contexts of a test, as if they were separate processes.
+ */
+public class InMemoryCooldownKeyValueStore implements CooldownKeyValueStore {
+	private final Map<String, Long> values = new ConcurrentHashMap<>();
+
+	@Override
+	@NotNull
+	public CompletableFuture<Map<String, Long>> getAll(@NotNull Set<String> keys) {
+		final long now = System.currentTimeMillis();
+
+		final Map<String, Long> result = new HashMap<>();
+		for (String key : keys) {
+			final Long value = values.get(key);
+			if (value == null) continue;
+
+			if (value > now) {
+				result.put(key, value);
+			} else {
+				values.remove(key, value);
+			}
+		}
+
+		return CompletableFuture.completedFuture(result);
+	}
+
+	@Override
+	@NotNull
+	public CompletableFuture<Void> putAllIfGreater(@NotNull Map<String, Long> values) {
+		values.forEach((key, value) -> this.values.merge(key, value, Math::max));
+
+		return CompletableFuture.completedFuture(null);
+	}
+}
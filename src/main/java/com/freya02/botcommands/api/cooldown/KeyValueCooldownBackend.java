@@ -0,0 +1,215 @@
+package com.freya02.botcommands.api.cooldown;
+
+import com.freya02.botcommands.api.Logging;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.dv8tion.jda.internal.utils.Checks;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CooldownBackend} sharing the cooldowns through a {@link CooldownKeyValueStore}
+ * <br>Reads and writes are grouped in batches, a batch is sent after a short delay, or as soon as it is full,
+ * batches are sent without waiting for the previous ones to complete.
+ * <br>The batches are sent from the common pool, the backend does not own any thread.
+ *
+ * <p>Reads which take longer than the timeout, or which fail, are considered as having no cooldown,
+ * they are counted by {@link #getFailedReadCount()}.
+ * <br>Keys which have no shared cooldown, or whose read failed, are not read again for 1 second,
+ * so a cooldown started by another process during that time may not be seen.
+ */
+public class KeyValueCooldownBackend implements CooldownBackend {
+	private static final Logger LOGGER = Logging.getLogger();
+	private static final long ABSENT_KEY_MILLIS = 1000;
+	private static final long FAILED_READ_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final CooldownKeyValueStore store;
+	private final long batchDelayNanos;
+	private final int maxBatchSize;
+	private final long timeoutNanos;
+
+	private final Queue<PendingRead> pendingReads = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingReadCount = new AtomicInteger();
+	private final AtomicBoolean readFlushScheduled = new AtomicBoolean();
+
+	private final Map<String, Long> pendingWrites = new ConcurrentHashMap<>();
+	private final AtomicBoolean writeFlushScheduled = new AtomicBoolean();
+
+	//Keys which were just read without a cooldown, so commands without a cooldown do not wait for the store on every use
+	private final Cache<String, Boolean> absentKeys = Caffeine.newBuilder()
+			.expireAfterWrite(ABSENT_KEY_MILLIS, TimeUnit.MILLISECONDS)
+			.build();
+
+	private final AtomicLong failedReadCount = new AtomicLong();
+	private final AtomicLong lastFailedReadLog = new AtomicLong(System.nanoTime() - FAILED_READ_LOG_INTERVAL_NANOS);
+
+	private record PendingRead(String key, CompletableFuture<Long> future) {}
+
+	/**
+	 * Creates a backend sending batches of up to 256 operations after at most 2 milliseconds, with reads timing out after 250 milliseconds
+	 *
+	 * @param store The store holding the shared cooldowns
+	 */
+	public KeyValueCooldownBackend(@NotNull CooldownKeyValueStore store) {
+		this(store, 2, 250, TimeUnit.MILLISECONDS, 256);
+	}
+
+	/**
+	 * Creates a backend with the specified batching settings
+	 *
+	 * @param store        The store holding the shared cooldowns
+	 * @param batchDelay   The maximum time an operation waits for its batch to be sent
+	 * @param timeout      The maximum time a read waits for its value
+	 * @param unit         The unit of the delay and of the timeout
+	 * @param maxBatchSize The number of operations after which a batch is sent immediately
+	 */
+	public KeyValueCooldownBackend(@NotNull CooldownKeyValueStore store, long batchDelay, long timeout, @NotNull TimeUnit unit, int maxBatchSize) {
+		Checks.notNull(store, "Cooldown store");
+		Checks.notNegative(batchDelay, "Batch delay");
+		Checks.positive(timeout, "Timeout");
+		Checks.positive(maxBatchSize, "Max batch size");
+
+		this.store = store;
+		this.batchDelayNanos = unit.toNanos(batchDelay);
+		this.timeoutNanos = unit.toNanos(timeout);
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Returns the number of reads which timed out or failed, the commands were then run without their shared cooldown
+	 *
+	 * @return The number of failed reads
+	 */
+	public long getFailedReadCount() {
+		return failedReadCount.get();
+	}
+
+	@Override
+	public long getExpiration(@NotNull String name, long key1, long key2) {
+		final String key = getKey(name, key1, key2);
+		if (absentKeys.getIfPresent(key) != null) return 0;
+
+		final CompletableFuture<Long> future = new CompletableFuture<>();
+		pendingReads.add(new PendingRead(key, future));
+
+		if (pendingReadCount.incrementAndGet() >= maxBatchSize) {
+			ForkJoinPool.commonPool().execute(this::flushReads);
+		} else if (readFlushScheduled.compareAndSet(false, true)) {
+			CompletableFuture.delayedExecutor(batchDelayNanos, TimeUnit.NANOSECONDS).execute(this::flushReads);
+		}
+
+		try {
+			final long expiration = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+			if (expiration <= System.currentTimeMillis()) {
+				absentKeys.put(key, Boolean.TRUE);
+			}
+
+			return expiration;
+		} catch (TimeoutException e) {
+			onFailedRead(name, key, null);
+		} catch (ExecutionException e) {
+			onFailedRead(name, key, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		return 0;
+	}
+
+	private void onFailedRead(String name, String key, Throwable cause) {
+		//Do not wait for a failing store on every use of the command
+		absentKeys.put(key, Boolean.TRUE);
+
+		final long failedReads = failedReadCount.incrementAndGet();
+
+		//Log at most one warning per interval, as all the commands fail at once when the store is unavailable
+		final long now = System.nanoTime();
+		final long lastLog = lastFailedReadLog.get();
+		if (now - lastLog >= FAILED_READ_LOG_INTERVAL_NANOS && lastFailedReadLog.compareAndSet(lastLog, now)) {
+			if (cause == null) {
+				LOGGER.warn("Timed out while reading cooldown of '{}', the command runs without its shared cooldown ({} failed reads so far)", name, failedReads);
+			} else {
+				LOGGER.warn("Unable to read cooldown of '{}', the command runs without its shared cooldown ({} failed reads so far)", name, failedReads, cause);
+			}
+		} else {
+			LOGGER.debug("Unable to read cooldown of '{}', the command runs without its shared cooldown", name, cause);
+		}
+	}
+
+	@Override
+	public void setExpiration(@NotNull String name, long key1, long key2, long expiration) {
+		final String key = getKey(name, key1, key2);
+		absentKeys.invalidate(key);
+		pendingWrites.merge(key, expiration, Math::max);
+
+		if (pendingWrites.size() >= maxBatchSize) {
+			ForkJoinPool.commonPool().execute(this::flushWrites);
+		} else if (writeFlushScheduled.compareAndSet(false, true)) {
+			CompletableFuture.delayedExecutor(batchDelayNanos, TimeUnit.NANOSECONDS).execute(this::flushWrites);
+		}
+	}
+
+	private void flushReads() {
+		readFlushScheduled.set(false);
+
+		//Reads of the same key share the same request
+		final Map<String, List<CompletableFuture<Long>>> futuresByKey = new HashMap<>();
+		PendingRead read;
+		while ((read = pendingReads.poll()) != null) {
+			pendingReadCount.decrementAndGet();
+
+			futuresByKey.computeIfAbsent(read.key(), x -> new ArrayList<>(1)).add(read.future());
+		}
+
+		if (futuresByKey.isEmpty()) return;
+
+		final CompletableFuture<Map<String, Long>> valuesFuture;
+		try {
+			valuesFuture = store.getAll(futuresByKey.keySet());
+		} catch (Exception e) {
+			futuresByKey.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+
+			return;
+		}
+
+		valuesFuture.whenComplete((values, throwable) -> futuresByKey.forEach((key, futures) -> {
+			for (CompletableFuture<Long> future : futures) {
+				if (throwable != null) {
+					future.completeExceptionally(throwable);
+				} else {
+					future.complete(values.getOrDefault(key, 0L));
+				}
+			}
+		}));
+	}
+
+	private void flushWrites() {
+		writeFlushScheduled.set(false);
+
+		final Map<String, Long> batch = new HashMap<>();
+		for (String key : pendingWrites.keySet()) {
+			final Long value = pendingWrites.remove(key);
+			if (value != null) batch.put(key, value);
+		}
+
+		if (batch.isEmpty()) return;
+
+		try {
+			store.putAllIfGreater(batch).whenComplete((v, throwable) -> {
+				if (throwable != null) LOGGER.warn("Unable to write {} cooldowns", batch.size(), throwable);
+			});
+		} catch (Exception e) {
+			LOGGER.warn("Unable to write {} cooldowns", batch.size(), e);
+		}
+	}
+
+	private static String getKey(String name, long key1, long key2) {
+		return name + ':' + key1 + ':' + key2;
+	}
+}
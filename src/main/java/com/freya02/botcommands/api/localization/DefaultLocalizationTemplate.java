@@ -25,17 +25,24 @@ public class DefaultLocalizationTemplate implements LocalizationTemplate {
 	private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{(\\w+?)(?::(%.+))?}");
 	private static final Pattern MESSAGE_FORMAT_PATTERN = Pattern.compile("\\{(\\w+)(,?.*?)}");
 
-	private final List<LocalizableString> localizableStrings = new ArrayList<>();
+	/** Expected length of a formatted argument, used to size the output */
+	private static final int ESTIMATED_ARGUMENT_LENGTH = 16;
+
 	private final String template;
 
-	public DefaultLocalizationTemplate(@NotNull String template, @NotNull Locale locale) {
-		this.template = template;
+	//Compiled form of the template, each part is either a raw string, or a formatter reading an argument slot
+	private final LocalizableString[] parts;
+	private final int[] partSlots;
+	private final String[] slotNames;
+	private final int estimatedLength;
 
+	public DefaultLocalizationTemplate(@NotNull String template, @NotNull Locale locale) {
+		final List<LocalizableString> localizableStrings = new ArrayList<>();
 		final Matcher bracketMatcher = BRACKETS_PATTERN.matcher(template);
 
 		int start = 0;
 		while (bracketMatcher.find()) {
-			addRawString(template.substring(start, bracketMatcher.start()));
+			addRawString(localizableStrings, template.substring(start, bracketMatcher.start()));
 
 			final Matcher templateMatcher = TEMPLATE_PATTERN.matcher(bracketMatcher.group());
 			if (templateMatcher.matches()) {
@@ -58,10 +65,39 @@ public class DefaultLocalizationTemplate implements LocalizationTemplate {
 			start = bracketMatcher.end();
 		}
 
-		addRawString(template.substring(start));
+		addRawString(localizableStrings, template.substring(start));
+
+		//Assign a slot to each distinct argument name, in order of appearance
+		final List<String> slotNames = new ArrayList<>();
+		this.parts = localizableStrings.toArray(new LocalizableString[0]);
+		this.partSlots = new int[parts.length];
+
+		int rawLength = 0, formattableParts = 0;
+		for (int i = 0; i < parts.length; i++) {
+			if (parts[i] instanceof FormattableString formattableString) {
+				final String formatterName = formattableString.getFormatterName();
+
+				int slot = slotNames.indexOf(formatterName);
+				if (slot == -1) {
+					slot = slotNames.size();
+					slotNames.add(formatterName);
+				}
+
+				partSlots[i] = slot;
+				formattableParts++;
+			} else {
+				partSlots[i] = -1;
+				rawLength += ((RawString) parts[i]).get().length();
+			}
+		}
+
+		this.slotNames = slotNames.toArray(new String[0]);
+		//Constant templates are returned as-is, share their string with the other bundles and locales using the same text
+		this.template = slotNames.isEmpty() ? template.intern() : template;
+		this.estimatedLength = rawLength + formattableParts * ESTIMATED_ARGUMENT_LENGTH;
 	}
 
-	private void addRawString(String substring) {
+	private static void addRawString(List<LocalizableString> localizableStrings, String substring) {
 		if (substring.isEmpty()) return;
 
 		localizableStrings.add(new RawString(substring));
@@ -70,21 +106,42 @@ public class DefaultLocalizationTemplate implements LocalizationTemplate {
 	@Override
 	@NotNull
 	public String localize(Localization.Entry... args) {
-		final StringBuilder sb = new StringBuilder();
+		//Templates without arguments are constant
+		if (slotNames.length == 0) return template;
+
+		final Object[] values = getSlotValues(args);
+		final StringBuilder sb = new StringBuilder(estimatedLength);
 
-		for (LocalizableString localizableString : localizableStrings) {
-			if (localizableString instanceof RawString rawString) {
-				sb.append(rawString.get());
-			} else if (localizableString instanceof FormattableString formattableString) {
-				final Object value = getValueByFormatterName(args, formattableString.getFormatterName());
+		for (int i = 0; i < parts.length; i++) {
+			final int slot = partSlots[i];
 
-				sb.append(formattableString.format(value));
+			if (slot == -1) {
+				sb.append(((RawString) parts[i]).get());
+			} else {
+				((FormattableString) parts[i]).appendFormatted(sb, values[slot]);
 			}
 		}
 
 		return sb.toString();
 	}
 
+	private Object[] getSlotValues(Localization.Entry[] args) {
+		final Object[] values = new Object[slotNames.length];
+
+		for (int slot = 0; slot < slotNames.length; slot++) {
+			final String slotName = slotNames[slot];
+
+			//Arguments are usually given in the same order as they appear
+			if (slot < args.length && args[slot].key().equals(slotName)) {
+				values[slot] = args[slot].value();
+			} else {
+				values[slot] = getValueByFormatterName(args, slotName);
+			}
+		}
+
+		return values;
+	}
+
 	private Object getValueByFormatterName(Localization.Entry[] args, String formatterName) {
 		for (Localization.Entry entry : args) {
 			if (entry.key().equals(formatterName)) {
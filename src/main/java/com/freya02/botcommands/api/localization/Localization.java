@@ -5,12 +5,14 @@ import com.freya02.botcommands.api.localization.providers.DefaultLocalizationMap
 import com.freya02.botcommands.api.localization.providers.LocalizationMapProvider;
 import com.freya02.botcommands.api.localization.providers.LocalizationMapProviders;
 import com.freya02.botcommands.internal.application.localization.BCLocalizationFunction;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 import org.slf4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides a low level API for localization.
@@ -23,6 +25,7 @@ public class Localization {
 	private static final Logger LOGGER = Logging.getLogger();
 	private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
 	private static final Map<String, Map<Locale, Localization>> localizationMap = Collections.synchronizedMap(new HashMap<>());
+	private static final AtomicInteger invalidationCount = new AtomicInteger();
 
 	private final Map<String, ? extends LocalizationTemplate> templateMap;
 	private final Locale effectiveLocale;
@@ -80,6 +83,7 @@ public class Localization {
 		Logging.removeLogs(BCLocalizationFunction.class);
 		Logging.removeLogs();
 		localizationMap.remove(baseName);
+		invalidationCount.incrementAndGet();
 	}
 
 	/**
@@ -92,6 +96,67 @@ public class Localization {
 		Logging.removeLogs(BCLocalizationFunction.class);
 		Logging.removeLogs();
 		localizationMap.computeIfAbsent(baseName, x -> Collections.synchronizedMap(new HashMap<>())).remove(locale);
+		invalidationCount.incrementAndGet();
+	}
+
+	/**
+	 * Reloads all the loaded localization bundles with the specified base name, and swaps them at once
+	 * <br>Unlike {@link #invalidateLocalization(String)}, the bundles are loaded before being replaced,
+	 * so localizing never has to wait for a bundle to be loaded again.
+	 *
+	 * <p>If a bundle can no longer be found, the previous one is kept.
+	 *
+	 * @param baseName The base name of the bundles to reload
+	 */
+	public static void reloadLocalization(@NotNull String baseName) {
+		final Map<Locale, Localization> localeMap = localizationMap.get(baseName);
+		if (localeMap == null) return;
+
+		final Map<Locale, Localization> oldLocaleMap;
+		synchronized (localeMap) {
+			oldLocaleMap = new HashMap<>(localeMap);
+		}
+
+		final Map<Locale, Localization> newLocaleMap = Collections.synchronizedMap(new HashMap<>());
+		for (Map.Entry<Locale, Localization> entry : oldLocaleMap.entrySet()) {
+			final Localization newValue = retrieveBundle(baseName, entry.getKey());
+
+			if (newValue == null && entry.getValue() != null) {
+				LOGGER.warn("Could not reload bundle '{}' with locale '{}', keeping the previous one", baseName, entry.getKey());
+
+				newLocaleMap.put(entry.getKey(), entry.getValue());
+			} else {
+				newLocaleMap.put(entry.getKey(), newValue);
+			}
+		}
+
+		Logging.removeLogs(BCLocalizationFunction.class);
+		Logging.removeLogs();
+		localizationMap.put(baseName, newLocaleMap);
+		invalidationCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the base names of the bundles which have been loaded
+	 *
+	 * @return The base names of the loaded bundles
+	 */
+	@ApiStatus.Internal
+	@NotNull
+	public static Set<String> getLoadedBundleNames() {
+		synchronized (localizationMap) {
+			return new HashSet<>(localizationMap.keySet());
+		}
+	}
+
+	/**
+	 * Returns the number of invalidations which happened, this lets the framework drop what it resolved from invalidated bundles
+	 *
+	 * @return The number of invalidations
+	 */
+	@ApiStatus.Internal
+	public static int getInvalidationCount() {
+		return invalidationCount.get();
 	}
 
 	/**
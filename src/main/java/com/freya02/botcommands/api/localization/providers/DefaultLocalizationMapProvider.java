@@ -1,6 +1,7 @@
 package com.freya02.botcommands.api.localization.providers;
 
 import com.freya02.botcommands.api.localization.*;
+import com.freya02.botcommands.internal.localization.CompactTemplateMap;
 import com.google.gson.Gson;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,12 +29,15 @@ import java.util.*;
  * <p>
  * About localization bundle loading:
  * <br>The initial file to be loaded will be the one mentioned above, parent localization bundles may be loaded from other providers, as all providers are tested with {@link LocalizationMapProviders#cycleProvidersNoParent(String, Locale)}
+ * <br>The returned template maps are immutable, and stored compactly.
  *
  * <br>See {@link DefaultLocalizationTemplate} for what the localization templates should look like
  *
  * @see DefaultLocalizationTemplate
  */
 public class DefaultLocalizationMapProvider implements LocalizationMapProvider {
+	private static final Gson GSON = new Gson();
+
 	@Override
 	@Nullable
 	public LocalizationMap getBundle(@NotNull String baseName, @NotNull Locale effectiveLocale) throws IOException {
@@ -48,7 +52,7 @@ public class DefaultLocalizationMapProvider implements LocalizationMapProvider {
 		final Map<String, LocalizationTemplate> map = readTemplateMap(baseName, locale);
 		if (map == null) return null;
 
-		return new DefaultLocalizationMap(locale, map);
+		return new DefaultLocalizationMap(locale, CompactTemplateMap.of(map));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -62,7 +66,7 @@ public class DefaultLocalizationMapProvider implements LocalizationMapProvider {
 		final Map<String, LocalizationTemplate> templateMap = new HashMap<>();
 
 		try (InputStreamReader reader = new InputStreamReader(stream)) {
-			final Map<String, ?> map = new Gson().fromJson(reader, Map.class);
+			final Map<String, ?> map = GSON.fromJson(reader, Map.class);
 
 			discoverEntries(templateMap, baseName, effectiveLocale, "", map.entrySet());
 		}
@@ -99,7 +103,7 @@ public class DefaultLocalizationMapProvider implements LocalizationMapProvider {
 			return null;
 		}
 
-		return new DefaultLocalizationMap(effectiveLocale, templateMap);
+		return new DefaultLocalizationMap(effectiveLocale, CompactTemplateMap.of(templateMap));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -0,0 +1,20 @@
+package com.freya02.botcommands.api.metrics;
+
+/**
+ * The time spent in each phase of a handler execution, in nanoseconds
+ *
+ * @param queueWaitNanos  Time spent waiting in the framework pools, before the handler was looked up
+ * @param filterNanos     Time spent finding the handler, running the filters, and checking usability and cooldowns
+ * @param resolutionNanos Time spent resolving the handler parameters
+ * @param handlerNanos    Time spent in the handler method itself
+ */
+public record HandlerTimings(long queueWaitNanos, long filterNanos, long resolutionNanos, long handlerNanos) {
+	/**
+	 * Returns the time between the reception of the event and the end of the handler
+	 *
+	 * @return The total time, in nanoseconds
+	 */
+	public long totalNanos() {
+		return queueWaitNanos + filterNanos + resolutionNanos + handlerNanos;
+	}
+}
@@ -0,0 +1,21 @@
+package com.freya02.botcommands.api.metrics;
+
+/**
+ * The kinds of handlers measured by a {@link MetricsSink}
+ */
+public enum HandlerType {
+	/** Text commands, the name is the full {@link com.freya02.botcommands.api.application.CommandPath CommandPath} */
+	TEXT_COMMAND,
+	/** Slash commands, the name is the full {@link com.freya02.botcommands.api.application.CommandPath CommandPath} */
+	SLASH_COMMAND,
+	/** User context commands, the name is the command name */
+	USER_CONTEXT_COMMAND,
+	/** Message context commands, the name is the command name */
+	MESSAGE_CONTEXT_COMMAND,
+	/** Component handlers, the name is the persistent handler name, or the component type for lambda components */
+	COMPONENT,
+	/** Modal handlers, the name is the handler name */
+	MODAL,
+	/** Autocompletion handlers, the name is the handler name */
+	AUTOCOMPLETE
+}
@@ -0,0 +1,238 @@
+package com.freya02.botcommands.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsSink} which aggregates the measurements in memory, per handler
+ * <br>Latencies are kept in {@link LatencyHistogram histograms} with a fixed memory footprint, recording is lock-free.
+ *
+ * <p>You can then read the statistics from anywhere, for example from an owner-only command:
+ * <pre><code>
+ * final HandlerStatistics statistics = sink.getStatistics(HandlerType.SLASH_COMMAND, "ban");
+ * final double p99Millis = statistics.getHandler().getPercentileNanos(0.99) / 1_000_000.0;
+ * </code></pre>
+ */
+public class InMemoryMetricsSink implements MetricsSink {
+	private final Map<HandlerKey, HandlerStatistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Identifies a handler
+	 *
+	 * @param type The type of handler
+	 * @param name The name of the handler, see {@link HandlerType}
+	 */
+	public record HandlerKey(@NotNull HandlerType type, @NotNull String name) {}
+
+	/**
+	 * Returns the statistics of all the handlers which have been measured
+	 *
+	 * @return An unmodifiable view of the statistics, by handler
+	 */
+	@NotNull
+	public Map<HandlerKey, HandlerStatistics> getStatistics() {
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Returns the statistics of a handler
+	 *
+	 * @param type The type of handler
+	 * @param name The name of the handler, see {@link HandlerType}
+	 * @return The statistics of the handler, or <code>null</code> if it has not been measured yet
+	 */
+	@Nullable
+	public HandlerStatistics getStatistics(@NotNull HandlerType type, @NotNull String name) {
+		return statistics.get(new HandlerKey(type, name));
+	}
+
+	private HandlerStatistics getOrCreateStatistics(HandlerType type, String name) {
+		return statistics.computeIfAbsent(new HandlerKey(type, name), k -> new HandlerStatistics());
+	}
+
+	@Override
+	public void onExecution(@NotNull HandlerType type, @NotNull String name, @NotNull HandlerTimings timings) {
+		final HandlerStatistics handlerStatistics = getOrCreateStatistics(type, name);
+
+		handlerStatistics.queueWait.record(timings.queueWaitNanos());
+		handlerStatistics.filter.record(timings.filterNanos());
+		handlerStatistics.resolution.record(timings.resolutionNanos());
+		handlerStatistics.handler.record(timings.handlerNanos());
+		handlerStatistics.total.record(timings.totalNanos());
+	}
+
+	@Override
+	public void onError(@NotNull HandlerType type, @NotNull String name, @NotNull Throwable throwable) {
+		getOrCreateStatistics(type, name).errors.increment();
+	}
+
+	@Override
+	public void onCooldownRejection(@NotNull HandlerType type, @NotNull String name) {
+		getOrCreateStatistics(type, name).cooldownRejections.increment();
+	}
+
+	@Override
+	public void onUsabilityDenial(@NotNull HandlerType type, @NotNull String name, @NotNull Set<UsabilityDenialReason> reasons) {
+		getOrCreateStatistics(type, name).usabilityDenials.increment();
+	}
+
+	/**
+	 * Statistics of a single handler
+	 */
+	public static final class HandlerStatistics {
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder cooldownRejections = new LongAdder();
+		private final LongAdder usabilityDenials = new LongAdder();
+
+		private final LatencyHistogram queueWait = new LatencyHistogram();
+		private final LatencyHistogram filter = new LatencyHistogram();
+		private final LatencyHistogram resolution = new LatencyHistogram();
+		private final LatencyHistogram handler = new LatencyHistogram();
+		private final LatencyHistogram total = new LatencyHistogram();
+
+		private HandlerStatistics() {}
+
+		/** Returns the number of executions which completed without an exception */
+		public long getExecutions() {
+			return total.getCount();
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		public long getCooldownRejections() {
+			return cooldownRejections.sum();
+		}
+
+		public long getUsabilityDenials() {
+			return usabilityDenials.sum();
+		}
+
+		/** @see HandlerTimings#queueWaitNanos() */
+		@NotNull
+		public LatencyHistogram getQueueWait() {
+			return queueWait;
+		}
+
+		/** @see HandlerTimings#filterNanos() */
+		@NotNull
+		public LatencyHistogram getFilter() {
+			return filter;
+		}
+
+		/** @see HandlerTimings#resolutionNanos() */
+		@NotNull
+		public LatencyHistogram getResolution() {
+			return resolution;
+		}
+
+		/** @see HandlerTimings#handlerNanos() */
+		@NotNull
+		public LatencyHistogram getHandler() {
+			return handler;
+		}
+
+		/** @see HandlerTimings#totalNanos() */
+		@NotNull
+		public LatencyHistogram getTotal() {
+			return total;
+		}
+	}
+
+	/**
+	 * Lock-free histogram of durations, with 4 buckets per power of two
+	 * <br>Percentiles are therefore reported with a relative error of at most 25%.
+	 */
+	public static final class LatencyHistogram {
+		private static final int SUB_BUCKET_BITS = 2;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+		private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		private LatencyHistogram() {}
+
+		private void record(long nanos) {
+			final long value = Math.max(0, nanos);
+
+			buckets.incrementAndGet(getBucketIndex(value));
+			count.increment();
+			sum.add(value);
+			max.accumulate(value);
+		}
+
+		private static int getBucketIndex(long value) {
+			if (value < SUB_BUCKETS) return (int) value;
+
+			final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+			final int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+			return highestBit * SUB_BUCKETS + subBucket;
+		}
+
+		private static long getBucketUpperBound(int index) {
+			if (index < SUB_BUCKETS) return index;
+
+			final int highestBit = index / SUB_BUCKETS;
+			final int subBucket = index % SUB_BUCKETS;
+			final long bucketWidth = 1L << (highestBit - SUB_BUCKET_BITS);
+
+			return ((SUB_BUCKETS + subBucket) * bucketWidth) + bucketWidth - 1;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getMaxNanos() {
+			return max.get();
+		}
+
+		public double getMeanNanos() {
+			final long count = getCount();
+			if (count == 0) return 0;
+
+			return sum.sum() / (double) count;
+		}
+
+		/**
+		 * Returns an upper bound of the duration under which the given fraction of the recorded durations are
+		 *
+		 * @param percentile The fraction of the durations, between 0 and 1, for example 0.99 for the 99th percentile
+		 * @return The duration, in nanoseconds, or <code>0</code> if nothing has been recorded
+		 */
+		public long getPercentileNanos(double percentile) {
+			if (percentile < 0 || percentile > 1) throw new IllegalArgumentException("Percentile must be between 0 and 1");
+
+			long total = 0;
+			for (int i = 0; i < buckets.length(); i++) {
+				total += buckets.get(i);
+			}
+			if (total == 0) return 0;
+
+			final long target = Math.max(1, (long) Math.ceil(percentile * total));
+
+			long seen = 0;
+			for (int i = 0; i < buckets.length(); i++) {
+				seen += buckets.get(i);
+
+				if (seen >= target) {
+					return Math.min(getBucketUpperBound(i), getMaxNanos());
+				}
+			}
+
+			return getMaxNanos();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.freya02.botcommands.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * {@link MetricsSink} which reports the measurements as timers and counters, tagged with the handler type and name
+ * <br>This maps directly onto meter registries such as Micrometer's, without the framework depending on them:
+ * <pre><code>
+ * final MeterRegistry registry = ...;
+ * builder.setMetricsSink(new MeterMetricsSink(new MeterMetricsSink.MeterRecorder() {
+ *     public void recordTime(String meterName, String[] tags, long nanos) {
+ *         registry.timer(meterName, tags).record(nanos, TimeUnit.NANOSECONDS);
+ *     }
+ *
+ *     public void increment(String meterName, String[] tags) {
+ *         registry.counter(meterName, tags).increment();
+ *     }
+ * }));
+ * </code></pre>
+ *
+ * <p>Timers: <code>botcommands.handler.queue</code>, <code>botcommands.handler.filter</code>,
+ * <code>botcommands.handler.resolution</code> and <code>botcommands.handler.execution</code>
+ * <br>Counters: <code>botcommands.handler.errors</code>, <code>botcommands.handler.cooldown.rejections</code>
+ * and <code>botcommands.handler.usability.denials</code>, the latter with an additional <code>reason</code> tag per reason
+ * <br>Each meter has the <code>type</code> (for example <code>slash_command</code>) and <code>name</code> tags.
+ */
+public class MeterMetricsSink implements MetricsSink {
+	public static final String QUEUE_TIMER = "botcommands.handler.queue";
+	public static final String FILTER_TIMER = "botcommands.handler.filter";
+	public static final String RESOLUTION_TIMER = "botcommands.handler.resolution";
+	public static final String EXECUTION_TIMER = "botcommands.handler.execution";
+	public static final String ERRORS_COUNTER = "botcommands.handler.errors";
+	public static final String COOLDOWN_REJECTIONS_COUNTER = "botcommands.handler.cooldown.rejections";
+	public static final String USABILITY_DENIALS_COUNTER = "botcommands.handler.usability.denials";
+
+	private final MeterRecorder recorder;
+
+	/**
+	 * Records measurements into meters of a meter registry
+	 */
+	public interface MeterRecorder {
+		/**
+		 * Records a duration in a timer
+		 *
+		 * @param meterName The name of the timer
+		 * @param tags      The tags of the timer, as alternating keys and values
+		 * @param nanos     The duration, in nanoseconds
+		 */
+		void recordTime(@NotNull String meterName, @NotNull String[] tags, long nanos);
+
+		/**
+		 * Increments a counter
+		 *
+		 * @param meterName The name of the counter
+		 * @param tags      The tags of the counter, as alternating keys and values
+		 */
+		void increment(@NotNull String meterName, @NotNull String[] tags);
+	}
+
+	public MeterMetricsSink(@NotNull MeterRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	private static String[] getTags(HandlerType type, String name) {
+		return new String[]{"type", type.name().toLowerCase(), "name", name};
+	}
+
+	@Override
+	public void onExecution(@NotNull HandlerType type, @NotNull String name, @NotNull HandlerTimings timings) {
+		final String[] tags = getTags(type, name);
+
+		recorder.recordTime(QUEUE_TIMER, tags, timings.queueWaitNanos());
+		recorder.recordTime(FILTER_TIMER, tags, timings.filterNanos());
+		recorder.recordTime(RESOLUTION_TIMER, tags, timings.resolutionNanos());
+		recorder.recordTime(EXECUTION_TIMER, tags, timings.handlerNanos());
+	}
+
+	@Override
+	public void onError(@NotNull HandlerType type, @NotNull String name, @NotNull Throwable throwable) {
+		recorder.increment(ERRORS_COUNTER, getTags(type, name));
+	}
+
+	@Override
+	public void onCooldownRejection(@NotNull HandlerType type, @NotNull String name) {
+		recorder.increment(COOLDOWN_REJECTIONS_COUNTER, getTags(type, name));
+	}
+
+	@Override
+	public void onUsabilityDenial(@NotNull HandlerType type, @NotNull String name, @NotNull Set<UsabilityDenialReason> reasons) {
+		for (UsabilityDenialReason reason : reasons) {
+			recorder.increment(USABILITY_DENIALS_COUNTER, new String[]{"type", type.name().toLowerCase(), "name", name, "reason", reason.name().toLowerCase()});
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.freya02.botcommands.api.metrics;
+
+import com.freya02.botcommands.api.CommandsBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Receives the measurements of the handlers run by the framework, such as commands, components, modals and autocompletion handlers
+ * <br>The methods are called on the framework threads, right after the measured operation, they must be fast and thread-safe.
+ *
+ * <p>Events which could not be matched to a handler, such as unknown commands, are not reported.
+ *
+ * @see CommandsBuilder#setMetricsSink(MetricsSink)
+ * @see InMemoryMetricsSink
+ * @see MeterMetricsSink
+ */
+public interface MetricsSink {
+	/**
+	 * Called when a handler has returned
+	 * <br>Handlers which threw an exception are reported to {@link #onError(HandlerType, String, Throwable)} instead
+	 *
+	 * @param type    The type of handler
+	 * @param name    The name of the handler, see {@link HandlerType}
+	 * @param timings The time spent in each phase of the execution
+	 */
+	void onExecution(@NotNull HandlerType type, @NotNull String name, @NotNull HandlerTimings timings);
+
+	/**
+	 * Called when an exception occurred while running a handler, or while resolving its parameters
+	 *
+	 * @param type      The type of handler
+	 * @param name      The name of the handler, see {@link HandlerType}
+	 * @param throwable The exception
+	 */
+	default void onError(@NotNull HandlerType type, @NotNull String name, @NotNull Throwable throwable) {}
+
+	/**
+	 * Called when a command was not run as it is on cooldown
+	 *
+	 * @param type The type of handler
+	 * @param name The name of the handler, see {@link HandlerType}
+	 */
+	default void onCooldownRejection(@NotNull HandlerType type, @NotNull String name) {}
+
+	/**
+	 * Called when a command was not run as it cannot be used in this context,
+	 * for example a missing permission or an owner-only command
+	 *
+	 * @param type    The type of handler
+	 * @param name    The name of the handler, see {@link HandlerType}
+	 * @param reasons Why the command could not be used
+	 */
+	default void onUsabilityDenial(@NotNull HandlerType type, @NotNull String name, @NotNull Set<UsabilityDenialReason> reasons) {}
+}
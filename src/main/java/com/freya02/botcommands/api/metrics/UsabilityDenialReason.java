@@ -0,0 +1,23 @@
+package com.freya02.botcommands.api.metrics;
+
+/**
+ * The reasons why a command could not be used, as reported by {@link MetricsSink#onUsabilityDenial(HandlerType, String, java.util.Set)}
+ */
+public enum UsabilityDenialReason {
+	/** The command is hidden from the user */
+	HIDDEN,
+	/** The command can only be used by the bot owners */
+	OWNER_ONLY,
+	/** The user is missing permissions */
+	USER_PERMISSIONS,
+	/** The bot is missing permissions */
+	BOT_PERMISSIONS,
+	/** The command can only be used in guilds */
+	GUILD_ONLY,
+	/** The command is NSFW, but NSFW commands are disabled in this guild, or in DMs */
+	NSFW_DISABLED,
+	/** The command is NSFW, and the channel is not */
+	NSFW_ONLY,
+	/** The command is NSFW, but the user has not consented to NSFW commands in DMs */
+	NSFW_DM_DENIED
+}
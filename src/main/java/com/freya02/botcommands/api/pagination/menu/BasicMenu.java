@@ -6,22 +6,47 @@ import com.freya02.botcommands.api.pagination.TimeoutInfo;
 import com.freya02.botcommands.api.pagination.paginator.BasicPaginator;
 import com.freya02.botcommands.api.pagination.transformer.EntryTransformer;
 import com.freya02.botcommands.api.utils.ButtonContent;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.internal.utils.Checks;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
+ * Pages are rendered when they are displayed, only the most recently displayed pages are kept.
+ * <br>As pages may hold fewer entries than the maximum, if the text is too long,
+ * the page boundaries are computed incrementally, and {@link #getMaxPages()} is an estimate until the last page is found.
+ * <br>Skipping pages, such as with the last page button, requests the entries of all the skipped pages at once.
+ *
  * @param <E> Type of the menu elements
  * @param <T> Type of the implementor
  */
 public abstract class BasicMenu<E, T extends BasicMenu<E, T>> extends BasicPaginator<T> {
-	protected final Map<Integer, MenuPage<E>> pages;
+	private static final int MAX_RENDERED_PAGES = 5;
+	private static final int MAX_PAGE_LENGTH = MessageEmbed.TEXT_MAX_LENGTH - 8;
+
+	private final MenuPageSource<E> source;
+	private final int entryCount;
+	private final int maxEntriesPerPage;
+	private final EntryTransformer<? super E> transformer;
+	private final RowPrefixSupplier rowPrefixSupplier;
+
+	/** Offset of the first entry of each known page */
+	private final TIntList pageOffsets = new TIntArrayList();
+	private boolean lastPageFound = false;
+
+	private final Map<Integer, MenuPage<E>> renderedPages = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, MenuPage<E>> eldest) {
+			return size() > MAX_RENDERED_PAGES;
+		}
+	};
 
 	protected BasicMenu(InteractionConstraints constraints,
 	                    TimeoutInfo<T> timeout,
@@ -31,11 +56,76 @@ public abstract class BasicMenu<E, T extends BasicMenu<E, T>> extends BasicPagin
 	                    ButtonContent nextContent,
 	                    ButtonContent lastContent,
 	                    ButtonContent deleteContent,
-	                    @NotNull Map<Integer, MenuPage<E>> pages,
+	                    @NotNull MenuPageSource<E> source,
+	                    int maxEntriesPerPage,
+	                    @NotNull EntryTransformer<? super E> transformer,
+	                    @NotNull RowPrefixSupplier rowPrefixSupplier,
 	                    @Nullable PaginatorSupplier<T> supplier) {
-		super(constraints, timeout, pages.size(), supplier, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent);
+		super(constraints, timeout, 1, supplier, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent);
+
+		Checks.notNull(source, "Menu page source");
+		Checks.positive(maxEntriesPerPage, "Max entries per page");
+
+		this.source = source;
+		this.entryCount = source.getEntryCount();
+		this.maxEntriesPerPage = maxEntriesPerPage;
+		this.transformer = transformer;
+		this.rowPrefixSupplier = rowPrefixSupplier;
+
+		Checks.notNegative(entryCount, "Entry count");
+
+		pageOffsets.add(0);
+		setMaxPages(estimateMaxPages());
+	}
+
+	/**
+	 * Returns the number of pages, this is an estimate until the last page has been found
+	 * <br>The estimate is the minimum number of pages needed for the remaining entries, as if none of them were too long,
+	 * it grows as pages are displayed.
+	 *
+	 * @return The number of pages
+	 */
+	@Override
+	public int getMaxPages() {
+		return maxPages;
+	}
+
+	@Override
+	public T setPage(int page) {
+		Checks.notNegative(page, "Page");
+		//The estimated max page may be lower than the real one
+		computePageOffsets(page);
+
+		return super.setPage(page);
+	}
+
+	/**
+	 * Returns the specified page, rendering it if it is not in the recently displayed pages
+	 *
+	 * @param page Number of the page, from <code>0</code> to <code>maxPages - 1</code>
+	 * @return The page
+	 */
+	@NotNull
+	protected MenuPage<E> getMenuPage(int page) {
+		MenuPage<E> menuPage = renderedPages.get(page);
+		if (menuPage != null) return menuPage;
+
+		computePageOffsets(page);
+		if (pageOffsets.size() <= page)
+			throw new IllegalArgumentException("Page " + page + " is higher than the max page (" + maxPages + ")");
+
+		menuPage = renderPage(page);
+		renderedPages.put(page, menuPage);
+
+		return menuPage;
+	}
+
+	@Override
+	protected void putComponents() {
+		//Render the current page first, so the next button knows if there is a next page
+		getMenuPage(page);
 
-		this.pages = pages;
+		super.putComponents();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -50,7 +140,7 @@ public abstract class BasicMenu<E, T extends BasicMenu<E, T>> extends BasicPagin
 			builder = new EmbedBuilder();
 		}
 
-		final MenuPage<E> menuPage = pages.get(page);
+		final MenuPage<E> menuPage = getMenuPage(page);
 
 		builder.appendDescription(menuPage.content());
 
@@ -58,36 +148,96 @@ public abstract class BasicMenu<E, T extends BasicMenu<E, T>> extends BasicPagin
 	}
 
 	@NotNull
-	protected static <E> Map<Integer, MenuPage<E>> makePages(@NotNull List<E> entries,
-	                                                         @NotNull EntryTransformer<? super E> transformer,
-	                                                         @NotNull RowPrefixSupplier rowPrefixSupplier,
-	                                                         int maxEntriesPerPage) {
-		final Map<Integer, MenuPage<E>> pages = new HashMap<>();
+	private MenuPage<E> renderPage(int page) {
+		final int offset = pageOffsets.get(page);
+		final List<E> entries = source.getEntries(offset, maxEntriesPerPage);
 
-		int page = 0;
-		int oldEntry = 0;
-		StringBuilder builder = new StringBuilder();
+		final StringBuilder builder = new StringBuilder();
+		final int count = appendEntries(builder, entries, 0, offset);
 
-		for (int i = 0, entriesSize = entries.size(); i < entriesSize; i++) {
-			E entry = entries.get(i);
+		final int end = offset + count;
+		if (count == 0 && end < entryCount)
+			throw new IllegalStateException("Menu page source returned no entries at offset " + offset + ", but has " + entryCount + " entries");
 
-			final String s = transformer.toString(entry);
-			Checks.notLonger(s, MessageEmbed.TEXT_MAX_LENGTH - 8, "Entry #" + i + " string");
+		if (page == pageOffsets.size() - 1 && !lastPageFound) {
+			addPageEnd(end);
+		}
+
+		return new MenuPage<>(builder.toString(), entries.subList(0, count));
+	}
+
+	/**
+	 * Computes the offsets of the pages up to the specified one, without keeping their content
+	 * <br>The entries of all the missing pages are requested at once.
+	 */
+	private void computePageOffsets(int page) {
+		final StringBuilder builder = new StringBuilder();
 
-			if (i - oldEntry >= maxEntriesPerPage || builder.length() + s.length() > MessageEmbed.TEXT_MAX_LENGTH - 8) {
-				pages.put(page, new MenuPage<>(builder.toString(), entries.subList(oldEntry, i)));
+		while (pageOffsets.size() <= page && !lastPageFound) {
+			final int lastKnownPage = pageOffsets.size() - 1;
+			final int offset = pageOffsets.get(lastKnownPage);
+			final long maxMissingEntries = (long) (page - lastKnownPage) * maxEntriesPerPage;
+			final List<E> entries = source.getEntries(offset, (int) Math.min(maxMissingEntries, entryCount - offset));
 
-				page++;
-				oldEntry = i;
+			if (entries.isEmpty() && offset < entryCount)
+				throw new IllegalStateException("Menu page source returned no entries at offset " + offset + ", but has " + entryCount + " entries");
 
+			int from = 0;
+			while (pageOffsets.size() <= page && !lastPageFound) {
 				builder.setLength(0);
+				final int count = appendEntries(builder, entries, from, offset + from);
+
+				final int end = offset + from + count;
+				//If the page ran out of returned entries, it may hold more of them, request them starting from this page
+				if (from + count == entries.size() && count < maxEntriesPerPage && end < entryCount) break;
+
+				from += count;
+				addPageEnd(end);
 			}
+		}
+	}
 
-			builder.append(rowPrefixSupplier.apply(i - oldEntry + 1, maxEntriesPerPage)).append(s).append('\n');
+	/**
+	 * Appends the entries which fit on a page, starting at the specified index
+	 *
+	 * @return The number of appended entries
+	 */
+	private int appendEntries(StringBuilder builder, List<E> entries, int from, int firstEntryOffset) {
+		int count = 0;
+		for (int entriesSize = Math.min(entries.size() - from, maxEntriesPerPage); count < entriesSize; count++) {
+			final E entry = entries.get(from + count);
+
+			final String s = transformer.toString(entry);
+			Checks.notLonger(s, MAX_PAGE_LENGTH, "Entry #" + (firstEntryOffset + count) + " string");
+
+			if (builder.length() + s.length() > MAX_PAGE_LENGTH) break;
+
+			builder.append(rowPrefixSupplier.apply(count + 1, maxEntriesPerPage)).append(s).append('\n');
+		}
+
+		return count;
+	}
+
+	private void addPageEnd(int end) {
+		if (end < entryCount) {
+			pageOffsets.add(end);
+		} else {
+			lastPageFound = true;
 		}
 
-		pages.put(page, new MenuPage<>(builder.toString(), entries.subList(oldEntry, entries.size())));
+		setMaxPages(estimateMaxPages());
+	}
+
+	/**
+	 * Returns the known pages plus the minimum number of pages needed for the remaining entries,
+	 * this is exact once the last page has been found
+	 */
+	private int estimateMaxPages() {
+		final int knownPages = pageOffsets.size();
+		if (lastPageFound) return knownPages;
+
+		final int remainingEntries = entryCount - pageOffsets.get(knownPages - 1);
 
-		return pages;
+		return Math.max(1, knownPages - 1 + (remainingEntries + maxEntriesPerPage - 1) / maxEntriesPerPage);
 	}
 }
@@ -17,7 +17,7 @@ import java.util.List;
  */
 @SuppressWarnings("unchecked")
 public abstract class BasicMenuBuilder<E, T extends BasicMenuBuilder<E, T, R>, R extends BasicMenu<E, R>> extends BasicPaginatorBuilder<T, R> {
-	protected final List<E> entries;
+	protected final MenuPageSource<E> source;
 
 	protected int maxEntriesPerPage = 5;
 
@@ -30,7 +30,19 @@ public abstract class BasicMenuBuilder<E, T extends BasicMenuBuilder<E, T, R>, R
 	};
 
 	protected BasicMenuBuilder(@NotNull List<E> entries) {
-		this.entries = entries;
+		this(MenuPageSource.ofList(entries));
+	}
+
+	/**
+	 * Creates a menu builder which only requests the entries of the displayed pages
+	 *
+	 * @param source The source of the menu entries
+	 * @see MenuPageSource
+	 */
+	protected BasicMenuBuilder(@NotNull MenuPageSource<E> source) {
+		Checks.notNull(source, "Menu page source");
+
+		this.source = source;
 	}
 
 	/**
@@ -32,7 +32,7 @@ public final class ChoiceMenu<E> extends BasicMenu<E, ChoiceMenu<E>> {
 	           ButtonContent nextContent,
 	           ButtonContent lastContent,
 	           ButtonContent deleteContent,
-	           List<E> entries,
+	           MenuPageSource<E> source,
 	           int maxEntriesPerPage,
 	           EntryTransformer<? super E> transformer,
 	           RowPrefixSupplier rowPrefixSupplier,
@@ -40,7 +40,7 @@ public final class ChoiceMenu<E> extends BasicMenu<E, ChoiceMenu<E>> {
 	           ButtonContentSupplier<E> buttonContentSupplier,
 	           ChoiceCallback<E> callback) {
 		super(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent,
-				makePages(entries, transformer, rowPrefixSupplier, maxEntriesPerPage),
+				source, maxEntriesPerPage, transformer, rowPrefixSupplier,
 				supplier);
 
 		Checks.notNull(buttonContentSupplier, "Button content supplier");
@@ -54,7 +54,7 @@ public final class ChoiceMenu<E> extends BasicMenu<E, ChoiceMenu<E>> {
 	protected void putComponents() {
 		super.putComponents();
 
-		final MenuPage<E> page = pages.get(this.page);
+		final MenuPage<E> page = getMenuPage(this.page);
 		final List<E> entries = page.entries();
 
 		for (int i = 0; i < entries.size(); i++) {
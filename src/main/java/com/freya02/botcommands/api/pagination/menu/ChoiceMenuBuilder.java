@@ -22,6 +22,10 @@ public final class ChoiceMenuBuilder<E> extends BasicMenuBuilder<E, ChoiceMenuBu
 		super(entries);
 	}
 
+	public ChoiceMenuBuilder(@NotNull MenuPageSource<E> source) {
+		super(source);
+	}
+
 	/**
 	 * Sets the callback for this menu
 	 *
@@ -56,6 +60,6 @@ public final class ChoiceMenuBuilder<E> extends BasicMenuBuilder<E, ChoiceMenuBu
 	@Override
 	@NotNull
 	public ChoiceMenu<E> build() {
-		return new ChoiceMenu<>(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent, entries, maxEntriesPerPage, transformer, rowPrefixSupplier, paginatorSupplier, buttonContentSupplier, callback);
+		return new ChoiceMenu<>(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent, source, maxEntriesPerPage, transformer, rowPrefixSupplier, paginatorSupplier, buttonContentSupplier, callback);
 	}
 }
@@ -7,8 +7,6 @@ import com.freya02.botcommands.api.pagination.paginator.Paginator;
 import com.freya02.botcommands.api.pagination.transformer.EntryTransformer;
 import com.freya02.botcommands.api.utils.ButtonContent;
 
-import java.util.List;
-
 /**
  * Paginator where pages are made from a list of entries.
  *
@@ -25,13 +23,13 @@ public final class Menu<E> extends BasicMenu<E, Menu<E>> {
 	     ButtonContent nextContent,
 	     ButtonContent lastContent,
 	     ButtonContent deleteContent,
-	     List<E> entries,
+	     MenuPageSource<E> source,
 	     int maxEntriesPerPage,
 	     EntryTransformer<? super E> transformer,
 	     RowPrefixSupplier rowPrefixSupplier,
 	     PaginatorSupplier<Menu<E>> supplier) {
 		super(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent,
-				makePages(entries, transformer, rowPrefixSupplier, maxEntriesPerPage),
+				source, maxEntriesPerPage, transformer, rowPrefixSupplier,
 				supplier);
 	}
 }
@@ -14,9 +14,13 @@ public final class MenuBuilder<E> extends BasicMenuBuilder<E, MenuBuilder<E>, Me
 		super(entries);
 	}
 
+	public MenuBuilder(@NotNull MenuPageSource<E> source) {
+		super(source);
+	}
+
 	@Override
 	@NotNull
 	public Menu<E> build() {
-		return new Menu<>(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent, entries, maxEntriesPerPage, transformer, rowPrefixSupplier, paginatorSupplier);
+		return new Menu<>(constraints, timeout, hasDeleteButton, firstContent, previousContent, nextContent, lastContent, deleteContent, source, maxEntriesPerPage, transformer, rowPrefixSupplier, paginatorSupplier);
 	}
 }
@@ -0,0 +1,58 @@
+package com.freya02.botcommands.api.pagination.menu;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Supplies the entries of a {@link BasicMenu menu}, only the entries of the displayed pages are requested
+ * <br>This lets you read the entries from a database, for example, instead of loading all of them in a list.
+ *
+ * <p>The entries must not change while the menu is in use, as the page boundaries are computed incrementally.
+ *
+ * @param <E> Type of the entries
+ * @see #ofList(List)
+ */
+public interface MenuPageSource<E> {
+	/**
+	 * Returns a page source backed by a list
+	 *
+	 * @param entries The entries of the menu
+	 * @param <E>     Type of the entries
+	 * @return The page source
+	 */
+	@NotNull
+	static <E> MenuPageSource<E> ofList(@NotNull List<E> entries) {
+		return new MenuPageSource<>() {
+			@Override
+			public int getEntryCount() {
+				return entries.size();
+			}
+
+			@Override
+			@NotNull
+			public List<E> getEntries(int offset, int limit) {
+				return entries.subList(offset, Math.min(entries.size(), offset + limit));
+			}
+		};
+	}
+
+	/**
+	 * Returns the total number of entries
+	 * <br>This is called once, when the menu is built.
+	 *
+	 * @return The total number of entries
+	 */
+	int getEntryCount();
+
+	/**
+	 * Returns the entries starting at the specified offset
+	 * <br>This is called from the thread handling the button clicks, you can block it while fetching the entries.
+	 *
+	 * @param offset The index of the first entry
+	 * @param limit  The maximum number of entries to return, there must be <code>limit</code> entries unless the end is reached
+	 * @return The entries starting at <code>offset</code>
+	 */
+	@NotNull
+	List<E> getEntries(int offset, int limit);
+}
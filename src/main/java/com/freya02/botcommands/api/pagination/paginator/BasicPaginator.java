@@ -58,7 +58,7 @@ public abstract class BasicPaginator<T extends BasicPaginator<T>> extends BasicP
 		}).setConstraints(constraints).build(nextContent);
 
 		lastButton = Components.primaryButton(e -> {
-			page = maxPages - 1;
+			page = getMaxPages() - 1;
 
 			e.editMessage(get()).queue();
 		}).setConstraints(constraints).build(lastContent);
@@ -91,6 +91,7 @@ public abstract class BasicPaginator<T extends BasicPaginator<T>> extends BasicP
 	 */
 	public T setPage(int page) {
 		Checks.check(page >= 0, "Page cannot be negative");
+		final int maxPages = getMaxPages();
 		Checks.check(page < maxPages, "Page cannot be higher than max page (%d)", maxPages);
 
 		this.page = page;
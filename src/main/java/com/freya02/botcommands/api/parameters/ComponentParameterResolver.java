@@ -6,6 +6,8 @@ import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteract
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface which indicates this class can resolve parameters for buttons commands
  */
@@ -20,4 +22,21 @@ public interface ComponentParameterResolver {
 	 */
 	@Nullable
 	Object resolve(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg);
+
+	/**
+	 * Returns a future of the resolved object from this component interaction
+	 * <br>The parameters of a component handler are all resolved concurrently, the handler runs once all of them are resolved.
+	 *
+	 * <p>By default, this runs {@link #resolve(BContext, ComponentDescriptor, GenericComponentInteractionCreateEvent, String)} on the calling thread,
+	 * you can override this if your resolver makes requests, so the handling thread isn't blocked.
+	 *
+	 * @param context    The {@link BContext} of this bot
+	 * @param descriptor The component description of the component being executed
+	 * @param event      The event of this component interaction
+	 * @return The future of the resolved option mapping
+	 */
+	@NotNull
+	default CompletableFuture<Object> resolveAsync(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg) {
+		return CompletableFuture.completedFuture(resolve(context, descriptor, event, arg));
+	}
 }
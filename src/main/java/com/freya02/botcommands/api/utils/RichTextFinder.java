@@ -1,13 +1,12 @@
 package com.freya02.botcommands.api.utils;
 
 import com.vdurmont.emoji.EmojiParser;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.NoSuchElementException;
 
 /**
  * Utility class to search for rich text.
@@ -25,15 +24,25 @@ import java.util.regex.Pattern;
  * This class takes your input and tokenises it as it finds what you're asking it to find.
  * <p>
  * You can then take the output using {@linkplain #getResults()} or consume it directly using {@linkplain #processResults(RichTextConsumer)}.
+ * <br>You can also use {@link #lazy(String, boolean, boolean, boolean, boolean)} to only tokenize the input as you {@link #iterator() iterate} on the tokens.
  */
-public class RichTextFinder extends EmojiParser {
-	private static final Pattern urlPattern = Pattern.compile("https?://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]");
-	private static final Pattern EMPTY_PATTERN = Pattern.compile("");
+public class RichTextFinder extends EmojiParser implements Iterable<RichTextFinder.RichText> {
+	private static final String HERE = "@here";
+	private static final String EVERYONE = "@everyone";
 
 	private final String input;
-	private final Matcher matcher;
-	private final Map<Integer, RichText> normalMentionMap = new TreeMap<>();
-	private final Map<Integer, String> addedStrs = new TreeMap<>();
+	private final boolean getIMentionable;
+	private final boolean getGlobalMentions;
+	private final boolean getEmojis;
+	private final boolean getUrls;
+
+	/** Tokens found so far, in order */
+	private final List<RichText> tokens = new ArrayList<>();
+	private char[] inputChars;
+	private int position = 0;
+	private int textStart = 0;
+	private boolean foundToken = false;
+	private boolean finished = false;
 
 	/**
 	 * Parses the input for what you're asking
@@ -45,143 +54,307 @@ public class RichTextFinder extends EmojiParser {
 	 * @param getUrls Whether to take URLs
 	 */
 	public RichTextFinder(String input, boolean getIMentionable, boolean getGlobalMentions, boolean getEmojis, boolean getUrls) {
+		this(input, getIMentionable, getGlobalMentions, getEmojis, getUrls, false);
+	}
+
+	private RichTextFinder(String input, boolean getIMentionable, boolean getGlobalMentions, boolean getEmojis, boolean getUrls, boolean lazy) {
 		this.input = input.replace("\uFE0F", "");
-		this.matcher = EMPTY_PATTERN.matcher(this.input);
+		this.getIMentionable = getIMentionable;
+		this.getGlobalMentions = getGlobalMentions;
+		this.getEmojis = getEmojis;
+		this.getUrls = getUrls;
 
-		if (getIMentionable) {
-			findAllMentions(RichTextType.USER, RichTextType.USER.getPattern());
-			findAllMentions(RichTextType.CHANNEL, RichTextType.CHANNEL.getPattern());
-			findAllMentions(RichTextType.EMOJI, RichTextType.EMOJI.getPattern());
-			findAllMentions(RichTextType.ROLE, RichTextType.ROLE.getPattern());
+		if (!lazy) {
+			tokenizeAll();
 		}
+	}
 
-		if (getGlobalMentions) {
-			findAllMentions(RichTextType.HERE, RichTextType.HERE.getPattern());
-			findAllMentions(RichTextType.EVERYONE, RichTextType.EVERYONE.getPattern());
-		}
+	/**
+	 * Creates a finder which only parses the input when the tokens are requested
+	 *
+	 * @param input The input to parse
+	 * @param getIMentionable Whether to take Users/Channels/Emotes/Roles
+	 * @param getGlobalMentions Whether to take <code>@here</code> and <code>@everyone</code> mentions
+	 * @param getEmojis Whether to take Unicode/shortcode emojis
+	 * @param getUrls Whether to take URLs
+	 * @return The lazy rich text finder
+	 * @see #iterator()
+	 */
+	@NotNull
+	public static RichTextFinder lazy(String input, boolean getIMentionable, boolean getGlobalMentions, boolean getEmojis, boolean getUrls) {
+		return new RichTextFinder(input, getIMentionable, getGlobalMentions, getEmojis, getUrls, true);
+	}
+
+	/**
+	 * @return The tokens parsed as rich text
+	 */
+	public List<RichText> getResults() {
+		tokenizeAll();
+
+		return List.copyOf(tokens);
+	}
+
+	/**
+	 * Returns an iterator over the tokens, the input is only parsed as the tokens get requested
+	 *
+	 * @return An iterator over the tokens
+	 */
+	@Override
+	@NotNull
+	public Iterator<RichText> iterator() {
+		return new Iterator<>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < tokens.size() || tokenizeNext();
+			}
+
+			@Override
+			public RichText next() {
+				if (!hasNext()) throw new NoSuchElementException();
 
-		if (getEmojis) {
-			resolveEmojis();
+				return tokens.get(index++);
+			}
+		};
+	}
+
+	/**
+	 * Processes each rich text token
+	 * @param consumer The consumer accepting a substring and a rich text type
+	 */
+	public void processResults(RichTextConsumer consumer) {
+		for (RichText richText : this) {
+			consumer.consume(richText.substring, richText.type);
 		}
+	}
 
-		if (getUrls) {
-			findAllMentions(RichTextType.URL, urlPattern);
+	private void tokenizeAll() {
+		while (!finished) {
+			tokenizeNext();
 		}
+	}
 
-		if (!addedStrs.isEmpty()) {
-			Iterator<String> it = addedStrs.values().iterator();
-			String next = it.next();
-			int startIndex = 0;
-			int endIndex = input.indexOf(next, startIndex);
-			final String startSubstring = this.input.substring(startIndex, endIndex).trim();
-			if (!startSubstring.isEmpty()) {
-				normalMentionMap.put(startIndex, new RichText(startSubstring, RichTextType.TEXT));
-			}
+	/**
+	 * Scans the input until at least one more token is found
+	 *
+	 * @return <code>false</code> if the end of the input has been reached, without adding tokens
+	 */
+	private boolean tokenizeNext() {
+		if (finished) return false;
 
-			while (it.hasNext()) {
-				startIndex = endIndex + next.length();
+		final int length = input.length();
+		while (position < length) {
+			final int tokenStart = position;
+			final RichText token = matchToken();
 
-				next = it.next();
-				endIndex = input.indexOf(next, startIndex);
+			if (token != null) {
+				addText(textStart, tokenStart);
+				tokens.add(token);
 
-				final String middleSubstring = this.input.substring(startIndex, endIndex).trim();
-				if (!middleSubstring.isEmpty()) {
-					normalMentionMap.put(startIndex, new RichText(middleSubstring, RichTextType.TEXT));
-				}
-			}
+				foundToken = true;
+				textStart = position;
 
-			startIndex = endIndex + next.length();
-			final String endSubstring = this.input.substring(startIndex).trim();
-			if (!endSubstring.isEmpty()) {
-				normalMentionMap.put(startIndex, new RichText(endSubstring, RichTextType.TEXT));
+				return true;
 			}
 
-			addedStrs.clear();
-		} else {
-			normalMentionMap.put(0, new RichText(this.input, RichTextType.TEXT));
+			position++;
 		}
+
+		finished = true;
+
+		if (!foundToken) {
+			tokens.add(new RichText(input, RichTextType.TEXT));
+
+			return true;
+		}
+
+		return addText(textStart, length);
+	}
+
+	private boolean addText(int start, int end) {
+		final String text = input.substring(start, end).trim();
+		if (text.isEmpty()) return false;
+
+		tokens.add(new RichText(text, RichTextType.TEXT));
+
+		return true;
 	}
 
 	/**
-	 * @return The tokens parsed as rich text
+	 * Tries to match a token at the current position, advancing the position past it if found
 	 */
-	public List<RichText> getResults() {
-		return List.copyOf(normalMentionMap.values());
+	private RichText matchToken() {
+		final char c = input.charAt(position);
+
+		if (c == '<') {
+			if (getIMentionable) return matchMention();
+		} else if (c == '@') {
+			if (getGlobalMentions) {
+				if (input.startsWith(HERE, position)) return advance(HERE.length(), RichTextType.HERE);
+				if (input.startsWith(EVERYONE, position)) return advance(EVERYONE.length(), RichTextType.EVERYONE);
+			}
+		} else if (c == 'h') {
+			if (getUrls) return matchUrl();
+		} else if (c == ':') {
+			if (getEmojis) return matchAlias();
+		} else if (getEmojis) {
+			return matchUnicodeEmoji();
+		}
+
+		return null;
 	}
 
-	private void resolveEmojis() {
-		//Find emoji aliases
-		final int inputLength = input.length();
-		for (int last = 0; last < inputLength; last++) {
-			AliasCandidate alias = getAliasAt(input, last);
+	private RichText advance(int tokenLength, RichTextType type) {
+		final RichText token = new RichText(input.substring(position, position + tokenLength), type);
+		position += tokenLength;
+
+		return token;
+	}
 
-			if (alias != null) {
-				last = alias.endIndex;
+	/**
+	 * Matches the patterns of {@link RichTextType#USER}, {@link RichTextType#ROLE}, {@link RichTextType#CHANNEL} and {@link RichTextType#EMOJI}
+	 */
+	private RichText matchMention() {
+		int i = position + 1;
+		if (i >= input.length()) return null;
 
-				final String substring;
-				if (alias.fitzpatrick != null) {
-					substring = alias.emoji.getUnicode() + alias.fitzpatrick.unicode;
+		final RichTextType type;
+		switch (input.charAt(i)) {
+			case '@' -> {
+				i++;
+				if (i < input.length() && input.charAt(i) == '!') {
+					type = RichTextType.USER;
+					i++;
+				} else if (i < input.length() && input.charAt(i) == '&') {
+					type = RichTextType.ROLE;
+					i++;
 				} else {
-					substring = alias.emoji.getUnicode();
+					type = RichTextType.USER;
 				}
+			}
+			case '#' -> {
+				type = RichTextType.CHANNEL;
+				i++;
+			}
+			case 'a', ':' -> {
+				if (input.charAt(i) == 'a') i++;
+				if (i >= input.length() || input.charAt(i) != ':') return null;
 
-				final int beginIndex = last;
+				final int nameEnd = skipEmojiName(i + 1);
+				if (nameEnd == i + 1 || nameEnd >= input.length() || input.charAt(nameEnd) != ':') return null;
 
-				final boolean isInsideCustomEmote = normalMentionMap.values().stream().filter(r -> r.type == RichTextType.EMOJI).anyMatch(r -> {
-					final List<String> aliases = alias.emoji.getAliases();
-					for (String aliasItem : aliases) {
-						final boolean customEmoteHasEmoji = r.substring.startsWith(':' + aliasItem + ':', 1);
+				type = RichTextType.EMOJI;
+				i = nameEnd + 1;
+			}
+			default -> {
+				return null;
+			}
+		}
 
-						if (customEmoteHasEmoji) {
-							return true;
-						}
-					}
+		final int idEnd = skipDigits(i);
+		if (idEnd == i || idEnd >= input.length() || input.charAt(idEnd) != '>') return null;
 
-					return false;
-				});
+		return advance(idEnd + 1 - position, type);
+	}
 
-				if (!isInsideCustomEmote) {
-//					System.out.println("added emoji " + substring);
-					normalMentionMap.put(beginIndex, new RichText(substring, RichTextType.UNICODE_EMOTE));
-					addedStrs.put(beginIndex, input.substring(alias.startIndex, alias.endIndex + 1));
-				}
-			}
+	private int skipDigits(int i) {
+		while (i < input.length() && isAsciiDigit(input.charAt(i))) i++;
+
+		return i;
+	}
+
+	private int skipEmojiName(int i) {
+		while (i < input.length()) {
+			final char c = input.charAt(i);
+			if (!isAsciiLetter(c) && !isAsciiDigit(c) && c != '_') break;
+
+			i++;
+		}
+
+		return i;
+	}
+
+	/**
+	 * Matches <code>https?://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]</code>
+	 */
+	private RichText matchUrl() {
+		final int schemeEnd;
+		if (input.startsWith("https://", position)) {
+			schemeEnd = position + 8;
+		} else if (input.startsWith("http://", position)) {
+			schemeEnd = position + 7;
+		} else {
+			return null;
 		}
 
-		//Find unicode emojis
-		char[] inputCharArray = input.toCharArray();
-		UnicodeCandidate next;
-		for (int i = 0; (next = getNextUnicodeCandidate(inputCharArray, i)) != null; i = next.getFitzpatrickEndIndex()) {
-			if (next.hasFitzpatrick()) {
-				normalMentionMap.put(next.getEmojiStartIndex(), new RichText(next.getEmoji().getUnicode(next.getFitzpatrick()), RichTextType.UNICODE_EMOTE));
-				addedStrs.put(next.getEmojiStartIndex(), next.getEmoji().getUnicode(next.getFitzpatrick()));
-			} else {
-				normalMentionMap.put(next.getEmojiStartIndex(), new RichText(next.getEmoji().getUnicode(), RichTextType.UNICODE_EMOTE));
-				addedStrs.put(next.getEmojiStartIndex(), next.getEmoji().getUnicode());
+		//The URL ends at the last allowed end character of the longest run of URL characters
+		int end = -1;
+		for (int i = schemeEnd; i < input.length(); i++) {
+			final char c = input.charAt(i);
+			if (isUrlEndChar(c)) {
+				end = i + 1;
+			} else if (!isUrlChar(c)) {
+				break;
 			}
 		}
+
+		if (end == -1) return null;
+
+		return advance(end - position, RichTextType.URL);
 	}
 
-	private void findAllMentions(RichTextType type, Pattern pattern) {
-		matcher.usePattern(pattern);
-		matcher.reset();
-		while (matcher.find()) {
-			final String group = matcher.group();
-			normalMentionMap.put(matcher.start(), new RichText(group, type));
-			addedStrs.put(matcher.start(), group);
+	private RichText matchAlias() {
+		final AliasCandidate alias = getAliasAt(input, position);
+		if (alias == null) return null;
+
+		final String substring;
+		if (alias.fitzpatrick != null) {
+			substring = alias.emoji.getUnicode() + alias.fitzpatrick.unicode;
+		} else {
+			substring = alias.emoji.getUnicode();
 		}
+
+		position = alias.endIndex + 1;
+
+		return new RichText(substring, RichTextType.UNICODE_EMOTE);
 	}
 
-	/**
-	 * Processes each rich text token
-	 * @param consumer The consumer accepting a substring and a rich text type
-	 */
-	public void processResults(RichTextConsumer consumer) {
-		for (RichText richText : normalMentionMap.values()) {
-			consumer.consume(richText.substring, richText.type);
+	private RichText matchUnicodeEmoji() {
+		//Emojis starting with an ASCII character are keycaps, which are followed by a non-ASCII character
+		if (input.charAt(position) < 0x80 && (position + 1 >= input.length() || input.charAt(position + 1) < 0x80)) return null;
+
+		if (inputChars == null) inputChars = input.toCharArray();
+		if (getEmojiEndPos(inputChars, position) == -1) return null;
+
+		final UnicodeCandidate candidate = getNextUnicodeCandidate(inputChars, position);
+		if (candidate == null) return null;
+
+		position = candidate.getFitzpatrickEndIndex();
+
+		if (candidate.hasFitzpatrick()) {
+			return new RichText(candidate.getEmoji().getUnicode(candidate.getFitzpatrick()), RichTextType.UNICODE_EMOTE);
+		} else {
+			return new RichText(candidate.getEmoji().getUnicode(), RichTextType.UNICODE_EMOTE);
 		}
 	}
 
+	private static boolean isAsciiDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isUrlEndChar(char c) {
+		return isAsciiLetter(c) || isAsciiDigit(c) || "-+&@#/%=~_|".indexOf(c) != -1;
+	}
+
+	private static boolean isUrlChar(char c) {
+		return isUrlEndChar(c) || "?!:,.;".indexOf(c) != -1;
+	}
+
 	public static class RichText {
 		private final String substring;
 		private final RichTextType type;
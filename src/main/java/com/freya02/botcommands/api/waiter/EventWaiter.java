@@ -1,28 +1,33 @@
 package com.freya02.botcommands.api.waiter;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.utils.EventUtils;
-import com.freya02.botcommands.internal.utils.Utils;
+import com.freya02.botcommands.internal.utils.TimingWheel;
+import com.freya02.botcommands.internal.waiter.WaiterRegistry;
 import com.freya02.botcommands.internal.waiter.WaitingEvent;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
-import java.util.*;
+import java.util.EnumSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 /**
  * An event waiter - if you need to wait for an event to occur while not blocking threads or having listeners everywhere.
  * <br>You provide the type of the JDA event you want to get
  * <br>You can then set properties such as preconditions, timeouts and actions to run when the event gets received / has an exception, etc...
+ * <br>Prefer binding the waiter to a channel, user or message ID, with {@link EventWaiterBuilder#setChannelId(long)} for example,
+ * rather than with a precondition, as this lets incoming events skip the waiters which do not concern them
  * <br>This event waiter cannot be constructed and does not need to be registered to the JDA instance, it is already done automatically
  *
  * <h2>Example</h2>
@@ -34,7 +39,7 @@ import java.util.function.Predicate;
  * 		.setOnSuccess(e{@literal ->} System.out.println("Success"))
  * 		.setOnCancelled((){@literal ->} System.err.println("Cancelled"))
  * 		.setTimeout(1, TimeUnit.SECONDS)
- * 		.addPrecondition(e{@literal ->} e.getAuthor().getIdLong() == event.getAuthor().getIdLong())
+ * 		.setUserId(event.getAuthor().getIdLong())
  * 		.submit();
  *
  * //future.cancel(true);
@@ -47,30 +52,24 @@ import java.util.function.Predicate;
  * </code></pre>
  */
 public class EventWaiter implements EventListener {
-	private static final Map<Class<? extends GenericEvent>, List<WaitingEvent<? extends GenericEvent>>> waitingMap = new HashMap<>();
+	private static final WaiterRegistry registry = new WaiterRegistry();
 	private static final Logger LOGGER = Logging.getLogger();
-	private static final Object EVENT_LIST_LOCK = new Object();
 
-	private static int commandThreadNumber = 0;
-	private static final ExecutorService waiterCompleteService = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in an event waiter thread '" + t.getName() + "':", e));
-		thread.setName("Event waiter thread #" + commandThreadNumber++);
-
-		return thread;
-	});
+	private static Executor waiterCompleteService;
 
 	private static JDA jda;
 	private static EnumSet<GatewayIntent> intents = EnumSet.noneOf(GatewayIntent.class);
 	private static boolean initialized;
 
-	public EventWaiter(@NotNull JDA jda) {
+	@ApiStatus.Internal
+	public EventWaiter(@NotNull BContextImpl context, @NotNull JDA jda) {
 		if (initialized)
 			throw new IllegalStateException("Cannot build an EventWaiter more than once");
 
 		initialized = true;
 
+		waiterCompleteService = context.createExecutor(DispatchPool.EVENT_WAITERS);
+
 		LOGGER.debug("Initialized EventWaiter");
 
 		EventWaiter.jda = jda;
@@ -96,11 +95,6 @@ public class EventWaiter implements EventListener {
 	static <T extends GenericEvent> CompletableFuture<T> submit(WaitingEvent<T> waitingEvent) {
 		CompletableFuture<T> future = waitingEvent.getCompletableFuture();
 
-		final List<WaitingEvent<?>> waitingEvents = getWaitingEventsByType(waitingEvent);
-		if (waitingEvent.getTimeout() > 0) {
-			future.orTimeout(waitingEvent.getTimeout(), waitingEvent.getTimeoutUnit());
-		}
-
 		future.whenCompleteAsync((t, throwable) -> {
 			final CompletedFutureEvent<T> onComplete = waitingEvent.getOnComplete();
 			if (onComplete != null) onComplete.accept(future, t, throwable);
@@ -109,16 +103,13 @@ public class EventWaiter implements EventListener {
 				final Runnable onTimeout = waitingEvent.getOnTimeout();
 				if (onTimeout != null) onTimeout.run();
 
-				synchronized (EVENT_LIST_LOCK) {
-					waitingEvents.remove(waitingEvent); //Not removed automatically by Iterator#remove before this method is called
-				}
+				registry.remove(waitingEvent); //Not removed by #onEvent
 			} else if (t != null) {
 				final Consumer<T> onSuccess = waitingEvent.getOnSuccess();
 				if (onSuccess != null) onSuccess.accept(t);
 			} else if (future.isCancelled()) {
-				synchronized (EVENT_LIST_LOCK) {
-					waitingEvents.remove(waitingEvent); //Not removed automatically by Iterator#remove before this method is called
-				}
+				waitingEvent.cancelTimeout();
+				registry.remove(waitingEvent); //Not removed by #onEvent
 
 				final Runnable onCancelled = waitingEvent.getOnCancelled();
 				if (onCancelled != null) onCancelled.run();
@@ -127,44 +118,31 @@ public class EventWaiter implements EventListener {
 			}
 		}, waiterCompleteService);
 
-		waitingEvents.add(waitingEvent);
+		registry.add(waitingEvent);
 
-		return future;
-	}
+		if (waitingEvent.getTimeout() > 0) {
+			//Only completes the future, callbacks run on the waiter threads
+			waitingEvent.setTimeoutHandle(TimingWheel.getShared().schedule(() -> future.completeExceptionally(new TimeoutException()),
+					waitingEvent.getTimeout(),
+					waitingEvent.getTimeoutUnit()));
+		}
 
-	@NotNull
-	private static <T extends GenericEvent> List<WaitingEvent<?>> getWaitingEventsByType(WaitingEvent<T> waitingEvent) {
-		return waitingMap.computeIfAbsent(waitingEvent.getEventType(), x -> Collections.synchronizedList(new ArrayList<>()));
+		return future;
 	}
 
 	@SuppressWarnings("unchecked")
 	@SubscribeEvent
 	@Override
 	public void onEvent(@NotNull GenericEvent event) {
-		final List<WaitingEvent<? extends GenericEvent>> waitingEvents = waitingMap.get(event.getClass());
-
-		if (waitingEvents != null) {
-			synchronized (EVENT_LIST_LOCK) { //Prevent concurrent modification between iterator and on-timeout List#remove
-				eventLoop:
-				for (Iterator<WaitingEvent<? extends GenericEvent>> iterator = waitingEvents.iterator(); iterator.hasNext(); ) {
-					WaitingEvent<? extends GenericEvent> waitingEvent = iterator.next();
-
-					for (Predicate<? extends GenericEvent> p : waitingEvent.getPreconditions()) {
-						final Predicate<GenericEvent> precondition = (Predicate<GenericEvent>) p;
-
-						if (!precondition.test(event)) {
-							continue eventLoop;
-						}
-					}
-
-					final CompletableFuture<GenericEvent> completableFuture = (CompletableFuture<GenericEvent>) waitingEvent.getCompletableFuture();
-					if (completableFuture.complete(event)) {
-						iterator.remove();
-					} else {
-						LOGGER.warn("Completable future was already completed somehow, please report to the dev");
-					}
-				}
+		registry.forEachCandidate(event, waitingEvent -> {
+			if (!waitingEvent.testPreconditions(event)) return;
+
+			final CompletableFuture<GenericEvent> completableFuture = (CompletableFuture<GenericEvent>) waitingEvent.getCompletableFuture();
+			//Another thread may have completed it concurrently, or it may have timed out, only one of them wins
+			if (completableFuture.complete(event)) {
+				waitingEvent.cancelTimeout();
+				registry.remove(waitingEvent);
 			}
-		}
+		});
 	}
 }
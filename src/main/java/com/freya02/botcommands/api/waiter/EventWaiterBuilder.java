@@ -1,5 +1,6 @@
 package com.freya02.botcommands.api.waiter;
 
+import com.freya02.botcommands.internal.waiter.WaiterKeys;
 import com.freya02.botcommands.internal.waiter.WaitingEvent;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.internal.utils.Checks;
@@ -22,6 +23,8 @@ public class EventWaiterBuilder<T extends GenericEvent> {
 	private Runnable onTimeout, onCancelled;
 	private CompletedFutureEvent<T> onComplete;
 
+	private long channelId = WaiterKeys.NO_KEY, userId = WaiterKeys.NO_KEY, messageId = WaiterKeys.NO_KEY;
+
 	private int timeout;
 	private TimeUnit timeoutUnit;
 
@@ -60,6 +63,54 @@ public class EventWaiterBuilder<T extends GenericEvent> {
 		return this;
 	}
 
+	/**
+	 * Only accepts events coming from the specified channel
+	 * <br>Unlike a precondition, this lets the event waiter skip this waiter without evaluating it, when the channel does not match
+	 * <br>Supported by message events (including reactions) and interaction events
+	 *
+	 * @param channelId The ID of the channel the event must come from
+	 * @return This builder for chaining convenience
+	 */
+	public EventWaiterBuilder<T> setChannelId(long channelId) {
+		Checks.check(WaiterKeys.hasChannelId(eventType), "Events of type %s do not have a channel", eventType.getSimpleName());
+
+		this.channelId = channelId;
+
+		return this;
+	}
+
+	/**
+	 * Only accepts events triggered by the specified user
+	 * <br>Unlike a precondition, this lets the event waiter skip this waiter without evaluating it, when the user does not match
+	 * <br>Supported by message received/update events, reaction events and interaction events
+	 *
+	 * @param userId The ID of the user who must trigger the event
+	 * @return This builder for chaining convenience
+	 */
+	public EventWaiterBuilder<T> setUserId(long userId) {
+		Checks.check(WaiterKeys.hasUserId(eventType), "Events of type %s do not have a user", eventType.getSimpleName());
+
+		this.userId = userId;
+
+		return this;
+	}
+
+	/**
+	 * Only accepts events concerning the specified message
+	 * <br>Unlike a precondition, this lets the event waiter skip this waiter without evaluating it, when the message does not match
+	 * <br>Supported by message events (including reactions) and component interaction events
+	 *
+	 * @param messageId The ID of the message the event must concern
+	 * @return This builder for chaining convenience
+	 */
+	public EventWaiterBuilder<T> setMessageId(long messageId) {
+		Checks.check(WaiterKeys.hasMessageId(eventType), "Events of type %s do not have a message", eventType.getSimpleName());
+
+		this.messageId = messageId;
+
+		return this;
+	}
+
 	/**
 	 * Sets the consumer called after the event waiter has all its preconditions met and the task has not timeout nor been cancelled
 	 *
@@ -114,7 +165,7 @@ public class EventWaiterBuilder<T extends GenericEvent> {
 	 * @return The {@link Future} of this event waiter, can be cancelled
 	 */
 	public CompletableFuture<T> submit() {
-		return EventWaiter.submit(new WaitingEvent<>(eventType, preconditions, onComplete, onSuccess, onTimeout, onCancelled, timeout, timeoutUnit));
+		return EventWaiter.submit(new WaitingEvent<>(eventType, preconditions, onComplete, onSuccess, onTimeout, onCancelled, channelId, userId, messageId, timeout, timeoutUnit));
 	}
 
 	/**
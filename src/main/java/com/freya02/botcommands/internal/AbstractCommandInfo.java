@@ -39,7 +39,7 @@ public abstract class AbstractCommandInfo<T> extends Cooldownable implements Exe
 	                                                     @NotNull A annotation,
 	                                                     @NotNull Method commandMethod,
 	                                                     Function<A, String>... nameComponentsFunctions) {
-		super(getEffectiveCooldownStrategy(commandMethod));
+		super(((BContextImpl) context).getCooldownStore(), commandMethod.toString(), getEffectiveCooldownStrategy(commandMethod));
 
 		this.instance = instance;
 
@@ -57,6 +57,7 @@ public abstract class AbstractCommandInfo<T> extends Cooldownable implements Exe
 		this.path = CommandPath.of(pathComponents);
 		this.commandMethod = commandMethod;
 		this.methodRunner = context.getMethodRunnerFactory().make(instance, commandMethod);
+		((BContextImpl) context).getLocalizationManager().registerMethod(commandMethod);
 
 		this.ownerRequired = AnnotationUtils.getEffectiveRequireOwnerState(commandMethod);
 
@@ -7,6 +7,7 @@ import com.freya02.botcommands.api.application.CommandUpdateResult;
 import com.freya02.botcommands.api.application.slash.autocomplete.AutocompletionTransformer;
 import com.freya02.botcommands.api.components.ComponentInteractionFilter;
 import com.freya02.botcommands.api.components.ComponentManager;
+import com.freya02.botcommands.api.metrics.MetricsSink;
 import com.freya02.botcommands.api.parameters.CustomResolver;
 import com.freya02.botcommands.api.parameters.CustomResolverFunction;
 import com.freya02.botcommands.api.parameters.ParameterResolvers;
@@ -17,12 +18,16 @@ import com.freya02.botcommands.internal.application.context.message.MessageComma
 import com.freya02.botcommands.internal.application.context.user.UserCommandInfo;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
 import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompletionHandlerInfo;
+import com.freya02.botcommands.internal.cooldown.CooldownStore;
 import com.freya02.botcommands.internal.modals.ModalMaps;
+import com.freya02.botcommands.internal.parameters.EntityRetriever;
+import com.freya02.botcommands.internal.prefixed.PrefixTrie;
 import com.freya02.botcommands.internal.prefixed.TextCommandCandidates;
 import com.freya02.botcommands.internal.prefixed.TextCommandInfo;
 import com.freya02.botcommands.internal.prefixed.TextSubcommandCandidates;
-import com.freya02.botcommands.internal.runner.JavaMethodRunnerFactory;
+import com.freya02.botcommands.internal.runner.MethodHandleRunnerFactory;
 import com.freya02.botcommands.internal.runner.MethodRunnerFactory;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import gnu.trove.TCollections;
 import gnu.trove.set.TLongSet;
@@ -39,20 +44,29 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class BContextImpl implements BContext {
 	private static final Logger LOGGER = Logging.getLogger();
+	private static final int DEFAULT_MAX_PENDING_TASKS = 10000;
 
 	private final ApplicationCommandsContextImpl applicationCommandsContext = new ApplicationCommandsContextImpl();
 
 	private final List<Long> ownerIds = new ArrayList<>();
 	private final List<String> prefixes = new ArrayList<>();
+	private final Map<Long, PrefixTrie> guildPrefixTries = new ConcurrentHashMap<>();
+	private boolean cacheGuildPrefixes = false;
+	private volatile PrefixTrie globalPrefixTrie;
 
 	private final Map<Class<?>, ConstructorParameterSupplier<?>> parameterSupplierMap = new HashMap<>();
 	private final Map<Class<?>, InstanceSupplier<?>> instanceSupplierMap = new HashMap<>();
@@ -90,13 +104,20 @@ public class BContextImpl implements BContext {
 	private ApplicationCommandsCache applicationCommandsCache;
 	private Function<@NotNull DiscordLocale, @NotNull DefaultMessages> defaultMessageProvider;
 	private ExceptionHandler uncaughtExceptionHandler;
+	private MetricsSink metricsSink;
+	private ExecutorProvider executorProvider = ExecutorProvider.platformThreads();
+	private final Map<DispatchPool, Integer> maxPendingTasks = new EnumMap<>(DispatchPool.class);
+	private final Map<DispatchPool, RejectionPolicy> rejectionPolicies = new EnumMap<>(DispatchPool.class);
+	private final Map<DispatchPool, DispatchExecutor> dispatchExecutors = Collections.synchronizedMap(new EnumMap<>(DispatchPool.class));
 
 	private final Map<Class<?>, AutocompletionTransformer<?>> autocompletionTransformers = new HashMap<>();
 
 	private long nextExceptionDispatch = 0;
-	private MethodRunnerFactory methodRunnerFactory = new JavaMethodRunnerFactory();
+	private MethodRunnerFactory methodRunnerFactory = new MethodHandleRunnerFactory();
 
 	private final LocalizationManager localizationManager = new LocalizationManager();
+	private final CooldownStore cooldownStore = new CooldownStore();
+	private final EntityRetriever entityRetriever = new EntityRetriever();
 
 	@Override
 	@NotNull
@@ -126,6 +147,78 @@ public class BContextImpl implements BContext {
 	@Override
 	public void addPrefix(String prefix) {
 		prefixes.add(prefix);
+
+		invalidatePrefixes(null);
+	}
+
+	/**
+	 * Returns the compiled prefixes of this guild, as returned by {@link SettingsProvider#getPrefixes(Guild)},
+	 * or the global prefixes if none were returned
+	 */
+	@NotNull
+	public PrefixTrie getPrefixTrie(@NotNull Guild guild) {
+		if (settingProvider == null) return getGlobalPrefixTrie();
+
+		if (cacheGuildPrefixes) {
+			return guildPrefixTries.computeIfAbsent(guild.getIdLong(), id -> {
+				final List<String> guildPrefixes = settingProvider.getPrefixes(guild);
+				if (guildPrefixes == null || guildPrefixes.isEmpty()) return getGlobalPrefixTrie();
+
+				return new PrefixTrie(List.copyOf(guildPrefixes));
+			});
+		}
+
+		//The prefixes are asked every time, only the compiled prefixes are reused while they stay the same
+		final List<String> guildPrefixes = settingProvider.getPrefixes(guild);
+		if (guildPrefixes == null || guildPrefixes.isEmpty()) {
+			guildPrefixTries.remove(guild.getIdLong());
+
+			return getGlobalPrefixTrie();
+		}
+
+		final PrefixTrie cachedTrie = guildPrefixTries.get(guild.getIdLong());
+		if (cachedTrie != null && cachedTrie.getPrefixes().equals(guildPrefixes)) return cachedTrie;
+
+		final PrefixTrie trie = new PrefixTrie(List.copyOf(guildPrefixes));
+		guildPrefixTries.put(guild.getIdLong(), trie);
+
+		return trie;
+	}
+
+	/**
+	 * Returns the compiled prefixes of this guild, only if they are cached and cannot have changed
+	 */
+	@Nullable
+	public PrefixTrie getCachedPrefixTrie(@NotNull Guild guild) {
+		if (settingProvider == null) return getGlobalPrefixTrie();
+		if (!cacheGuildPrefixes) return null;
+
+		return guildPrefixTries.get(guild.getIdLong());
+	}
+
+	public void cacheGuildPrefixes(boolean cacheGuildPrefixes) {
+		this.cacheGuildPrefixes = cacheGuildPrefixes;
+	}
+
+	@NotNull
+	private PrefixTrie getGlobalPrefixTrie() {
+		PrefixTrie trie = globalPrefixTrie;
+		if (trie == null) {
+			trie = new PrefixTrie(List.copyOf(prefixes));
+			globalPrefixTrie = trie;
+		}
+
+		return trie;
+	}
+
+	@Override
+	public void invalidatePrefixes(@Nullable Guild guild) {
+		if (guild == null) {
+			globalPrefixTrie = null;
+			guildPrefixTries.clear();
+		} else {
+			guildPrefixTries.remove(guild.getIdLong());
+		}
 	}
 
 	@Override
@@ -303,6 +396,11 @@ public class BContextImpl implements BContext {
 		return Collections.unmodifiableCollection(textCommandMap.values());
 	}
 
+	@UnmodifiableView
+	public Map<CommandPath, TextCommandCandidates> getTextCommandMap() {
+		return Collections.unmodifiableMap(textCommandMap);
+	}
+
 	@UnmodifiableView
 	public Collection<? extends ApplicationCommandInfo> getApplicationCommandsView() {
 		return getApplicationCommandsContext()
@@ -537,6 +635,73 @@ public class BContextImpl implements BContext {
 		return uncaughtExceptionHandler;
 	}
 
+	public void setMetricsSink(@Nullable MetricsSink metricsSink) {
+		this.metricsSink = metricsSink;
+	}
+
+	@Nullable
+	@Override
+	public MetricsSink getMetricsSink() {
+		return metricsSink;
+	}
+
+	@Override
+	public void saveCooldowns(@NotNull OutputStream stream) throws IOException {
+		cooldownStore.save(stream);
+	}
+
+	@Override
+	public void loadCooldowns(@NotNull InputStream stream) throws IOException {
+		cooldownStore.load(stream);
+	}
+
+	public CooldownStore getCooldownStore() {
+		return cooldownStore;
+	}
+
+	public void setExecutorProvider(@NotNull ExecutorProvider executorProvider) {
+		this.executorProvider = executorProvider;
+	}
+
+	/**
+	 * Creates the executor of a framework pool, using the {@link ExecutorProvider}
+	 */
+	@NotNull
+	public DispatchExecutor createExecutor(@NotNull DispatchPool pool) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ThreadFactory threadFactory = r -> {
+			final Thread thread = new Thread(r);
+			thread.setDaemon(false);
+			thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in a %s '%s':".formatted(pool.getThreadName().toLowerCase(), t.getName()), e));
+			thread.setName(pool.getThreadName() + " #" + threadNumber.getAndIncrement());
+
+			return thread;
+		};
+
+		final DispatchExecutor executor = new DispatchExecutor(this,
+				pool,
+				executorProvider.provide(pool, threadFactory),
+				maxPendingTasks.getOrDefault(pool, DEFAULT_MAX_PENDING_TASKS),
+				rejectionPolicies.getOrDefault(pool, RejectionPolicy.REPLY_BUSY));
+		dispatchExecutors.put(pool, executor);
+
+		return executor;
+	}
+
+	public void setMaxPendingTasks(@NotNull DispatchPool pool, int maxPendingTasks) {
+		this.maxPendingTasks.put(pool, maxPendingTasks);
+	}
+
+	public void setRejectionPolicy(@NotNull DispatchPool pool, @NotNull RejectionPolicy rejectionPolicy) {
+		this.rejectionPolicies.put(pool, rejectionPolicy);
+	}
+
+	@Override
+	@Nullable
+	public DispatchPoolMetrics getDispatchPoolMetrics(@NotNull DispatchPool pool) {
+		return dispatchExecutors.get(pool);
+	}
+
 	@Override
 	public TLongSet getTestGuildIds() {
 		return testGuildIds;
@@ -569,4 +734,8 @@ public class BContextImpl implements BContext {
 	public LocalizationManager getLocalizationManager() {
 		return localizationManager;
 	}
+
+	public EntityRetriever getEntityRetriever() {
+		return entityRetriever;
+	}
 }
@@ -21,6 +21,8 @@ import com.freya02.botcommands.internal.application.ApplicationUpdaterListener;
 import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompletionHandlersBuilder;
 import com.freya02.botcommands.internal.components.ComponentsBuilder;
 import com.freya02.botcommands.internal.events.EventListenersBuilder;
+import com.freya02.botcommands.internal.localization.LocalizationPreloader;
+import com.freya02.botcommands.internal.localization.LocalizationWatcher;
 import com.freya02.botcommands.internal.modals.ModalHandlersBuilder;
 import com.freya02.botcommands.internal.prefixed.CommandListener;
 import com.freya02.botcommands.internal.prefixed.HelpCommand;
@@ -36,12 +38,20 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class CommandsBuilderImpl {
 	private static final Logger LOGGER = Logging.getLogger();
@@ -58,14 +68,20 @@ public final class CommandsBuilderImpl {
 
 	private final BContextImpl context;
 	private final Set<Class<?>> classes;
+	private final long classDiscoveryNanos;
 
 	private final boolean usePing;
 	
 	private final List<Class<?>> ignoredClasses = new ArrayList<>();
 
-	public CommandsBuilderImpl(BContextImpl context, Set<String> packageNames, Set<Class<?>> manualClasses, List<Long> slashGuildIds) {
+	public CommandsBuilderImpl(BContextImpl context, Set<String> packageNames, Set<Class<?>> manualClasses, boolean useHandlerIndex, List<Long> slashGuildIds) throws IOException {
 		this.context = context;
-		this.classes = ReflectionUtils.scanPackagesAndClasses(packageNames, manualClasses);
+
+		final long classDiscoveryStart = System.nanoTime();
+		this.classes = useHandlerIndex
+				? ReflectionUtils.readIndexedPackagesAndClasses(packageNames, manualClasses)
+				: ReflectionUtils.scanPackagesAndClasses(packageNames, manualClasses);
+		this.classDiscoveryNanos = System.nanoTime() - classDiscoveryStart;
 
 		this.prefixedCommandsBuilder = new PrefixedCommandsBuilder(context);
 		this.componentsBuilder = new ComponentsBuilder(context);
@@ -81,20 +97,48 @@ public final class CommandsBuilderImpl {
 	}
 
 	private void buildClasses() throws Exception {
+		final long instantiationStart = System.nanoTime();
+
+		//Instances are created sequentially, in class order, as user constructors may depend on each other
+		final List<HandlerMethod> handlerMethods = new ArrayList<>();
 		for (Class<?> aClass : classes) {
-			processClass(aClass);
+			processClass(aClass, handlerMethods);
+		}
+
+		final long analysisStart = System.nanoTime();
+
+		//Reflection, parameter checks and pattern compilation of the commands do not depend on each other
+		for (HandlerMethod handlerMethod : handlerMethods) {
+			handlerMethod.analyze();
+		}
+
+		HandlerMethod.awaitAnalyses(handlerMethods);
+
+		final long registrationStart = System.nanoTime();
+
+		//Register in class order, so conflicts are detected and reported the same way on every startup
+		for (HandlerMethod handlerMethod : handlerMethods) {
+			handlerMethod.register();
 		}
 
 		if (context.findFirstCommand(CommandPath.ofName("help")) == null) { //No help command yet
 			if (context.isHelpDisabled()) {
 				LOGGER.debug("Using no 'help' text command implementation");
 			} else {
-				processClass(HelpCommand.class);
+				final List<HandlerMethod> helpMethods = new ArrayList<>();
+				processClass(HelpCommand.class, helpMethods);
+
+				for (HandlerMethod helpMethod : helpMethods) {
+					helpMethod.analyze();
+					helpMethod.register();
+				}
 			}
 		} else {
 			LOGGER.debug("Using a custom 'help' text command implementation");
 		}
 
+		final long postProcessStart = System.nanoTime();
+
 		prefixedCommandsBuilder.postProcess();
 
 		if (context.getComponentManager() != null) {
@@ -120,16 +164,35 @@ public final class CommandsBuilderImpl {
 
 		context.getRegistrationListeners().forEach(RegistrationListener::onBuildComplete);
 
+		final long end = System.nanoTime();
+
 		LOGGER.info("Finished registering all commands");
+		LOGGER.debug("Registered {} handlers in {} ms (class discovery: {} ms, instantiation: {} ms, analysis: {} ms, registration: {} ms, post-processing: {} ms)",
+				handlerMethods.size(),
+				toMillis(end - instantiationStart),
+				toMillis(classDiscoveryNanos),
+				toMillis(analysisStart - instantiationStart),
+				toMillis(registrationStart - analysisStart),
+				toMillis(postProcessStart - registrationStart),
+				toMillis(end - postProcessStart));
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
 	}
 
-	private void processClass(Class<?> aClass) throws InvocationTargetException, IllegalAccessException, InstantiationException {
+	private void processClass(Class<?> aClass, List<HandlerMethod> handlerMethods) throws InvocationTargetException, IllegalAccessException, InstantiationException {
 		if (!Modifier.isAbstract(aClass.getModifiers()) && !Modifier.isInterface(aClass.getModifiers())) {
 			boolean foundSomething = false;
 
 			//Search for methods annotated with a compatible annotation
 			for (Method method : aClass.getDeclaredMethods()) {
-				foundSomething |= processMethod(method);
+				final HandlerMethod handlerMethod = processMethod(method);
+
+				if (handlerMethod != null) {
+					handlerMethods.add(handlerMethod);
+					foundSomething = true;
+				}
 			}
 
 			if (!foundSomething) {
@@ -164,46 +227,43 @@ public final class CommandsBuilderImpl {
 		return null;
 	}
 
-	private boolean processMethod(Method method) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+	@Nullable
+	private HandlerMethod processMethod(Method method) throws InvocationTargetException, InstantiationException, IllegalAccessException {
 		for (Class<? extends Annotation> annotation : applicationMethodAnnotations) {
 			final ApplicationCommand applicationCommand = tryInstantiateMethod(annotation, ApplicationCommand.class, "Application command", method);
 
 			if (applicationCommand != null) {
-				applicationCommandsBuilder.processApplicationCommand(applicationCommand, method);
-
-				return true;
+				return new HandlerMethod(
+						() -> applicationCommandsBuilder.analyzeApplicationCommand(applicationCommand, method),
+						applicationCommandsBuilder::registerApplicationCommand
+				);
 			}
 		}
 
 		final TextCommand textCommand = tryInstantiateMethod(JDATextCommand.class, TextCommand.class, "Text command", method);
 		if (textCommand != null) {
-			prefixedCommandsBuilder.processPrefixedCommand(textCommand, method);
-
-			return true;
+			return new HandlerMethod(
+					() -> prefixedCommandsBuilder.analyzePrefixedCommand(textCommand, method),
+					prefixedCommandsBuilder::registerPrefixedCommand
+			);
 		}
 
 		final Object eventListener = tryInstantiateMethod(JDAEventListener.class, Object.class, "JDA event listener", method);
 		if (eventListener != null) {
-			eventListenersBuilder.processEventListener(eventListener, method);
-
-			return true;
+			return HandlerMethod.ofRegistration(() -> eventListenersBuilder.processEventListener(eventListener, method));
 		}
 
 		final Object autocompletionHandler = tryInstantiateMethod(AutocompletionHandler.class, Object.class, "Slash command auto completion", method);
 		if (autocompletionHandler != null) {
-			autocompletionHandlersBuilder.processHandler(autocompletionHandler, method);
-
-			return true;
+			return HandlerMethod.ofRegistration(() -> autocompletionHandlersBuilder.processHandler(autocompletionHandler, method));
 		}
 
 		final Object modalHandler = tryInstantiateMethod(ModalHandler.class, Object.class, "Modal handler", method);
 		if (modalHandler != null) {
-			modalHandlersBuilder.processHandler(modalHandler, method);
-
-			return true;
+			return HandlerMethod.ofRegistration(() -> modalHandlersBuilder.processHandler(modalHandler, method));
 		}
 
-		return false;
+		return null;
 	}
 
 	/**
@@ -237,8 +297,18 @@ public final class CommandsBuilderImpl {
 
 		setupContext(jda);
 
+		//Load the bundles while the classes are being processed
+		final CompletableFuture<Void> localizationPreload = preloadLocalizations();
+
 		buildClasses();
 
+		localizationPreload.join();
+
+		final Path watchedLocalizationDirectory = context.getLocalizationManager().getWatchedDirectory();
+		if (watchedLocalizationDirectory != null) {
+			LocalizationWatcher.start(watchedLocalizationDirectory);
+		}
+
 		if (jda.getGatewayIntents().contains(GatewayIntent.GUILD_MESSAGES)) {
 			if (jda.getGatewayIntents().contains(GatewayIntent.MESSAGE_CONTENT) || usePing) {
 				context.addEventListeners(new CommandListener(context, usePing));
@@ -251,7 +321,7 @@ public final class CommandsBuilderImpl {
 
 
 		context.addEventListeners(
-				new EventWaiter(jda),
+				new EventWaiter(context, jda),
 				new ApplicationUpdaterListener(context),
 				new ApplicationCommandListener(context)
 		);
@@ -266,6 +336,14 @@ public final class CommandsBuilderImpl {
 		ConflictDetector.detectConflicts();
 	}
 
+	private CompletableFuture<Void> preloadLocalizations() {
+		final Map<String, Set<Locale>> baseNameToLocalesMap = new HashMap<>();
+		context.getLocalizationManager().getPreloadedLocalizations().forEach((baseName, locales) -> baseNameToLocalesMap.computeIfAbsent(baseName, x -> new HashSet<>()).addAll(locales));
+		context.getApplicationCommandsContext().getBaseNameToLocalesMap().forEach((baseName, locales) -> baseNameToLocalesMap.computeIfAbsent(baseName, x -> new HashSet<>()).addAll(locales));
+
+		return LocalizationPreloader.preload(baseNameToLocalesMap);
+	}
+
 	private void setupContext(JDA jda) {
 		if (context.getOwnerIds().isEmpty()) {
 			LOGGER.info("No owner ID specified, exceptions won't be sent to owners");
@@ -288,6 +366,62 @@ public final class CommandsBuilderImpl {
 		context.setDefaultMessageProvider(new DefaultMessagesFunction());
 	}
 
+	/**
+	 * A handler method whose instance has been created,
+	 * its analysis (if any) runs on the common fork-join pool, while its registration runs on the building thread
+	 */
+	private static final class HandlerMethod {
+		private final Supplier<?> analysis;
+		private final Consumer<Object> registration;
+
+		private CompletableFuture<?> analysisFuture;
+
+		@SuppressWarnings("unchecked")
+		private <T> HandlerMethod(Supplier<T> analysis, Consumer<? super T> registration) {
+			this.analysis = analysis;
+			this.registration = (Consumer<Object>) registration;
+		}
+
+		private static HandlerMethod ofRegistration(Runnable registration) {
+			return new HandlerMethod(null, ignored -> registration.run());
+		}
+
+		private void analyze() {
+			analysisFuture = analysis == null
+					? CompletableFuture.completedFuture(null)
+					: CompletableFuture.supplyAsync(analysis, ForkJoinPool.commonPool());
+		}
+
+		/**
+		 * Waits for the analysis of all the handlers to complete, failures are rethrown by {@link #register()}, in class order
+		 */
+		private static void awaitAnalyses(List<HandlerMethod> handlerMethods) {
+			final CompletableFuture<?>[] analysisFutures = handlerMethods.stream()
+					.map(handlerMethod -> handlerMethod.analysisFuture)
+					.toArray(CompletableFuture<?>[]::new);
+
+			try {
+				CompletableFuture.allOf(analysisFutures).join();
+			} catch (CompletionException ignored) {
+				//Not necessarily the first failure in class order
+			}
+		}
+
+		private void register() {
+			final Object analysisResult;
+			try {
+				analysisResult = analysisFuture.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+				if (e.getCause() instanceof Error error) throw error;
+
+				throw e;
+			}
+
+			registration.accept(analysisResult);
+		}
+	}
+
 	private static class DefaultMessagesFunction implements Function<DiscordLocale, DefaultMessages> {
 		private final Map<DiscordLocale, DefaultMessages> localeDefaultMessagesMap = new HashMap<>();
 
@@ -8,11 +8,19 @@ public class CooldownStrategy {
 	private final long cooldown;
 	private final TimeUnit unit;
 	private final CooldownScope scope;
+	private final int uses;
 
 	public CooldownStrategy(long cooldown, TimeUnit unit, CooldownScope scope) {
+		this(cooldown, unit, scope, 1);
+	}
+
+	public CooldownStrategy(long cooldown, TimeUnit unit, CooldownScope scope, int uses) {
+		if (uses <= 0) throw new IllegalArgumentException("Cooldown uses must be positive");
+
 		this.cooldown = cooldown;
 		this.unit = unit;
 		this.scope = scope;
+		this.uses = uses;
 	}
 
 	public long getCooldown() {
@@ -30,4 +38,15 @@ public class CooldownStrategy {
 	public CooldownScope getScope() {
 		return scope;
 	}
+
+	public int getUses() {
+		return uses;
+	}
+
+	/**
+	 * Returns the time after which one more use is allowed
+	 */
+	public long getIntervalMillis() {
+		return Math.max(1, getCooldownMillis() / uses);
+	}
 }
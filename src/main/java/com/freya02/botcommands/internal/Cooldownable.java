@@ -2,35 +2,33 @@ package com.freya02.botcommands.internal;
 
 import com.freya02.botcommands.api.CooldownScope;
 import com.freya02.botcommands.api.Logging;
-import gnu.trove.TCollections;
-import gnu.trove.map.TLongLongMap;
-import gnu.trove.map.TObjectLongMap;
-import gnu.trove.map.hash.TLongLongHashMap;
-import gnu.trove.map.hash.TObjectLongHashMap;
-import net.dv8tion.jda.api.entities.Guild;
+import com.freya02.botcommands.internal.cooldown.CooldownStore;
+import com.freya02.botcommands.internal.cooldown.CooldownTable;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.interactions.Interaction;
 import org.slf4j.Logger;
 
 import java.util.function.Supplier;
 
-import static gnu.trove.impl.Constants.DEFAULT_CAPACITY;
-import static gnu.trove.impl.Constants.DEFAULT_LOAD_FACTOR;
-
 public abstract class Cooldownable {
-	private record UserGuild(long guildId, long userId) {}
-
 	private static final Logger LOGGER = Logging.getLogger();
 	private final CooldownStrategy cooldownStrategy;
 
-	//Trove maps are not *always* the fastest, by a small margin, but are by far the most memory efficient
-	//The values are the time on which the cooldown expires
-	private final TObjectLongMap<UserGuild> userCooldowns = TCollections.synchronizedMap(new TObjectLongHashMap<>(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0));
-	private final TLongLongMap channelCooldowns = TCollections.synchronizedMap(new TLongLongHashMap(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0, 0));
-	private final TLongLongMap guildCooldowns = TCollections.synchronizedMap(new TLongLongHashMap(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0, 0));
+	//Keys are (guild ID, user ID) for user cooldowns, (guild ID, 0) and (channel ID, 0) for the others
+	//The values are the theoretical time on which all uses are available again (GCRA),
+	// each use moves it by one interval, and the command is on cooldown while it is more than (cooldown - interval) in the future
+	//With a single use, this is the time on which the cooldown expires
+	private final CooldownTable cooldowns;
+	private final long interval;
+	private final long tolerance;
 
-	protected Cooldownable(CooldownStrategy cooldownStrategy) {
+	protected Cooldownable(CooldownStore cooldownStore, String cooldownName, CooldownStrategy cooldownStrategy) {
 		this.cooldownStrategy = cooldownStrategy;
+		this.cooldowns = cooldownStrategy.getCooldownMillis() > 0
+				? cooldownStore.getTable(cooldownName)
+				: null;
+		this.interval = cooldownStrategy.getIntervalMillis();
+		this.tolerance = Math.max(0, cooldownStrategy.getCooldownMillis() - interval);
 	}
 
 	public long getCooldownMillis() {
@@ -42,47 +40,47 @@ public abstract class Cooldownable {
 	}
 
 	public void applyCooldown(MessageReceivedEvent event) {
+		if (cooldowns == null) return;
+
 		switch (getCooldownScope()) {
-			case USER -> userCooldowns.put(getUGKey(event), System.currentTimeMillis() + getCooldownMillis());
-			case GUILD -> guildCooldowns.put(event.getGuild().getIdLong(), System.currentTimeMillis() + getCooldownMillis());
-			case CHANNEL -> channelCooldowns.put(event.getChannel().getIdLong(), System.currentTimeMillis() + getCooldownMillis());
+			case USER -> startCooldown(event.getGuild().getIdLong(), event.getAuthor().getIdLong());
+			case GUILD -> startCooldown(event.getGuild().getIdLong(), 0);
+			case CHANNEL -> startCooldown(event.getChannel().getIdLong(), 0);
 		}
 	}
 
-	private UserGuild getUGKey(MessageReceivedEvent event) {
-		return new UserGuild(event.getGuild().getIdLong(), event.getAuthor().getIdLong());
-	}
-
-	private UserGuild getUGKey(Interaction event, Guild guild) {
-		return new UserGuild(guild.getIdLong(), event.getUser().getIdLong());
-	}
-
 	public void applyCooldown(Interaction event) {
+		if (cooldowns == null) return;
+
 		switch (getCooldownScope()) {
 			case USER -> {
 				if (event.getGuild() == null) break;
-				userCooldowns.put(getUGKey(event, event.getGuild()), System.currentTimeMillis() + getCooldownMillis());
+				startCooldown(event.getGuild().getIdLong(), event.getUser().getIdLong());
 			}
 			case GUILD -> {
 				if (event.getGuild() == null) break;
-				guildCooldowns.put(event.getGuild().getIdLong(), System.currentTimeMillis() + getCooldownMillis());
+				startCooldown(event.getGuild().getIdLong(), 0);
 			}
 			case CHANNEL -> {
 				if (event.getChannel() == null) break;
-				channelCooldowns.put(event.getChannel().getIdLong(), System.currentTimeMillis() + getCooldownMillis());
+				startCooldown(event.getChannel().getIdLong(), 0);
 			}
 		}
 	}
 
 	public long getCooldown(MessageReceivedEvent event) {
+		if (cooldowns == null) return 0;
+
 		return switch (getCooldownScope()) {
-			case USER -> Math.max(0, userCooldowns.get(getUGKey(event)) - System.currentTimeMillis());
-			case GUILD -> Math.max(0, guildCooldowns.get(event.getGuild().getIdLong()) - System.currentTimeMillis());
-			case CHANNEL -> Math.max(0, channelCooldowns.get(event.getChannel().getIdLong()) - System.currentTimeMillis());
+			case USER -> getRemainingCooldown(event.getGuild().getIdLong(), event.getAuthor().getIdLong());
+			case GUILD -> getRemainingCooldown(event.getGuild().getIdLong(), 0);
+			case CHANNEL -> getRemainingCooldown(event.getChannel().getIdLong(), 0);
 		};
 	}
 
 	public long getCooldown(Interaction event, Supplier<String> cmdNameSupplier) {
+		if (cooldowns == null) return 0;
+
 		switch (getCooldownScope()) {
 			case USER -> {
 				if (event.getGuild() == null) {
@@ -91,7 +89,7 @@ public abstract class Cooldownable {
 					return 0;
 				}
 
-				return Math.max(0, userCooldowns.get(getUGKey(event, event.getGuild())) - System.currentTimeMillis());
+				return getRemainingCooldown(event.getGuild().getIdLong(), event.getUser().getIdLong());
 			}
 			case GUILD -> {
 				if (event.getGuild() == null) {
@@ -100,7 +98,7 @@ public abstract class Cooldownable {
 					return 0;
 				}
 
-				return Math.max(0, guildCooldowns.get(event.getGuild().getIdLong()) - System.currentTimeMillis());
+				return getRemainingCooldown(event.getGuild().getIdLong(), 0);
 			}
 			case CHANNEL -> {
 				if (event.getChannel() == null) {
@@ -109,9 +107,22 @@ public abstract class Cooldownable {
 					return 0;
 				}
 
-				return Math.max(0, channelCooldowns.get(event.getChannel().getIdLong()) - System.currentTimeMillis());
+				return getRemainingCooldown(event.getChannel().getIdLong(), 0);
 			}
 			default -> throw new IllegalStateException("Unexpected value: " + getCooldownScope());
 		}
 	}
+
+	private void startCooldown(long key1, long key2) {
+		cooldowns.addInterval(key1, key2, System.currentTimeMillis(), interval);
+	}
+
+	private long getRemainingCooldown(long key1, long key2) {
+		final long now = System.currentTimeMillis();
+
+		final long expiration = cooldowns.getSharedExpiration(key1, key2, now + tolerance);
+		if (expiration == 0) return 0;
+
+		return Math.max(0, expiration - tolerance - now);
+	}
 }
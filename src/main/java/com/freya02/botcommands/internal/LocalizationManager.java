@@ -2,18 +2,78 @@ package com.freya02.botcommands.internal;
 
 import com.freya02.botcommands.api.localization.annotations.LocalizationBundle;
 import com.freya02.botcommands.api.localization.annotations.LocalizationPrefix;
+import com.freya02.botcommands.internal.localization.ResolvedLocalizations;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LocalizationManager {
 	private final Map<Method, String> prefixMap = Collections.synchronizedMap(new HashMap<>());
 	private final Map<Method, String> bundleMap = Collections.synchronizedMap(new HashMap<>());
 
+	private final Map<Method, ResolvedLocalizations> methodLocalizationsMap = new ConcurrentHashMap<>();
+	private final Map<String, ResolvedLocalizations> localizationsMap = new ConcurrentHashMap<>();
+
+	private final Map<String, List<Locale>> preloadedLocalizations = new HashMap<>();
+	private Path watchedDirectory;
+
+	public void addPreloadedLocalizations(@NotNull String bundleName, @NotNull List<@NotNull Locale> locales) {
+		preloadedLocalizations.computeIfAbsent(bundleName, x -> new ArrayList<>()).addAll(locales);
+	}
+
+	@NotNull
+	public Map<String, List<Locale>> getPreloadedLocalizations() {
+		return preloadedLocalizations;
+	}
+
+	public void setWatchedDirectory(@Nullable Path watchedDirectory) {
+		this.watchedDirectory = watchedDirectory;
+	}
+
+	@Nullable
+	public Path getWatchedDirectory() {
+		return watchedDirectory;
+	}
+
+	/**
+	 * Resolves the localization bundle and prefix of this method ahead of time, so the first localization made by its events is not slower
+	 *
+	 * @param method The method of a command or of a component handler
+	 */
+	public void registerMethod(@NotNull Method method) {
+		getResolvedLocalizations(method);
+	}
+
+	/**
+	 * Returns the resolved templates of the method's localization bundle, as seen with the method's localization prefix
+	 *
+	 * @return The resolved templates, or <code>null</code> if the method has no localization bundle
+	 */
+	@Nullable
+	public ResolvedLocalizations getResolvedLocalizations(@NotNull Method method) {
+		final ResolvedLocalizations localizations = methodLocalizationsMap.get(method);
+		if (localizations != null) return localizations;
+
+		final String localizationBundle = getLocalizationBundle(method);
+		if (localizationBundle == null) return null;
+
+		return methodLocalizationsMap.computeIfAbsent(method, x -> getResolvedLocalizations(localizationBundle, getLocalizationPrefix(method)));
+	}
+
+	/**
+	 * Returns the resolved templates of the localization bundle, as seen with the localization prefix
+	 */
+	@NotNull
+	public ResolvedLocalizations getResolvedLocalizations(@NotNull String localizationBundle, @Nullable String localizationPrefix) {
+		final String key = localizationPrefix == null ? localizationBundle : localizationBundle + '\0' + localizationPrefix;
+
+		return localizationsMap.computeIfAbsent(key, x -> new ResolvedLocalizations(localizationBundle, localizationPrefix));
+	}
+
 	@Nullable
 	public String getLocalizationPrefix(@NotNull Method method) {
 		return prefixMap.computeIfAbsent(method, x -> {
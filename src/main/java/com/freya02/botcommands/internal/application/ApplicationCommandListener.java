@@ -1,5 +1,6 @@
 package com.freya02.botcommands.internal.application;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.api.CooldownScope;
 import com.freya02.botcommands.api.DefaultMessages;
 import com.freya02.botcommands.api.ExceptionHandler;
@@ -7,6 +8,7 @@ import com.freya02.botcommands.api.Logging;
 import com.freya02.botcommands.api.application.ApplicationCommandFilter;
 import com.freya02.botcommands.api.application.ApplicationFilteringData;
 import com.freya02.botcommands.api.application.CommandPath;
+import com.freya02.botcommands.api.metrics.HandlerType;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.RunnableEx;
 import com.freya02.botcommands.internal.Usability;
@@ -14,6 +16,8 @@ import com.freya02.botcommands.internal.Usability.UnusableReason;
 import com.freya02.botcommands.internal.application.context.message.MessageCommandInfo;
 import com.freya02.botcommands.internal.application.context.user.UserCommandInfo;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
@@ -29,7 +33,6 @@ import org.slf4j.Logger;
 
 import java.util.EnumSet;
 import java.util.StringJoiner;
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -37,18 +40,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 	private static final Logger LOGGER = Logging.getLogger();
 	private final BContextImpl context;
 
-	private int commandThreadNumber = 0;
-	private final ExecutorService commandService = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in an application command thread '" + t.getName() + "':", e));
-		thread.setName("Application command thread #" + commandThreadNumber++);
-
-		return thread;
-	});
+	private final DispatchExecutor commandService;
 
 	public ApplicationCommandListener(BContextImpl context) {
 		this.context = context;
+		this.commandService = context.createExecutor(DispatchPool.APPLICATION_COMMANDS);
 	}
 
 	@SubscribeEvent
@@ -56,8 +52,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 	public void onUserContextInteraction(@NotNull UserContextInteractionEvent event) {
 		LOGGER.trace("Received user command: {}", event.getName());
 
-		final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event);
-		runCommand(() -> {
+		final HandlerTimer timer = HandlerTimer.start(context, HandlerType.USER_CONTEXT_COMMAND);
+		final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event));
+		runCommand(event, () -> {
+			timer.onStarted();
+
 			final UserCommandInfo userCommand = context.getApplicationCommandsContext().findLiveUserCommand(event.getGuild(), event.getName());
 
 			if (userCommand == null) {
@@ -66,9 +65,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 				return;
 			}
 
-			if (!canRun(event, userCommand)) return;
+			timer.setName(userCommand.getPath().getFullPath());
+			if (!canRun(event, userCommand, timer)) return;
+			timer.onFiltered();
 
-			userCommand.execute(context, event, throwableConsumer);
+			userCommand.execute(context, event, throwableConsumer, timer);
 		}, throwableConsumer);
 	}
 
@@ -77,8 +78,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 	public void onMessageContextInteraction(@NotNull MessageContextInteractionEvent event) {
 		LOGGER.trace("Received message command: {}", event.getName());
 
-		final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event);
-		runCommand(() -> {
+		final HandlerTimer timer = HandlerTimer.start(context, HandlerType.MESSAGE_CONTEXT_COMMAND);
+		final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event));
+		runCommand(event, () -> {
+			timer.onStarted();
+
 			final MessageCommandInfo messageCommand = context.getApplicationCommandsContext().findLiveMessageCommand(event.getGuild(), event.getName());
 
 			if (messageCommand == null) {
@@ -87,9 +91,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 				return;
 			}
 
-			if (!canRun(event, messageCommand)) return;
+			timer.setName(messageCommand.getPath().getFullPath());
+			if (!canRun(event, messageCommand, timer)) return;
+			timer.onFiltered();
 
-			messageCommand.execute(context, event, throwableConsumer);
+			messageCommand.execute(context, event, throwableConsumer, timer);
 		}, throwableConsumer);
 	}
 
@@ -98,8 +104,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 	public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
 		LOGGER.trace("Received slash command: {}", reconstructCommand(event));
 
-		final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event);
-		runCommand(() -> {
+		final HandlerTimer timer = HandlerTimer.start(context, HandlerType.SLASH_COMMAND);
+		final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event));
+		runCommand(event, () -> {
+			timer.onStarted();
+
 			final SlashCommandInfo slashCommand = context.getApplicationCommandsContext().findLiveSlashCommand(event.getGuild(), CommandPath.of(event.getFullCommandName()));
 
 			if (slashCommand == null) {
@@ -108,9 +117,11 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 				return;
 			}
 
-			if (!canRun(event, slashCommand)) return;
+			timer.setName(slashCommand.getPath().getFullPath());
+			if (!canRun(event, slashCommand, timer)) return;
+			timer.onFiltered();
 
-			slashCommand.execute(context, event, throwableConsumer);
+			slashCommand.execute(context, event, throwableConsumer, timer);
 		}, throwableConsumer);
 	}
 
@@ -153,7 +164,7 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 		}
 	}
 
-	private boolean canRun(@NotNull GenericCommandInteractionEvent event, ApplicationCommandInfo applicationCommand) {
+	private boolean canRun(@NotNull GenericCommandInteractionEvent event, ApplicationCommandInfo applicationCommand, HandlerTimer timer) {
 		for (ApplicationCommandFilter applicationFilter : context.getApplicationFilters()) {
 			if (!applicationFilter.isAccepted(new ApplicationFilteringData(context, event, applicationCommand))) {
 				LOGGER.trace("Cancelled application commands due to filter");
@@ -167,6 +178,8 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 
 		if (usability.isUnusable()) {
 			final var unusableReasons = usability.getUnusableReasons();
+			timer.onUsabilityDenial(unusableReasons);
+
 			if (unusableReasons.contains(UnusableReason.OWNER_ONLY)) {
 				reply(event, this.context.getDefaultMessages(event).getOwnerOnlyErrorMsg());
 
@@ -209,6 +222,8 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 		if (isNotOwner) {
 			final long cooldown = applicationCommand.getCooldown(event, event::getName);
 			if (cooldown > 0) {
+				timer.onCooldownRejection();
+
 				final DefaultMessages messages = this.context.getDefaultMessages(event);
 				if (applicationCommand.getCooldownScope() == CooldownScope.USER) {
 					reply(event, messages.getUserCooldownMsg(cooldown / 1000.0));
@@ -225,8 +240,8 @@ public final class ApplicationCommandListener extends ListenerAdapter {
 		return true;
 	}
 
-	private void runCommand(RunnableEx code, Consumer<Throwable> throwableConsumer) {
-		commandService.execute(() -> {
+	private void runCommand(GenericCommandInteractionEvent event, RunnableEx code, Consumer<Throwable> throwableConsumer) {
+		commandService.executeInteraction(event, () -> {
 			try {
 				code.run();
 			} catch (Throwable e) {
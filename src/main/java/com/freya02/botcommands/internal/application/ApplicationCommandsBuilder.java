@@ -28,23 +28,25 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public final class ApplicationCommandsBuilder {
 	private static final Logger LOGGER = Logging.getLogger();
+	private static final long GLOBAL_SCOPE_ID = 0;
+
 	private final ExecutorService es = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()));
 	private final BContextImpl context;
 	private final List<Long> slashGuildIds;
 
-	private final ReentrantLock globalLock = new ReentrantLock();
-	private final Map<Long, ReentrantLock> lockMap = Collections.synchronizedMap(new HashMap<>());
+	//Last update of each scope, the global scope uses an ID of 0
+	private final Map<Long, CompletableFuture<?>> scopeUpdates = new ConcurrentHashMap<>();
 
 	public ApplicationCommandsBuilder(@NotNull BContextImpl context, List<Long> slashGuildIds) {
 		this.context = context;
@@ -52,54 +54,62 @@ public final class ApplicationCommandsBuilder {
 		this.context.setSlashCommandsBuilder(this);
 	}
 
-	public void processApplicationCommand(ApplicationCommand applicationCommand, Method method) {
+	/**
+	 * Checks the application command and creates its info, this does not register it
+	 * <br>This is thread safe, as long as the command's instance has already been created
+	 */
+	@NotNull
+	public ApplicationCommandInfo analyzeApplicationCommand(ApplicationCommand applicationCommand, Method method) {
 		try {
 			if (method.isAnnotationPresent(JDASlashCommand.class)) {
-				processSlashCommand(applicationCommand, method);
+				ReflectionUtils.checkApplicationCommandParameter(method,
+						method.getAnnotation(JDASlashCommand.class).scope(),
+						GlobalSlashEvent.class,
+						GuildSlashEvent.class);
+
+				return new SlashCommandInfo(context, applicationCommand, method);
 			} else if (method.isAnnotationPresent(JDAUserCommand.class)) {
-				processUserCommand(applicationCommand, method);
+				ReflectionUtils.checkApplicationCommandParameter(method,
+						method.getAnnotation(JDAUserCommand.class).scope(),
+						GlobalUserEvent.class,
+						GuildUserEvent.class);
+
+				return new UserCommandInfo(context, applicationCommand, method);
 			} else if (method.isAnnotationPresent(JDAMessageCommand.class)) {
-				processMessageCommand(applicationCommand, method);
+				ReflectionUtils.checkApplicationCommandParameter(method,
+						method.getAnnotation(JDAMessageCommand.class).scope(),
+						GlobalMessageEvent.class,
+						GuildMessageEvent.class);
+
+				return new MessageCommandInfo(context, applicationCommand, method);
 			}
+
+			throw new IllegalArgumentException("Method is not annotated with an application command annotation");
 		} catch (Exception e) {
 			throw new RuntimeException("An exception occurred while processing application command at " + Utils.formatMethodShort(method), e);
 		}
 	}
 
-	private void processUserCommand(ApplicationCommand applicationCommand, Method method) {
-		ReflectionUtils.checkApplicationCommandParameter(method,
-				method.getAnnotation(JDAUserCommand.class).scope(),
-				GlobalUserEvent.class,
-				GuildUserEvent.class);
-
-		final UserCommandInfo info = new UserCommandInfo(context, applicationCommand, method);
-
-		final CommandPath effectivePath = context.addUserCommand(info);
-		LOGGER.debug("Added user command {} for method {}", effectivePath, Utils.formatMethodShort(method));
-	}
-
-	private void processMessageCommand(ApplicationCommand applicationCommand, Method method) {
-		ReflectionUtils.checkApplicationCommandParameter(method,
-				method.getAnnotation(JDAMessageCommand.class).scope(),
-				GlobalMessageEvent.class,
-				GuildMessageEvent.class);
+	/**
+	 * Registers an application command created by {@link #analyzeApplicationCommand(ApplicationCommand, Method)}
+	 */
+	public void registerApplicationCommand(ApplicationCommandInfo info) {
+		final Method method = info.getMethod();
 
-		final MessageCommandInfo info = new MessageCommandInfo(context, applicationCommand, method);
-
-		final CommandPath effectivePath = context.addMessageCommand(info);
-		LOGGER.debug("Added message command {} for method {}", effectivePath, Utils.formatMethodShort(method));
-	}
-
-	private void processSlashCommand(ApplicationCommand applicationCommand, Method method) {
-		ReflectionUtils.checkApplicationCommandParameter(method,
-				method.getAnnotation(JDASlashCommand.class).scope(),
-				GlobalSlashEvent.class,
-				GuildSlashEvent.class);
-
-		final SlashCommandInfo info = new SlashCommandInfo(context, applicationCommand, method);
-
-		final CommandPath effectivePath = context.addSlashCommand(info);
-		LOGGER.debug("Added slash command path {} for method {}", effectivePath, Utils.formatMethodShort(method));
+		try {
+			if (info instanceof SlashCommandInfo slashCommandInfo) {
+				final CommandPath effectivePath = context.addSlashCommand(slashCommandInfo);
+				LOGGER.debug("Added slash command path {} for method {}", effectivePath, Utils.formatMethodShort(method));
+			} else if (info instanceof UserCommandInfo userCommandInfo) {
+				final CommandPath effectivePath = context.addUserCommand(userCommandInfo);
+				LOGGER.debug("Added user command {} for method {}", effectivePath, Utils.formatMethodShort(method));
+			} else if (info instanceof MessageCommandInfo messageCommandInfo) {
+				final CommandPath effectivePath = context.addMessageCommand(messageCommandInfo);
+				LOGGER.debug("Added message command {} for method {}", effectivePath, Utils.formatMethodShort(method));
+			}
+		} catch (Exception e) {
+			throw new RuntimeException("An exception occurred while processing application command at " + Utils.formatMethodShort(method), e);
+		}
 	}
 
 	private String getCheckTypeString() {
@@ -135,27 +145,59 @@ public final class ApplicationCommandsBuilder {
 	}
 
 	public CompletableFuture<Boolean> scheduleGlobalApplicationCommandsUpdate(boolean force, boolean online) {
-		return CompletableFuture.supplyAsync(() -> {
-			globalLock.lock();
+		return enqueueUpdate(GLOBAL_SCOPE_ID, () -> {
 			try {
 				final ApplicationCommandsUpdater globalUpdater = ApplicationCommandsUpdater.ofGlobal(context, online);
 				final boolean shouldUpdateCommands = force || globalUpdater.shouldUpdateCommands();
+
+				final CompletableFuture<Void> updateFuture;
 				if (shouldUpdateCommands) {
-					globalUpdater.updateCommands();
-					LOGGER.debug("Global commands were updated ({})", getCheckTypeString());
+					updateFuture = globalUpdater.updateCommands().thenRun(() -> LOGGER.debug("Global commands were updated ({})", getCheckTypeString()));
 				} else {
 					LOGGER.debug("Global commands does not have to be updated ({})", getCheckTypeString());
+
+					updateFuture = CompletableFuture.completedFuture(null);
 				}
 
-				context.getApplicationCommandsContext().putLiveApplicationCommandsMap(null, ApplicationCommandInfoMap.fromCommandList(globalUpdater.getScopeApplicationCommands()));
+				return updateFuture.handle((ignored, e) -> {
+					if (e != null) throw new RuntimeException("An exception occurred while updating global commands", e);
 
-				return shouldUpdateCommands;
+					context.getApplicationCommandsContext().putLiveApplicationCommandsMap(null, ApplicationCommandInfoMap.fromCommandList(globalUpdater.getScopeApplicationCommands()));
+
+					return shouldUpdateCommands;
+				});
 			} catch (Throwable e) {
 				throw new RuntimeException("An exception occurred while updating global commands", e);
-			} finally {
-				globalLock.unlock();
 			}
-		}, es);
+		});
+	}
+
+	/**
+	 * Runs the update once the previous update of the same scope has completed
+	 * <br>The checks run on the update executor, while the requests are queued by JDA, no thread waits for the rate limits
+	 */
+	private <T> CompletableFuture<T> enqueueUpdate(long scopeId, Supplier<CompletableFuture<T>> update) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+
+		scopeUpdates.compute(scopeId, (id, previousUpdate) -> {
+			final CompletableFuture<?> previous = previousUpdate != null ? previousUpdate : CompletableFuture.completedFuture(null);
+
+			previous.handleAsync((r, e) -> null, es)
+					.thenCompose(ignored -> update.get())
+					.whenComplete((result, throwable) -> {
+						scopeUpdates.remove(scopeId, future);
+
+						if (throwable != null) {
+							future.completeExceptionally(throwable);
+						} else {
+							future.complete(result);
+						}
+					});
+
+			return future;
+		});
+
+		return future;
 	}
 
 	void handleApplicationUpdateException(Guild guild, Throwable throwable) {
@@ -191,37 +233,30 @@ public final class ApplicationCommandsBuilder {
 		if (!slashGuildIds.isEmpty() && !slashGuildIds.contains(guild.getIdLong()))
 			return CompletableFuture.completedFuture(new CommandUpdateResult(guild, false));
 
-		return CompletableFuture.supplyAsync(() -> {
-			final ReentrantLock lock;
-			synchronized (lockMap) {
-				lock = lockMap.computeIfAbsent(guild.getIdLong(), x -> new ReentrantLock());
-			}
-
+		return enqueueUpdate(guild.getIdLong(), () -> {
 			try {
-				lock.lock();
-
 				final ApplicationCommandsUpdater updater = ApplicationCommandsUpdater.ofGuild(context, guild, onlineCheck);
+				final boolean updatedCommands = force || updater.shouldUpdateCommands();
 
-				boolean updatedCommands = false;
-
-				if (force || updater.shouldUpdateCommands()) {
-					updater.updateCommands();
-
-					updatedCommands = true;
-
-					LOGGER.debug("Guild '{}' ({}) commands were{} updated ({})", guild.getName(), guild.getId(), force ? " force" : "", getCheckTypeString());
+				final CompletableFuture<Void> updateFuture;
+				if (updatedCommands) {
+					updateFuture = updater.updateCommands().thenRun(() -> LOGGER.debug("Guild '{}' ({}) commands were{} updated ({})", guild.getName(), guild.getId(), force ? " force" : "", getCheckTypeString()));
 				} else {
 					LOGGER.debug("Guild '{}' ({}) commands does not have to be updated ({})", guild.getName(), guild.getId(), getCheckTypeString());
+
+					updateFuture = CompletableFuture.completedFuture(null);
 				}
 
-				context.getApplicationCommandsContext().putLiveApplicationCommandsMap(guild, ApplicationCommandInfoMap.fromCommandList(updater.getScopeApplicationCommands()));
+				return updateFuture.handle((ignored, e) -> {
+					if (e != null) throw new RuntimeException("An exception occurred while updating guild commands for guild '" + guild.getName() + "' (" + guild.getId() + ")", e);
 
-				return new CommandUpdateResult(guild, updatedCommands);
+					context.getApplicationCommandsContext().putLiveApplicationCommandsMap(guild, ApplicationCommandInfoMap.fromCommandList(updater.getScopeApplicationCommands()));
+
+					return new CommandUpdateResult(guild, updatedCommands);
+				});
 			} catch (Throwable e) {
 				throw new RuntimeException("An exception occurred while updating guild commands for guild '" + guild.getName() + "' (" + guild.getId() + ")", e);
-			} finally {
-				lock.unlock();
 			}
-		}, es);
+		});
 	}
 }
\ No newline at end of file
@@ -1,26 +1,124 @@
 package com.freya02.botcommands.internal.application;
 
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.localization.Localization;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.application.diff.DiffLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.data.SerializableData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Stores the application commands known to be registered, in the temporary directory
+ *
+ * <p>Each distinct command set is stored once, in <code>commands/[content hash].json</code>,
+ * while each scope only stores the hash of its commands, in <code>global.sha256</code> and <code>guilds/[guild id].sha256</code>.
+ * <br>The command sets no scope references anymore, as well as the files of the previous layout, are deleted on startup.
+ */
 public class ApplicationCommandsCache {
+	private static final Logger LOGGER = Logging.getLogger();
+
 	private final Path cachePath;
+	private final Path commandsPath;
+	private final Path guildsPath;
+
+	//Most guilds end up with the same commands, compute them once per distinct inputs and localization bundles
+	private final Cache<PayloadKey, CommandsPayload> payloadCache = Caffeine.newBuilder()
+			.maximumSize(256)
+			.build();
 
 	ApplicationCommandsCache(BContextImpl context) throws IOException {
 		cachePath = Path.of(System.getProperty("java.io.tmpdir"), context.getJDA().getSelfUser().getId() + "slashcommands");
+		commandsPath = cachePath.resolve("commands");
+		guildsPath = cachePath.resolve("guilds");
 
-		Files.createDirectories(cachePath);
+		Files.createDirectories(commandsPath);
+		Files.createDirectories(guildsPath);
+
+		//No update is running yet, the scope hashes cannot change while cleaning up
+		deleteUnusedFiles();
+	}
+
+	private void deleteUnusedFiles() {
+		try {
+			final Set<String> usedCommandFiles = new HashSet<>();
+			final String globalHash = readHash(getScopeHashPath(null));
+			if (globalHash != null) usedCommandFiles.add(globalHash + ".json");
+
+			try (Stream<Path> stream = Files.list(guildsPath)) {
+				for (Path path : (Iterable<Path>) stream::iterator) {
+					if (path.getFileName().toString().endsWith(".sha256")) {
+						final String hash = readHash(path);
+						if (hash != null) usedCommandFiles.add(hash + ".json");
+					} else {
+						//Leftover temporary file
+						Files.deleteIfExists(path);
+					}
+				}
+			}
+
+			try (Stream<Path> stream = Files.list(commandsPath)) {
+				for (Path path : (Iterable<Path>) stream::iterator) {
+					if (!usedCommandFiles.contains(path.getFileName().toString())) {
+						Files.deleteIfExists(path);
+					}
+				}
+			}
+
+			//Previous layout, globalCommands.json and [guild id]/commands.json
+			Files.deleteIfExists(cachePath.resolve("globalCommands.json"));
+			try (Stream<Path> stream = Files.list(cachePath)) {
+				for (Path path : (Iterable<Path>) stream::iterator) {
+					if (Files.isDirectory(path) && path.getFileName().toString().chars().allMatch(Character::isDigit)) {
+						Files.deleteIfExists(path.resolve("commands.json"));
+
+						try (Stream<Path> children = Files.list(path)) {
+							if (children.findAny().isEmpty()) {
+								Files.delete(path);
+							}
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Unable to delete the unused application commands cache files in {}", cachePath, e);
+		}
+	}
+
+	/**
+	 * Returns the commands generated from these inputs, computing them if no scope with equal inputs has done it yet
+	 *
+	 * @param inputs          Everything the generated commands depend on, compared with {@link Object#equals(Object)}
+	 * @param commandsFunction Generates the commands, must not be modified afterwards
+	 */
+	@NotNull
+	CommandsPayload getPayload(@NotNull Object inputs, @NotNull Function<Object, Collection<CommandData>> commandsFunction) {
+		//Reloaded localization bundles produce different commands, do not reuse the payloads computed before the reload
+		return payloadCache.get(new PayloadKey(inputs, Localization.getInvalidationCount()), key -> {
+			final Collection<CommandData> commandData = commandsFunction.apply(key.inputs());
+
+			return new CommandsPayload(commandData, getCommandsBytes(commandData), getCommandsHash(commandData));
+		});
 	}
 
 	static byte[] getCommandsBytes(Collection<CommandData> commandData) {
@@ -30,6 +128,169 @@ public class ApplicationCommandsCache {
 		return json.toJson();
 	}
 
+	/**
+	 * Computes a stable hash of the commands' content
+	 * <br>The hash does not depend on the order of the commands or on the order of the keys in objects,
+	 * but it does depend on the order of the elements of arrays, such as options and choices
+	 */
+	static String getCommandsHash(Collection<CommandData> commandData) {
+		final MessageDigest digest = getDigest();
+
+		//Sort the hash of each command, so the order in which commands are registered does not matter
+		final List<String> commandHashes = new ArrayList<>(commandData.size());
+		for (CommandData data : commandData) {
+			final StringBuilder sb = new StringBuilder();
+			appendCanonical(sb, data.toData());
+
+			commandHashes.add(toHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8))));
+		}
+
+		Collections.sort(commandHashes);
+
+		for (String commandHash : commandHashes) {
+			digest.update(commandHash.getBytes(StandardCharsets.UTF_8));
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private static void appendCanonical(StringBuilder sb, Object obj) {
+		if (obj == null) {
+			sb.append("null");
+		} else if (obj instanceof DataObject dataObject) {
+			appendCanonical(sb, dataObject.toMap());
+		} else if (obj instanceof DataArray dataArray) {
+			appendCanonical(sb, dataArray.toList());
+		} else if (obj instanceof SerializableData serializableData) {
+			appendCanonical(sb, serializableData.toData());
+		} else if (obj instanceof Map<?, ?> map) {
+			final List<String> keys = new ArrayList<>(map.size());
+			for (Object key : map.keySet()) {
+				keys.add(String.valueOf(key));
+			}
+
+			Collections.sort(keys);
+
+			sb.append('{');
+			for (String key : keys) {
+				appendString(sb, key);
+				sb.append(':');
+				appendCanonical(sb, map.get(key));
+				sb.append(',');
+			}
+			sb.append('}');
+		} else if (obj instanceof Collection<?> collection) {
+			sb.append('[');
+			for (Object o : collection) {
+				appendCanonical(sb, o);
+				sb.append(',');
+			}
+			sb.append(']');
+		} else if (obj instanceof Number number) {
+			//Integers may be stored as int, long or double depending on where the data comes from
+			final double value = number.doubleValue();
+			if (value == Math.rint(value) && !Double.isInfinite(value)) {
+				sb.append(number.longValue());
+			} else {
+				sb.append(value);
+			}
+		} else if (obj instanceof Boolean) {
+			sb.append(obj);
+		} else {
+			appendString(sb, obj.toString());
+		}
+	}
+
+	private static void appendString(StringBuilder sb, String str) {
+		//Prefix with the length, so the content of strings cannot be mistaken for the structure
+		sb.append(str.length()).append('"').append(str);
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Reads the hash of the last commands known to be registered in this scope
+	 *
+	 * @return The hash, or <code>null</code> if there is none
+	 */
+	@Nullable
+	String readScopeHash(@Nullable Guild guild) throws IOException {
+		return readHash(getScopeHashPath(guild));
+	}
+
+	@Nullable
+	private static String readHash(Path hashPath) throws IOException {
+		if (Files.notExists(hashPath)) return null;
+
+		return Files.readString(hashPath, StandardCharsets.UTF_8).trim();
+	}
+
+	/**
+	 * Reads the commands of a hash returned by {@link #readScopeHash(Guild)}
+	 *
+	 * @return The serialized commands, or <code>null</code> if they are no longer stored
+	 */
+	@Nullable
+	byte[] readCommands(@NotNull String hash) throws IOException {
+		final Path path = commandsPath.resolve(hash + ".json");
+		if (Files.notExists(path)) return null;
+
+		return Files.readAllBytes(path);
+	}
+
+	/**
+	 * Remembers that these commands are registered in this scope
+	 */
+	void save(@Nullable Guild guild, @NotNull CommandsPayload payload) throws IOException {
+		final Path path = commandsPath.resolve(payload.hash() + ".json");
+
+		//Content addressed, another scope with the same commands may have written it already
+		if (Files.notExists(path)) {
+			writeAtomically(path, payload.bytes());
+		}
+
+		writeAtomically(getScopeHashPath(guild), payload.hash().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void writeAtomically(Path path, byte[] bytes) throws IOException {
+		final Path tmpPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+
+		try {
+			Files.write(tmpPath, bytes);
+
+			try {
+				Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				LOGGER.trace("Atomic moves are not supported in {}, using a regular move", path.getParent());
+
+				Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmpPath);
+		}
+	}
+
+	private Path getScopeHashPath(@Nullable Guild guild) {
+		return guild == null
+				? cachePath.resolve("global.sha256")
+				: guildsPath.resolve(guild.getId() + ".sha256");
+	}
+
 	public static boolean isJsonContentSame(byte[] oldContentBytes, byte[] newContentBytes) {
 		final String oldContent = new String(oldContentBytes);
 		final String newContent = new String(newContentBytes);
@@ -133,11 +394,14 @@ public class ApplicationCommandsCache {
 		return true;
 	}
 
-	Path getGlobalCommandsPath() {
-		return cachePath.resolve("globalCommands.json");
-	}
+	/**
+	 * Commands generated for a set of inputs, shared between the scopes with equal inputs
+	 *
+	 * @param commandData The generated commands, must not be modified
+	 * @param bytes       The serialized commands
+	 * @param hash        The content hash from {@link #getCommandsHash(Collection)}
+	 */
+	record CommandsPayload(Collection<CommandData> commandData, byte[] bytes, String hash) {}
 
-	Path getGuildCommandsPath(Guild guild) {
-		return cachePath.resolve(guild.getId()).resolve("commands.json");
-	}
+	private record PayloadKey(Object inputs, int localizationInvalidationCount) {}
 }
\ No newline at end of file
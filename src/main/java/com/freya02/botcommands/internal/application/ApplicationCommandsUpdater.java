@@ -8,7 +8,10 @@ import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.application.context.message.MessageCommandInfo;
 import com.freya02.botcommands.internal.application.context.user.UserCommandInfo;
 import com.freya02.botcommands.internal.application.localization.BCLocalizationFunction;
+import com.freya02.botcommands.internal.application.ApplicationCommandsCache.CommandsPayload;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
+import com.freya02.botcommands.internal.application.slash.SlashOptionInput;
+import com.freya02.botcommands.internal.application.slash.SlashUtils;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.interactions.commands.Command;
@@ -23,14 +26,11 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static com.freya02.botcommands.internal.application.slash.SlashUtils.appendCommands;
-import static com.freya02.botcommands.internal.application.slash.SlashUtils.getMethodOptions;
 
 public class ApplicationCommandsUpdater {
 	private static final Logger LOGGER = Logging.getLogger();
@@ -39,7 +39,7 @@ public class ApplicationCommandsUpdater {
 	@Nullable private final Guild guild;
 	private final boolean onlineCheck;
 
-	private final Path commandsCachePath;
+	private final ApplicationCommandsCache commandsCache;
 
 	private final ApplicationCommandDataMap map = new ApplicationCommandDataMap();
 	private final Map<String, SubcommandGroupData> subcommandGroupDataMap = new HashMap<>();
@@ -47,40 +47,35 @@ public class ApplicationCommandsUpdater {
 
 	private final List<Command> commands = new ArrayList<>();
 
-	private final Collection<CommandData> allCommandData;
+	private final CommandsPayload payload;
 
-	private ApplicationCommandsUpdater(@NotNull BContextImpl context, @Nullable Guild guild, boolean onlineCheck) throws IOException {
+	private ApplicationCommandsUpdater(@NotNull BContextImpl context, @Nullable Guild guild, boolean onlineCheck) {
 		this.context = context;
 		this.guild = guild;
 		this.onlineCheck = onlineCheck;
-
-		this.commandsCachePath = guild == null
-				? context.getApplicationCommandsCache().getGlobalCommandsPath()
-				: context.getApplicationCommandsCache().getGuildCommandsPath(guild);
-
-		Files.createDirectories(commandsCachePath.getParent());
+		this.commandsCache = context.getApplicationCommandsCache();
 
 		final CommandIdProcessor commandIdProcessor = guild == null ? null : new CommandIdProcessor(context);
 		this.updatableApplicationCommands = this.context.getApplicationCommandsContext()
 				.getApplicationCommandInfoMap()
 				.filterByGuild(this.context, this.guild, commandIdProcessor);
 
-		computeCommands();
-
-		this.allCommandData = map.getAllCommandData();
-
-		//Apply localization
-		final LocalizationFunction localizationFunction = new BCLocalizationFunction(context);
-		for (CommandData commandData : allCommandData) {
-			commandData.setLocalizationFunction(localizationFunction);
+		//Only retrieve what depends on the guild, the commands are only generated once per distinct inputs
+		final Map<SlashCommandInfo, List<SlashOptionInput>> optionInputs = new HashMap<>();
+		for (ApplicationCommandInfo info : updatableApplicationCommands) {
+			if (info instanceof SlashCommandInfo slashCommandInfo) {
+				optionInputs.put(slashCommandInfo, SlashUtils.getOptionInputs(context, guild, slashCommandInfo));
+			}
 		}
+
+		this.payload = commandsCache.getPayload(new CommandsInputs(updatableApplicationCommands, optionInputs), x -> computeCommands(optionInputs));
 	}
 
-	public static ApplicationCommandsUpdater ofGlobal(@NotNull BContextImpl context, boolean onlineCheck) throws IOException {
+	public static ApplicationCommandsUpdater ofGlobal(@NotNull BContextImpl context, boolean onlineCheck) {
 		return new ApplicationCommandsUpdater(context, null, onlineCheck);
 	}
 
-	public static ApplicationCommandsUpdater ofGuild(@NotNull BContextImpl context, @NotNull Guild guild, boolean onlineCheck) throws IOException {
+	public static ApplicationCommandsUpdater ofGuild(@NotNull BContextImpl context, @NotNull Guild guild, boolean onlineCheck) {
 		return new ApplicationCommandsUpdater(context, guild, onlineCheck);
 	}
 
@@ -113,18 +108,37 @@ public class ApplicationCommandsUpdater {
 			commands.addAll((guild == null ? context.getJDA().retrieveCommands(true) : guild.retrieveCommands(true)).complete());
 			final List<CommandData> discordCommandsData = commands.stream().map(CommandData::fromCommand).toList();
 
+			if (payload.hash().equals(ApplicationCommandsCache.getCommandsHash(discordCommandsData))) {
+				LOGGER.trace("Not updating commands because content hash is equal");
+
+				return false;
+			}
+
 			oldBytes = ApplicationCommandsCache.getCommandsBytes(discordCommandsData);
 		} else {
-			if (Files.notExists(commandsCachePath)) {
+			final String oldHash = commandsCache.readScopeHash(guild);
+			if (oldHash == null) {
 				LOGGER.trace("Updating commands because cache file does not exists");
 
 				return true;
 			}
 
-			oldBytes = Files.readAllBytes(commandsCachePath);
+			if (oldHash.equals(payload.hash())) {
+				LOGGER.trace("Not updating commands because content hash is equal");
+
+				return false;
+			}
+
+			oldBytes = commandsCache.readCommands(oldHash);
+			if (oldBytes == null) {
+				LOGGER.trace("Updating commands because cached commands do not exist");
+
+				return true;
+			}
 		}
 
-		final byte[] newBytes = ApplicationCommandsCache.getCommandsBytes(allCommandData);
+		//Hashes differ, the commands might still be equivalent (such as reordered choices), use the detailed comparison
+		final byte[] newBytes = payload.bytes();
 
 		final boolean needUpdate = !ApplicationCommandsCache.isJsonContentSame(oldBytes, newBytes);
 
@@ -135,35 +149,53 @@ public class ApplicationCommandsUpdater {
 				LOGGER.trace("Old commands bytes: {}", new String(oldBytes));
 				LOGGER.trace("New commands bytes: {}", new String(newBytes));
 			}
+		} else if (!onlineCheck) {
+			//Remember that these commands are up-to-date, so the next check only compares the hashes
+			saveCommandsCache();
 		}
 
 		return needUpdate;
 	}
 
-	@Blocking
-	public void updateCommands() {
+	/**
+	 * Sends the commands to Discord
+	 * <br>No thread waits for the request, it is queued by JDA's requester, which handles the rate limits
+	 */
+	@NotNull
+	public CompletableFuture<Void> updateCommands() {
 		final CommandListUpdateAction updateAction = guild != null ? guild.updateCommands() : context.getJDA().updateCommands();
 
-		final List<Command> commands = updateAction
-				.addCommands(allCommandData)
-				.complete();
-
-		if (guild != null) {
-			thenAcceptGuild(commands, guild);
-		} else {
-			thenAcceptGlobal(commands);
-		}
+		return updateAction
+				.addCommands(payload.commandData())
+				.submit()
+				.thenAccept(commands -> {
+					if (guild != null) {
+						thenAcceptGuild(commands, guild);
+					} else {
+						thenAcceptGlobal(commands);
+					}
+				});
 	}
 
-	private void computeCommands() {
-		computeSlashCommands(updatableApplicationCommands);
+	private Collection<CommandData> computeCommands(Map<SlashCommandInfo, List<SlashOptionInput>> optionInputs) {
+		computeSlashCommands(updatableApplicationCommands, optionInputs);
 
 		computeContextCommands(updatableApplicationCommands, UserCommandInfo.class, Command.Type.USER);
 
 		computeContextCommands(updatableApplicationCommands, MessageCommandInfo.class, Command.Type.MESSAGE);
+
+		final Collection<CommandData> allCommandData = map.getAllCommandData();
+
+		//Apply localization
+		final LocalizationFunction localizationFunction = new BCLocalizationFunction(context);
+		for (CommandData commandData : allCommandData) {
+			commandData.setLocalizationFunction(localizationFunction);
+		}
+
+		return allCommandData;
 	}
 
-	private void computeSlashCommands(List<ApplicationCommandInfo> guildApplicationCommands) {
+	private void computeSlashCommands(List<ApplicationCommandInfo> guildApplicationCommands, Map<SlashCommandInfo, List<SlashOptionInput>> optionInputs) {
 		guildApplicationCommands.stream()
 				.filter(a -> a instanceof SlashCommandInfo)
 				.map(a -> (SlashCommandInfo) a)
@@ -172,7 +204,7 @@ public class ApplicationCommandsUpdater {
 					final String description = info.getDescription();
 
 					try {
-						final List<OptionData> methodOptions = getMethodOptions(context, guild, info);
+						final List<OptionData> methodOptions = SlashUtils.getMethodOptions(info, optionInputs.get(info));
 
 						if (commandPath.getNameCount() == 1) {
 							//Standard command
@@ -265,31 +297,31 @@ public class ApplicationCommandsUpdater {
 		this.commands.clear();
 		this.commands.addAll(commands);
 
-		try {
-			Files.write(commandsCachePath, ApplicationCommandsCache.getCommandsBytes(allCommandData), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-		} catch (IOException e) {
-			LOGGER.error("An exception occurred while temporarily saving guild ({} ({})) commands in '{}'", guild.getName(), guild.getId(), commandsCachePath.toAbsolutePath(), e);
-		}
+		saveCommandsCache();
 
 		if (!LOGGER.isTraceEnabled()) return;
 
-		final StringBuilder sb = new StringBuilder("Updated " + commands.size() + " / " + allCommandData.size() + " (" + context.getApplicationCommandsView().size() + ") commands for ");
+		final StringBuilder sb = new StringBuilder("Updated " + commands.size() + " / " + payload.commandData().size() + " (" + context.getApplicationCommandsView().size() + ") commands for ");
 		sb.append(guild.getName()).append(" :\n");
 		appendCommands(commands, sb);
 
 		LOGGER.trace(sb.toString().trim());
 	}
 
+	private void saveCommandsCache() {
+		try {
+			commandsCache.save(guild, payload);
+		} catch (IOException e) {
+			LOGGER.error("An exception occurred while temporarily saving {} commands", guild == null ? "global" : String.format("guild '%s' (%s)", guild.getName(), guild.getId()), e);
+		}
+	}
+
 	private void thenAcceptGlobal(List<Command> commands) {
 		for (Command command : commands) {
 			context.getRegistrationListeners().forEach(l -> l.onGlobalSlashCommandRegistered(command));
 		}
 
-		try {
-			Files.write(commandsCachePath, ApplicationCommandsCache.getCommandsBytes(allCommandData), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-		} catch (IOException e) {
-			LOGGER.error("An exception occurred while temporarily saving {} commands in '{}'", guild == null ? "global" : String.format("guild '%s' (%s)", guild.getName(), guild.getId()), commandsCachePath.toAbsolutePath(), e);
-		}
+		saveCommandsCache();
 
 		if (!LOGGER.isTraceEnabled()) return;
 
@@ -319,4 +351,9 @@ public class ApplicationCommandsUpdater {
 			return groupData;
 		});
 	}
+
+	/**
+	 * Everything the commands of a scope are generated from, the commands are compared by identity
+	 */
+	private record CommandsInputs(List<ApplicationCommandInfo> commands, Map<SlashCommandInfo, List<SlashOptionInput>> optionInputs) {}
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.MethodParameters;
 import com.freya02.botcommands.internal.application.ApplicationCommandInfo;
 import com.freya02.botcommands.internal.application.context.ContextCommandParameter;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.events.interaction.command.MessageContextInteractionEvent;
 import org.jetbrains.annotations.NotNull;
@@ -41,7 +42,7 @@ public class MessageCommandInfo extends ApplicationCommandInfo {
 		});
 	}
 
-	public boolean execute(BContextImpl context, MessageContextInteractionEvent event, Consumer<Throwable> throwableConsumer) throws Exception {
+	public boolean execute(BContextImpl context, MessageContextInteractionEvent event, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
 		final Object[] objects = new Object[commandParameters.size() + 1];
 		if (guildOnly) {
 			objects[0] = new GuildMessageEvent(getMethod(), context, event);
@@ -62,10 +63,14 @@ public class MessageCommandInfo extends ApplicationCommandInfo {
 			}
 		}
 
+		timer.onResolved();
+
 		applyCooldown(event);
 
 		getMethodRunner().invoke(objects, throwableConsumer);
 
+		timer.onHandled();
+
 		return true;
 	}
 
@@ -11,6 +11,7 @@ import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.MethodParameters;
 import com.freya02.botcommands.internal.application.ApplicationCommandInfo;
 import com.freya02.botcommands.internal.application.context.ContextCommandParameter;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.interaction.command.UserContextInteractionEvent;
@@ -49,7 +50,7 @@ public class UserCommandInfo extends ApplicationCommandInfo {
 		});
 	}
 
-	public boolean execute(BContextImpl context, UserContextInteractionEvent event, Consumer<Throwable> throwableConsumer) throws Exception {
+	public boolean execute(BContextImpl context, UserContextInteractionEvent event, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
 		final Object[] objects = new Object[commandParameters.size() + 1];
 		if (guildOnly) {
 			objects[0] = new GuildUserEvent(getMethod(), context, event);
@@ -69,10 +70,14 @@ public class UserCommandInfo extends ApplicationCommandInfo {
 			}
 		}
 
+		timer.onResolved();
+
 		applyCooldown(event);
 
 		getMethodRunner().invoke(objects, throwableConsumer);
 
+		timer.onHandled();
+
 		return true;
 	}
 
@@ -10,6 +10,7 @@ import com.freya02.botcommands.internal.ApplicationOptionData;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.MethodParameters;
 import com.freya02.botcommands.internal.application.ApplicationCommandInfo;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.utils.LocalizationUtils;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.entities.Guild;
@@ -70,7 +71,7 @@ public class SlashCommandInfo extends ApplicationCommandInfo {
 		return description;
 	}
 
-	public boolean execute(BContextImpl context, SlashCommandInteractionEvent event, Consumer<Throwable> throwableConsumer) throws Exception {
+	public boolean execute(BContextImpl context, SlashCommandInteractionEvent event, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
 		List<Object> objects = new ArrayList<>(commandParameters.size() + 1) {{
 			if (guildOnly) {
 				add(new GuildSlashEvent(context, getMethod(), event));
@@ -149,10 +150,14 @@ public class SlashCommandInfo extends ApplicationCommandInfo {
 			objects.add(parameter.isVarArg() ? objectList : objectList.get(0));
 		}
 
+		timer.onResolved();
+
 		applyCooldown(event);
 
 		getMethodRunner().invoke(objects.toArray(), throwableConsumer);
 
+		timer.onHandled();
+
 		return true;
 	}
 
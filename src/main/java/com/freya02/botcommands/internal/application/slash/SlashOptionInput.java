@@ -0,0 +1,75 @@
+package com.freya02.botcommands.internal.application.slash;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The guild specific part of a slash command option, i.e. whether it has a default value, and its choices
+ * <br>Two inputs are equal if they generate the same option, so the generated options can be shared between guilds
+ */
+public final class SlashOptionInput {
+	private static final SlashOptionInput DEFAULT_VALUE = new SlashOptionInput(true, null);
+	private static final SlashOptionInput NO_CHOICES = new SlashOptionInput(false, null);
+
+	private final boolean hasDefaultValue;
+	@Nullable private final Collection<Command.Choice> choices;
+
+	//Command.Choice#equals does not compare localizations
+	@Nullable private final List<List<Object>> choicesKey;
+
+	private SlashOptionInput(boolean hasDefaultValue, @Nullable Collection<Command.Choice> choices) {
+		this.hasDefaultValue = hasDefaultValue;
+		this.choices = choices;
+
+		if (choices != null) {
+			this.choicesKey = new ArrayList<>(choices.size());
+
+			for (Command.Choice choice : choices) {
+				choicesKey.add(List.of(choice.getName(), choice.getType(), choice.getAsString(), choice.getNameLocalizations().toMap()));
+			}
+		} else {
+			this.choicesKey = null;
+		}
+	}
+
+	static SlashOptionInput ofDefaultValue() {
+		return DEFAULT_VALUE;
+	}
+
+	static SlashOptionInput ofChoices(@Nullable Collection<Command.Choice> choices) {
+		if (choices == null) return NO_CHOICES;
+
+		return new SlashOptionInput(false, choices);
+	}
+
+	boolean hasDefaultValue() {
+		return hasDefaultValue;
+	}
+
+	@Nullable
+	Collection<Command.Choice> getChoices() {
+		return choices;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		final SlashOptionInput that = (SlashOptionInput) o;
+
+		if (hasDefaultValue != that.hasDefaultValue) return false;
+		return choicesKey != null ? choicesKey.equals(that.choicesKey) : that.choicesKey == null;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = (hasDefaultValue ? 1 : 0);
+		result = 31 * result + (choicesKey != null ? choicesKey.hashCode() : 0);
+		return result;
+	}
+}
@@ -31,8 +31,15 @@ public class SlashUtils {
 		}
 	}
 
-	public static List<OptionData> getMethodOptions(@NotNull BContext context, @Nullable Guild guild, @NotNull SlashCommandInfo info) {
-		final List<OptionData> list = new ArrayList<>();
+	/**
+	 * Retrieves the default value supplier and the choices of each option, for this guild
+	 * <br>The default value suppliers are registered for this guild, as the generated options are only registered by the guild
+	 *
+	 * @return The inputs of each option parameter, in order
+	 */
+	@NotNull
+	public static List<SlashOptionInput> getOptionInputs(@NotNull BContext context, @Nullable Guild guild, @NotNull SlashCommandInfo info) {
+		final List<SlashOptionInput> inputs = new ArrayList<>();
 		final List<List<Command.Choice>> optionsChoices = getOptionChoices(context, guild, info);
 
 		int i = 0;
@@ -57,10 +64,55 @@ public class SlashUtils {
 				parameter.getDefaultOptionSupplierMap().put(guild.getIdLong(), defaultValueSupplier);
 
 				if (defaultValueSupplier != null) {
-					continue; //Skip option generation since this is a default value
+					inputs.add(SlashOptionInput.ofDefaultValue()); //Skip option generation since this is a default value
+
+					continue;
 				}
 			}
 
+			Collection<Command.Choice> choices = null;
+
+			final SlashParameterResolver resolver = parameter.getResolver();
+			if (resolver.getOptionType().canSupportChoices()) {
+				//optionChoices might just be empty
+				// choices of the option might also be empty as an empty list might be generated
+				// do not add choices if it's empty, to not trigger checks
+				if (optionsChoices.size() >= i && !optionsChoices.get(i - 1).isEmpty()) {
+					choices = optionsChoices.get(i - 1);
+				} else {
+					final Collection<Command.Choice> predefinedChoices = resolver.getPredefinedChoices(guild);
+
+					if (!predefinedChoices.isEmpty()) {
+						choices = predefinedChoices;
+					}
+				}
+			}
+
+			inputs.add(SlashOptionInput.ofChoices(choices));
+		}
+
+		return inputs;
+	}
+
+	/**
+	 * Generates the options of the command, using the guild specific inputs from {@link #getOptionInputs(BContext, Guild, SlashCommandInfo)}
+	 */
+	@NotNull
+	public static List<OptionData> getMethodOptions(@NotNull SlashCommandInfo info, @NotNull List<SlashOptionInput> inputs) {
+		final List<OptionData> list = new ArrayList<>();
+
+		int i = 0;
+		for (SlashCommandParameter parameter : info.getParameters()) {
+			if (!parameter.isOption()) continue;
+
+			final SlashOptionInput input = inputs.get(i);
+
+			i++;
+
+			if (input.hasDefaultValue()) continue; //Skip option generation since this is a default value
+
+			final ApplicationOptionData applicationOptionData = parameter.getApplicationOptionData();
+
 			final String name = parameter.getApplicationOptionData().getEffectiveName();
 			final String description = parameter.getApplicationOptionData().getEffectiveDescription();
 
@@ -100,29 +152,13 @@ public class SlashUtils {
 					data.setAutoComplete(true);
 				}
 
-				if (optionType.canSupportChoices()) {
-					Collection<Command.Choice> choices = null;
-
-					//optionChoices might just be empty
-					// choices of the option might also be empty as an empty list might be generated
-					// do not add choices if it's empty, to not trigger checks
-					if (optionsChoices.size() >= i && !optionsChoices.get(i - 1).isEmpty()) {
-						choices = optionsChoices.get(i - 1);
-					} else {
-						final Collection<Command.Choice> predefinedChoices = resolver.getPredefinedChoices(guild);
-
-						if (!predefinedChoices.isEmpty()) {
-							choices = predefinedChoices;
-						}
+				final Collection<Command.Choice> choices = input.getChoices();
+				if (choices != null) {
+					if (applicationOptionData.hasAutocompletion()) {
+						throw new IllegalArgumentException("Slash command parameter #" + i + " of " + Utils.formatMethodShort(info.getMethod()) + " cannot have autocompletion and choices at the same time");
 					}
 
-					if (choices != null) {
-						if (applicationOptionData.hasAutocompletion()) {
-							throw new IllegalArgumentException("Slash command parameter #" + i + " of " + Utils.formatMethodShort(info.getMethod()) + " cannot have autocompletion and choices at the same time");
-						}
-
-						data.addChoices(choices);
-					}
+					data.addChoices(choices);
 				}
 
 				//If vararg then next arguments are optional
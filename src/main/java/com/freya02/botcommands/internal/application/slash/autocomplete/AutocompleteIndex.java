@@ -0,0 +1,343 @@
+package com.freya02.botcommands.internal.application.slash.autocomplete;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Precomputed index over the string representations of an autocompletion handler's result
+ * <br>It is built once per result, and then answers each keystroke without sorting nor scoring the whole collection:
+ * <ul>
+ *     <li>Continuity queries binary search a sorted array of case-folded strings, and only score the matching range</li>
+ *     <li>Fuzzy queries only score the items sharing the most trigrams with the query</li>
+ * </ul>
+ * In both cases, the best results are selected with a bounded heap, ties are broken by the natural order of the strings.
+ */
+public final class AutocompleteIndex {
+	/** Number of trigram candidates which are fuzzy scored, per requested result */
+	private static final int FUZZY_CANDIDATES_PER_RESULT = 8;
+
+	private final String[] strings;
+	private final String[] foldedSorted;
+	private final int[] sortedToIndex;
+	private final TLongObjectMap<int[]> trigramPostings;
+
+	private AutocompleteIndex(Collection<?> items) {
+		final int sourceSize = items.size();
+
+		this.strings = new String[sourceSize];
+		int i = 0;
+		for (Object item : items) {
+			strings[i++] = item.toString();
+		}
+
+		final String[] folded = new String[sourceSize];
+		final Integer[] order = new Integer[sourceSize];
+		for (int j = 0; j < sourceSize; j++) {
+			folded[j] = fold(strings[j]);
+			order[j] = j;
+		}
+		Arrays.sort(order, Comparator.comparing((Integer j) -> folded[j]).thenComparing(j -> strings[j]));
+
+		this.foldedSorted = new String[sourceSize];
+		this.sortedToIndex = new int[sourceSize];
+		for (int j = 0; j < sourceSize; j++) {
+			foldedSorted[j] = folded[order[j]];
+			sortedToIndex[j] = order[j];
+		}
+
+		this.trigramPostings = buildTrigramPostings(folded);
+	}
+
+	@NotNull
+	public static AutocompleteIndex of(@NotNull Collection<?> items) {
+		return new AutocompleteIndex(items);
+	}
+
+	/**
+	 * Same as {@link #findWithContinuity(String, int)}, but scans the items once instead of building an index,
+	 * for collections which are only queried once
+	 *
+	 * @param items The items to search in
+	 * @param query The user input
+	 * @param limit The maximum number of results
+	 * @return The best results, the most relevant first
+	 */
+	@NotNull
+	public static List<String> scanWithContinuity(@NotNull Collection<?> items, @NotNull String query, int limit) {
+		final TopScored top = new TopScored(limit);
+		for (Object item : items) {
+			final String string = item.toString();
+
+			if (string.regionMatches(true, 0, query, 0, query.length())) {
+				top.offer(string, FuzzySearch.ratio(query, string));
+			}
+		}
+
+		return toStrings(top.toList());
+	}
+
+	/**
+	 * Same as {@link #findFuzzy(String, int)}, but scans the items once instead of building an index,
+	 * for collections which are only queried once
+	 *
+	 * @param items The items to search in
+	 * @param query The user input
+	 * @param limit The maximum number of results
+	 * @return The best results, the most relevant first
+	 */
+	@NotNull
+	public static List<String> scanFuzzy(@NotNull Collection<?> items, @NotNull String query, int limit) {
+		final TopScored partialTop = new TopScored(limit);
+		for (Object item : items) {
+			final String string = item.toString();
+
+			partialTop.offer(string, FuzzySearch.partialRatio(query, string));
+		}
+
+		return rescore(query, partialTop.toList(), limit);
+	}
+
+	/**
+	 * Returns the best items which start with the query, ignoring case, scored by {@link FuzzySearch#ratio(String, String)}
+	 *
+	 * @param query The user input
+	 * @param limit The maximum number of results
+	 * @return The best results, the most relevant first
+	 */
+	@NotNull
+	public List<String> findWithContinuity(@NotNull String query, int limit) {
+		final String foldedQuery = fold(query);
+
+		final List<Scored> scored = new ArrayList<>();
+		for (int i = lowerBound(foldedQuery); i < foldedSorted.length && foldedSorted[i].startsWith(foldedQuery); i++) {
+			final String string = strings[sortedToIndex[i]];
+
+			scored.add(new Scored(string, FuzzySearch.ratio(query, string)));
+		}
+
+		return toStrings(selectTop(scored, limit));
+	}
+
+	/**
+	 * Returns the best items using fuzzy matching,
+	 * the items are first scored with {@link FuzzySearch#partialRatio(String, String)}, and the best of them are scored again with {@link FuzzySearch#ratio(String, String)}
+	 *
+	 * @param query The user input
+	 * @param limit The maximum number of results
+	 * @return The best results, the most relevant first
+	 */
+	@NotNull
+	public List<String> findFuzzy(@NotNull String query, int limit) {
+		final int[] candidates = getFuzzyCandidates(fold(query), limit);
+
+		final List<Scored> partialScored = new ArrayList<>(candidates == null ? strings.length : candidates.length);
+		if (candidates == null) {
+			for (String string : strings) {
+				partialScored.add(new Scored(string, FuzzySearch.partialRatio(query, string)));
+			}
+		} else {
+			for (int candidate : candidates) {
+				final String string = strings[candidate];
+
+				partialScored.add(new Scored(string, FuzzySearch.partialRatio(query, string)));
+			}
+		}
+
+		return rescore(query, selectTop(partialScored, limit), limit);
+	}
+
+	private static List<String> rescore(String query, List<Scored> partialTop, int limit) {
+		//Then sort the results by similarities but don't take length into account
+		final List<Scored> rescored = new ArrayList<>(partialTop.size());
+		for (Scored scored : partialTop) {
+			rescored.add(new Scored(scored.string, FuzzySearch.ratio(query, scored.string)));
+		}
+
+		return toStrings(selectTop(rescored, limit));
+	}
+
+	/**
+	 * Returns the indexes of the items sharing the most trigrams with the query,
+	 * or <code>null</code> if every item needs to be scored (short query, or not enough candidates)
+	 */
+	private int[] getFuzzyCandidates(String foldedQuery, int limit) {
+		if (foldedQuery.length() < 3) return null;
+
+		final TIntIntMap sharedTrigrams = new TIntIntHashMap();
+		for (long trigram : getTrigrams(foldedQuery).toArray()) {
+			final int[] postings = trigramPostings.get(trigram);
+			if (postings == null) continue;
+
+			for (int index : postings) {
+				sharedTrigrams.adjustOrPutValue(index, 1, 1);
+			}
+		}
+
+		if (sharedTrigrams.size() < limit) return null;
+
+		final int maxCandidates = limit * FUZZY_CANDIDATES_PER_RESULT;
+		if (sharedTrigrams.size() <= maxCandidates) return sharedTrigrams.keys();
+
+		//Keep the candidates with the most shared trigrams, in a min-heap of the worst kept candidate
+		final PriorityQueue<int[]> heap = new PriorityQueue<>(maxCandidates + 1, Comparator.<int[]>comparingInt(c -> c[1]).thenComparingInt(c -> -c[0]));
+		sharedTrigrams.forEachEntry((index, count) -> {
+			heap.offer(new int[]{index, count});
+			if (heap.size() > maxCandidates) heap.poll();
+
+			return true;
+		});
+
+		final int[] candidates = new int[heap.size()];
+		int i = 0;
+		for (int[] candidate : heap) {
+			candidates[i++] = candidate[0];
+		}
+
+		return candidates;
+	}
+
+	private int lowerBound(String foldedQuery) {
+		int low = 0, high = foldedSorted.length;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+
+			if (foldedSorted[mid].compareTo(foldedQuery) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	private static TLongObjectMap<int[]> buildTrigramPostings(String[] folded) {
+		final TLongObjectMap<TIntArrayList> postingLists = new TLongObjectHashMap<>();
+		for (int i = 0; i < folded.length; i++) {
+			final int index = i;
+
+			getTrigrams(folded[i]).forEach(trigram -> {
+				TIntArrayList postings = postingLists.get(trigram);
+				if (postings == null) {
+					postings = new TIntArrayList(4);
+					postingLists.put(trigram, postings);
+				}
+
+				postings.add(index);
+
+				return true;
+			});
+		}
+
+		final TLongObjectMap<int[]> postings = new TLongObjectHashMap<>(postingLists.size());
+		postingLists.forEachEntry((trigram, list) -> {
+			postings.put(trigram, list.toArray());
+
+			return true;
+		});
+
+		return postings;
+	}
+
+	private static TLongSet getTrigrams(String folded) {
+		final TLongSet trigrams = new TLongHashSet(Math.max(1, folded.length() - 2));
+		for (int i = 0; i + 3 <= folded.length(); i++) {
+			trigrams.add(((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2));
+		}
+
+		return trigrams;
+	}
+
+	/**
+	 * Case folds the string char by char, the same way {@link String#regionMatches(boolean, int, String, int, int)} compares characters,
+	 * this keeps the length of the string intact
+	 */
+	private static String fold(String string) {
+		final char[] chars = string.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+
+		return new String(chars);
+	}
+
+	private static final Comparator<Scored> RELEVANCE_ORDER = Comparator.comparingInt(Scored::score).reversed().thenComparing(Scored::string);
+
+	private static List<Scored> selectTop(Collection<Scored> scored, int limit) {
+		return selectTop(scored, RELEVANCE_ORDER, limit);
+	}
+
+	/**
+	 * Selects the <code>limit</code> most relevant elements with a bounded heap, and returns them by decreasing relevance
+	 *
+	 * @param elements       The elements to select from
+	 * @param relevanceOrder The order of the elements, the most relevant first
+	 * @param limit          The maximum number of elements to return
+	 * @param <E>            Type of the elements
+	 * @return The most relevant elements, the most relevant first
+	 */
+	@NotNull
+	public static <E> List<E> selectTop(@NotNull Collection<E> elements, @NotNull Comparator<E> relevanceOrder, int limit) {
+		if (limit <= 0) return new ArrayList<>();
+
+		//Head of the heap is the least relevant element kept
+		final PriorityQueue<E> heap = new PriorityQueue<>(limit + 1, relevanceOrder.reversed());
+		for (E element : elements) {
+			heap.offer(element);
+			if (heap.size() > limit) heap.poll();
+		}
+
+		final List<E> top = new ArrayList<>(heap);
+		top.sort(relevanceOrder);
+
+		return top;
+	}
+
+	private static List<String> toStrings(List<Scored> scored) {
+		final List<String> strings = new ArrayList<>(scored.size());
+		for (Scored s : scored) {
+			strings.add(s.string);
+		}
+
+		return strings;
+	}
+
+	private record Scored(String string, int score) {}
+
+	/**
+	 * Keeps the most relevant scored strings offered to it, in a bounded heap
+	 */
+	private static final class TopScored {
+		private final int limit;
+		//Head of the heap is the least relevant element kept
+		private final PriorityQueue<Scored> heap;
+
+		private TopScored(int limit) {
+			this.limit = limit;
+			this.heap = new PriorityQueue<>(Math.max(1, limit + 1), RELEVANCE_ORDER.reversed());
+		}
+
+		private void offer(String string, int score) {
+			if (limit <= 0) return;
+
+			heap.offer(new Scored(string, score));
+			if (heap.size() > limit) heap.poll();
+		}
+
+		private List<Scored> toList() {
+			final List<Scored> top = new ArrayList<>(heap);
+			top.sort(RELEVANCE_ORDER);
+
+			return top;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.freya02.botcommands.internal.application.slash.autocomplete;
+
+import com.freya02.botcommands.api.application.slash.autocomplete.annotations.AutocompletionHandler;
+import com.freya02.botcommands.internal.ApplicationOptionData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the {@link AutocompleteIndex} of the results of an autocompletion handler, if it {@link AutocompletionHandler#indexResults() opted in}
+ * <br>The indexes are keyed by the command path and the values of the composite keys, other than the focused option,
+ * they are only rebuilt after being {@link #invalidate() invalidated}.
+ *
+ * <p>The results of the other handlers are only used once, they are scanned linearly instead of being indexed.
+ */
+public final class AutocompleteIndexCache {
+	private static final int MAX_INDEXES = 16;
+
+	private final AutocompletionHandlerInfo handlerInfo;
+	private final Cache<List<String>, AutocompleteIndex> cache;
+
+	public AutocompleteIndexCache(@NotNull AutocompletionHandlerInfo handlerInfo) {
+		this.handlerInfo = handlerInfo;
+		this.cache = handlerInfo.isIndexResults()
+				? Caffeine.newBuilder().maximumSize(MAX_INDEXES).build()
+				: null;
+	}
+
+	/**
+	 * @see AutocompleteIndex#findWithContinuity(String, int)
+	 */
+	@NotNull
+	public List<String> findWithContinuity(@NotNull CommandAutoCompleteInteractionEvent event, @NotNull Collection<?> collection, int limit) {
+		final String query = event.getFocusedOption().getValue();
+		if (cache == null) return AutocompleteIndex.scanWithContinuity(collection, query, limit);
+
+		return getIndex(event, collection).findWithContinuity(query, limit);
+	}
+
+	/**
+	 * @see AutocompleteIndex#findFuzzy(String, int)
+	 */
+	@NotNull
+	public List<String> findFuzzy(@NotNull CommandAutoCompleteInteractionEvent event, @NotNull Collection<?> collection, int limit) {
+		final String query = event.getFocusedOption().getValue();
+		if (cache == null) return AutocompleteIndex.scanFuzzy(collection, query, limit);
+
+		return getIndex(event, collection).findFuzzy(query, limit);
+	}
+
+	private AutocompleteIndex getIndex(CommandAutoCompleteInteractionEvent event, Collection<?> collection) {
+		return cache.get(getKey(event), key -> AutocompleteIndex.of(collection));
+	}
+
+	public void invalidate() {
+		if (cache != null) cache.invalidateAll();
+	}
+
+	private List<String> getKey(CommandAutoCompleteInteractionEvent event) {
+		final List<String> key = new ArrayList<>();
+
+		key.add(event.getName());
+		if (event.getSubcommandGroup() != null) key.add(event.getSubcommandGroup());
+		if (event.getSubcommandName() != null) key.add(event.getSubcommandName());
+
+		//The focused value is not part of the key, the index answers all the queries on that option
+		final String focusedName = event.getFocusedOption().getName();
+		for (final AutocompleteCommandParameter parameter : handlerInfo.getParameters()) {
+			if (!parameter.isOption() || !parameter.isCompositeKey()) continue;
+
+			final ApplicationOptionData applicationOptionData = parameter.getApplicationOptionData();
+			final String optionName = applicationOptionData.getEffectiveName();
+			if (focusedName.equals(optionName)) continue;
+
+			final OptionMapping option = event.getOption(optionName);
+			key.add(option == null ? "null" : option.getAsString());
+		}
+
+		return key;
+	}
+}
@@ -16,6 +16,7 @@ import com.freya02.botcommands.internal.application.slash.autocomplete.suppliers
 import com.freya02.botcommands.internal.application.slash.autocomplete.suppliers.ChoiceSupplierStringContinuity;
 import com.freya02.botcommands.internal.application.slash.autocomplete.suppliers.ChoiceSupplierStringFuzzy;
 import com.freya02.botcommands.internal.application.slash.autocomplete.suppliers.ChoiceSupplierTransformer;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.runner.MethodRunner;
 import com.freya02.botcommands.internal.utils.ReflectionUtils;
 import com.freya02.botcommands.internal.utils.Utils;
@@ -51,6 +52,7 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 
 	private final String handlerName;
 	private final boolean showUserInput;
+	private final boolean indexResults;
 	private final int maxChoices;
 
 	private final ChoiceSupplier choiceSupplier;
@@ -73,6 +75,7 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 
 		this.handlerName = annotation.name();
 		this.showUserInput = annotation.showUserInput();
+		this.indexResults = annotation.indexResults();
 		this.maxChoices = OptionData.MAX_CHOICES - (showUserInput ? 1 : 0); //accommodate for user input
 
 		final Class<?> collectionReturnType = ReflectionUtils.getCollectionReturnType(method);
@@ -81,7 +84,12 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 			throw new IllegalArgumentException("Unable to determine return type of " + Utils.formatMethodShort(method) + ", does the collection inherit Collection ?");
 		}
 
-		if (String.class.isAssignableFrom(collectionReturnType) || Long.class.isAssignableFrom(collectionReturnType) || Double.class.isAssignableFrom(collectionReturnType)) {
+		final boolean isStringLike = String.class.isAssignableFrom(collectionReturnType) || Long.class.isAssignableFrom(collectionReturnType) || Double.class.isAssignableFrom(collectionReturnType);
+		if (indexResults && !isStringLike) {
+			throw new IllegalArgumentException("Autocompletion handler " + Utils.formatMethodShort(method) + " can only index its results if it returns a collection of String, Long or Double");
+		}
+
+		if (isStringLike) {
 			this.choiceSupplier = generateSupplierFromStrings(autocompletionMode);
 		} else if (Command.Choice.class.isAssignableFrom(collectionReturnType)) {
 			this.choiceSupplier = new ChoiceSupplierChoices(this);
@@ -122,6 +130,7 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 	private void invokeAutocompletionHandler(SlashCommandInfo slashCommand,
 	                                         CommandAutoCompleteInteractionEvent event,
 	                                         Consumer<Throwable> throwableConsumer,
+	                                         HandlerTimer timer,
 	                                         ConsumerEx<Collection<?>> collectionCallback) throws Exception {
 		List<Object> objects = new ArrayList<>(autocompleteParameters.size() + 1);
 
@@ -206,6 +215,8 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 			objects.add(parameter.isVarArg() ? objectList : objectList.get(0));
 		}
 
+		timer.onResolved();
+
 		methodRunner.invoke(objects.toArray(), throwableConsumer, collectionCallback);
 	}
 
@@ -224,9 +235,10 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 	public void retrieveChoices(SlashCommandInfo slashCommand,
 	                            CommandAutoCompleteInteractionEvent event,
 	                            Consumer<Throwable> throwableConsumer,
+	                            HandlerTimer timer,
 	                            Consumer<List<Command.Choice>> choiceCallback) throws Exception {
 		cache.retrieveAndCall(event, choiceCallback, key -> {
-			generateChoices(slashCommand, event, throwableConsumer, choices -> {
+			generateChoices(slashCommand, event, throwableConsumer, timer, choices -> {
 				cache.put(key, choices);
 
 				choiceCallback.accept(choices);
@@ -234,8 +246,8 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 		});
 	}
 
-	private void generateChoices(SlashCommandInfo slashCommand, CommandAutoCompleteInteractionEvent event, Consumer<Throwable> throwableConsumer, ConsumerEx<List<Command.Choice>> choiceCallback) throws Exception {
-		invokeAutocompletionHandler(slashCommand, event, throwableConsumer, collection -> {
+	private void generateChoices(SlashCommandInfo slashCommand, CommandAutoCompleteInteractionEvent event, Consumer<Throwable> throwableConsumer, HandlerTimer timer, ConsumerEx<List<Command.Choice>> choiceCallback) throws Exception {
+		invokeAutocompletionHandler(slashCommand, event, throwableConsumer, timer, collection -> {
 			final List<Command.Choice> actualChoices = new ArrayList<>(25);
 
 			final List<Command.Choice> suppliedChoices = choiceSupplier.apply(event, collection);
@@ -326,7 +338,12 @@ public class AutocompletionHandlerInfo implements ExecutableInteractionInfo {
 		return maxChoices;
 	}
 
+	public boolean isIndexResults() {
+		return indexResults;
+	}
+
 	public void invalidate() {
 		cache.invalidate();
+		choiceSupplier.invalidate();
 	}
 }
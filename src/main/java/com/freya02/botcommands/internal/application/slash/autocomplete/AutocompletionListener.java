@@ -1,11 +1,15 @@
 package com.freya02.botcommands.internal.application.slash.autocomplete;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.api.ExceptionHandler;
 import com.freya02.botcommands.api.Logging;
 import com.freya02.botcommands.api.application.CommandPath;
+import com.freya02.botcommands.api.metrics.HandlerType;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.RunnableEx;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
@@ -14,7 +18,6 @@ import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 public class AutocompletionListener implements EventListener {
@@ -22,27 +25,23 @@ public class AutocompletionListener implements EventListener {
 
 	private final BContextImpl context;
 
-	private int autocompletionThreadNumber = 0;
-	private final ExecutorService autocompletionService = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in an autocompletion thread '" + t.getName() + "':", e));
-		thread.setName("Autocompletion thread #" + autocompletionThreadNumber++);
-
-		return thread;
-	});
+	private final DispatchExecutor autocompletionService;
 
 	public AutocompletionListener(BContextImpl context) {
 		this.context = context;
+		this.autocompletionService = context.createExecutor(DispatchPool.AUTOCOMPLETION);
 	}
 
 	@SubscribeEvent
 	@Override
 	public void onEvent(@NotNull GenericEvent genericEvent) {
 		if (genericEvent instanceof CommandAutoCompleteInteractionEvent event) {
-			final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event);
+			final HandlerTimer timer = HandlerTimer.start(context, HandlerType.AUTOCOMPLETE);
+			final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event));
+
+			runAutocompletion(event, () -> {
+				timer.onStarted();
 
-			runAutocompletion(() -> {
 				final SlashCommandInfo slashCommand = context.getApplicationCommandsContext().findLiveSlashCommand(event.getGuild(), CommandPath.of(event.getFullCommandName()));
 
 				if (slashCommand == null) {
@@ -65,16 +64,22 @@ public class AutocompletionListener implements EventListener {
 					return;
 				}
 
+				timer.setName(autocompletionHandler);
+				timer.onFiltered();
+
 				//I really don't like the internal chaining of result consumers...
-				handler.retrieveChoices(slashCommand, event, throwableConsumer, choices -> {
+				//Cached choices skip the resolution and the handler, the handler time is then the cache lookup
+				handler.retrieveChoices(slashCommand, event, throwableConsumer, timer, choices -> {
+					timer.onHandled();
+
 					event.replyChoices(choices).queue();
 				});
 			}, throwableConsumer);
 		}
 	}
 
-	private void runAutocompletion(RunnableEx code, Consumer<Throwable> throwableConsumer) {
-		autocompletionService.execute(() -> {
+	private void runAutocompletion(CommandAutoCompleteInteractionEvent event, RunnableEx code, Consumer<Throwable> throwableConsumer) {
+		autocompletionService.executeInteraction(event, () -> {
 			try {
 				code.run();
 			} catch (Throwable e) {
@@ -8,4 +8,6 @@ import java.util.List;
 
 public interface ChoiceSupplier {
 	List<Command.Choice> apply(CommandAutoCompleteInteractionEvent event, Collection<?> collection);
+
+	default void invalidate() {}
 }
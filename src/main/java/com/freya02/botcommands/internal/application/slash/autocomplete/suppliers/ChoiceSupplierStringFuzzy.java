@@ -1,30 +1,38 @@
 package com.freya02.botcommands.internal.application.slash.autocomplete.suppliers;
 
-import com.freya02.botcommands.api.application.slash.autocomplete.AutocompleteAlgorithms;
+import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompleteIndexCache;
 import com.freya02.botcommands.internal.application.slash.autocomplete.AutocompletionHandlerInfo;
 import com.freya02.botcommands.internal.application.slash.autocomplete.ChoiceSupplier;
 import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
 import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
 import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
 import java.util.Collection;
 import java.util.List;
 
 public class ChoiceSupplierStringFuzzy implements ChoiceSupplier {
 	private final AutocompletionHandlerInfo handlerInfo;
+	private final AutocompleteIndexCache indexCache;
 
 	public ChoiceSupplierStringFuzzy(AutocompletionHandlerInfo handlerInfo) {
 		this.handlerInfo = handlerInfo;
+		this.indexCache = new AutocompleteIndexCache(handlerInfo);
 	}
 
 	@Override
 	public List<Command.Choice> apply(CommandAutoCompleteInteractionEvent event, Collection<?> collection) {
 		final AutoCompleteQuery autoCompleteQuery = event.getFocusedOption();
 
-		return AutocompleteAlgorithms.fuzzyMatching(collection, Object::toString, event)
+		return indexCache.findFuzzy(event, collection, OptionData.MAX_CHOICES)
 				.stream()
 				.limit(handlerInfo.getMaxChoices())
-				.map(c -> AutocompletionHandlerInfo.getChoice(autoCompleteQuery.getType(), c.getString()))
+				.map(s -> AutocompletionHandlerInfo.getChoice(autoCompleteQuery.getType(), s))
 				.toList();
 	}
+
+	@Override
+	public void invalidate() {
+		indexCache.invalidate();
+	}
 }
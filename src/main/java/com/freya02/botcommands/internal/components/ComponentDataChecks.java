@@ -0,0 +1,61 @@
+package com.freya02.botcommands.internal.components;
+
+import com.freya02.botcommands.api.components.ComponentErrorReason;
+import com.freya02.botcommands.api.components.InteractionConstraints;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Checks shared by the component managers, to know if a component can be used and whether it should be deleted after its use
+ */
+public final class ComponentDataChecks {
+	private ComponentDataChecks() {}
+
+	@NotNull
+	public static HandleComponentResult handleComponentData(GenericComponentInteractionCreateEvent event, boolean oneUse, long groupId, InteractionConstraints constraints, long expirationTimestamp) {
+		if (expirationTimestamp > 0 && System.currentTimeMillis() > expirationTimestamp) {
+			return new HandleComponentResult(ComponentErrorReason.EXPIRED, true);
+		}
+
+		boolean allowed = checkConstraints(event, constraints);
+
+		if (!allowed) {
+			return new HandleComponentResult(ComponentErrorReason.NOT_ALLOWED, false);
+		}
+
+		return new HandleComponentResult(null, oneUse || groupId > 0);
+	}
+
+	private static boolean checkConstraints(GenericComponentInteractionCreateEvent event, InteractionConstraints constraints) {
+		if (constraints.isEmpty()) return true;
+
+		if (constraints.getUserList().contains(event.getUser().getIdLong())) {
+			return true;
+		}
+
+		final Member member = event.getMember();
+		if (member != null) {
+			if (!constraints.getPermissions().isEmpty()) {
+				if (member.hasPermission(event.getGuildChannel(), constraints.getPermissions())) {
+					return true;
+				}
+			}
+
+			if (event.getGuild() != null && constraints.getRoleList().contains(event.getGuild().getIdLong())) {
+				return true; //Everyone role
+			}
+
+			for (Role role : member.getRoles()) {
+				boolean hasRole = constraints.getRoleList().contains(role.getIdLong());
+
+				if (hasRole) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
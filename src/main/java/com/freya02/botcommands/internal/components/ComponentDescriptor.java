@@ -1,6 +1,7 @@
 package com.freya02.botcommands.internal.components;
 
 import com.freya02.botcommands.api.BContext;
+import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.ExecutableInteractionInfo;
 import com.freya02.botcommands.internal.MethodParameters;
 import com.freya02.botcommands.internal.runner.MethodRunner;
@@ -18,6 +19,7 @@ public class ComponentDescriptor implements ExecutableInteractionInfo {
 		this.method = method;
 		this.instance = instance;
 		this.methodRunner = context.getMethodRunnerFactory().make(instance, method);
+		((BContextImpl) context).getLocalizationManager().registerMethod(method);
 
 		this.componentParameters = MethodParameters.of(context, method, ComponentHandlerParameter::new);
 	}
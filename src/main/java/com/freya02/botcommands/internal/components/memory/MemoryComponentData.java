@@ -0,0 +1,115 @@
+package com.freya02.botcommands.internal.components.memory;
+
+import com.freya02.botcommands.api.components.ComponentConsumer;
+import com.freya02.botcommands.api.components.ComponentType;
+import com.freya02.botcommands.api.components.FetchedComponent;
+import com.freya02.botcommands.api.components.InteractionConstraints;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Component metadata kept in memory by the {@link com.freya02.botcommands.api.components.CachedComponentManager CachedComponentManager}
+ * <br>Lambda components hold their consumer directly, persistent components hold their handler name and arguments.
+ */
+public final class MemoryComponentData implements FetchedComponent {
+	private final String componentId;
+	private final ComponentType type;
+	private final boolean oneUse;
+	private final InteractionConstraints interactionConstraints;
+	private final long expirationTimestamp;
+	private volatile long groupId;
+
+	private final ComponentConsumer<?> consumer;
+
+	private final String handlerName;
+	private final String[] args;
+
+	private MemoryComponentData(String componentId, ComponentType type, long groupId, boolean oneUse, InteractionConstraints interactionConstraints, long expirationTimestamp, ComponentConsumer<?> consumer, String handlerName, String[] args) {
+		this.componentId = componentId;
+		this.type = type;
+		this.groupId = groupId;
+		this.oneUse = oneUse;
+		this.interactionConstraints = interactionConstraints;
+		this.expirationTimestamp = expirationTimestamp;
+		this.consumer = consumer;
+		this.handlerName = handlerName;
+		this.args = args;
+	}
+
+	@NotNull
+	public static MemoryComponentData ofLambda(String componentId, ComponentType type, boolean oneUse, InteractionConstraints interactionConstraints, long expirationTimestamp, ComponentConsumer<?> consumer) {
+		return new MemoryComponentData(componentId, type, 0, oneUse, interactionConstraints, expirationTimestamp, consumer, null, null);
+	}
+
+	@NotNull
+	public static MemoryComponentData ofPersistent(String componentId, ComponentType type, long groupId, boolean oneUse, InteractionConstraints interactionConstraints, long expirationTimestamp, String handlerName, String[] args) {
+		return new MemoryComponentData(componentId, type, groupId, oneUse, interactionConstraints, expirationTimestamp, null, handlerName, args);
+	}
+
+	public boolean isLambda() {
+		return consumer != null;
+	}
+
+	public String getComponentId() {
+		return componentId;
+	}
+
+	@Override
+	@NotNull
+	public ComponentType getType() {
+		return type;
+	}
+
+	@Override
+	public long getGroupId() {
+		return groupId;
+	}
+
+	public void setGroupId(long groupId) {
+		this.groupId = groupId;
+	}
+
+	@Override
+	public boolean isOneUse() {
+		return oneUse;
+	}
+
+	public InteractionConstraints getInteractionConstraints() {
+		return interactionConstraints;
+	}
+
+	public long getExpirationTimestamp() {
+		return expirationTimestamp;
+	}
+
+	@Nullable
+	public ComponentConsumer<?> getConsumer() {
+		return consumer;
+	}
+
+	@Nullable
+	public String getHandlerName() {
+		return handlerName;
+	}
+
+	@Nullable
+	public String[] getArgs() {
+		return args;
+	}
+
+	@Override
+	public String toString() {
+		return "MemoryComponentData{" +
+				"componentId='" + componentId + '\'' +
+				", type=" + type +
+				", groupId=" + groupId +
+				", oneUse=" + oneUse +
+				", componentConstraints=" + interactionConstraints +
+				", expirationTimestamp=" + expirationTimestamp +
+				", handlerName='" + handlerName + '\'' +
+				", args=" + Arrays.toString(args) +
+				'}';
+	}
+}
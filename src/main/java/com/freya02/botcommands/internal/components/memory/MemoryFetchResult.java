@@ -0,0 +1,21 @@
+package com.freya02.botcommands.internal.components.memory;
+
+import com.freya02.botcommands.api.components.FetchResult;
+import org.jetbrains.annotations.Nullable;
+
+public class MemoryFetchResult extends FetchResult {
+	public MemoryFetchResult(@Nullable MemoryComponentData fetchedComponent) {
+		super(fetchedComponent);
+	}
+
+	@Override
+	@Nullable
+	public MemoryComponentData getFetchedComponent() {
+		return (MemoryComponentData) super.getFetchedComponent();
+	}
+
+	@Override
+	public void close() {
+		//Nothing to release
+	}
+}
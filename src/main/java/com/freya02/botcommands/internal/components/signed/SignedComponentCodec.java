@@ -0,0 +1,204 @@
+package com.freya02.botcommands.internal.components.signed;
+
+import com.freya02.botcommands.api.components.ComponentType;
+import com.freya02.botcommands.api.components.InteractionConstraints;
+import com.freya02.botcommands.internal.components.memory.MemoryComponentData;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes persistent components in their ID, authenticated with an HMAC
+ *
+ * <p>Format: <code>~[payload].[signature]</code>, both in URL-safe base64 without padding
+ * <br>The payload is the component type, the expiration timestamp (in seconds), the interaction constraints,
+ * the handler name and the arguments, numbers are written as variable length integers.
+ * <br>The signature is the HMAC-SHA256 of the payload, truncated to 128 bits.
+ *
+ * <p>Random component IDs never start with <code>~</code>.
+ */
+public final class SignedComponentCodec {
+	public static final char PREFIX = '~';
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int SIGNATURE_LENGTH = 16;
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecretKeySpec key;
+	//Initialized once, each signature uses a clone, as instances cannot be shared and threads may be virtual
+	private final Mac prototypeMac;
+
+	public SignedComponentCodec(byte @NotNull [] key) {
+		this.key = new SecretKeySpec(key.clone(), ALGORITHM);
+		this.prototypeMac = createMac(); //Fail early if the key is unusable
+	}
+
+	private Mac createMac() {
+		try {
+			final Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to create an " + ALGORITHM + " instance", e);
+		}
+	}
+
+	public static boolean isSigned(@NotNull String componentId) {
+		return !componentId.isEmpty() && componentId.charAt(0) == PREFIX;
+	}
+
+	/**
+	 * Encodes the component in an ID
+	 *
+	 * @return The signed ID, or <code>null</code> if it does not fit in a component ID
+	 */
+	@Nullable
+	public String encode(@NotNull ComponentType type,
+	                     long expirationTimestamp,
+	                     @NotNull InteractionConstraints constraints,
+	                     @NotNull String handlerName,
+	                     @NotNull String @NotNull [] args) {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream(64);
+
+		output.write(type.ordinal());
+		//Round up, so the component never expires earlier than requested
+		writeVarLong(output, expirationTimestamp == 0 ? 0 : (expirationTimestamp + 999) / 1000);
+
+		writeVarLong(output, constraints.getUserList().size());
+		for (long userId : constraints.getUserList().toArray()) {
+			writeVarLong(output, userId);
+		}
+
+		writeVarLong(output, constraints.getRoleList().size());
+		for (long roleId : constraints.getRoleList().toArray()) {
+			writeVarLong(output, roleId);
+		}
+
+		writeVarLong(output, Permission.getRaw(constraints.getPermissions()));
+
+		writeString(output, handlerName);
+		writeVarLong(output, args.length);
+		for (String arg : args) {
+			writeString(output, arg);
+		}
+
+		final byte[] payload = output.toByteArray();
+
+		//Check the length before signing, base64 uses 4 characters per 3 bytes
+		final int length = 2 + (payload.length * 4 + 2) / 3 + (SIGNATURE_LENGTH * 4 + 2) / 3;
+		if (length > Button.ID_MAX_LENGTH) return null;
+
+		return PREFIX + ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload));
+	}
+
+	/**
+	 * Decodes a signed component ID
+	 *
+	 * @return The component, or <code>null</code> if the ID is malformed or if its signature is invalid
+	 */
+	@Nullable
+	public MemoryComponentData decode(@NotNull String componentId) {
+		if (!isSigned(componentId)) return null;
+
+		final int separatorIndex = componentId.indexOf('.');
+		if (separatorIndex == -1) return null;
+
+		try {
+			final byte[] payload = DECODER.decode(componentId.substring(1, separatorIndex));
+			final byte[] signature = DECODER.decode(componentId.substring(separatorIndex + 1));
+
+			if (!MessageDigest.isEqual(sign(payload), signature)) return null;
+
+			final ByteBuffer buffer = ByteBuffer.wrap(payload);
+
+			final ComponentType type = ComponentType.values()[buffer.get()];
+			final long expirationTimestamp = readVarLong(buffer) * 1000;
+
+			final InteractionConstraints constraints = InteractionConstraints.empty();
+			final long userCount = readVarLong(buffer);
+			for (long i = 0; i < userCount; i++) {
+				constraints.addUserIds(readVarLong(buffer));
+			}
+
+			final long roleCount = readVarLong(buffer);
+			for (long i = 0; i < roleCount; i++) {
+				constraints.addRoleIds(readVarLong(buffer));
+			}
+
+			constraints.getPermissions().addAll(Permission.getPermissions(readVarLong(buffer)));
+
+			final String handlerName = readString(buffer);
+			final String[] args = new String[(int) readVarLong(buffer)];
+			for (int i = 0; i < args.length; i++) {
+				args[i] = readString(buffer);
+			}
+
+			return MemoryComponentData.ofPersistent(componentId, type, 0, false, constraints, expirationTimestamp, handlerName, args);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+			//Signed by us but unreadable, can only happen if the format changed
+			return null;
+		}
+	}
+
+	private byte[] sign(byte[] payload) {
+		return Arrays.copyOf(newMac().doFinal(payload), SIGNATURE_LENGTH);
+	}
+
+	private Mac newMac() {
+		try {
+			//Cloning skips the provider lookup and the key initialization
+			return (Mac) prototypeMac.clone();
+		} catch (CloneNotSupportedException e) {
+			return createMac();
+		}
+	}
+
+	private static void writeString(ByteArrayOutputStream output, String str) {
+		final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+
+		writeVarLong(output, bytes.length);
+		output.writeBytes(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final byte[] bytes = new byte[(int) readVarLong(buffer)];
+		buffer.get(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream output, long value) {
+		while ((value & ~0x7FL) != 0) {
+			output.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+
+		output.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) return value;
+		}
+
+		throw new IllegalArgumentException("Malformed variable length integer");
+	}
+}
@@ -0,0 +1,480 @@
+package com.freya02.botcommands.internal.components.sql;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.components.ComponentType;
+import com.freya02.botcommands.api.components.InteractionConstraints;
+import com.freya02.botcommands.internal.components.memory.MemoryComponentData;
+import com.freya02.botcommands.internal.utils.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind persistence of the persistent components kept in memory
+ * <br>Operations are queued and written by batches, in a single transaction per flush,
+ * either periodically or as soon as enough operations are pending.
+ *
+ * <p>Each flush writes its operations in this order: inserts, group assignments, deletions.
+ * <br>This is enough to keep the operations consistent as component IDs are never reused,
+ * and components inserted then deleted in the same flush are not written at all.
+ *
+ * <p>If a flush fails because the database is unreachable, its operations are put back and written with the next flush,
+ * the periodic flushes are then retried with an exponential backoff, up to {@value #MAX_FAILED_OPERATIONS} operations are kept.
+ * <br>If a flush fails for any other reason, the batch is split until the failing operations are isolated,
+ * these are then logged and dropped, so they do not block the other operations.
+ *
+ * <p>Reads do not wait for the pending operations to be written,
+ * they use the latest pending operation of the component instead.
+ */
+public final class SQLComponentWriter {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	private static final int MAX_FAILED_OPERATIONS = 50_000;
+
+	private final Supplier<Connection> connectionSupplier;
+	private final long flushIntervalMillis;
+	private final int maxBatchSize;
+
+	private final Queue<Operation> pendingOperations = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final Object flushLock = new Object();
+
+	/** Latest operation of each component which has not been written yet */
+	private final Map<String, Operation> unwrittenComponents = new ConcurrentHashMap<>();
+	/** Groups whose deletion has not been written yet */
+	private final Set<Long> unwrittenGroupDeletions = ConcurrentHashMap.newKeySet();
+
+	//Guarded by flushLock
+	private final List<Operation> failedOperations = new ArrayList<>();
+	private int failedFlushes = 0;
+	private long nextRetryTime = 0;
+
+	private final ScheduledExecutorService flushService = Executors.newSingleThreadScheduledExecutor(r -> {
+		final Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in component writer thread '" + t.getName() + "':", e));
+		thread.setName("Component writer thread");
+
+		return thread;
+	});
+
+	public SQLComponentWriter(@NotNull Supplier<Connection> connectionSupplier, long flushInterval, @NotNull TimeUnit unit, int maxBatchSize) {
+		this.connectionSupplier = connectionSupplier;
+		this.flushIntervalMillis = Math.max(1, unit.toMillis(flushInterval));
+		this.maxBatchSize = maxBatchSize;
+
+		flushService.scheduleWithFixedDelay(this::tryFlush, flushInterval, flushInterval, unit);
+		Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownFlush, "Component writer shutdown flush"));
+	}
+
+	public void insert(@NotNull MemoryComponentData data) {
+		final Insert insert = new Insert(data);
+		unwrittenComponents.put(data.getComponentId(), insert);
+
+		enqueue(insert);
+	}
+
+	public void setGroup(long groupId, @NotNull Collection<String> ids) {
+		final SetGroup setGroup = new SetGroup(groupId, ids.toArray(new String[0]));
+		for (String id : setGroup.ids()) {
+			unwrittenComponents.compute(id, (k, operation) -> {
+				//Pending inserts write the group of their component
+				if (operation instanceof Insert insert) {
+					insert.data().setGroupId(groupId);
+
+					return insert;
+				}
+
+				return operation instanceof DeleteIds ? operation : setGroup;
+			});
+		}
+
+		enqueue(setGroup);
+	}
+
+	public void deleteIds(@NotNull Collection<String> ids) {
+		if (ids.isEmpty()) return;
+
+		final DeleteIds deleteIds = new DeleteIds(ids.toArray(new String[0]));
+		for (String id : deleteIds.ids()) {
+			unwrittenComponents.put(id, deleteIds);
+		}
+
+		enqueue(deleteIds);
+	}
+
+	public void deleteGroup(long groupId) {
+		unwrittenGroupDeletions.add(groupId);
+
+		enqueue(new DeleteGroup(groupId));
+	}
+
+	/**
+	 * Reads a persistent component, the operations which have not been written yet are taken into account,
+	 * the database is only read if the component has no pending insert or deletion
+	 *
+	 * @param componentId The ID of the component to read
+	 * @return The component, or <code>null</code> if it does not exist
+	 */
+	@Nullable
+	public MemoryComponentData readPersistent(@NotNull String componentId) throws SQLException {
+		final Operation operation = unwrittenComponents.get(componentId);
+
+		final MemoryComponentData data;
+		if (operation instanceof Insert insert) {
+			data = insert.data();
+		} else if (operation instanceof DeleteIds) {
+			return null;
+		} else {
+			data = readFromDatabase(componentId);
+			if (data == null) return null;
+
+			if (operation instanceof SetGroup setGroup) {
+				data.setGroupId(setGroup.groupId());
+			}
+		}
+
+		if (unwrittenGroupDeletions.contains(data.getGroupId())) return null;
+
+		return data;
+	}
+
+	@Nullable
+	private MemoryComponentData readFromDatabase(@NotNull String componentId) throws SQLException {
+		try (Connection connection = connectionSupplier.get();
+		     PreparedStatement preparedStatement = connection.prepareStatement(
+				     "select * from persistentcomponentdata join componentdata using(componentid) where componentid = ? limit 1;"
+		     )) {
+			preparedStatement.setString(1, componentId);
+
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (!resultSet.next()) return null;
+
+				final ComponentType type = ComponentType.fromKey(resultSet.getInt("type"));
+				if (type == null) throw new IllegalArgumentException("Couldn't get type for " + resultSet.getInt("type"));
+
+				return MemoryComponentData.ofPersistent(resultSet.getString("componentId"),
+						type,
+						resultSet.getLong("groupId"),
+						resultSet.getBoolean("oneUse"),
+						InteractionConstraints.fromJson(resultSet.getString("constraints")),
+						resultSet.getLong("expirationTimestamp"),
+						resultSet.getString("handlerName"),
+						SQLPersistentComponentData.readStringArray(resultSet.getString("args")));
+			}
+		}
+	}
+
+	/**
+	 * Reserves group IDs from the <code>group_seq</code> sequence, shared with {@link com.freya02.botcommands.api.components.DefaultComponentManager DefaultComponentManager}
+	 *
+	 * @param count The number of group IDs to reserve
+	 * @return The reserved group IDs
+	 */
+	public long[] reserveGroupIds(int count) throws SQLException {
+		try (Connection connection = connectionSupplier.get();
+		     PreparedStatement preparedStatement = connection.prepareStatement(
+				     "select nextval('group_seq') from generate_series(1, ?);"
+		     )) {
+			preparedStatement.setInt(1, count);
+
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				final long[] groupIds = new long[count];
+
+				int i = 0;
+				while (resultSet.next()) {
+					groupIds[i++] = resultSet.getLong(1);
+				}
+
+				if (i != count) throw new SQLException("Expected " + count + " group IDs but got " + i);
+
+				return groupIds;
+			}
+		}
+	}
+
+	private void enqueue(Operation operation) {
+		pendingOperations.add(operation);
+
+		if (pendingCount.incrementAndGet() == maxBatchSize) {
+			flushService.execute(this::tryFlush);
+		}
+	}
+
+	private void tryFlush() {
+		synchronized (flushLock) {
+			if (failedFlushes > 0 && System.currentTimeMillis() < nextRetryTime) return;
+		}
+
+		try {
+			flush();
+		} catch (Exception e) {
+			LOGGER.error("An exception occurred while writing components to the database", e);
+		}
+	}
+
+	private void shutdownFlush() {
+		try {
+			flush();
+		} catch (Exception e) {
+			LOGGER.error("Unable to write the pending component operations before shutting down, they are lost", e);
+		}
+	}
+
+	/**
+	 * Writes all the pending operations
+	 * <br>The operations are kept for the next flush if the database could not be reached,
+	 * the operations which cannot be written are dropped.
+	 */
+	public void flush() throws SQLException {
+		synchronized (flushLock) {
+			//Previously failed operations come first, as they are older
+			final List<Operation> operations = new ArrayList<>(failedOperations);
+			failedOperations.clear();
+
+			Operation operation;
+			while ((operation = pendingOperations.poll()) != null) {
+				operations.add(operation);
+			}
+			pendingCount.addAndGet(-operations.size());
+
+			if (operations.isEmpty()) return;
+
+			//Split the failing batches, in order, until the failing operations are isolated
+			final Deque<List<Operation>> batches = new ArrayDeque<>();
+			batches.push(operations);
+
+			while (!batches.isEmpty()) {
+				final List<Operation> batch = batches.pop();
+
+				try {
+					writeTransaction(batch);
+					onWritten(batch);
+				} catch (SQLException | RuntimeException e) {
+					if (isTransient(e)) {
+						failedOperations.addAll(batch);
+						batches.forEach(failedOperations::addAll);
+						dropExcessFailedOperations();
+
+						failedFlushes++;
+
+						final long retryDelay = Math.min(MAX_RETRY_DELAY_MILLIS, flushIntervalMillis << Math.min(failedFlushes, 20));
+						nextRetryTime = System.currentTimeMillis() + retryDelay;
+
+						throw new SQLException("Unable to write " + failedOperations.size() + " component operations (attempt " + failedFlushes + "), retrying in " + retryDelay + " ms", e);
+					}
+
+					if (batch.size() == 1) {
+						LOGGER.error("Dropping component operation {} as it cannot be written", batch.get(0), e);
+						onWritten(batch);
+					} else {
+						final int middle = batch.size() / 2;
+						batches.push(batch.subList(middle, batch.size()));
+						batches.push(batch.subList(0, middle));
+					}
+				}
+			}
+
+			failedFlushes = 0;
+
+			LOGGER.trace("Wrote {} component operations", operations.size());
+		}
+	}
+
+	private void writeTransaction(List<Operation> operations) throws SQLException {
+		final Connection connection;
+		try {
+			connection = connectionSupplier.get();
+		} catch (RuntimeException e) {
+			throw new SQLTransientConnectionException("Unable to get a database connection", e);
+		}
+
+		try (connection) {
+			connection.setAutoCommit(false);
+
+			try {
+				write(connection, operations);
+
+				connection.commit();
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the exception comes from the database being unreachable, rather than from the operations themselves
+	 */
+	private static boolean isTransient(Exception e) {
+		if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) return true;
+
+		//Connection exception class
+		return e instanceof SQLException sqlException
+				&& sqlException.getSQLState() != null
+				&& sqlException.getSQLState().startsWith("08");
+	}
+
+	private void dropExcessFailedOperations() {
+		final int excess = failedOperations.size() - MAX_FAILED_OPERATIONS;
+		if (excess <= 0) return;
+
+		//Drop the oldest operations
+		final List<Operation> droppedOperations = failedOperations.subList(0, excess);
+		LOGGER.error("Dropping {} component operations as too many of them could not be written", excess);
+		for (Operation droppedOperation : droppedOperations) {
+			LOGGER.debug("Dropped component operation {}", droppedOperation);
+		}
+
+		onWritten(droppedOperations);
+		droppedOperations.clear();
+	}
+
+	/**
+	 * Forgets the operations once they are in the database, or dropped
+	 */
+	private void onWritten(List<Operation> operations) {
+		for (Operation operation : operations) {
+			if (operation instanceof Insert insert) {
+				unwrittenComponents.remove(insert.data().getComponentId(), insert);
+			} else if (operation instanceof SetGroup setGroup) {
+				for (String id : setGroup.ids()) {
+					unwrittenComponents.remove(id, setGroup);
+				}
+			} else if (operation instanceof DeleteIds deleteIds) {
+				for (String id : deleteIds.ids()) {
+					unwrittenComponents.remove(id, deleteIds);
+				}
+			} else if (operation instanceof DeleteGroup deleteGroup) {
+				unwrittenGroupDeletions.remove(deleteGroup.groupId());
+			}
+		}
+	}
+
+	private static void write(Connection connection, List<Operation> operations) throws SQLException {
+		final Set<String> deletedIds = new HashSet<>();
+		for (Operation operation : operations) {
+			if (operation instanceof DeleteIds deleteIds) {
+				Collections.addAll(deletedIds, deleteIds.ids());
+			}
+		}
+
+		try (PreparedStatement insertComponentStatement = connection.prepareStatement(
+				"insert into componentdata (type, componentid, groupid, oneuse, constraints, expirationtimestamp) values (?, ?, ?, ?, ?, ?);"
+		     );
+		     PreparedStatement insertPersistentStatement = connection.prepareStatement(
+				     "insert into persistentcomponentdata (componentid, handlername, args) values (?, ?, ?);"
+		     )) {
+			boolean hasInserts = false;
+			for (Operation operation : operations) {
+				if (!(operation instanceof Insert insert)) continue;
+
+				final MemoryComponentData data = insert.data();
+				if (deletedIds.remove(data.getComponentId())) continue; //Never needed to be written
+
+				insertComponentStatement.setInt(1, data.getType().getKey());
+				insertComponentStatement.setString(2, data.getComponentId());
+				insertComponentStatement.setLong(3, data.getGroupId());
+				insertComponentStatement.setBoolean(4, data.isOneUse());
+				insertComponentStatement.setString(5, data.getInteractionConstraints().toJson());
+				insertComponentStatement.setLong(6, data.getExpirationTimestamp());
+				insertComponentStatement.addBatch();
+
+				insertPersistentStatement.setString(1, data.getComponentId());
+				insertPersistentStatement.setString(2, data.getHandlerName());
+				insertPersistentStatement.setString(3, SQLPersistentComponentData.writeStringArray(data.getArgs()));
+				insertPersistentStatement.addBatch();
+
+				hasInserts = true;
+			}
+
+			if (hasInserts) {
+				insertComponentStatement.executeBatch();
+				insertPersistentStatement.executeBatch();
+			}
+		}
+
+		try (PreparedStatement setGroupStatement = connection.prepareStatement(
+				"update componentdata set groupid = ? where componentid = any(?);"
+		)) {
+			boolean hasGroups = false;
+			for (Operation operation : operations) {
+				if (!(operation instanceof SetGroup setGroup)) continue;
+
+				setGroupStatement.setLong(1, setGroup.groupId());
+				setGroupStatement.setArray(2, connection.createArrayOf("text", setGroup.ids()));
+				setGroupStatement.addBatch();
+
+				hasGroups = true;
+			}
+
+			if (hasGroups) setGroupStatement.executeBatch();
+		}
+
+		if (!deletedIds.isEmpty()) {
+			try (PreparedStatement deleteIdsStatement = connection.prepareStatement(
+					//should be a cascade delete, see table declaration
+					"delete from componentdata where componentid = any(?);"
+			)) {
+				deleteIdsStatement.setArray(1, connection.createArrayOf("text", deletedIds.toArray()));
+				deleteIdsStatement.executeUpdate();
+			}
+		}
+
+		try (PreparedStatement deleteGroupStatement = connection.prepareStatement(
+				"delete from componentdata where groupid = ?;"
+		)) {
+			boolean hasGroupDeletions = false;
+			for (Operation operation : operations) {
+				if (!(operation instanceof DeleteGroup deleteGroup)) continue;
+
+				deleteGroupStatement.setLong(1, deleteGroup.groupId());
+				deleteGroupStatement.addBatch();
+
+				hasGroupDeletions = true;
+			}
+
+			if (hasGroupDeletions) deleteGroupStatement.executeBatch();
+		}
+	}
+
+	private interface Operation {}
+
+	private record Insert(MemoryComponentData data) implements Operation {}
+
+	private record SetGroup(long groupId, String[] ids) implements Operation {
+		@Override
+		public String toString() {
+			return "SetGroup[groupId=" + groupId + ", ids=" + Arrays.toString(ids) + "]";
+		}
+	}
+
+	private record DeleteIds(String[] ids) implements Operation {
+		@Override
+		public String toString() {
+			return "DeleteIds[ids=" + Arrays.toString(ids) + "]";
+		}
+	}
+
+	private record DeleteGroup(long groupId) implements Operation {}
+}
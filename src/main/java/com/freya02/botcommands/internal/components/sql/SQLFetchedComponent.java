@@ -9,6 +9,8 @@ import java.sql.SQLException;
 
 public class SQLFetchedComponent implements FetchedComponent {
 	private final ComponentType type;
+	private final long groupId;
+	private final boolean oneUse;
 	private final ResultSet resultSet;
 
 	public SQLFetchedComponent(ResultSet resultSet) throws SQLException {
@@ -18,6 +20,9 @@ public class SQLFetchedComponent implements FetchedComponent {
 		this.type = ComponentType.fromKey(typeRaw);
 
 		if (this.type == null) throw new IllegalArgumentException("Couldn't get type for " + typeRaw);
+
+		this.groupId = resultSet.getLong("groupid");
+		this.oneUse = resultSet.getBoolean("oneuse");
 	}
 
 	public ResultSet getResultSet() {
@@ -29,4 +34,14 @@ public class SQLFetchedComponent implements FetchedComponent {
 	public ComponentType getType() {
 		return type;
 	}
+
+	@Override
+	public boolean isOneUse() {
+		return oneUse;
+	}
+
+	@Override
+	public long getGroupId() {
+		return groupId;
+	}
 }
@@ -28,7 +28,7 @@ public class SQLPersistentComponentData extends SQLComponentData {
 		this.args = args;
 	}
 
-	private static String writeStringArray(String[] strings) {
+	static String writeStringArray(String[] strings) {
 		try {
 			return MAPPER.writeValueAsString(strings);
 		} catch (JsonProcessingException e) {
@@ -36,7 +36,7 @@ public class SQLPersistentComponentData extends SQLComponentData {
 		}
 	}
 
-	private static String[] readStringArray(String json) {
+	static String[] readStringArray(String json) {
 		try {
 			return MAPPER.readValue(json, String[].class);
 		} catch (JsonProcessingException e) {
@@ -0,0 +1,170 @@
+package com.freya02.botcommands.internal.cooldown;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.cooldown.CooldownBackend;
+import com.freya02.botcommands.internal.utils.TimingWheel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the {@link CooldownTable cooldown tables} of all the commands of a context
+ * <br>The store accounts for the entries of all the tables, and periodically drops their expired entries.
+ *
+ * <p>The cooldowns which are still running can be saved and loaded back, so they survive restarts.
+ */
+public final class CooldownStore {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	private static final long SWEEP_INTERVAL_SECONDS = 30;
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private final Map<String, CooldownTable> tables = new ConcurrentHashMap<>();
+	private final AtomicLong entryCount = new AtomicLong();
+	private final AtomicBoolean sweeping = new AtomicBoolean();
+
+	private CooldownBackend backend;
+
+	@Nullable
+	public CooldownBackend getBackend() {
+		return backend;
+	}
+
+	public void setBackend(@Nullable CooldownBackend backend) {
+		this.backend = backend;
+	}
+
+	/**
+	 * Returns the table with the specified name, creating it if needed
+	 *
+	 * @param name A name identifying the command, which stays the same across restarts
+	 * @return The cooldown table
+	 */
+	@NotNull
+	public CooldownTable getTable(@NotNull String name) {
+		return tables.computeIfAbsent(name, x -> {
+			if (sweeping.compareAndSet(false, true)) scheduleSweep();
+
+			return new CooldownTable(this, name);
+		});
+	}
+
+	/**
+	 * Returns the number of entries held by all the tables, including the expired entries which were not dropped yet
+	 *
+	 * @return The number of entries
+	 */
+	public long getEntryCount() {
+		return entryCount.get();
+	}
+
+	void addEntries(int count) {
+		if (count != 0) entryCount.addAndGet(count);
+	}
+
+	private void scheduleSweep() {
+		//The wheel thread must not do the sweep itself
+		TimingWheel.getShared().schedule(() -> ForkJoinPool.commonPool().execute(() -> {
+			try {
+				sweep();
+			} finally {
+				scheduleSweep();
+			}
+		}), SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Drops the expired entries of all the tables
+	 */
+	public void sweep() {
+		final long now = System.currentTimeMillis();
+		for (CooldownTable table : tables.values()) {
+			table.sweep(now);
+		}
+
+		LOGGER.trace("Swept cooldowns, {} entries remaining", entryCount.get());
+	}
+
+	/**
+	 * Writes the cooldowns which did not expire yet
+	 *
+	 * @param stream The stream to write the cooldowns to, it is not closed
+	 */
+	public void save(@NotNull OutputStream stream) throws IOException {
+		final long now = System.currentTimeMillis();
+
+		final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+		output.writeInt(SNAPSHOT_VERSION);
+		output.writeInt(tables.size());
+
+		for (CooldownTable table : tables.values()) {
+			output.writeUTF(table.getName());
+
+			final ByteArrayOutputStream entriesBytes = new ByteArrayOutputStream();
+			final DataOutputStream entriesOutput = new DataOutputStream(entriesBytes);
+			final int[] entries = {0};
+			table.forEachEntry(now, (key1, key2, expiration) -> {
+				try {
+					entriesOutput.writeLong(key1);
+					entriesOutput.writeLong(key2);
+					entriesOutput.writeLong(expiration);
+					entries[0]++;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			output.writeInt(entries[0]);
+			entriesBytes.writeTo(output);
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Reads cooldowns written by {@link #save(OutputStream)}, the cooldowns which expired in the meantime are skipped
+	 * <br>Cooldowns which are already running are only replaced if the loaded cooldown expires later.
+	 * <br>Only the existing tables are loaded, cooldowns of commands which no longer exist are skipped.
+	 *
+	 * @param stream The stream to read the cooldowns from, it is not closed
+	 */
+	public void load(@NotNull InputStream stream) throws IOException {
+		final long now = System.currentTimeMillis();
+
+		final DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+		final int version = input.readInt();
+		if (version != SNAPSHOT_VERSION) {
+			throw new IOException("Unsupported cooldown snapshot version: " + version);
+		}
+
+		int loadedEntries = 0, skippedTables = 0;
+		final int tableCount = input.readInt();
+		for (int i = 0; i < tableCount; i++) {
+			//Tables are created with their commands, an unknown table is a renamed or removed command
+			final CooldownTable table = tables.get(input.readUTF());
+			if (table == null) skippedTables++;
+
+			final int entries = input.readInt();
+			for (int j = 0; j < entries; j++) {
+				final long key1 = input.readLong();
+				final long key2 = input.readLong();
+				final long expiration = input.readLong();
+
+				if (table != null && expiration > now) {
+					table.mergeExpiration(key1, key2, expiration);
+					loadedEntries++;
+				}
+			}
+		}
+
+		LOGGER.debug("Loaded {} cooldowns, skipped {} tables of unknown commands", loadedEntries, skippedTables);
+	}
+}
@@ -0,0 +1,281 @@
+package com.freya02.botcommands.internal.cooldown;
+
+import com.freya02.botcommands.api.cooldown.CooldownBackend;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Cooldowns of a single command, keyed by two longs, such as a guild ID and a user ID
+ * <br>The table is split in segments, each being an open addressing table of primitives, so checking a cooldown allocates nothing.
+ *
+ * <p>Reads are optimistic and do not take any lock unless they race with a write of the same segment,
+ * writes lock a single segment.
+ * <br>Expired entries are reused by new entries, and are dropped when a segment grows, or when the table is swept.
+ *
+ * <p>When a {@link CooldownBackend} is set, the table acts as a cache of the shared cooldowns.
+ */
+public final class CooldownTable {
+	private static final int SEGMENT_COUNT = 16;
+	private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+	private static final int INITIAL_SLOTS = 16;
+
+	private final CooldownStore store;
+	private final String name;
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	CooldownTable(CooldownStore store, String name) {
+		this.store = store;
+		this.name = name;
+
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	@NotNull
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the time on which the cooldown of this key expires, in epoch milliseconds, or 0 if there is none
+	 * <br>This only reads the local cooldowns.
+	 */
+	public long getExpiration(long key1, long key2) {
+		final int hash = hash(key1, key2);
+
+		return segments[hash >>> SEGMENT_SHIFT].get(key1, key2, hash);
+	}
+
+	/**
+	 * Returns the time on which the cooldown of this key expires, in epoch milliseconds, or 0 if there is none
+	 * <br>The {@link CooldownBackend} is only asked when the local cooldown does not expire after the threshold,
+	 * its answer is then kept locally.
+	 *
+	 * @param threshold The time after which the local cooldown is known to be enough
+	 */
+	public long getSharedExpiration(long key1, long key2, long threshold) {
+		final long expiration = getExpiration(key1, key2);
+		if (expiration > threshold) return expiration;
+
+		final CooldownBackend backend = store.getBackend();
+		if (backend == null) return expiration;
+
+		final long sharedExpiration = backend.getExpiration(name, key1, key2);
+		if (sharedExpiration <= expiration) return expiration;
+
+		return mergeExpiration(key1, key2, sharedExpiration);
+	}
+
+	/**
+	 * Sets the time on which the cooldown of this key expires, unless the current one expires later
+	 * <br>This only writes the local cooldowns.
+	 *
+	 * @return The time on which the cooldown expires
+	 */
+	public long mergeExpiration(long key1, long key2, long expiration) {
+		final int hash = hash(key1, key2);
+
+		return segments[hash >>> SEGMENT_SHIFT].update(key1, key2, hash, System.currentTimeMillis(), expiration, 0);
+	}
+
+	/**
+	 * Moves the expiration of this key by the interval, starting from now if the cooldown already expired,
+	 * and shares it with the {@link CooldownBackend}
+	 *
+	 * @return The time on which the cooldown expires
+	 */
+	public long addInterval(long key1, long key2, long now, long interval) {
+		final int hash = hash(key1, key2);
+
+		final long expiration = segments[hash >>> SEGMENT_SHIFT].update(key1, key2, hash, now, now, interval);
+
+		final CooldownBackend backend = store.getBackend();
+		if (backend != null) {
+			backend.setExpiration(name, key1, key2, expiration);
+		}
+
+		return expiration;
+	}
+
+	/**
+	 * Drops the expired entries, and shrinks the segments which are mostly expired
+	 */
+	void sweep(long now) {
+		for (Segment segment : segments) {
+			segment.sweep(now);
+		}
+	}
+
+	/**
+	 * Gives the entries which did not expire to the visitor, segment by segment
+	 */
+	void forEachEntry(long now, @NotNull EntryVisitor visitor) {
+		for (Segment segment : segments) {
+			segment.forEachEntry(now, visitor);
+		}
+	}
+
+	interface EntryVisitor {
+		void visit(long key1, long key2, long expiration);
+	}
+
+	private static int hash(long key1, long key2) {
+		final long h = key1 * 0x9E3779B97F4A7C15L ^ key2 * 0xC2B2AE3D27D4EB4FL;
+
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private final class Segment {
+		private final StampedLock lock = new StampedLock();
+
+		//Slots of 3 longs: first key, second key, expiration; an expiration of 0 marks an empty slot
+		private long[] slots = new long[INITIAL_SLOTS * 3];
+		private int usedSlots;
+
+		private long get(long key1, long key2, int hash) {
+			long stamp = lock.tryOptimisticRead();
+			if (stamp != 0) {
+				final long expiration = find(slots, key1, key2, hash);
+				if (lock.validate(stamp)) return expiration;
+			}
+
+			stamp = lock.readLock();
+			try {
+				return find(slots, key1, key2, hash);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		private static long find(long[] slots, long key1, long key2, int hash) {
+			final int slotCount = slots.length / 3;
+			final int mask = slotCount - 1;
+
+			//Bounded, as optimistic reads may see a table being modified
+			for (int i = 0, slot = hash & mask; i < slotCount; i++, slot = (slot + 1) & mask) {
+				final int index = slot * 3;
+
+				final long expiration = slots[index + 2];
+				if (expiration == 0) return 0;
+
+				if (slots[index] == key1 && slots[index + 1] == key2) return expiration;
+			}
+
+			return 0;
+		}
+
+		/**
+		 * Sets the expiration to <code>max(current expiration, base) + interval</code>
+		 *
+		 * @return The new expiration
+		 */
+		private long update(long key1, long key2, int hash, long now, long base, long interval) {
+			final long stamp = lock.writeLock();
+			try {
+				if ((usedSlots + 1) * 4 > (slots.length / 3) * 3) { //Keep the load factor under 0.75
+					rehash(now, true);
+				}
+
+				final int mask = slots.length / 3 - 1;
+
+				//Reuse the first expired slot, unless the key is further in the probe sequence
+				int reusableIndex = -1;
+				for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+					final int index = slot * 3;
+
+					final long slotExpiration = slots[index + 2];
+					if (slotExpiration == 0) {
+						if (reusableIndex == -1) {
+							reusableIndex = index;
+							usedSlots++;
+							store.addEntries(1);
+						}
+
+						break;
+					}
+
+					if (slots[index] == key1 && slots[index + 1] == key2) {
+						reusableIndex = index;
+						base = Math.max(base, slotExpiration);
+
+						break;
+					}
+
+					if (reusableIndex == -1 && slotExpiration <= now) {
+						reusableIndex = index;
+					}
+				}
+
+				final long expiration = base + interval;
+				slots[reusableIndex] = key1;
+				slots[reusableIndex + 1] = key2;
+				slots[reusableIndex + 2] = expiration;
+
+				return expiration;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+
+		private void sweep(long now) {
+			final long stamp = lock.writeLock();
+			try {
+				rehash(now, false);
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+
+		/**
+		 * Copies the live entries into a new table, sized for them to use at most half of the slots
+		 */
+		private void rehash(long now, boolean grow) {
+			int liveEntries = 0;
+			for (int index = 0; index < slots.length; index += 3) {
+				final long expiration = slots[index + 2];
+				if (expiration > now) liveEntries++;
+			}
+
+			if (!grow && liveEntries == usedSlots) return; //Nothing to drop
+
+			int slotCount = INITIAL_SLOTS;
+			while (slotCount < (liveEntries + (grow ? 1 : 0)) * 2) slotCount <<= 1;
+
+			final long[] newSlots = new long[slotCount * 3];
+			final int mask = slotCount - 1;
+			for (int index = 0; index < slots.length; index += 3) {
+				final long expiration = slots[index + 2];
+				if (expiration <= now) continue;
+
+				final long key1 = slots[index], key2 = slots[index + 1];
+
+				int slot = hash(key1, key2) & mask;
+				while (newSlots[slot * 3 + 2] != 0) slot = (slot + 1) & mask;
+
+				newSlots[slot * 3] = key1;
+				newSlots[slot * 3 + 1] = key2;
+				newSlots[slot * 3 + 2] = expiration;
+			}
+
+			store.addEntries(liveEntries - usedSlots);
+			this.slots = newSlots;
+			this.usedSlots = liveEntries;
+		}
+
+		private void forEachEntry(long now, EntryVisitor visitor) {
+			final long stamp = lock.readLock();
+			try {
+				for (int index = 0; index < slots.length; index += 3) {
+					final long expiration = slots[index + 2];
+					if (expiration > now) {
+						visitor.visit(slots[index], slots[index + 1], expiration);
+					}
+				}
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+	}
+}
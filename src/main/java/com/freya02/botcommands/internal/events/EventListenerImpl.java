@@ -1,7 +1,8 @@
 package com.freya02.botcommands.internal.events;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.internal.BContextImpl;
-import com.freya02.botcommands.internal.utils.Utils;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import net.dv8tion.jda.api.events.Event;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
@@ -10,30 +11,22 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 class EventListenerImpl implements EventListener {
 	private final BContextImpl context;
 	private final Map<Class<?>, List<EventConsumer>> eventListeners;
 
-	private int eventThreadNumber;
-	private final ExecutorService eventExecutor = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in an event executor thread '" + t.getName() + "':", e));
-		thread.setName("Event executor thread #" + eventThreadNumber++);
-
-		return thread;
-	});
+	private final DispatchExecutor eventExecutor;
 
 	EventListenerImpl(BContextImpl context, Map<Class<?>, List<EventConsumer>> eventListeners) {
 		this.context = context;
+		this.eventExecutor = context.createExecutor(DispatchPool.EVENT_LISTENERS);
 		this.eventListeners = eventListeners;
 	}
 
 	private void runCallback(EventConsumer consumer, Event event, Consumer<Throwable> throwableConsumer) {
-		eventExecutor.execute(() -> {
+		eventExecutor.tryExecute(() -> {
 			try {
 				consumer.accept(event);
 			} catch (Throwable e) {
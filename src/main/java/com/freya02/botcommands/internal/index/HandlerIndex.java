@@ -0,0 +1,127 @@
+package com.freya02.botcommands.internal.index;
+
+import com.freya02.botcommands.api.annotations.JDAEventListener;
+import com.freya02.botcommands.api.application.context.annotations.JDAMessageCommand;
+import com.freya02.botcommands.api.application.context.annotations.JDAUserCommand;
+import com.freya02.botcommands.api.application.slash.annotations.JDASlashCommand;
+import com.freya02.botcommands.api.application.slash.autocomplete.annotations.AutocompletionHandler;
+import com.freya02.botcommands.api.components.annotations.JDAButtonListener;
+import com.freya02.botcommands.api.components.annotations.JDASelectionMenuListener;
+import com.freya02.botcommands.api.modals.annotations.ModalHandler;
+import com.freya02.botcommands.api.prefixed.annotations.JDATextCommand;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the classes containing handlers, written at compile time by {@link HandlerIndexProcessor}
+ * <br>Reading it replaces the classpath scan, every index on the classpath is read, so libraries can ship their own.
+ *
+ * <p>Format, one entry per line:
+ * <ul>
+ *     <li><code>C &lt;binary class name&gt;</code>: a class with at least one handler</li>
+ *     <li><code>N &lt;method signature&gt; &lt;parameter indexes&gt;</code>: parameters of a method annotated with a class-retained <code>@Nullable</code>,
+ *     which cannot be read by reflection</li>
+ * </ul>
+ */
+public final class HandlerIndex {
+	public static final String INDEX_PATH = "META-INF/botcommands/handlers.index";
+
+	static final List<Class<? extends Annotation>> HANDLER_ANNOTATIONS = List.of(
+			JDASlashCommand.class,
+			JDAMessageCommand.class,
+			JDAUserCommand.class,
+			JDATextCommand.class,
+			JDAEventListener.class,
+			AutocompletionHandler.class,
+			ModalHandler.class,
+			JDAButtonListener.class,
+			JDASelectionMenuListener.class
+	);
+
+	private final Set<String> classNames = new LinkedHashSet<>();
+	private final Map<String, int[]> nullableParameters = new HashMap<>();
+
+	private HandlerIndex() {}
+
+	/**
+	 * Reads all the handler indexes on the classpath
+	 *
+	 * @return The merged index, or <code>null</code> if there are none
+	 */
+	@Nullable
+	public static HandlerIndex read(@NotNull ClassLoader classLoader) throws IOException {
+		final Enumeration<URL> resources = classLoader.getResources(INDEX_PATH);
+		if (!resources.hasMoreElements()) return null;
+
+		final HandlerIndex index = new HandlerIndex();
+		while (resources.hasMoreElements()) {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					index.readLine(line);
+				}
+			}
+		}
+
+		return index;
+	}
+
+	private void readLine(String line) throws IOException {
+		if (line.isBlank() || line.startsWith("#")) return;
+
+		if (line.startsWith("C ")) {
+			classNames.add(line.substring(2));
+		} else if (line.startsWith("N ")) {
+			final int separator = line.lastIndexOf(' ');
+
+			nullableParameters.put(line.substring(2, separator), Arrays.stream(line.substring(separator + 1).split(","))
+					.mapToInt(Integer::parseInt)
+					.toArray());
+		} else {
+			throw new IOException("Invalid handler index line: '" + line + "'");
+		}
+	}
+
+	/**
+	 * Returns the names of the indexed classes which are in the packages, or in their subpackages
+	 */
+	@NotNull
+	public Set<String> getClassNames(@NotNull Set<String> packageNames) {
+		return classNames.stream()
+				.filter(className -> packageNames.stream().anyMatch(packageName -> className.startsWith(packageName + '.')))
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	/**
+	 * Returns the indexes of the parameters annotated with a class-retained <code>@Nullable</code>
+	 *
+	 * @return The parameter indexes, empty if there are none
+	 */
+	public int @NotNull [] getNullableParameters(@NotNull Method method) {
+		final int[] parameters = nullableParameters.get(getSignature(method));
+
+		return parameters == null ? new int[0] : parameters;
+	}
+
+	@NotNull
+	static String getSignature(@NotNull String className, @NotNull String methodName, @NotNull List<String> parameterTypes) {
+		return className + '#' + methodName + '(' + String.join(",", parameterTypes) + ')';
+	}
+
+	@NotNull
+	private static String getSignature(@NotNull Method method) {
+		return getSignature(method.getDeclaringClass().getName(),
+				method.getName(),
+				Arrays.stream(method.getParameterTypes()).map(Class::getCanonicalName).toList());
+	}
+}
@@ -0,0 +1,134 @@
+package com.freya02.botcommands.internal.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor writing the {@link HandlerIndex} of the compiled handlers
+ * <br>It is registered as a service, so it runs on any project compiled with the framework on its classpath,
+ * the index is only read when enabled with {@link com.freya02.botcommands.api.CommandsBuilder#useHandlerIndex()}.
+ *
+ * <p>The index is written when compiling all the sources at once, incremental compilation may write an incomplete index.
+ */
+public final class HandlerIndexProcessor extends AbstractProcessor {
+	private static final String NULLABLE_ANNOTATION = "org.jetbrains.annotations.Nullable";
+
+	private final Set<String> classNames = new TreeSet<>();
+	private final Map<String, String> nullableParameters = new TreeMap<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return HandlerIndex.HANDLER_ANNOTATIONS.stream()
+				.map(Class::getName)
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.METHOD) continue;
+
+				final TypeElement type = (TypeElement) element.getEnclosingElement();
+				if (classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString())) {
+					indexNullableParameters(type);
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !classNames.isEmpty()) {
+			writeIndex();
+		}
+
+		return false;
+	}
+
+	private void indexNullableParameters(TypeElement type) {
+		final String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			final List<? extends VariableElement> parameters = method.getParameters();
+
+			final List<String> nullableIndexes = new ArrayList<>();
+			for (int i = 0; i < parameters.size(); i++) {
+				if (isNullable(parameters.get(i))) nullableIndexes.add(String.valueOf(i));
+			}
+
+			if (nullableIndexes.isEmpty()) continue;
+
+			final List<String> parameterTypes = parameters.stream()
+					.map(p -> getTypeName(processingEnv.getTypeUtils().erasure(p.asType())))
+					.toList();
+
+			nullableParameters.put(HandlerIndex.getSignature(className, method.getSimpleName().toString(), parameterTypes), String.join(",", nullableIndexes));
+		}
+	}
+
+	/**
+	 * Returns the same name as {@link Class#getCanonicalName()}, without the type annotations {@link TypeMirror#toString()} may include
+	 */
+	private static String getTypeName(TypeMirror type) {
+		if (type instanceof ArrayType arrayType) {
+			return getTypeName(arrayType.getComponentType()) + "[]";
+		} else if (type instanceof DeclaredType declaredType) {
+			return ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+		} else {
+			return type.getKind().name().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static boolean isNullable(VariableElement parameter) {
+		//The annotation may be on the parameter, or on its type when it is a type annotation
+		return hasNullable(parameter.getAnnotationMirrors()) || hasNullable(parameter.asType().getAnnotationMirrors());
+	}
+
+	private static boolean hasNullable(List<? extends AnnotationMirror> annotationMirrors) {
+		for (AnnotationMirror annotationMirror : annotationMirrors) {
+			final Element annotationElement = annotationMirror.getAnnotationType().asElement();
+
+			if (((TypeElement) annotationElement).getQualifiedName().contentEquals(NULLABLE_ANNOTATION)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void writeIndex() {
+		try {
+			final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", HandlerIndex.INDEX_PATH);
+
+			try (Writer writer = resource.openWriter()) {
+				writer.write("# BotCommands handler index, generated at compile time\n");
+
+				for (String className : classNames) {
+					writer.write("C " + className + "\n");
+				}
+
+				for (Map.Entry<String, String> entry : nullableParameters.entrySet()) {
+					writer.write("N " + entry.getKey() + " " + entry.getValue() + "\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the handler index: " + e);
+		}
+	}
+}
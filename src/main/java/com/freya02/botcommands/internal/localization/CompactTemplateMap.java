@@ -0,0 +1,107 @@
+package com.freya02.botcommands.internal.localization;
+
+import com.freya02.botcommands.api.localization.LocalizationTemplate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Immutable map of localization templates, stored in parallel arrays sorted by key hash
+ * <br>Lookups binary search the hashes, then compare the keys with the same hash,
+ * this uses far less memory than a {@link HashMap} when there are many bundles with thousands of keys.
+ */
+public final class CompactTemplateMap extends AbstractMap<String, LocalizationTemplate> {
+	private final int[] hashes;
+	private final String[] keys;
+	private final LocalizationTemplate[] values;
+
+	private CompactTemplateMap(Map<String, ? extends LocalizationTemplate> map) {
+		final int size = map.size();
+		final List<Map.Entry<String, ? extends LocalizationTemplate>> entries = new ArrayList<>(map.entrySet());
+		entries.sort(Comparator.comparingInt(e -> e.getKey().hashCode()));
+
+		this.hashes = new int[size];
+		this.keys = new String[size];
+		this.values = new LocalizationTemplate[size];
+		for (int i = 0; i < size; i++) {
+			final Map.Entry<String, ? extends LocalizationTemplate> entry = entries.get(i);
+
+			hashes[i] = entry.getKey().hashCode();
+			keys[i] = entry.getKey();
+			values[i] = entry.getValue();
+		}
+	}
+
+	@NotNull
+	public static CompactTemplateMap of(@NotNull Map<String, ? extends LocalizationTemplate> map) {
+		if (map instanceof CompactTemplateMap compactMap) return compactMap;
+
+		return new CompactTemplateMap(map);
+	}
+
+	private int indexOf(Object key) {
+		if (!(key instanceof String)) return -1;
+
+		final int hash = key.hashCode();
+		int index = Arrays.binarySearch(hashes, hash);
+		if (index < 0) return -1;
+
+		//Go to the first key with this hash, then check the keys sharing it
+		while (index > 0 && hashes[index - 1] == hash) index--;
+		for (; index < hashes.length && hashes[index] == hash; index++) {
+			if (keys[index].equals(key)) return index;
+		}
+
+		return -1;
+	}
+
+	@Override
+	public LocalizationTemplate get(Object key) {
+		final int index = indexOf(key);
+
+		return index == -1 ? null : values[index];
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) != -1;
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@NotNull
+	@Override
+	public Set<Entry<String, LocalizationTemplate>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<String, LocalizationTemplate>> iterator() {
+				return new Iterator<>() {
+					private int index = 0;
+
+					@Override
+					public boolean hasNext() {
+						return index < keys.length;
+					}
+
+					@Override
+					public Entry<String, LocalizationTemplate> next() {
+						if (!hasNext()) throw new NoSuchElementException();
+
+						final Entry<String, LocalizationTemplate> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+						index++;
+
+						return entry;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return keys.length;
+			}
+		};
+	}
+}
@@ -9,7 +9,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.Locale;
 
 public class EventLocalizer implements UserLocalizable, GuildLocalizable, Localizable {
 	private final BContextImpl context;
@@ -29,34 +28,26 @@ public class EventLocalizer implements UserLocalizable, GuildLocalizable, Locali
 	@Override
 	@NotNull
 	public String localize(@NotNull DiscordLocale locale, @NotNull String localizationBundle, @NotNull String localizationPath, @NotNull Localization.Entry @NotNull ... entries) {
-		final LocalizationManager localizationManager = context.getLocalizationManager();
-
-		final Localization instance = Localization.getInstance(localizationBundle, Locale.forLanguageTag(locale.getLocale()));
-
-		if (instance == null) {
-			throw new IllegalArgumentException("Found no localization instance for bundle '%s' and locale '%s'".formatted(localizationBundle, locale));
-		}
+		return getResolvedLocalizations(localizationBundle)
+				.getTemplate(locale, localizationPath)
+				.localize(entries);
+	}
 
-		final String effectivePath;
-		if (method != null) {
-			final String localizationPrefix = localizationManager.getLocalizationPrefix(method);
+	@NotNull
+	private ResolvedLocalizations getResolvedLocalizations(@NotNull String localizationBundle) {
+		final LocalizationManager localizationManager = context.getLocalizationManager();
 
-			if (localizationPrefix == null) {
-				effectivePath = localizationPath;
-			} else {
-				effectivePath = localizationPrefix + "." + localizationPath;
-			}
-		} else {
-			effectivePath = localizationPath;
+		if (method == null) {
+			return localizationManager.getResolvedLocalizations(localizationBundle, null);
 		}
 
-		final LocalizationTemplate template = instance.get(effectivePath);
-
-		if (template == null) {
-			throw new IllegalArgumentException("Found no localization template for '%s' (in bundle '%s' with locale '%s')".formatted(effectivePath, localizationBundle, instance.getEffectiveLocale()));
+		//Most lookups use the method's own bundle, which is resolved once per method
+		final ResolvedLocalizations methodLocalizations = localizationManager.getResolvedLocalizations(method);
+		if (methodLocalizations != null && methodLocalizations.getBundleName().equals(localizationBundle)) {
+			return methodLocalizations;
 		}
 
-		return template.localize(entries);
+		return localizationManager.getResolvedLocalizations(localizationBundle, localizationManager.getLocalizationPrefix(method));
 	}
 
 	@Override
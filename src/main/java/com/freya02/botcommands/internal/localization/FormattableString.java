@@ -3,5 +3,8 @@ package com.freya02.botcommands.internal.localization;
 public interface FormattableString extends LocalizableString {
 	String getFormatterName();
 
-	String format(Object obj);
+	/**
+	 * Appends the formatted value to the builder, without creating intermediate strings when possible
+	 */
+	void appendFormatted(StringBuilder builder, Object obj);
 }
@@ -3,6 +3,9 @@ package com.freya02.botcommands.internal.localization;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Formatter;
+import java.util.Objects;
+
 public class JavaFormattableString implements FormattableString {
 	private final String formatterName;
 	private final String formatter;
@@ -18,9 +21,14 @@ public class JavaFormattableString implements FormattableString {
 	}
 
 	@Override
-	public String format(Object obj) {
-		if (formatter == null) return obj.toString();
+	public void appendFormatted(StringBuilder builder, Object obj) {
+		if (formatter == null) {
+			builder.append(Objects.requireNonNull(obj, "Localization argument cannot be null"));
+
+			return;
+		}
 
-		return formatter.formatted(obj);
+		//Same locale as String#formatted, but writes straight into the builder
+		new Formatter(builder).format(formatter, obj);
 	}
 }
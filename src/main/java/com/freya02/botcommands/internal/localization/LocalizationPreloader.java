@@ -0,0 +1,47 @@
+package com.freya02.botcommands.internal.localization;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.localization.Localization;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads localization bundles ahead of time, so the first user of a locale does not pay for the parsing of its bundle
+ */
+public final class LocalizationPreloader {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	/**
+	 * Loads each bundle, with each of its locales, in parallel
+	 *
+	 * @param baseNameToLocalesMap The locales to load, per bundle name
+	 * @return A future completing once all the bundles are loaded, it never completes exceptionally
+	 */
+	@NotNull
+	public static CompletableFuture<Void> preload(@NotNull Map<String, ? extends Collection<Locale>> baseNameToLocalesMap) {
+		final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+		for (Map.Entry<String, ? extends Collection<Locale>> entry : baseNameToLocalesMap.entrySet()) {
+			final String baseName = entry.getKey();
+
+			for (Locale locale : entry.getValue()) {
+				futures.add(CompletableFuture.runAsync(() -> {
+					try {
+						Localization.getInstance(baseName, locale);
+					} catch (Exception e) {
+						LOGGER.error("Unable to preload localization bundle '{}' with locale '{}'", baseName, locale, e);
+					}
+				}));
+			}
+		}
+
+		if (!futures.isEmpty()) {
+			LOGGER.debug("Preloading {} localization bundles", futures.size());
+		}
+
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new));
+	}
+}
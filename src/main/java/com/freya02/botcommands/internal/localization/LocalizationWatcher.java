@@ -0,0 +1,110 @@
+package com.freya02.botcommands.internal.localization;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.localization.Localization;
+import com.freya02.botcommands.internal.utils.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches a directory of localization bundles, and reloads the loaded bundles when their files change
+ * <br>Bundles are swapped with {@link Localization#reloadLocalization(String)}, so localizing never has to wait on a bundle being parsed.
+ */
+public final class LocalizationWatcher {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	/** Time to wait for more changes, editors and build tools usually write files in several steps */
+	private static final long DEBOUNCE_MILLIS = 200;
+
+	private final Path directory;
+	private final WatchService watchService;
+
+	private LocalizationWatcher(Path directory) throws IOException {
+		this.directory = directory;
+		this.watchService = directory.getFileSystem().newWatchService();
+
+		directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+	}
+
+	/**
+	 * Starts watching the directory on a daemon thread
+	 *
+	 * @param directory The directory containing the localization bundles
+	 */
+	public static void start(@NotNull Path directory) throws IOException {
+		final LocalizationWatcher watcher = new LocalizationWatcher(directory);
+
+		final Thread thread = new Thread(watcher::run, "Localization watcher");
+		thread.setDaemon(true);
+		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in localization watcher thread '" + t.getName() + "':", e));
+		thread.start();
+
+		LOGGER.info("Watching localization bundles in '{}'", directory);
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+
+				final Set<String> changedFiles = new HashSet<>();
+				do {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.context() instanceof Path path) {
+							changedFiles.add(path.getFileName().toString());
+						}
+					}
+
+					if (!key.reset()) {
+						LOGGER.warn("Localization directory '{}' is no longer accessible, stopping hot reload", directory);
+
+						return;
+					}
+				} while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+
+				reloadChangedBundles(changedFiles);
+			}
+		} catch (InterruptedException ignored) {
+		} finally {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				LOGGER.error("Unable to close the localization watch service", e);
+			}
+		}
+	}
+
+	private static void reloadChangedBundles(Set<String> changedFiles) {
+		for (String baseName : Localization.getLoadedBundleNames()) {
+			if (changedFiles.stream().anyMatch(fileName -> isBundleFile(baseName, fileName))) {
+				try {
+					Localization.reloadLocalization(baseName);
+
+					LOGGER.info("Reloaded localization bundle '{}'", baseName);
+				} catch (Exception e) {
+					LOGGER.error("Unable to reload localization bundle '{}'", baseName, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the file is the base bundle, or one of its locales, such as "<code>baseName.json</code>" or "<code>baseName_fr.yml</code>"
+	 */
+	private static boolean isBundleFile(String baseName, String fileName) {
+		if (!fileName.startsWith(baseName)) return false;
+		if (fileName.length() == baseName.length()) return true;
+
+		final char next = fileName.charAt(baseName.length());
+
+		return next == '.' || next == '_';
+	}
+}
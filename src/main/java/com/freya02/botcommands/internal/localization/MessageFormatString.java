@@ -5,14 +5,29 @@ import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 public class MessageFormatString implements FormattableString {
+	private static final int MAX_POOLED_FORMATTERS = 8;
+
 	private final String formatterName;
-	private final MessageFormat formatter;
+	private final MessageFormat prototype;
+	//MessageFormat is not thread-safe, formatters are borrowed from a small pool instead of locking a shared one,
+	// a clone of the prototype is made when the pool is empty, and dropped if the pool is full when giving it back
+	private final BlockingQueue<MessageFormat> formatters;
 
 	public MessageFormatString(@NotNull String formatterName, @Nullable String formatter, @NotNull Locale locale) {
 		this.formatterName = formatterName;
-		this.formatter = formatter == null ? null : new MessageFormat(formatter, locale);
+
+		if (formatter == null) {
+			this.prototype = null;
+			this.formatters = null;
+		} else {
+			this.prototype = new MessageFormat(formatter, locale);
+			this.formatters = new ArrayBlockingQueue<>(MAX_POOLED_FORMATTERS);
+		}
 	}
 
 	@Override
@@ -21,11 +36,20 @@ public class MessageFormatString implements FormattableString {
 	}
 
 	@Override
-	public String format(Object obj) {
-		if (formatter == null) return obj.toString();
+	public void appendFormatted(StringBuilder builder, Object obj) {
+		if (prototype == null) {
+			builder.append(Objects.requireNonNull(obj, "Localization argument cannot be null"));
+
+			return;
+		}
+
+		MessageFormat formatter = formatters.poll();
+		if (formatter == null) formatter = (MessageFormat) prototype.clone();
 
-		synchronized (formatter) {
-			return formatter.format(new Object[]{obj});
+		try {
+			builder.append(formatter.format(new Object[]{obj}));
+		} finally {
+			formatters.offer(formatter);
 		}
 	}
 }
@@ -0,0 +1,75 @@
+package com.freya02.botcommands.internal.localization;
+
+import com.freya02.botcommands.api.localization.Localization;
+import com.freya02.botcommands.api.localization.LocalizationTemplate;
+import net.dv8tion.jda.api.interactions.DiscordLocale;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Templates of a localization bundle, as seen with a localization prefix, resolved per Discord locale
+ * <br>Once a template has been used, getting it again is an array index on the locale, then a lookup of the path given by the user,
+ * without converting the locale, looking up the bundle, nor concatenating the prefix.
+ *
+ * <p>The resolved templates are dropped when the localization bundles are invalidated.
+ */
+public final class ResolvedLocalizations {
+	private final String bundleName;
+	private final String prefix;
+
+	private final AtomicReferenceArray<LocaleTemplates> localeTemplates = new AtomicReferenceArray<>(DiscordLocale.values().length);
+
+	private record LocaleTemplates(int invalidationCount, Localization localization, Map<String, LocalizationTemplate> templates) {}
+
+	public ResolvedLocalizations(@NotNull String bundleName, @Nullable String prefix) {
+		this.bundleName = bundleName;
+		this.prefix = prefix;
+	}
+
+	@NotNull
+	public String getBundleName() {
+		return bundleName;
+	}
+
+	@NotNull
+	public LocalizationTemplate getTemplate(@NotNull DiscordLocale locale, @NotNull String localizationPath) {
+		final LocaleTemplates templates = getLocaleTemplates(locale);
+
+		final LocalizationTemplate template = templates.templates().get(localizationPath);
+		if (template != null) return template;
+
+		final String effectivePath = prefix == null ? localizationPath : prefix + "." + localizationPath;
+		final LocalizationTemplate newTemplate = templates.localization().get(effectivePath);
+
+		if (newTemplate == null) {
+			throw new IllegalArgumentException("Found no localization template for '%s' (in bundle '%s' with locale '%s')".formatted(effectivePath, bundleName, templates.localization().getEffectiveLocale()));
+		}
+
+		templates.templates().put(localizationPath, newTemplate);
+
+		return newTemplate;
+	}
+
+	private LocaleTemplates getLocaleTemplates(DiscordLocale locale) {
+		//Read the count before getting the instance, so an invalidation happening in between is seen on the next call
+		final int invalidationCount = Localization.getInvalidationCount();
+
+		final LocaleTemplates templates = localeTemplates.get(locale.ordinal());
+		if (templates != null && templates.invalidationCount() == invalidationCount) return templates;
+
+		final Localization instance = Localization.getInstance(bundleName, Locale.forLanguageTag(locale.getLocale()));
+		if (instance == null) {
+			throw new IllegalArgumentException("Found no localization instance for bundle '%s' and locale '%s'".formatted(bundleName, locale));
+		}
+
+		final LocaleTemplates newTemplates = new LocaleTemplates(invalidationCount, instance, new ConcurrentHashMap<>());
+		localeTemplates.set(locale.ordinal(), newTemplates);
+
+		return newTemplates;
+	}
+}
@@ -0,0 +1,154 @@
+package com.freya02.botcommands.internal.metrics;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.metrics.HandlerTimings;
+import com.freya02.botcommands.api.metrics.HandlerType;
+import com.freya02.botcommands.api.metrics.MetricsSink;
+import com.freya02.botcommands.api.metrics.UsabilityDenialReason;
+import com.freya02.botcommands.internal.BContextImpl;
+import com.freya02.botcommands.internal.Usability.UnusableReason;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Measures the phases of a single handler execution, and reports them to the {@link MetricsSink}
+ * <br>The timer is created when the event is received, each phase then lasts from the previous mark to the next one.
+ * Nothing is measured nor allocated when no sink is set.
+ *
+ * <p>Marks are made in sequence by the threads running the handler, hand-offs between pools publish the state.
+ */
+public final class HandlerTimer {
+	private static final Logger LOGGER = Logging.getLogger();
+	private static final HandlerTimer DISABLED = new HandlerTimer(null, null);
+
+	private final MetricsSink sink;
+	private final HandlerType type;
+
+	private volatile String name;
+
+	private long mark;
+	private long queueWaitNanos, filterNanos, resolutionNanos;
+
+	private HandlerTimer(MetricsSink sink, HandlerType type) {
+		this.sink = sink;
+		this.type = type;
+		this.mark = System.nanoTime();
+	}
+
+	@NotNull
+	public static HandlerTimer start(@NotNull BContextImpl context, @NotNull HandlerType type) {
+		final MetricsSink sink = context.getMetricsSink();
+		if (sink == null) return DISABLED;
+
+		return new HandlerTimer(sink, type);
+	}
+
+	/**
+	 * Sets the name under which this handler is reported, nothing is reported before the name is set
+	 */
+	public void setName(@NotNull String name) {
+		if (sink == null) return;
+
+		this.name = name;
+	}
+
+	private long elapse() {
+		final long now = System.nanoTime();
+		final long elapsed = now - mark;
+		mark = now;
+
+		return elapsed;
+	}
+
+	/** Ends a wait in a framework pool */
+	public void onStarted() {
+		if (sink == null) return;
+
+		queueWaitNanos += elapse();
+	}
+
+	/** Ends the handler lookup, filters and usability checks */
+	public void onFiltered() {
+		if (sink == null) return;
+
+		filterNanos += elapse();
+	}
+
+	/** Ends the parameter resolution */
+	public void onResolved() {
+		if (sink == null) return;
+
+		resolutionNanos += elapse();
+	}
+
+	/** Ends the handler execution, and reports the execution */
+	public void onHandled() {
+		if (sink == null || name == null) return;
+
+		final HandlerTimings timings = new HandlerTimings(queueWaitNanos, filterNanos, resolutionNanos, elapse());
+		report(() -> sink.onExecution(type, name, timings));
+	}
+
+	public void onCooldownRejection() {
+		if (sink == null || name == null) return;
+
+		report(() -> sink.onCooldownRejection(type, name));
+	}
+
+	public void onUsabilityDenial(@NotNull Set<UnusableReason> reasons) {
+		if (sink == null || name == null) return;
+
+		final Set<UsabilityDenialReason> denialReasons = EnumSet.noneOf(UsabilityDenialReason.class);
+		for (UnusableReason reason : reasons) {
+			denialReasons.add(toDenialReason(reason));
+		}
+
+		report(() -> sink.onUsabilityDenial(type, name, denialReasons));
+	}
+
+	private static UsabilityDenialReason toDenialReason(UnusableReason reason) {
+		return switch (reason) {
+			case HIDDEN -> UsabilityDenialReason.HIDDEN;
+			case OWNER_ONLY -> UsabilityDenialReason.OWNER_ONLY;
+			case USER_PERMISSIONS -> UsabilityDenialReason.USER_PERMISSIONS;
+			case BOT_PERMISSIONS -> UsabilityDenialReason.BOT_PERMISSIONS;
+			case GUILD_ONLY -> UsabilityDenialReason.GUILD_ONLY;
+			case NSFW_DISABLED -> UsabilityDenialReason.NSFW_DISABLED;
+			case NSFW_ONLY -> UsabilityDenialReason.NSFW_ONLY;
+			case NSFW_DM_DENIED -> UsabilityDenialReason.NSFW_DM_DENIED;
+		};
+	}
+
+	public void onError(@NotNull Throwable throwable) {
+		if (sink == null || name == null) return;
+
+		report(() -> sink.onError(type, name, throwable));
+	}
+
+	/**
+	 * Wraps the exception consumer of a handler, so its exceptions are reported as errors
+	 */
+	@NotNull
+	public Consumer<Throwable> wrapThrowableConsumer(@NotNull Consumer<Throwable> throwableConsumer) {
+		if (sink == null) return throwableConsumer;
+
+		return e -> {
+			onError(e);
+
+			throwableConsumer.accept(e);
+		};
+	}
+
+	private static void report(Runnable code) {
+		//The sink must never break the handlers
+		try {
+			code.run();
+		} catch (Throwable e) {
+			LOGGER.error("An exception occurred while reporting handler metrics", e);
+		}
+	}
+}
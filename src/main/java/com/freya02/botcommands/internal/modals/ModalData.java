@@ -1,9 +1,9 @@
 package com.freya02.botcommands.internal.modals;
 
 import com.freya02.botcommands.api.modals.ModalTimeoutInfo;
+import com.freya02.botcommands.internal.utils.TimingWheel;
 
 import java.util.Map;
-import java.util.concurrent.ScheduledFuture;
 
 public class ModalData {
 	private final String handlerName;
@@ -11,7 +11,7 @@ public class ModalData {
 	private final Map<String, InputData> inputDataMap;
 	private final ModalTimeoutInfo timeoutInfo;
 
-	private ScheduledFuture<?> timeoutFuture;
+	private volatile TimingWheel.Timeout timeoutHandle;
 
 	public ModalData(String handlerName, Object[] userData, Map<String, InputData> inputDataMap, ModalTimeoutInfo timeoutInfo) {
 		this.handlerName = handlerName;
@@ -36,13 +36,13 @@ public class ModalData {
 		return timeoutInfo;
 	}
 
-	public void setTimeoutFuture(ScheduledFuture<?> timeoutFuture) {
-		this.timeoutFuture = timeoutFuture;
+	public void setTimeoutHandle(TimingWheel.Timeout timeoutHandle) {
+		this.timeoutHandle = timeoutHandle;
 	}
 
-	public void cancelTimeoutFuture() {
-		if (timeoutFuture != null) {
-			timeoutFuture.cancel(false);
+	public void cancelTimeout() {
+		if (timeoutHandle != null) {
+			timeoutHandle.cancel();
 		}
 	}
 }
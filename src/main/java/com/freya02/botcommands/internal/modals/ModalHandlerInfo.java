@@ -5,6 +5,7 @@ import com.freya02.botcommands.api.modals.annotations.ModalHandler;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.ExecutableInteractionInfo;
 import com.freya02.botcommands.internal.MethodParameters;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.runner.MethodRunner;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
@@ -30,6 +31,7 @@ public class ModalHandlerInfo implements ExecutableInteractionInfo {
 		this.autocompletionHandler = autocompletionHandler;
 		this.method = method;
 		this.methodRunner = context.getMethodRunnerFactory().make(autocompletionHandler, method);
+		context.getLocalizationManager().registerMethod(method);
 
 		final ModalHandler annotation = method.getAnnotation(ModalHandler.class);
 		this.handlerName = annotation.name();
@@ -82,7 +84,7 @@ public class ModalHandlerInfo implements ExecutableInteractionInfo {
 		return handlerName;
 	}
 
-	public boolean execute(BContext context, ModalData modalData, ModalInteractionEvent event, Consumer<Throwable> throwableConsumer) throws Exception {
+	public boolean execute(BContext context, ModalData modalData, ModalInteractionEvent event, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
 		final Map<String, InputData> inputDataMap = modalData.getInputDataMap();
 		final Map<String, String> inputNameToInputIdMap = new HashMap<>();
 
@@ -170,8 +172,12 @@ public class ModalHandlerInfo implements ExecutableInteractionInfo {
 			objects.add(obj);
 		}
 
+		timer.onResolved();
+
 		getMethodRunner().invoke(objects.toArray(), throwableConsumer);
 
+		timer.onHandled();
+
 		return true;
 	}
 }
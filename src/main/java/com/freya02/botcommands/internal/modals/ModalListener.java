@@ -1,9 +1,13 @@
 package com.freya02.botcommands.internal.modals;
 
+import com.freya02.botcommands.api.DispatchPool;
 import com.freya02.botcommands.api.ExceptionHandler;
 import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.metrics.HandlerType;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.RunnableEx;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
@@ -12,7 +16,6 @@ import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 public class ModalListener implements EventListener {
@@ -20,27 +23,25 @@ public class ModalListener implements EventListener {
 
 	private final BContextImpl context;
 
-	private int commandThreadNumber = 0;
-	private final ExecutorService commandService = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in a modal handling thread '" + t.getName() + "':", e));
-		thread.setName("Modal handling thread #" + commandThreadNumber++);
-
-		return thread;
-	});
+	private final DispatchExecutor commandService;
 
 	public ModalListener(BContextImpl context) {
 		this.context = context;
+		this.commandService = context.createExecutor(DispatchPool.MODALS);
+
+		context.getModalMaps().setTimeoutExecutor(commandService);
 	}
 
 	@SubscribeEvent
 	@Override
 	public void onEvent(@NotNull GenericEvent e) {
 		if (e instanceof ModalInteractionEvent event) {
-			final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event);
+			final HandlerTimer timer = HandlerTimer.start(context, HandlerType.MODAL);
+			final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event));
+
+			runCommand(event, () -> {
+				timer.onStarted();
 
-			runCommand(() -> {
 				final ModalData modalData = context.getModalMaps().consumeModal(event.getModalId());
 
 				if (modalData == null) { //Probably the modal expired
@@ -65,7 +66,10 @@ public class ModalListener implements EventListener {
 					throw new IllegalArgumentException("Got no modal handler for handler name: '%s'".formatted(modalData.getHandlerName()));
 				}
 
-				modalHandler.execute(context, modalData, event, throwableConsumer);
+				timer.setName(modalHandler.getHandlerName());
+				timer.onFiltered();
+
+				modalHandler.execute(context, modalData, event, throwableConsumer, timer);
 			}, throwableConsumer);
 		}
 	}
@@ -92,8 +96,8 @@ public class ModalListener implements EventListener {
 		};
 	}
 
-	private void runCommand(RunnableEx code, Consumer<Throwable> throwableConsumer) {
-		commandService.execute(() -> {
+	private void runCommand(ModalInteractionEvent event, RunnableEx code, Consumer<Throwable> throwableConsumer) {
+		commandService.executeInteraction(event, () -> {
 			try {
 				code.run();
 			} catch (Throwable e) {
@@ -1,63 +1,69 @@
 package com.freya02.botcommands.internal.modals;
 
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.modals.ModalTimeoutInfo;
+import com.freya02.botcommands.internal.utils.TimingWheel;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Registry of the modals and text inputs built with the framework
+ * <br>IDs are allocated without locking, and modal timeouts are scheduled on the shared {@link TimingWheel},
+ * their callbacks run on the timeout executor, outside of the wheel thread.
+ */
 public class ModalMaps {
-	public static boolean hasBeenUsed = false;
+	private static final Logger LOGGER = Logging.getLogger();
 
-	private static final ScheduledExecutorService TIMEOUT_SERVICE = Executors.newSingleThreadScheduledExecutor();
+	public static volatile boolean hasBeenUsed = false;
 
 	private static final long MAX_ID = Long.MAX_VALUE;
 	private static final long MIN_ID = (long) Math.pow(10, Math.floor(Math.log10(MAX_ID))); //Same amount of digits except every digit is 0 but the first one is 1
 
-	private final Map<String, ModalData> modalMap = new HashMap<>();
+	private final Map<String, ModalData> modalMap = new ConcurrentHashMap<>();
 
 	//Modals input IDs are temporarily stored here while it waits for its ModalBuilder owner to be built, and it's InputData to be associated with it
-	private final Map<String, InputData> inputMap = new HashMap<>();
+	private final Map<String, InputData> inputMap = new ConcurrentHashMap<>();
 
-	private String nextModalId() {
-		final ThreadLocalRandom random = ThreadLocalRandom.current();
-
-		synchronized (modalMap) {
-			String id;
-
-			do {
-				id = String.valueOf(random.nextLong(MIN_ID, MAX_ID));
-			} while (modalMap.containsKey(id));
+	private Executor timeoutExecutor = ForkJoinPool.commonPool();
 
-			return id;
-		}
+	/**
+	 * Sets the executor running the timeout callbacks of the modals
+	 */
+	public void setTimeoutExecutor(@NotNull Executor timeoutExecutor) {
+		this.timeoutExecutor = timeoutExecutor;
 	}
 
 	public String insertModal(ModalData data, String id) {
 		if (!hasBeenUsed) hasBeenUsed = true;
-		synchronized (modalMap) {
-			if (id == null || id.equals("0")) {
-				id = nextModalId();
-			}
 
+		if (id == null || id.equals("0")) {
+			id = putWithRandomId(modalMap, data);
+		} else {
 			modalMap.put(id, data);
+		}
 
-			if (data.getTimeoutInfo() != null) {
-				final String finalId = id;
-
-				final ScheduledFuture<?> future = TIMEOUT_SERVICE.schedule(() -> {
-					synchronized (modalMap) {
-						if (modalMap.remove(finalId) != null) { //If the timeout was reached without the modal being used
-							data.getTimeoutInfo().onTimeout().run();
+		final ModalTimeoutInfo timeoutInfo = data.getTimeoutInfo();
+		if (timeoutInfo != null) {
+			final String finalId = id;
+
+			data.setTimeoutHandle(TimingWheel.getShared().schedule(() -> {
+				if (modalMap.remove(finalId, data)) { //If the timeout was reached without the modal being used
+					timeoutExecutor.execute(() -> {
+						try {
+							timeoutInfo.onTimeout().run();
+						} catch (Throwable e) {
+							LOGGER.error("An exception occurred while running the timeout of modal '{}'", data.getHandlerName(), e);
 						}
-					}
-				}, data.getTimeoutInfo().timeout(), data.getTimeoutInfo().unit());
-
-				data.setTimeoutFuture(future);
-			}
+					});
+				}
+			}, timeoutInfo.timeout(), timeoutInfo.unit()));
 		}
 
 		return id;
@@ -65,45 +71,37 @@ public class ModalMaps {
 
 	@Nullable
 	public ModalData consumeModal(String modalId) {
-		synchronized (modalMap) {
-			final ModalData data = modalMap.remove(modalId);
-			if (data != null) data.cancelTimeoutFuture();
+		final ModalData data = modalMap.remove(modalId);
+		if (data != null) data.cancelTimeout();
 
-			return data;
-		}
-	}
-
-	private String nextInputId() {
-		final ThreadLocalRandom random = ThreadLocalRandom.current();
-
-		synchronized (inputMap) {
-			String id;
-
-			do {
-				id = String.valueOf(random.nextLong(MIN_ID, MAX_ID));
-			} while (inputMap.containsKey(id));
-
-			return id;
-		}
+		return data;
 	}
 
 	public String insertInput(InputData data, String id) {
 		if (!hasBeenUsed) hasBeenUsed = true;
-		synchronized (inputMap) {
-			if (id == null || id.equals("0")) {
-				id = nextInputId();
-			}
 
-			inputMap.put(id, data);
+		if (id == null || id.equals("0")) {
+			return putWithRandomId(inputMap, data);
 		}
 
+		inputMap.put(id, data);
+
 		return id;
 	}
 
 	@Nullable
 	public InputData removeInput(String inputId) {
-		synchronized (inputMap) {
-			return inputMap.remove(inputId);
-		}
+		return inputMap.remove(inputId);
+	}
+
+	private static <T> String putWithRandomId(Map<String, T> map, T value) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		String id;
+		do {
+			id = String.valueOf(random.nextLong(MIN_ID, MAX_ID));
+		} while (map.putIfAbsent(id, value) != null);
+
+		return id;
 	}
 }
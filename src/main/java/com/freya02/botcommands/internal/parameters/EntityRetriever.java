@@ -0,0 +1,129 @@
+package com.freya02.botcommands.internal.parameters;
+
+import com.freya02.botcommands.api.Logging;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieves the users and members which are not in the JDA cache
+ * <br>Retrieved users are kept for a short time, so components carrying the same IDs do not make a request on each click,
+ * concurrent lookups of the same entity share the same request.
+ * <br>Retrieved members are not kept, as their roles and permissions must be up-to-date, only the pending requests are shared.
+ *
+ * <p>Member lookups are batched per guild, the lookups made within a few milliseconds
+ * are sent in the same member chunk request, of up to 100 members.
+ * <br>Members which are not in the guild are resolved as <code>null</code>.
+ */
+public final class EntityRetriever {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	private static final long EXPIRATION_SECONDS = 60;
+	private static final int MAX_CACHED_ENTITIES = 10_000;
+	private static final int MAX_MEMBERS_PER_REQUEST = 100;
+	private static final long BATCH_DELAY_MILLIS = 2;
+
+	private static final Executor BATCH_EXECUTOR = CompletableFuture.delayedExecutor(BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+
+	private final AsyncCache<Long, User> users = Caffeine.newBuilder()
+			.expireAfterWrite(EXPIRATION_SECONDS, TimeUnit.SECONDS)
+			.maximumSize(MAX_CACHED_ENTITIES)
+			.buildAsync();
+	private final Map<MemberKey, CompletableFuture<Member>> pendingMemberRequests = new ConcurrentHashMap<>();
+
+	/** Member lookups waiting to be sent, by guild ID */
+	private final TLongObjectMap<TLongObjectMap<CompletableFuture<Member>>> pendingMembers = new TLongObjectHashMap<>();
+
+	@NotNull
+	public CompletableFuture<User> retrieveUser(@NotNull JDA jda, long userId) {
+		final User cachedUser = jda.getUserById(userId);
+		if (cachedUser != null) return CompletableFuture.completedFuture(cachedUser);
+
+		return users.get(userId, (id, executor) -> jda.retrieveUserById(id).submit());
+	}
+
+	@NotNull
+	public CompletableFuture<Member> retrieveMember(@NotNull Guild guild, long userId) {
+		final Member cachedMember = guild.getMemberById(userId);
+		if (cachedMember != null) return CompletableFuture.completedFuture(cachedMember);
+
+		final MemberKey key = new MemberKey(guild.getIdLong(), userId);
+		final CompletableFuture<Member> future = pendingMemberRequests.computeIfAbsent(key, k -> enqueueMember(guild, userId));
+		future.whenComplete((member, e) -> pendingMemberRequests.remove(key, future));
+
+		return future;
+	}
+
+	private CompletableFuture<Member> enqueueMember(Guild guild, long userId) {
+		final CompletableFuture<Member> future = new CompletableFuture<>();
+
+		synchronized (pendingMembers) {
+			TLongObjectMap<CompletableFuture<Member>> batch = pendingMembers.get(guild.getIdLong());
+			if (batch == null) {
+				batch = new TLongObjectHashMap<>();
+				pendingMembers.put(guild.getIdLong(), batch);
+
+				BATCH_EXECUTOR.execute(() -> sendBatch(guild));
+			}
+
+			batch.put(userId, future);
+		}
+
+		return future;
+	}
+
+	private void sendBatch(Guild guild) {
+		final TLongObjectMap<CompletableFuture<Member>> batch;
+		synchronized (pendingMembers) {
+			batch = pendingMembers.remove(guild.getIdLong());
+		}
+
+		final long[] userIds = batch.keys();
+		for (int start = 0; start < userIds.length; start += MAX_MEMBERS_PER_REQUEST) {
+			final long[] chunkIds = Arrays.copyOfRange(userIds, start, Math.min(userIds.length, start + MAX_MEMBERS_PER_REQUEST));
+
+			final Map<Long, CompletableFuture<Member>> chunk = new HashMap<>(chunkIds.length);
+			for (long userId : chunkIds) {
+				chunk.put(userId, batch.get(userId));
+			}
+
+			LOGGER.trace("Retrieving {} members in guild {}", chunkIds.length, guild.getIdLong());
+
+			try {
+				guild.retrieveMembersByIds(chunkIds)
+						.onSuccess(members -> completeChunk(chunk, members))
+						.onError(e -> chunk.values().forEach(future -> future.completeExceptionally(e)));
+			} catch (Throwable e) {
+				chunk.values().forEach(future -> future.completeExceptionally(e));
+			}
+		}
+	}
+
+	private static void completeChunk(Map<Long, CompletableFuture<Member>> chunk, List<Member> members) {
+		for (Member member : members) {
+			final CompletableFuture<Member> future = chunk.remove(member.getIdLong());
+			if (future != null) future.complete(member);
+		}
+
+		//The remaining users are not in the guild
+		chunk.values().forEach(future -> future.complete(null));
+	}
+
+	private record MemberKey(long guildId, long userId) {}
+}
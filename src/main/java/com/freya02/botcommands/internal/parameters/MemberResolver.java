@@ -2,11 +2,13 @@ package com.freya02.botcommands.internal.parameters;
 
 import com.freya02.botcommands.api.BContext;
 import com.freya02.botcommands.api.parameters.*;
+import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.application.context.user.UserCommandInfo;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
 import com.freya02.botcommands.internal.components.ComponentDescriptor;
 import com.freya02.botcommands.internal.prefixed.TextCommandInfo;
 import com.freya02.botcommands.internal.prefixed.Utils;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.interaction.command.UserContextInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
@@ -19,8 +21,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
+import static com.freya02.botcommands.internal.utils.Utils.getErrorResponseException;
+
 public class MemberResolver extends ParameterResolver implements RegexParameterResolver, SlashParameterResolver, ComponentParameterResolver, UserContextParameterResolver {
 	private static final Pattern PATTERN = Pattern.compile("(?:<@!?)?(\\d+)>?");
 
@@ -35,11 +41,20 @@ public class MemberResolver extends ParameterResolver implements RegexParameterR
 			//Fastpath for mentioned entities passed in the message
 			long id = Long.parseLong(args[0]);
 
-			return Utils.findEntity(id,
+			final Member member = Utils.findEntity(id,
 					event.getMessage().getMentions().getMembers(),
-					() -> event.getGuild().retrieveMemberById(id).complete());
-		} catch (ErrorResponseException e) {
-			LOGGER.debug("Could not resolve member in {} ({}): {} (regex command, may not be an error)", event.getGuild().getName(), event.getGuild().getIdLong(), e.getMeaning());
+					() -> ((BContextImpl) context).getEntityRetriever().retrieveMember(event.getGuild(), id).join());
+
+			if (member == null) {
+				LOGGER.debug("Could not resolve member in {} ({}): Unknown Member (regex command, may not be an error)", event.getGuild().getName(), event.getGuild().getIdLong());
+			}
+
+			return member;
+		} catch (CompletionException e) {
+			final ErrorResponseException errorResponse = getErrorResponseException(e);
+			if (errorResponse == null) throw e;
+
+			LOGGER.debug("Could not resolve member in {} ({}): {} (regex command, may not be an error)", event.getGuild().getName(), event.getGuild().getIdLong(), errorResponse.getMeaning());
 			return null;
 		}
 	}
@@ -71,14 +86,29 @@ public class MemberResolver extends ParameterResolver implements RegexParameterR
 	@Override
 	@Nullable
 	public Object resolve(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg) {
-		Objects.requireNonNull(event.getGuild(), "Can't get a member from DMs");
+		return resolveAsync(context, descriptor, event, arg).join();
+	}
 
-		try {
-			return event.getGuild().retrieveMemberById(arg).complete();
-		} catch (ErrorResponseException e) {
-			LOGGER.error("Could not resolve member in {} ({}): {}", event.getGuild().getName(), event.getGuild().getIdLong(), e.getMeaning());
+	@Override
+	@NotNull
+	public CompletableFuture<Object> resolveAsync(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg) {
+		final Guild guild = Objects.requireNonNull(event.getGuild(), "Can't get a member from DMs");
+
+		return ((BContextImpl) context).getEntityRetriever().retrieveMember(guild, Long.parseLong(arg)).handle((member, e) -> {
+			if (e == null) {
+				if (member == null) {
+					LOGGER.error("Could not resolve member in {} ({}): Unknown Member", guild.getName(), guild.getIdLong());
+				}
+
+				return member;
+			}
+
+			final ErrorResponseException errorResponse = getErrorResponseException(e);
+			if (errorResponse == null) throw new CompletionException(e);
+
+			LOGGER.error("Could not resolve member in {} ({}): {}", guild.getName(), guild.getIdLong(), errorResponse.getMeaning());
 			return null;
-		}
+		});
 	}
 
 	@Nullable
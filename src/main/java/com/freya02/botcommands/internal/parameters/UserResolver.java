@@ -2,6 +2,7 @@ package com.freya02.botcommands.internal.parameters;
 
 import com.freya02.botcommands.api.BContext;
 import com.freya02.botcommands.api.parameters.*;
+import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.application.context.user.UserCommandInfo;
 import com.freya02.botcommands.internal.application.slash.SlashCommandInfo;
 import com.freya02.botcommands.internal.components.ComponentDescriptor;
@@ -18,8 +19,12 @@ import net.dv8tion.jda.api.interactions.commands.OptionType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
+import static com.freya02.botcommands.internal.utils.Utils.getErrorResponseException;
+
 public class UserResolver extends ParameterResolver implements RegexParameterResolver, SlashParameterResolver, ComponentParameterResolver, UserContextParameterResolver {
 	private static final Pattern PATTERN = Pattern.compile("(?:<@!?)?(\\d+)>?");
 
@@ -36,8 +41,10 @@ public class UserResolver extends ParameterResolver implements RegexParameterRes
 
 			return Utils.findEntity(id,
 					event.getMessage().getMentions().getUsers(),
-					() -> event.getJDA().retrieveUserById(id).complete());
-		} catch (ErrorResponseException e) {
+					() -> ((BContextImpl) context).getEntityRetriever().retrieveUser(event.getJDA(), id).join());
+		} catch (CompletionException e) {
+			if (getErrorResponseException(e) == null) throw e;
+
 			return null;
 		}
 	}
@@ -69,12 +76,21 @@ public class UserResolver extends ParameterResolver implements RegexParameterRes
 	@Override
 	@Nullable
 	public Object resolve(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg) {
-		try {
-			return event.getJDA().retrieveUserById(arg).complete();
-		} catch (ErrorResponseException e) {
-			LOGGER.error("Could not resolve user: {}", e.getMeaning());
+		return resolveAsync(context, descriptor, event, arg).join();
+	}
+
+	@Override
+	@NotNull
+	public CompletableFuture<Object> resolveAsync(@NotNull BContext context, @NotNull ComponentDescriptor descriptor, @NotNull GenericComponentInteractionCreateEvent event, @NotNull String arg) {
+		return ((BContextImpl) context).getEntityRetriever().retrieveUser(event.getJDA(), Long.parseLong(arg)).handle((user, e) -> {
+			if (e == null) return user;
+
+			final ErrorResponseException errorResponse = getErrorResponseException(e);
+			if (errorResponse == null) throw new CompletionException(e);
+
+			LOGGER.error("Could not resolve user: {}", errorResponse.getMeaning());
 			return null;
-		}
+		});
 	}
 
 	@Nullable
@@ -7,6 +7,7 @@ import com.freya02.botcommands.api.prefixed.exceptions.NoIdException;
 import com.freya02.botcommands.api.utils.RichTextFinder;
 import com.freya02.botcommands.api.utils.RichTextType;
 import com.freya02.botcommands.internal.BContextImpl;
+import com.freya02.botcommands.internal.parameters.EntityRetriever;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.entities.emoji.CustomEmoji;
@@ -21,25 +22,44 @@ import org.slf4j.Logger;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.freya02.botcommands.internal.utils.Utils.getErrorResponseException;
+
 public class CommandEventImpl extends CommandEvent {
 	private static final Pattern idPattern = Pattern.compile("(\\d+)");
 	private static final Logger LOGGER = Logging.getLogger();
 
+	/** Resolved arguments which have not been consumed yet */
 	private final List<Object> arguments = new ArrayList<>();
+	/** Tokens which have not been resolved yet, the message is only tokenized as the arguments are requested */
+	private final Iterator<RichTextFinder.RichText> tokens;
 	private final MessageReceivedEvent event;
 
 	public CommandEventImpl(@NotNull BContextImpl context, @NotNull Method method, MessageReceivedEvent event, String arguments) {
 		super(method, context, event, arguments);
 
 		this.event = event;
+		this.tokens = RichTextFinder.lazy(arguments, true, false, true, false).iterator();
+	}
 
-		new RichTextFinder(arguments, true, false, true, false).processResults(this::processText);
+	/**
+	 * Resolves tokens until there is at least one argument, or until there are no tokens left
+	 *
+	 * @return <code>true</code> if there is an argument
+	 */
+	private boolean resolveNextToken() {
+		while (arguments.isEmpty() && tokens.hasNext()) {
+			processToken(tokens.next());
+		}
+
+		return !arguments.isEmpty();
 	}
 
 	private static IMentionable tryGetId(String mention, Function<Long, IMentionable> idToMentionableFunc) {
@@ -53,12 +73,14 @@ public class CommandEventImpl extends CommandEvent {
 
 	@Override
 	public List<Object> getArguments() {
+		tokens.forEachRemaining(this::processToken);
+
 		return arguments;
 	}
 
 	@Override
 	public <T> boolean hasNext(Class<T> clazz) {
-		if (arguments.isEmpty()) {
+		if (!resolveNextToken()) {
 			return false;
 		}
 
@@ -70,7 +92,7 @@ public class CommandEventImpl extends CommandEvent {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T peekArgument(Class<T> clazz) {
-		if (arguments.isEmpty()) {
+		if (!resolveNextToken()) {
 			throw new NoSuchElementException();
 		}
 
@@ -87,7 +109,7 @@ public class CommandEventImpl extends CommandEvent {
 	@NotNull
 	@SuppressWarnings("unchecked")
 	public <T> T nextArgument(Class<T> clazz) {
-		if (arguments.isEmpty()) {
+		if (!resolveNextToken()) {
 			throw new NoSuchElementException();
 		}
 
@@ -104,7 +126,7 @@ public class CommandEventImpl extends CommandEvent {
 	@NotNull
 	@SuppressWarnings({"unchecked"})
 	public <T extends IMentionable> T resolveNext(Class<?>... classes) throws NoIdException, BadIdException {
-		if (arguments.isEmpty()) {
+		if (!resolveNextToken()) {
 			throw new NoIdException();
 		}
 
@@ -135,13 +157,13 @@ public class CommandEventImpl extends CommandEvent {
 
 					mentionable = Utils.findEntity(id,
 							event.getMessage().getMentions().getUsers(),
-							() -> getJDA().retrieveUserById(id).complete());
+							() -> getEntityRetriever().retrieveUser(getJDA(), id).join());
 				} else if (clazz == Member.class) {
 					//Fastpath for mentioned entities passed in the message
 
 					mentionable = Utils.findEntity(id,
 							event.getMessage().getMentions().getMembers(),
-							() -> getGuild().retrieveMemberById(id).complete());
+							() -> getEntityRetriever().retrieveMember(getGuild(), id).join());
 				} else if (clazz == TextChannel.class) {
 					mentionable = getGuild().getTextChannelById(id);
 				} else if (clazz == CustomEmoji.class) {
@@ -155,11 +177,15 @@ public class CommandEventImpl extends CommandEvent {
 				}
 			} catch (NumberFormatException ignored) {
 				throw new BadIdException();
-			} catch (ErrorResponseException e) {
-				if (e.getErrorResponse() == ErrorResponse.UNKNOWN_USER || e.getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER) {
+			} catch (CompletionException e) {
+				final ErrorResponseException errorResponse = getErrorResponseException(e);
+				if (errorResponse == null) throw e;
+
+				if (errorResponse.getErrorResponse() == ErrorResponse.UNKNOWN_USER || errorResponse.getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER) {
 					throw new BadIdException();
 				} else {
-					throw e;
+					//Callers handled the ErrorResponseException thrown by the blocking retrieval
+					throw errorResponse;
 				}
 			}
 		}
@@ -167,6 +193,14 @@ public class CommandEventImpl extends CommandEvent {
 		throw new BadIdException();
 	}
 
+	private EntityRetriever getEntityRetriever() {
+		return ((BContextImpl) context).getEntityRetriever();
+	}
+
+	private void processToken(RichTextFinder.RichText token) {
+		processText(token.getSubstring(), token.getType());
+	}
+
 	private void processText(String substring, RichTextType type) {
 		if (substring.isBlank()) return;
 
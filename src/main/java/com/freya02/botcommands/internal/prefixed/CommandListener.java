@@ -2,6 +2,7 @@ package com.freya02.botcommands.internal.prefixed;
 
 import com.freya02.botcommands.api.*;
 import com.freya02.botcommands.api.application.CommandPath;
+import com.freya02.botcommands.api.metrics.HandlerType;
 import com.freya02.botcommands.api.prefixed.IHelpCommand;
 import com.freya02.botcommands.api.prefixed.TextCommandFilter;
 import com.freya02.botcommands.api.prefixed.TextFilteringData;
@@ -9,6 +10,8 @@ import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.RunnableEx;
 import com.freya02.botcommands.internal.Usability;
 import com.freya02.botcommands.internal.Usability.UnusableReason;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
+import com.freya02.botcommands.internal.utils.DispatchExecutor;
 import com.freya02.botcommands.internal.utils.Utils;
 import me.xdrop.fuzzywuzzy.FuzzySearch;
 import me.xdrop.fuzzywuzzy.model.ExtractedResult;
@@ -29,11 +32,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
-import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.StringJoiner;
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -53,19 +54,15 @@ public final class CommandListener extends ListenerAdapter {
 	private final TextCommandInfo helpInfo;
 	private final IHelpCommand helpCommand;
 
-	private int commandThreadNumber = 0;
-	private final ExecutorService commandService = Utils.createCommandPool(r -> {
-		final Thread thread = new Thread(r);
-		thread.setDaemon(false);
-		thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in command thread '" + t.getName() + "':", e));
-		thread.setName("Command thread #" + commandThreadNumber++);
+	private final TextCommandTrie commandTrie;
 
-		return thread;
-	});
+	private final DispatchExecutor commandService;
 
 	public CommandListener(BContextImpl context, boolean pingAsPrefix) {
 		this.context = context;
+		this.commandService = context.createExecutor(DispatchPool.TEXT_COMMANDS);
 		this.pingAsPrefix = pingAsPrefix;
+		this.commandTrie = new TextCommandTrie(context.getTextCommandMap());
 
 		final TextCommandInfo helpCommandInfo = context.findFirstCommand(CommandPath.ofName("help"));
 		if (helpCommandInfo == null) {
@@ -83,31 +80,32 @@ public final class CommandListener extends ListenerAdapter {
 
 	@Nullable
 	private String getMsgNoPrefix(String msg, Guild guild) {
-		int prefixLength = -1;
-
-		for (String prefix : getPrefixes(guild)) {
-			if (msg.startsWith(prefix)) {
-				prefixLength = prefix.length();
-				break;
-			}
-		}
-
+		final int prefixLength = context.getPrefixTrie(guild).findPrefixLength(msg);
 		if (prefixLength == -1) return null;
 
 		return msg.substring(prefixLength).trim();
 	}
 
-	private List<String> getPrefixes(Guild guild) {
-		final SettingsProvider settingsProvider = context.getSettingsProvider();
+	/**
+	 * Checks, on the event thread, if the message can be rejected before being handed to the command pool
+	 * <br>This only uses the prefixes if they are already cached, as retrieving them may block
+	 */
+	private boolean isRejectedEarly(String msg, Guild guild) {
+		final PrefixTrie prefixTrie = context.getCachedPrefixTrie(guild);
+		if (prefixTrie == null) return false;
 
-		if (settingsProvider != null) {
-			final List<String> prefixes = settingsProvider.getPrefixes(guild);
-			if (prefixes == null || prefixes.isEmpty()) return context.getPrefixes();
+		final int prefixLength = prefixTrie.findPrefixLength(msg);
+		if (prefixLength == -1) return true;
 
-			return prefixes;
-		} else {
-			return context.getPrefixes();
+		int commandStart = prefixLength;
+		while (commandStart < msg.length() && msg.charAt(commandStart) <= ' ') {
+			commandStart++;
 		}
+
+		if (commandStart == msg.length()) return true;
+
+		//Unknown commands still need to be handled if suggestions are enabled
+		return context.areSuggestionsDisabled() && commandTrie.find(msg, commandStart) == null;
 	}
 
 	@SubscribeEvent
@@ -131,8 +129,14 @@ public final class CommandListener extends ListenerAdapter {
 		}
 
 		final String msg = event.getMessage().getContentRaw();
-		final Consumer<Throwable> throwableConsumer = getThrowableConsumer(event, msg);
+		if (isRejectedEarly(msg, event.getGuild()))
+			return;
+
+		final HandlerTimer timer = HandlerTimer.start(context, HandlerType.TEXT_COMMAND);
+		final Consumer<Throwable> throwableConsumer = timer.wrapThrowableConsumer(getThrowableConsumer(event, msg));
 		runCommand(() -> {
+			timer.onStarted();
+
 			final String msgNoPrefix = getMsgNoPrefix(msg, event.getGuild());
 
 			if (msgNoPrefix == null || msgNoPrefix.isBlank())
@@ -140,24 +144,22 @@ public final class CommandListener extends ListenerAdapter {
 
 			LOGGER.trace("Received prefixed command: {}", msg);
 
-			final String[] split = SPACE_PATTERN.split(msgNoPrefix, 4);
-			final TextCommandCandidates candidates = getCommandCandidates(Arrays.copyOf(split, 3));
+			final TextCommandTrie.Match match = commandTrie.find(msgNoPrefix, 0);
 
 			final boolean isNotOwner = !context.isOwner(member.getIdLong());
-			if (candidates == null) {
+			if (match == null) {
+				final String commandName = SPACE_PATTERN.split(msgNoPrefix, 2)[0];
+
 				// Ignore command if it contains invalid characters
-				if (!Checks.ALPHANUMERIC_WITH_DASH.matcher(split[0]).matches()) {
+				if (!Checks.ALPHANUMERIC_WITH_DASH.matcher(commandName).matches()) {
 					return;
 				}
-				onCommandNotFound(event, CommandPath.of(split[0]), isNotOwner);
+				onCommandNotFound(event, CommandPath.of(commandName), isNotOwner);
 				return;
 			}
 
-			final int count = candidates.findFirst().getPath().getNameCount();
-
-			final String args = Arrays.stream(split)
-					.skip(count) //Skip the number of path components as those are split and unneeded
-					.collect(Collectors.joining(" "));
+			final TextCommandCandidates candidates = match.candidates();
+			final String args = match.getArgs(msgNoPrefix);
 
 			for (TextCommandInfo candidate : candidates) {
 				final Pattern pattern = candidate.getCompletePattern();
@@ -166,11 +168,11 @@ public final class CommandListener extends ListenerAdapter {
 					final Matcher matcher = pattern.matcher(args);
 
 					if (matcher.matches()) {
-						if (tryExecute(event, member, isNotOwner, args, candidate, matcher, throwableConsumer) != CONTINUE)
+						if (tryExecute(event, member, isNotOwner, args, candidate, matcher, throwableConsumer, timer) != CONTINUE)
 							return;
 					}
 				} else { //Fallback, only CommandEvent
-					if (tryExecute(event, member, isNotOwner, args, candidate, null, throwableConsumer) != CONTINUE)
+					if (tryExecute(event, member, isNotOwner, args, candidate, null, throwableConsumer, timer) != CONTINUE)
 						return;
 				}
 			}
@@ -182,7 +184,9 @@ public final class CommandListener extends ListenerAdapter {
 		}, throwableConsumer);
 	}
 
-	private ExecutionResult tryExecute(MessageReceivedEvent event, Member member, boolean isNotOwner, String args, TextCommandInfo candidate, Matcher matcher, Consumer<Throwable> throwableConsumer) throws Exception {
+	private ExecutionResult tryExecute(MessageReceivedEvent event, Member member, boolean isNotOwner, String args, TextCommandInfo candidate, Matcher matcher, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
+		timer.setName(candidate.getPath().getFullPath());
+
 		final TextFilteringData filteringData = new TextFilteringData(context, event, candidate, args);
 		for (TextCommandFilter filter : context.getTextFilters()) {
 			if (!filter.isAccepted(filteringData)) {
@@ -196,6 +200,8 @@ public final class CommandListener extends ListenerAdapter {
 
 		if (usability.isUnusable()) {
 			final var unusableReasons = usability.getUnusableReasons();
+			timer.onUsabilityDenial(unusableReasons);
+
 			if (unusableReasons.contains(UnusableReason.HIDDEN)) {
 				onCommandNotFound(event, candidate.getPath(), true);
 				return STOP;
@@ -233,6 +239,8 @@ public final class CommandListener extends ListenerAdapter {
 		if (isNotOwner) {
 			final long cooldown = candidate.getCooldown(event);
 			if (cooldown > 0) {
+				timer.onCooldownRejection();
+
 				final DefaultMessages messages = this.context.getDefaultMessages(event.getGuild());
 				if (candidate.getCooldownScope() == CooldownScope.USER) {
 					reply(event, messages.getUserCooldownMsg(cooldown / 1000.0));
@@ -247,17 +255,9 @@ public final class CommandListener extends ListenerAdapter {
 			}
 		}
 
-		return candidate.execute(context, event, args, matcher, throwableConsumer);
-	}
-
-	@Nullable
-	private TextCommandCandidates getCommandCandidates(String[] split) {
-		if (split.length == 0) return null; //No command names left, command is not found
-
-		final TextCommandCandidates commands = context.findCommands(CommandPath.of(split));
-		if (commands != null) return commands;
+		timer.onFiltered();
 
-		return getCommandCandidates(Arrays.copyOf(split, split.length - 1));
+		return candidate.execute(context, event, args, matcher, throwableConsumer, timer);
 	}
 
 	private void onCommandNotFound(MessageReceivedEvent event, CommandPath commandName, boolean isNotOwner) {
@@ -298,7 +298,7 @@ public final class CommandListener extends ListenerAdapter {
 	}
 
 	private void runCommand(RunnableEx code, Consumer<Throwable> throwableConsumer) {
-		commandService.execute(() -> {
+		commandService.tryExecute(() -> {
 			try {
 				code.run();
 			} catch (Throwable e) {
@@ -0,0 +1,80 @@
+package com.freya02.botcommands.internal.prefixed;
+
+import gnu.trove.map.TCharObjectMap;
+import gnu.trove.map.hash.TCharObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Compiled set of prefixes, which finds the prefix of a message in a single pass over its first characters
+ * <br>When multiple prefixes match, the one appearing first in the source list wins, as if they were tested in order
+ */
+public final class PrefixTrie {
+	private final List<String> prefixes;
+	private final Node root = new Node();
+
+	public PrefixTrie(@NotNull List<String> prefixes) {
+		this.prefixes = prefixes;
+
+		for (int i = 0, size = prefixes.size(); i < size; i++) {
+			final String prefix = prefixes.get(i);
+
+			Node node = root;
+			for (int j = 0; j < prefix.length(); j++) {
+				node = node.getOrCreateChild(prefix.charAt(j));
+			}
+
+			//Keep the first declaration of a prefix
+			if (node.prefixIndex == -1) {
+				node.prefixIndex = i;
+			}
+		}
+	}
+
+	@NotNull
+	public List<String> getPrefixes() {
+		return prefixes;
+	}
+
+	/**
+	 * Finds the prefix at the start of the message
+	 *
+	 * @param msg The raw message content
+	 * @return The length of the matched prefix, or <code>-1</code> if no prefix matched
+	 */
+	public int findPrefixLength(@NotNull String msg) {
+		int bestIndex = root.prefixIndex;
+		int bestLength = bestIndex == -1 ? -1 : 0;
+
+		Node node = root;
+		for (int i = 0, length = msg.length(); i < length; i++) {
+			node = node.children == null ? null : node.children.get(msg.charAt(i));
+			if (node == null) break;
+
+			if (node.prefixIndex != -1 && (bestIndex == -1 || node.prefixIndex < bestIndex)) {
+				bestIndex = node.prefixIndex;
+				bestLength = i + 1;
+			}
+		}
+
+		return bestLength;
+	}
+
+	private static final class Node {
+		private TCharObjectMap<Node> children;
+		private int prefixIndex = -1;
+
+		private Node getOrCreateChild(char c) {
+			if (children == null) children = new TCharObjectHashMap<>(4);
+
+			Node child = children.get(c);
+			if (child == null) {
+				child = new Node();
+				children.put(c, child);
+			}
+
+			return child;
+		}
+	}
+}
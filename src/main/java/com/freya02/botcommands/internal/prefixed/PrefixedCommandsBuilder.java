@@ -24,13 +24,29 @@ public class PrefixedCommandsBuilder {
 		this.context = context;
 	}
 
-	public void processPrefixedCommand(TextCommand command, Method method) {
+	/**
+	 * Checks the text command and creates its info, this does not register it
+	 * <br>This is thread safe, as long as the command's instance has already been created
+	 */
+	@NotNull
+	public TextCommandInfo analyzePrefixedCommand(TextCommand command, Method method) {
 		try {
 			if (!ReflectionUtils.hasFirstParameter(method, BaseCommandEvent.class)) //Handles CommandEvent (and subtypes) too
 				throw new IllegalArgumentException("Prefixed command at " + Utils.formatMethodShort(method) + " must have a BaseCommandEvent or a CommandEvent as first parameter");
 
-			final TextCommandInfo info = new TextCommandInfo(context, command, method);
+			return new TextCommandInfo(context, command, method);
+		} catch (Exception e) {
+			throw new RuntimeException("An exception occurred while processing prefixed command at " + Utils.formatMethodShort(method), e);
+		}
+	}
+
+	/**
+	 * Registers a text command created by {@link #analyzePrefixedCommand(TextCommand, Method)}
+	 */
+	public void registerPrefixedCommand(TextCommandInfo info) {
+		final Method method = info.getMethod();
 
+		try {
 			context.addTextCommand(info);
 
 			if (info.isRegexCommand()) {
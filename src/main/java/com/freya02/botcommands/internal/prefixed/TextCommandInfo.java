@@ -13,6 +13,7 @@ import com.freya02.botcommands.internal.AbstractCommandInfo;
 import com.freya02.botcommands.internal.BContextImpl;
 import com.freya02.botcommands.internal.MethodParameters;
 import com.freya02.botcommands.internal.NSFWState;
+import com.freya02.botcommands.internal.metrics.HandlerTimer;
 import com.freya02.botcommands.internal.utils.AnnotationUtils;
 import com.freya02.botcommands.internal.utils.ReflectionUtils;
 import com.freya02.botcommands.internal.utils.Utils;
@@ -126,7 +127,7 @@ public final class TextCommandInfo extends AbstractCommandInfo<TextCommand> {
 		return (List<? extends TextCommandParameter>) super.getOptionParameters();
 	}
 
-	public ExecutionResult execute(BContextImpl context, MessageReceivedEvent event, String args, Matcher matcher, Consumer<Throwable> throwableConsumer) throws Exception {
+	public ExecutionResult execute(BContextImpl context, MessageReceivedEvent event, String args, Matcher matcher, Consumer<Throwable> throwableConsumer, HandlerTimer timer) throws Exception {
 		List<Object> objects = new ArrayList<>(parameters.size() + 1) {{
 			if (isRegexCommand()) {
 				add(new BaseCommandEventImpl(context, getMethod(), event, args));
@@ -182,12 +183,16 @@ public final class TextCommandInfo extends AbstractCommandInfo<TextCommand> {
 			}
 		}
 
+		timer.onResolved();
+
 		applyCooldown(event);
 
 		//For some reason using an array list instead of a regular array
 		// magically unboxes primitives when passed to Method#invoke
 		getMethodRunner().invoke(objects.toArray(), throwableConsumer);
 
+		timer.onHandled();
+
 		return OK;
 	}
 
@@ -0,0 +1,140 @@
+package com.freya02.botcommands.internal.prefixed;
+
+import com.freya02.botcommands.api.application.CommandPath;
+import gnu.trove.map.TCharObjectMap;
+import gnu.trove.map.hash.TCharObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Character trie over the full paths (and aliases) of the text commands
+ * <br>This finds the longest command path at the start of a message without splitting it, nor creating {@link CommandPath}s,
+ * and rejects messages which do not start with a command name as soon as they diverge from every command name
+ */
+public final class TextCommandTrie {
+	private static final char SEPARATOR = ' ';
+
+	private final Node root = new Node();
+
+	public TextCommandTrie(@NotNull Map<CommandPath, TextCommandCandidates> commandMap) {
+		for (Map.Entry<CommandPath, TextCommandCandidates> entry : commandMap.entrySet()) {
+			final CommandPath path = entry.getKey();
+
+			Node node = root;
+			for (int i = 0; i < path.getNameCount(); i++) {
+				if (i != 0) node = node.getOrCreateChild(SEPARATOR);
+
+				final String name = path.getNameAt(i);
+				for (int j = 0; j < name.length(); j++) {
+					node = node.getOrCreateChild(name.charAt(j));
+				}
+			}
+
+			node.candidates = entry.getValue();
+		}
+	}
+
+	/**
+	 * Finds the longest command path at the start of the input,
+	 * whitespace runs between the path components are treated as a single separator, as with a <code>\s+</code> split
+	 *
+	 * @param input The input, the command path is expected to start at <code>start</code>
+	 * @param start The index at which the command path begins
+	 * @return The {@link Match} with the command candidates, or <code>null</code> if no command matched
+	 */
+	@Nullable
+	public Match find(@NotNull String input, int start) {
+		final int length = input.length();
+
+		Match match = null;
+		Node node = root;
+		int nameCount = 1;
+		int i = start;
+		while (i < length) {
+			final char c = input.charAt(i);
+
+			if (isSpace(c)) {
+				//End of a path component
+				if (node.candidates != null) {
+					match = new Match(node.candidates, nameCount, i);
+				}
+
+				node = node.getChild(SEPARATOR);
+				if (node == null) return match;
+
+				do {
+					i++;
+				} while (i < length && isSpace(input.charAt(i)));
+
+				nameCount++;
+			} else {
+				node = node.getChild(c);
+				if (node == null) return match;
+
+				i++;
+			}
+		}
+
+		if (node.candidates != null) {
+			match = new Match(node.candidates, nameCount, length);
+		}
+
+		return match;
+	}
+
+	/** Same characters as the regex <code>\s</code> */
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * @param candidates The matched command candidates
+	 * @param nameCount  The number of components in the matched command path
+	 * @param end        The index, in the input, of the end of the command path
+	 */
+	public record Match(@NotNull TextCommandCandidates candidates, int nameCount, int end) {
+		private static final Pattern SPACE_PATTERN = Pattern.compile("\\s+");
+
+		/**
+		 * Returns the arguments following the command path,
+		 * the separators of the first components are normalized to a single space, as if the message was split in 4 and joined back
+		 *
+		 * @param input The input this match comes from, must be trimmed
+		 * @return The arguments string
+		 */
+		@NotNull
+		public String getArgs(@NotNull String input) {
+			if (end == input.length()) return "";
+
+			final String remaining = input.substring(end).stripLeading();
+			if (remaining.isEmpty()) return "";
+
+			return String.join(" ", SPACE_PATTERN.split(remaining, 4 - nameCount));
+		}
+	}
+
+	private static final class Node {
+		private TCharObjectMap<Node> children;
+		private TextCommandCandidates candidates;
+
+		@Nullable
+		private Node getChild(char c) {
+			return children == null ? null : children.get(c);
+		}
+
+		private Node getOrCreateChild(char c) {
+			if (children == null) children = new TCharObjectHashMap<>(4);
+
+			Node child = children.get(c);
+			if (child == null) {
+				child = new Node();
+				children.put(c, child);
+			}
+
+			return child;
+		}
+	}
+}
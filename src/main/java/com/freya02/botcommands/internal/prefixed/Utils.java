@@ -224,8 +224,13 @@ public class Utils {
 				.count() > 1;
 	}
 
-	@NotNull
-	public static <T extends IMentionable> T findEntity(long id, @NotNull Collection<T> collection, Supplier<@NotNull T> valueSupplier) {
+	/**
+	 * Finds the entity in the collection, or gets it from the supplier
+	 *
+	 * @return The entity, or <code>null</code> if the supplier did not find it, such as members who left the guild
+	 */
+	@Nullable
+	public static <T extends IMentionable> T findEntity(long id, @NotNull Collection<T> collection, @NotNull Supplier<@Nullable T> valueSupplier) {
 		for (T user : collection) {
 			if (user.getIdLong() == id) {
 				return user;
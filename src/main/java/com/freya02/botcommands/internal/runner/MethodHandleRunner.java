@@ -0,0 +1,73 @@
+package com.freya02.botcommands.internal.runner;
+
+import com.freya02.botcommands.internal.ConsumerEx;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * {@link MethodRunner} which invokes the target method through a {@link MethodHandle} adapted once, at build time,
+ * to take the instance and the argument array directly.
+ * <br>The adapted handle unboxes (and widens) arguments straight into the primitive parameter slots,
+ * without going through the reflective access checks and argument copies of {@link Method#invoke(Object, Object...)}
+ */
+public class MethodHandleRunner implements MethodRunner {
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup(); //don't use publicLookup
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private final Object instance;
+	private final MethodHandle invoker;
+
+	private MethodHandleRunner(Object instance, MethodHandle invoker) {
+		this.instance = instance;
+		this.invoker = invoker;
+	}
+
+	/**
+	 * Creates a {@link MethodHandleRunner} for the specified method
+	 *
+	 * @param instance The instance on which the method is invoked, ignored for static methods
+	 * @param method   The method to invoke
+	 * @return The method runner
+	 * @throws IllegalAccessException If the method is not accessible from this framework
+	 */
+	@NotNull
+	public static MethodHandleRunner of(Object instance, Method method) throws IllegalAccessException {
+		MethodHandle handle = lookup.unreflect(method).asFixedArity();
+
+		if (Modifier.isStatic(method.getModifiers())) {
+			//Keep the same (instance, args) shape for static methods
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+
+		//(Instance, P1, P2, ...)R -> (Object, Object[])Object
+		final MethodHandle invoker = handle
+				.asSpreader(Object[].class, method.getParameterCount())
+				.asType(INVOKER_TYPE);
+
+		return new MethodHandleRunner(instance, invoker);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> void invoke(@NotNull Object[] args, Consumer<Throwable> throwableConsumer, ConsumerEx<T> successCallback) throws Exception {
+		//Try catching and threading are not needed, this code runs on its own thread already and is wrapped by a throwable try catch
+		final Object returnValue;
+		try {
+			returnValue = (Object) invoker.invokeExact(instance, args);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new RuntimeException(t);
+		}
+
+		if (successCallback != null) {
+			successCallback.accept((T) returnValue);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.freya02.botcommands.internal.runner;
+
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.internal.utils.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+
+/**
+ * Default {@link MethodRunnerFactory}, which creates a direct {@link MethodHandleRunner} for each handler method.
+ * <br>Falls back to a reflective {@link JavaMethodRunner} if the method cannot be looked up.
+ */
+public class MethodHandleRunnerFactory extends MethodRunnerFactory {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	@Override
+	@NotNull
+	public MethodRunner make(Object instance, Method method) {
+		try {
+			return MethodHandleRunner.of(instance, method);
+		} catch (IllegalAccessException e) {
+			LOGGER.debug("Unable to create a method handle for {}, falling back to reflection", Utils.formatMethodShort(method), e);
+
+			return new JavaMethodRunner(instance, method);
+		}
+	}
+
+	@Override
+	public boolean supportsSuspend() {
+		return false;
+	}
+
+	@Override
+	public boolean isSuspend(Method method) {
+		return false;
+	}
+}
@@ -66,7 +66,8 @@ public class AnnotationUtils {
 		return new CooldownStrategy(
 				annotation.cooldown(),
 				annotation.unit(),
-				annotation.cooldownScope()
+				annotation.cooldownScope(),
+				annotation.uses()
 		);
 	}
 
@@ -0,0 +1,237 @@
+package com.freya02.botcommands.internal.utils;
+
+import com.freya02.botcommands.api.DispatchPool;
+import com.freya02.botcommands.api.DispatchPoolMetrics;
+import com.freya02.botcommands.api.Logging;
+import com.freya02.botcommands.api.RejectionPolicy;
+import com.freya02.botcommands.internal.BContextImpl;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor of a {@link DispatchPool}, created by the {@link com.freya02.botcommands.api.ExecutorProvider ExecutorProvider}
+ * <br>Exceptions escaping the tasks are logged and sent to the bot owners, independently of the threads the executor uses.
+ *
+ * <p>The number of pending tasks is bounded, whatever the underlying executor is:
+ * <ul>
+ *     <li>{@link #tryExecute(Runnable)} and {@link #executeInteraction(Interaction, Runnable)} reject the tasks past the limit</li>
+ *     <li>Tasks waiting in a {@link KeyedSerialExecutor} count as pending tasks, but are never rejected, as they have already been accepted</li>
+ *     <li>{@link #execute(Runnable)} never rejects, it is meant for the framework's own continuations</li>
+ * </ul>
+ */
+public final class DispatchExecutor implements Executor, DispatchPoolMetrics {
+	private static final Logger LOGGER = Logging.getLogger();
+
+	/** Interactions must be acknowledged within 3 seconds */
+	private static final long INTERACTION_DEADLINE_MILLIS = 3000;
+	private static final long REJECTION_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final BContextImpl context;
+	private final DispatchPool pool;
+	private final ExecutorService delegate;
+	private final int maxPendingTasks;
+	private final RejectionPolicy rejectionPolicy;
+
+	private final AtomicInteger queuedTasks = new AtomicInteger();
+	private final AtomicInteger activeTasks = new AtomicInteger();
+	private final AtomicInteger serializedTasks = new AtomicInteger();
+	private final LongAdder startedTasks = new LongAdder();
+	private final LongAdder completedTasks = new LongAdder();
+	private final LongAdder rejectedTasks = new LongAdder();
+	private final LongAdder expiredTasks = new LongAdder();
+	private final LongAdder totalWaitTimeNanos = new LongAdder();
+	private final AtomicLong lastRejectionWarn = new AtomicLong(System.nanoTime() - REJECTION_WARN_INTERVAL_NANOS);
+
+	public DispatchExecutor(@NotNull BContextImpl context, @NotNull DispatchPool pool, @NotNull ExecutorService delegate, int maxPendingTasks, @NotNull RejectionPolicy rejectionPolicy) {
+		this.context = context;
+		this.pool = pool;
+		this.delegate = delegate;
+		this.maxPendingTasks = maxPendingTasks;
+		this.rejectionPolicy = rejectionPolicy;
+	}
+
+	/**
+	 * Runs the task, even if too many tasks are pending
+	 */
+	@Override
+	public void execute(@NotNull Runnable command) {
+		queuedTasks.incrementAndGet();
+
+		submit(command);
+	}
+
+	/**
+	 * Runs the task, unless too many tasks are pending
+	 *
+	 * @return <code>true</code> if the task has been accepted
+	 */
+	public boolean tryExecute(@NotNull Runnable command) {
+		return tryExecute(command, true);
+	}
+
+	private boolean tryExecute(Runnable command, boolean countRejection) {
+		if (queuedTasks.incrementAndGet() + activeTasks.get() + serializedTasks.get() > maxPendingTasks) {
+			queuedTasks.decrementAndGet();
+			if (countRejection) onRejected();
+
+			return false;
+		}
+
+		submit(command);
+
+		return true;
+	}
+
+	/**
+	 * Runs the task of an interaction, unless too many tasks are pending
+	 * <br>Rejected interactions are handled according to the {@link RejectionPolicy} of the pool,
+	 * and the tasks which start past the interaction's acknowledgement deadline are dropped, as the interaction cannot be replied to anymore
+	 */
+	public void executeInteraction(@NotNull Interaction interaction, @NotNull Runnable command) {
+		final boolean accepted = tryExecute(() -> {
+			if (dropIfExpired(interaction)) return;
+
+			command.run();
+		}, false);
+
+		if (!accepted) {
+			rejectInteraction(interaction);
+		}
+	}
+
+	/**
+	 * Rejects an interaction which could not be submitted,
+	 * replying with {@link com.freya02.botcommands.api.DefaultMessages#getBusyErrorMsg() DefaultMessages#getBusyErrorMsg()} if the {@link RejectionPolicy} allows it
+	 */
+	public void rejectInteraction(@NotNull Interaction interaction) {
+		onRejected();
+
+		if (rejectionPolicy == RejectionPolicy.REPLY_BUSY && interaction instanceof IReplyCallback callback) {
+			callback.reply(context.getDefaultMessages(interaction).getBusyErrorMsg())
+					.setEphemeral(true)
+					.queue(null, e -> LOGGER.debug("Could not reply with the busy message", e));
+		}
+	}
+
+	/**
+	 * Checks whether the interaction has waited past its acknowledgement deadline, in which case it should not be handled
+	 *
+	 * @return <code>true</code> if the interaction has been dropped
+	 */
+	public boolean dropIfExpired(@NotNull Interaction interaction) {
+		final long age = System.currentTimeMillis() - interaction.getTimeCreated().toInstant().toEpochMilli();
+		if (age > INTERACTION_DEADLINE_MILLIS && !interaction.isAcknowledged()) {
+			expiredTasks.increment();
+			LOGGER.debug("Dropped an interaction of type {} on {}, which waited {} ms", interaction.getType(), pool, age);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private void submit(Runnable command) {
+		final long submitTime = System.nanoTime();
+
+		try {
+			delegate.execute(() -> {
+				queuedTasks.decrementAndGet();
+				activeTasks.incrementAndGet();
+				startedTasks.increment();
+				totalWaitTimeNanos.add(System.nanoTime() - submitTime);
+
+				try {
+					command.run();
+				} catch (Throwable e) {
+					Utils.printExceptionString("An unexpected exception happened in a %s '%s':".formatted(pool.getThreadName().toLowerCase(), Thread.currentThread().getName()), e);
+
+					context.dispatchException("Unexpected exception in thread '" + Thread.currentThread().getName() + "'", e);
+				} finally {
+					activeTasks.decrementAndGet();
+					completedTasks.increment();
+				}
+			});
+		} catch (RuntimeException e) {
+			queuedTasks.decrementAndGet();
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Accounts for the tasks waiting in a {@link KeyedSerialExecutor} of this pool
+	 */
+	void onSerializedTasksChanged(int delta) {
+		serializedTasks.addAndGet(delta);
+	}
+
+	private void onRejected() {
+		rejectedTasks.increment();
+
+		final long now = System.nanoTime();
+		final long lastWarn = lastRejectionWarn.get();
+		if (now - lastWarn > REJECTION_WARN_INTERVAL_NANOS && lastRejectionWarn.compareAndSet(lastWarn, now)) {
+			LOGGER.warn("Rejecting tasks on {} as more than {} tasks are pending, {} tasks have been rejected so far", pool, maxPendingTasks, rejectedTasks.sum());
+		}
+	}
+
+	@Override
+	@NotNull
+	public DispatchPool getPool() {
+		return pool;
+	}
+
+	@Override
+	public int getMaxPendingTasks() {
+		return maxPendingTasks;
+	}
+
+	@Override
+	public int getQueuedTasks() {
+		return queuedTasks.get();
+	}
+
+	@Override
+	public int getSerializedTasks() {
+		return serializedTasks.get();
+	}
+
+	@Override
+	public int getActiveTasks() {
+		return activeTasks.get();
+	}
+
+	@Override
+	public long getCompletedTasks() {
+		return completedTasks.sum();
+	}
+
+	@Override
+	public long getRejectedTasks() {
+		return rejectedTasks.sum();
+	}
+
+	@Override
+	public long getExpiredTasks() {
+		return expiredTasks.sum();
+	}
+
+	@Override
+	public long getTotalWaitTimeNanos() {
+		return totalWaitTimeNanos.sum();
+	}
+
+	@Override
+	public long getStartedTasks() {
+		return startedTasks.sum();
+	}
+}
@@ -0,0 +1,87 @@
+package com.freya02.botcommands.internal.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on a {@link DispatchExecutor}, tasks with the same key run one after the other, in submission order,
+ * while tasks with different keys run in parallel
+ *
+ * <p>A task is complete once the {@link CompletionStage} it returns completes,
+ * so asynchronous continuations of a task also run before the next task of the same key.
+ * <br>The tasks waiting behind another task of the same key are reported by {@link DispatchExecutor#getSerializedTasks()}.
+ */
+public final class KeyedSerialExecutor {
+	private final DispatchExecutor executor;
+	//A key is present while one of its tasks is running, the queue contains its waiting tasks
+	private final Map<Object, Queue<Supplier<? extends CompletionStage<?>>>> waitingTasks = new ConcurrentHashMap<>();
+
+	public KeyedSerialExecutor(@NotNull DispatchExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Runs the task after the previous tasks of the same key have completed
+	 *
+	 * @param key  The key of the task
+	 * @param task The task to run, returning the stage after which the task is considered complete
+	 */
+	public void execute(@NotNull Object key, @NotNull Supplier<? extends CompletionStage<?>> task) {
+		final AtomicBoolean canRun = new AtomicBoolean();
+		waitingTasks.compute(key, (k, queue) -> {
+			if (queue == null) {
+				canRun.set(true);
+
+				return new ArrayDeque<>();
+			}
+
+			queue.add(task);
+			executor.onSerializedTasksChanged(1);
+
+			return queue;
+		});
+
+		if (canRun.get()) {
+			submit(key, task);
+		}
+	}
+
+	private void submit(Object key, Supplier<? extends CompletionStage<?>> task) {
+		executor.execute(() -> {
+			CompletionStage<?> completion = null;
+			try {
+				completion = task.get();
+			} finally {
+				if (completion == null) {
+					runNext(key);
+				} else {
+					completion.whenComplete((r, e) -> runNext(key));
+				}
+			}
+		});
+	}
+
+	private void runNext(Object key) {
+		final AtomicReference<Supplier<? extends CompletionStage<?>>> nextTask = new AtomicReference<>();
+		waitingTasks.compute(key, (k, queue) -> {
+			nextTask.set(queue.poll());
+
+			//Remove the key once it has no task left
+			return nextTask.get() == null ? null : queue;
+		});
+
+		if (nextTask.get() != null) {
+			executor.onSerializedTasksChanged(-1);
+
+			submit(key, nextTask.get());
+		}
+	}
+}
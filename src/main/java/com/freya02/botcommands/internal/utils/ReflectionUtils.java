@@ -6,12 +6,14 @@ import com.freya02.botcommands.api.annotations.Optional;
 import com.freya02.botcommands.api.application.CommandScope;
 import com.freya02.botcommands.api.application.slash.annotations.DoubleRange;
 import com.freya02.botcommands.api.application.slash.annotations.LongRange;
+import com.freya02.botcommands.internal.index.HandlerIndex;
 import io.github.classgraph.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
@@ -22,6 +24,8 @@ public class ReflectionUtils {
 	private static final Logger LOGGER = Logging.getLogger();
 
 	private static final Map<Parameter, Map<Class<?>, Annotation>> paramAnnotationsMap = new HashMap<>();
+	//Parameters with a class-retained @Nullable, found in the handler index
+	private static final Set<Parameter> indexedNullableParameters = new HashSet<>();
 
 	@NotNull
 	public static Set<Class<?>> scanPackagesAndClasses(Set<String> packageNames, Set<Class<?>> manualClasses) {
@@ -58,31 +62,107 @@ public class ReflectionUtils {
 		}
 	}
 
-	private static boolean isInstantiable(ClassInfo classInfo) {
+	/**
+	 * Same as {@link #scanPackagesAndClasses(Set, Set)}, but finds the classes with the {@link HandlerIndex}, falls back to scanning if there is none
+	 */
+	@NotNull
+	public static Set<Class<?>> readIndexedPackagesAndClasses(Set<String> packageNames, Set<Class<?>> manualClasses) throws IOException {
+		final ClassLoader classLoader = ReflectionUtils.class.getClassLoader();
+
+		final HandlerIndex index = HandlerIndex.read(classLoader);
+		if (index == null) {
+			LOGGER.warn("No handler index was found, make sure the annotation processor is enabled, scanning the classpath instead");
+
+			return scanPackagesAndClasses(packageNames, manualClasses);
+		}
+
+		//Kotlin classes are only indexed with kapt, scan the packages which have nothing in the index
+		final Set<String> unindexedPackages = packageNames.stream()
+				.filter(packageName -> index.getClassNames(Set.of(packageName)).isEmpty())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+
+		final Set<Class<?>> classes = new LinkedHashSet<>(manualClasses);
+		for (String className : index.getClassNames(packageNames)) {
+			try {
+				classes.add(Class.forName(className, false, classLoader));
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException("Class '%s' is in the handler index but could not be found, the index may be outdated".formatted(className), e);
+			}
+		}
+
+		if (classes.isEmpty() && unindexedPackages.isEmpty()) {
+			LOGGER.warn("No packages or classes were registered");
+		}
+
+		final Set<Class<?>> instantiableClasses = new LinkedHashSet<>();
+		for (Class<?> clazz : classes) {
+			if (!isInstantiable(clazz)) continue;
+
+			instantiableClasses.add(clazz);
+			readAnnotations(clazz, index);
+		}
+
+		LOGGER.debug("Found {} classes in the handler index", instantiableClasses.size());
+
+		if (!unindexedPackages.isEmpty()) {
+			LOGGER.warn("No classes of the packages {} are in the handler index, scanning them instead, Kotlin handlers need kapt to be indexed", String.join(", ", unindexedPackages));
+
+			instantiableClasses.addAll(scanPackagesAndClasses(unindexedPackages, Set.of()));
+		}
+
+		return Set.copyOf(instantiableClasses);
+	}
+
+	private static boolean isInstantiable(Class<?> clazz) {
 		try {
-			final MethodInfoList methodInfos = classInfo.getDeclaredMethodInfo().filter(m -> m.hasAnnotation(ConditionalUse.class));
-			if (methodInfos.isEmpty())
+			final List<Method> methods = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(ConditionalUse.class)).toList();
+			if (methods.isEmpty())
 				return true;
-			if (methodInfos.size() > 1)
-				throw new IllegalArgumentException("Class %s must have at most one method annotated with @%s".formatted(classInfo.getSimpleName(), ConditionalUse.class.getSimpleName()));
-
-			final MethodInfo methodInfo = methodInfos.get(0);
-			if (!methodInfo.isStatic())
-				throw new IllegalArgumentException("@%s at %s#%s must be static".formatted(ConditionalUse.class.getSimpleName(), classInfo.getSimpleName(), methodInfo.getName()));
-			if (methodInfo.getParameterInfo().length != 0)
-				throw new IllegalArgumentException("@%s at %s#%s must have 0 parameters".formatted(ConditionalUse.class.getSimpleName(), classInfo.getSimpleName(), methodInfo.getName()));
-			if (!(methodInfo.getTypeSignatureOrTypeDescriptor().getResultType() instanceof BaseTypeSignature baseTypeSignature) || baseTypeSignature.getType() != Boolean.TYPE)
-				throw new IllegalArgumentException("@%s at %s#%s must return a boolean".formatted(ConditionalUse.class.getSimpleName(), classInfo.getSimpleName(), methodInfo.getName()));
-
-			final Method method = methodInfo.loadClassAndGetMethod();
+			if (methods.size() > 1)
+				throw new IllegalArgumentException("Class %s must have at most one method annotated with @%s".formatted(clazz.getSimpleName(), ConditionalUse.class.getSimpleName()));
+
+			final Method method = methods.get(0);
+			if (!Modifier.isStatic(method.getModifiers()))
+				throw new IllegalArgumentException("@%s at %s#%s must be static".formatted(ConditionalUse.class.getSimpleName(), clazz.getSimpleName(), method.getName()));
+			if (method.getParameterCount() != 0)
+				throw new IllegalArgumentException("@%s at %s#%s must have 0 parameters".formatted(ConditionalUse.class.getSimpleName(), clazz.getSimpleName(), method.getName()));
+			if (method.getReturnType() != Boolean.TYPE)
+				throw new IllegalArgumentException("@%s at %s#%s must return a boolean".formatted(ConditionalUse.class.getSimpleName(), clazz.getSimpleName(), method.getName()));
+
 			if (!method.canAccess(null))
-				throw new IllegalArgumentException("@%s at %s#%s must be public".formatted(ConditionalUse.class.getSimpleName(), classInfo.getSimpleName(), methodInfo.getName()));
+				throw new IllegalArgumentException("@%s at %s#%s must be public".formatted(ConditionalUse.class.getSimpleName(), clazz.getSimpleName(), method.getName()));
 			return (boolean) method.invoke(null);
 		} catch (IllegalAccessException | InvocationTargetException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	/**
+	 * Reads the parameter annotations with reflection, and the ones which are not retained at runtime with the index
+	 */
+	private static void readAnnotations(Class<?> clazz, HandlerIndex index) {
+		for (Method method : clazz.getDeclaredMethods()) {
+			final Parameter[] parameters = method.getParameters();
+
+			for (Parameter parameter : parameters) {
+				for (Annotation annotation : parameter.getAnnotations()) {
+					paramAnnotationsMap.computeIfAbsent(parameter, x -> new HashMap<>()).put(annotation.annotationType(), annotation);
+				}
+			}
+
+			for (int nullableParameter : index.getNullableParameters(method)) {
+				indexedNullableParameters.add(parameters[nullableParameter]);
+			}
+		}
+	}
+
+	private static boolean isInstantiable(ClassInfo classInfo) {
+		//Only load the classes which may not be instantiable
+		if (!classInfo.hasDeclaredMethodAnnotation(ConditionalUse.class)) return true;
+
+		return isInstantiable(classInfo.loadClass());
+	}
+
 	private static void scanAnnotations(ClassInfoList instantiableClasses) {
 		for (ClassInfo instantiableClass : instantiableClasses) {
 			for (MethodInfo methodInfo : instantiableClass.getDeclaredMethodInfo()) {
@@ -126,6 +206,8 @@ public class ReflectionUtils {
 	}
 
 	public static boolean isOptional(Parameter parameter) {
+		if (indexedNullableParameters.contains(parameter)) return true;
+
 		final Map<Class<?>, Annotation> map = paramAnnotationsMap.get(parameter);
 		if (map == null) return false;
 
@@ -0,0 +1,184 @@
+package com.freya02.botcommands.internal.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel, used by the framework timeouts (event waiters, modals...)
+ * <br>Scheduling and cancelling a timeout are lock-free, and cost the same whatever the number of pending timeouts is;
+ * the counterpart is that timeouts expire with a precision of one tick.
+ *
+ * <p>The tasks run on the wheel thread, they must be short and must not block,
+ * longer work has to be handed to another executor.
+ */
+public final class TimingWheel {
+	private static final TimingWheel SHARED = new TimingWheel("BC timing wheel", 100, TimeUnit.MILLISECONDS, 512);
+
+	private final String threadName;
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+
+	private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger state = new AtomicInteger(0); //0 = not started, 1 = started
+	private final long startTime = System.nanoTime();
+
+	public TimingWheel(@NotNull String threadName, long tickDuration, @NotNull TimeUnit unit, int ticksPerWheel) {
+		if (tickDuration <= 0) throw new IllegalArgumentException("Tick duration must be positive");
+		if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1) throw new IllegalArgumentException("Ticks per wheel must be a power of two");
+
+		this.threadName = threadName;
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.wheel = new Bucket[ticksPerWheel];
+		for (int i = 0; i < ticksPerWheel; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = ticksPerWheel - 1;
+	}
+
+	/**
+	 * Returns the timing wheel shared by all the framework timeouts
+	 *
+	 * @return The shared timing wheel
+	 */
+	@NotNull
+	public static TimingWheel getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Schedules a task to run once the delay has elapsed
+	 *
+	 * @param task  The task to run on the wheel thread, must not block
+	 * @param delay The delay after which the task runs
+	 * @param unit  The unit of the delay
+	 * @return The {@link Timeout} handle, which can be cancelled
+	 */
+	@NotNull
+	public Timeout schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+		start();
+
+		final long deadline = System.nanoTime() + unit.toNanos(Math.max(0, delay)) - startTime;
+		final Timeout timeout = new Timeout(task, deadline);
+		pendingTimeouts.add(timeout);
+
+		return timeout;
+	}
+
+	private void start() {
+		if (state.get() == 0 && state.compareAndSet(0, 1)) {
+			final Thread thread = new Thread(this::run, threadName);
+			thread.setDaemon(true);
+			thread.setUncaughtExceptionHandler((t, e) -> Utils.printExceptionString("An unexpected exception happened in timing wheel thread '" + t.getName() + "':", e));
+			thread.start();
+		}
+	}
+
+	private void run() {
+		//The thread is started lazily, skip the ticks which elapsed before
+		long tick = (System.nanoTime() - startTime) / tickNanos;
+
+		//noinspection InfiniteLoopStatement
+		while (true) {
+			waitForNextTick(tick);
+
+			transferPendingTimeouts(tick);
+			wheel[(int) (tick & mask)].expireTimeouts();
+
+			tick++;
+		}
+	}
+
+	private void waitForNextTick(long tick) {
+		final long deadline = startTime + tickNanos * (tick + 1);
+
+		long sleepNanos;
+		while ((sleepNanos = deadline - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(this, sleepNanos);
+		}
+	}
+
+	private void transferPendingTimeouts(long currentTick) {
+		Timeout timeout;
+		while ((timeout = pendingTimeouts.poll()) != null) {
+			if (timeout.isCancelled()) continue;
+
+			final long expirationTick = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (expirationTick - currentTick) / wheel.length;
+
+			//Timeouts which should already have expired go in the current bucket
+			final long tick = Math.max(expirationTick, currentTick);
+			wheel[(int) (tick & mask)].timeouts.add(timeout);
+		}
+	}
+
+	/** Only accessed by the wheel thread */
+	private static final class Bucket {
+		private final LinkedList<Timeout> timeouts = new LinkedList<>();
+
+		private void expireTimeouts() {
+			for (Iterator<Timeout> iterator = timeouts.iterator(); iterator.hasNext(); ) {
+				final Timeout timeout = iterator.next();
+
+				if (timeout.isCancelled()) {
+					iterator.remove();
+				} else if (timeout.remainingRounds <= 0) {
+					iterator.remove();
+					timeout.expire();
+				} else {
+					timeout.remainingRounds--;
+				}
+			}
+		}
+	}
+
+	public static final class Timeout {
+		private static final int PENDING = 0, CANCELLED = 1, EXPIRED = 2;
+
+		private final Runnable task;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+
+		/** Only accessed by the wheel thread */
+		private long remainingRounds;
+
+		private Timeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels this timeout, the task will not run if it has not run yet
+		 *
+		 * @return <code>true</code> if the timeout was cancelled by this call
+		 */
+		public boolean cancel() {
+			return state.compareAndSet(PENDING, CANCELLED);
+		}
+
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		private void expire() {
+			if (!state.compareAndSet(PENDING, EXPIRED)) return;
+
+			try {
+				task.run();
+			} catch (Throwable e) {
+				Utils.printExceptionString("An exception occurred while running a timeout task", e);
+			}
+		}
+	}
+}
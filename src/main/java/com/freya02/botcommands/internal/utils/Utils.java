@@ -36,9 +36,17 @@ public final class Utils {
 	}
 
 	public static ExecutorService createCommandPool(ThreadFactory factory) {
-		return new ThreadPoolExecutor(4, Runtime.getRuntime().availableProcessors() * 4, //*4 considering there should not be cpu intensive tasks but may be tasks sleeping
+		//*4 considering there should not be cpu intensive tasks but may be tasks sleeping
+		final int maxThreads = Runtime.getRuntime().availableProcessors() * 4;
+
+		//The pool only grows past its core size when the queue is full, which never happens with an unbounded queue
+		// so all the threads are core threads, which can time out instead
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
 				60, TimeUnit.SECONDS,
 				new LinkedBlockingQueue<>(), factory);
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
 	}
 
 	public static void printExceptionString(String message, Throwable e) {
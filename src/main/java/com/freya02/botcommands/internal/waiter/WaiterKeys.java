@@ -0,0 +1,72 @@
+package com.freya02.botcommands.internal.waiter;
+
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.react.GenericMessageReactionEvent;
+
+/**
+ * Extracts the IDs used to index event waiters, an ID of <code>0</code> means the event does not have one
+ */
+public final class WaiterKeys {
+	public static final long NO_KEY = 0;
+
+	private WaiterKeys() {}
+
+	public static boolean hasChannelId(Class<? extends GenericEvent> eventType) {
+		return GenericMessageEvent.class.isAssignableFrom(eventType)
+				|| GenericInteractionCreateEvent.class.isAssignableFrom(eventType);
+	}
+
+	public static boolean hasUserId(Class<? extends GenericEvent> eventType) {
+		return MessageReceivedEvent.class.isAssignableFrom(eventType)
+				|| MessageUpdateEvent.class.isAssignableFrom(eventType)
+				|| GenericMessageReactionEvent.class.isAssignableFrom(eventType)
+				|| GenericInteractionCreateEvent.class.isAssignableFrom(eventType);
+	}
+
+	public static boolean hasMessageId(Class<? extends GenericEvent> eventType) {
+		return GenericMessageEvent.class.isAssignableFrom(eventType)
+				|| GenericComponentInteractionCreateEvent.class.isAssignableFrom(eventType);
+	}
+
+	public static long getChannelId(GenericEvent event) {
+		if (event instanceof GenericMessageEvent e) {
+			return e.getChannel().getIdLong();
+		} else if (event instanceof GenericInteractionCreateEvent e) {
+			final Channel channel = e.getChannel();
+
+			return channel == null ? NO_KEY : channel.getIdLong();
+		}
+
+		return NO_KEY;
+	}
+
+	public static long getUserId(GenericEvent event) {
+		if (event instanceof MessageReceivedEvent e) {
+			return e.getAuthor().getIdLong();
+		} else if (event instanceof MessageUpdateEvent e) {
+			return e.getAuthor().getIdLong();
+		} else if (event instanceof GenericMessageReactionEvent e) {
+			return e.getUserIdLong();
+		} else if (event instanceof GenericInteractionCreateEvent e) {
+			return e.getUser().getIdLong();
+		}
+
+		return NO_KEY;
+	}
+
+	public static long getMessageId(GenericEvent event) {
+		if (event instanceof GenericMessageEvent e) {
+			return e.getMessageIdLong();
+		} else if (event instanceof GenericComponentInteractionCreateEvent e) {
+			return e.getMessageIdLong();
+		}
+
+		return NO_KEY;
+	}
+}
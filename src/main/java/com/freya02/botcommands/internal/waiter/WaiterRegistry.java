@@ -0,0 +1,124 @@
+package com.freya02.botcommands.internal.waiter;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent registry of the pending event waiters
+ * <br>Waiters are grouped by event type, then indexed by the most specific ID they wait for (message, then channel, then user),
+ * so that an incoming event only looks at the waiters which can match its IDs, plus the waiters which are not bound to any ID.
+ */
+public final class WaiterRegistry {
+	private final Map<Class<? extends GenericEvent>, TypeWaiters> waitersByType = new ConcurrentHashMap<>();
+
+	public void add(@NotNull WaitingEvent<?> waitingEvent) {
+		waitersByType.computeIfAbsent(waitingEvent.getEventType(), x -> new TypeWaiters()).add(waitingEvent);
+	}
+
+	public void remove(@NotNull WaitingEvent<?> waitingEvent) {
+		final TypeWaiters typeWaiters = waitersByType.get(waitingEvent.getEventType());
+
+		if (typeWaiters != null) {
+			typeWaiters.remove(waitingEvent);
+		}
+	}
+
+	/**
+	 * Runs the consumer on every waiter which waits for this exact event type and whose IDs correspond to this event
+	 * <br>The preconditions of the waiters are <b>not</b> checked
+	 */
+	public void forEachCandidate(@NotNull GenericEvent event, @NotNull Consumer<WaitingEvent<?>> consumer) {
+		final TypeWaiters typeWaiters = waitersByType.get(event.getClass());
+
+		if (typeWaiters != null) {
+			typeWaiters.forEachCandidate(event, consumer);
+		}
+	}
+
+	private static final class TypeWaiters {
+		private final Set<WaitingEvent<?>> unindexed = ConcurrentHashMap.newKeySet();
+		private final Map<Long, Set<WaitingEvent<?>>> byMessageId = new ConcurrentHashMap<>();
+		private final Map<Long, Set<WaitingEvent<?>>> byChannelId = new ConcurrentHashMap<>();
+		private final Map<Long, Set<WaitingEvent<?>>> byUserId = new ConcurrentHashMap<>();
+
+		private void add(WaitingEvent<?> waitingEvent) {
+			if (waitingEvent.getMessageId() != WaiterKeys.NO_KEY) {
+				addIndexed(byMessageId, waitingEvent.getMessageId(), waitingEvent);
+			} else if (waitingEvent.getChannelId() != WaiterKeys.NO_KEY) {
+				addIndexed(byChannelId, waitingEvent.getChannelId(), waitingEvent);
+			} else if (waitingEvent.getUserId() != WaiterKeys.NO_KEY) {
+				addIndexed(byUserId, waitingEvent.getUserId(), waitingEvent);
+			} else {
+				unindexed.add(waitingEvent);
+			}
+		}
+
+		private void remove(WaitingEvent<?> waitingEvent) {
+			if (waitingEvent.getMessageId() != WaiterKeys.NO_KEY) {
+				removeIndexed(byMessageId, waitingEvent.getMessageId(), waitingEvent);
+			} else if (waitingEvent.getChannelId() != WaiterKeys.NO_KEY) {
+				removeIndexed(byChannelId, waitingEvent.getChannelId(), waitingEvent);
+			} else if (waitingEvent.getUserId() != WaiterKeys.NO_KEY) {
+				removeIndexed(byUserId, waitingEvent.getUserId(), waitingEvent);
+			} else {
+				unindexed.remove(waitingEvent);
+			}
+		}
+
+		private void forEachCandidate(GenericEvent event, Consumer<WaitingEvent<?>> consumer) {
+			for (WaitingEvent<?> waitingEvent : unindexed) {
+				consumer.accept(waitingEvent);
+			}
+
+			//Only extract the IDs when there are waiters indexed by them
+			if (!byMessageId.isEmpty()) {
+				forEachIndexed(byMessageId, WaiterKeys.getMessageId(event), event, consumer);
+			}
+
+			if (!byChannelId.isEmpty()) {
+				forEachIndexed(byChannelId, WaiterKeys.getChannelId(event), event, consumer);
+			}
+
+			if (!byUserId.isEmpty()) {
+				forEachIndexed(byUserId, WaiterKeys.getUserId(event), event, consumer);
+			}
+		}
+
+		private static void forEachIndexed(Map<Long, Set<WaitingEvent<?>>> index, long key, GenericEvent event, Consumer<WaitingEvent<?>> consumer) {
+			if (key == WaiterKeys.NO_KEY) return;
+
+			final Set<WaitingEvent<?>> waitingEvents = index.get(key);
+			if (waitingEvents == null) return;
+
+			for (WaitingEvent<?> waitingEvent : waitingEvents) {
+				//The waiter may be bound to other IDs than the one it is indexed with
+				if (waitingEvent.matchesKeys(event)) {
+					consumer.accept(waitingEvent);
+				}
+			}
+		}
+
+		private static void addIndexed(Map<Long, Set<WaitingEvent<?>>> index, long key, WaitingEvent<?> waitingEvent) {
+			index.compute(key, (k, set) -> {
+				if (set == null) set = ConcurrentHashMap.newKeySet();
+
+				set.add(waitingEvent);
+
+				return set;
+			});
+		}
+
+		private static void removeIndexed(Map<Long, Set<WaitingEvent<?>>> index, long key, WaitingEvent<?> waitingEvent) {
+			index.computeIfPresent(key, (k, set) -> {
+				set.remove(waitingEvent);
+
+				return set.isEmpty() ? null : set;
+			});
+		}
+	}
+}
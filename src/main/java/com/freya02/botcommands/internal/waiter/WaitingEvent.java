@@ -1,6 +1,7 @@
 package com.freya02.botcommands.internal.waiter;
 
 import com.freya02.botcommands.api.waiter.CompletedFutureEvent;
+import com.freya02.botcommands.internal.utils.TimingWheel;
 import net.dv8tion.jda.api.events.GenericEvent;
 
 import java.util.List;
@@ -17,17 +18,23 @@ public class WaitingEvent<T extends GenericEvent> {
 	private final Consumer<T> onSuccess;
 	private final Runnable onTimeout, onCancelled;
 
+	private final long channelId, userId, messageId;
+
 	private final long timeout;
 	private final TimeUnit timeoutUnit;
 	private final CompletableFuture<T> completableFuture = new CompletableFuture<>();
+	private volatile TimingWheel.Timeout timeoutHandle;
 
-	public WaitingEvent(Class<T> eventType, List<Predicate<T>> preconditions, CompletedFutureEvent<T> onComplete, Consumer<T> onSuccess, Runnable onTimeout, Runnable onCancelled, int timeout, TimeUnit timeoutUnit) {
+	public WaitingEvent(Class<T> eventType, List<Predicate<T>> preconditions, CompletedFutureEvent<T> onComplete, Consumer<T> onSuccess, Runnable onTimeout, Runnable onCancelled, long channelId, long userId, long messageId, int timeout, TimeUnit timeoutUnit) {
 		this.eventType = eventType;
 		this.preconditions = preconditions;
 		this.onComplete = onComplete;
 		this.onSuccess = onSuccess;
 		this.onTimeout = onTimeout;
 		this.onCancelled = onCancelled;
+		this.channelId = channelId;
+		this.userId = userId;
+		this.messageId = messageId;
 		this.timeout = timeout;
 		this.timeoutUnit = timeoutUnit;
 	}
@@ -56,6 +63,18 @@ public class WaitingEvent<T extends GenericEvent> {
 		return onComplete;
 	}
 
+	public long getChannelId() {
+		return channelId;
+	}
+
+	public long getUserId() {
+		return userId;
+	}
+
+	public long getMessageId() {
+		return messageId;
+	}
+
 	public long getTimeout() {
 		return timeout;
 	}
@@ -67,4 +86,34 @@ public class WaitingEvent<T extends GenericEvent> {
 	public Runnable getOnCancelled() {
 		return onCancelled;
 	}
+
+	public void setTimeoutHandle(TimingWheel.Timeout timeoutHandle) {
+		this.timeoutHandle = timeoutHandle;
+	}
+
+	public void cancelTimeout() {
+		final TimingWheel.Timeout handle = timeoutHandle;
+		if (handle != null) handle.cancel();
+	}
+
+	/**
+	 * Checks that the IDs this waiter is bound to correspond to the event's
+	 */
+	public boolean matchesKeys(GenericEvent event) {
+		if (messageId != WaiterKeys.NO_KEY && WaiterKeys.getMessageId(event) != messageId) return false;
+		if (channelId != WaiterKeys.NO_KEY && WaiterKeys.getChannelId(event) != channelId) return false;
+
+		return userId == WaiterKeys.NO_KEY || WaiterKeys.getUserId(event) == userId;
+	}
+
+	@SuppressWarnings("unchecked")
+	public boolean testPreconditions(GenericEvent event) {
+		for (Predicate<T> precondition : preconditions) {
+			if (!precondition.test((T) event)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
 }
@@ -1,6 +1,7 @@
 package com.freya02.botcommands.api.runner
 
 import com.freya02.botcommands.internal.runner.KotlinMethodRunner
+import com.freya02.botcommands.internal.runner.MethodHandleRunnerFactory
 import com.freya02.botcommands.internal.runner.MethodRunner
 import com.freya02.botcommands.internal.runner.MethodRunnerFactory
 import kotlinx.coroutines.CoroutineDispatcher
@@ -9,7 +10,12 @@ import java.lang.reflect.Method
 import kotlin.reflect.jvm.kotlinFunction
 
 class KotlinMethodRunnerFactory(private val dispatcher: CoroutineDispatcher, private val scope: CoroutineScope) : MethodRunnerFactory() {
-    override fun make(instance: Any, method: Method): MethodRunner = KotlinMethodRunner(instance, method, scope, dispatcher)
+    private val nonSuspendFactory = MethodHandleRunnerFactory()
+
+    override fun make(instance: Any, method: Method): MethodRunner = when {
+        isSuspend(method) -> KotlinMethodRunner(instance, method, scope, dispatcher)
+        else -> nonSuspendFactory.make(instance, method)
+    }
 
     override fun supportsSuspend(): Boolean = true
 
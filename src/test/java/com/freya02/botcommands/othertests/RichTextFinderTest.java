@@ -0,0 +1,284 @@
+package com.freya02.botcommands.othertests;
+
+import com.freya02.botcommands.api.utils.RichTextFinder;
+import com.freya02.botcommands.api.utils.RichTextType;
+import com.vdurmont.emoji.EmojiParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the single pass {@link RichTextFinder} with the previous regex based implementation
+ */
+public class RichTextFinderTest {
+	private static final List<String> CORPUS = List.of(
+			"",
+			"   ",
+			"plain text",
+			"<@222078059654823936>",
+			"hello <@!222078059654823936> and <@&801161492296499261> in <#722891685755093076>",
+			"<:kekw:801161492296499261> <a:party:801161492296499262>",
+			"<@notanid> <#> <:name:> <a:x> <@&> <",
+			"@here @everyone @hereandthere @ever",
+			"see https://example.com/path?query=1&b=2, and http://test.org.",
+			"https:// http://a https://a.b/c!",
+			":smile: :+1: :thumbsup::skin-tone-3: :notanemoji: ::",
+			"😄 👍🏽 text🎉text",
+			"#⃣ keycaps",
+			"❤️ heart",
+			"mixed <@222078059654823936> :smile: 😄 @here https://example.com end",
+			"<@222078059654823936><@222078059654823936> twice",
+			":smile::smile: 😄😄"
+	);
+
+	/** Custom emoji overlapping an alias with the same name, elsewhere in the input */
+	private static final String SHARED_ALIAS_INPUT = "<:smile:801161492296499261> :smile:";
+	/** Global mention inside a URL, both tokens overlap */
+	private static final String OVERLAPPING_INPUT = "https://example.com/@everyone";
+	/** Variation selectors are removed before tokenizing, the legacy finder looked for the tokens in the original input */
+	private static final String VARIATION_SELECTOR_INPUT = "1\uFE0F\u20E3 keycap";
+
+	private record Token(String substring, RichTextType type) {}
+
+	private static List<Token> tokens(List<RichTextFinder.RichText> results) {
+		return results.stream().map(r -> new Token(r.getSubstring(), r.getType())).toList();
+	}
+
+	private static List<Token> tokens(Iterable<RichTextFinder.RichText> results) {
+		final List<Token> tokens = new ArrayList<>();
+		for (RichTextFinder.RichText result : results) {
+			tokens.add(new Token(result.getSubstring(), result.getType()));
+		}
+
+		return tokens;
+	}
+
+	@Test
+	public void sameAsLegacy() {
+		for (String input : CORPUS) {
+			for (int flags = 0; flags < 16; flags++) {
+				final boolean getIMentionable = (flags & 1) != 0, getGlobalMentions = (flags & 2) != 0, getEmojis = (flags & 4) != 0, getUrls = (flags & 8) != 0;
+
+				final List<Token> expected = new LegacyRichTextFinder(input, getIMentionable, getGlobalMentions, getEmojis, getUrls).getResults();
+				final List<Token> actual = tokens(new RichTextFinder(input, getIMentionable, getGlobalMentions, getEmojis, getUrls).getResults());
+
+				assertEquals(expected, actual, "Input: '%s', flags: %d".formatted(input, flags));
+			}
+		}
+	}
+
+	@Test
+	public void customEmojiOnlyHidesItsOwnAlias() {
+		//The legacy finder dropped every alias with the name of a custom emoji
+		assertEquals(List.of(new Token("<:smile:801161492296499261>", RichTextType.EMOJI), new Token(":smile:", RichTextType.TEXT)),
+				new LegacyRichTextFinder(SHARED_ALIAS_INPUT, true, false, true, false).getResults());
+
+		assertEquals(List.of(new Token("<:smile:801161492296499261>", RichTextType.EMOJI), new Token("😄", RichTextType.UNICODE_EMOTE)),
+				tokens(new RichTextFinder(SHARED_ALIAS_INPUT, true, false, true, false).getResults()));
+	}
+
+	@Test
+	public void unlocatableTokens() {
+		//The legacy finder could not locate the text between overlapping tokens
+		assertThrows(StringIndexOutOfBoundsException.class, () -> new LegacyRichTextFinder(OVERLAPPING_INPUT, false, true, false, true));
+
+		assertEquals(List.of(new Token(OVERLAPPING_INPUT, RichTextType.URL)),
+				tokens(new RichTextFinder(OVERLAPPING_INPUT, false, true, false, true).getResults()));
+
+		assertThrows(StringIndexOutOfBoundsException.class, () -> new LegacyRichTextFinder(VARIATION_SELECTOR_INPUT, false, false, true, false));
+
+		assertEquals(List.of(new Token("1\u20E3", RichTextType.UNICODE_EMOTE), new Token("keycap", RichTextType.TEXT)),
+				tokens(new RichTextFinder(VARIATION_SELECTOR_INPUT, false, false, true, false).getResults()));
+	}
+
+	@Test
+	public void lazyIteration() {
+		final String input = CORPUS.get(14);
+		final List<Token> expected = tokens(new RichTextFinder(input, true, true, true, true).getResults());
+		assertTrue(expected.size() > 4);
+
+		//Iterating lazily gives the same tokens
+		assertEquals(expected, tokens(RichTextFinder.lazy(input, true, true, true, true)));
+
+		//Getting the results in the middle of an iteration
+		final RichTextFinder finder = RichTextFinder.lazy(input, true, true, true, true);
+		final Iterator<RichTextFinder.RichText> iterator = finder.iterator();
+		final List<Token> iterated = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			final RichTextFinder.RichText next = iterator.next();
+			iterated.add(new Token(next.getSubstring(), next.getType()));
+		}
+
+		assertEquals(expected, tokens(finder.getResults()));
+
+		iterator.forEachRemaining(next -> iterated.add(new Token(next.getSubstring(), next.getType())));
+		assertEquals(expected, iterated);
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, iterator::next);
+
+		//Iterating again after all the tokens were found
+		assertEquals(expected, tokens(finder));
+		assertEquals(expected, tokens(finder.getResults()));
+	}
+
+	@Test
+	public void lazyConcurrentIterators() {
+		final String input = CORPUS.get(14);
+		final List<Token> expected = tokens(new RichTextFinder(input, true, true, true, true).getResults());
+
+		//Two iterators interleaved on the same lazy finder see all the tokens once
+		final RichTextFinder finder = RichTextFinder.lazy(input, true, true, true, true);
+		final Iterator<RichTextFinder.RichText> first = finder.iterator(), second = finder.iterator();
+		final List<Token> firstTokens = new ArrayList<>(), secondTokens = new ArrayList<>();
+		while (first.hasNext() || second.hasNext()) {
+			if (first.hasNext()) {
+				final RichTextFinder.RichText next = first.next();
+				firstTokens.add(new Token(next.getSubstring(), next.getType()));
+			}
+
+			if (second.hasNext()) {
+				final RichTextFinder.RichText next = second.next();
+				secondTokens.add(new Token(next.getSubstring(), next.getType()));
+			}
+		}
+
+		assertEquals(expected, firstTokens);
+		assertEquals(expected, secondTokens);
+	}
+
+	/**
+	 * The regex based implementation, before the single pass tokenizer
+	 */
+	private static class LegacyRichTextFinder extends EmojiParser {
+		private static final Pattern urlPattern = Pattern.compile("https?://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]");
+		private static final Pattern EMPTY_PATTERN = Pattern.compile("");
+
+		private final String input;
+		private final Matcher matcher;
+		private final Map<Integer, Token> normalMentionMap = new TreeMap<>();
+		private final Map<Integer, String> addedStrs = new TreeMap<>();
+
+		private LegacyRichTextFinder(String input, boolean getIMentionable, boolean getGlobalMentions, boolean getEmojis, boolean getUrls) {
+			this.input = input.replace("\uFE0F", "");
+			this.matcher = EMPTY_PATTERN.matcher(this.input);
+
+			if (getIMentionable) {
+				findAllMentions(RichTextType.USER, RichTextType.USER.getPattern());
+				findAllMentions(RichTextType.CHANNEL, RichTextType.CHANNEL.getPattern());
+				findAllMentions(RichTextType.EMOJI, RichTextType.EMOJI.getPattern());
+				findAllMentions(RichTextType.ROLE, RichTextType.ROLE.getPattern());
+			}
+
+			if (getGlobalMentions) {
+				findAllMentions(RichTextType.HERE, RichTextType.HERE.getPattern());
+				findAllMentions(RichTextType.EVERYONE, RichTextType.EVERYONE.getPattern());
+			}
+
+			if (getEmojis) {
+				resolveEmojis();
+			}
+
+			if (getUrls) {
+				findAllMentions(RichTextType.URL, urlPattern);
+			}
+
+			if (!addedStrs.isEmpty()) {
+				Iterator<String> it = addedStrs.values().iterator();
+				String next = it.next();
+				int startIndex = 0;
+				int endIndex = input.indexOf(next, startIndex);
+				final String startSubstring = this.input.substring(startIndex, endIndex).trim();
+				if (!startSubstring.isEmpty()) {
+					normalMentionMap.put(startIndex, new Token(startSubstring, RichTextType.TEXT));
+				}
+
+				while (it.hasNext()) {
+					startIndex = endIndex + next.length();
+
+					next = it.next();
+					endIndex = input.indexOf(next, startIndex);
+
+					final String middleSubstring = this.input.substring(startIndex, endIndex).trim();
+					if (!middleSubstring.isEmpty()) {
+						normalMentionMap.put(startIndex, new Token(middleSubstring, RichTextType.TEXT));
+					}
+				}
+
+				startIndex = endIndex + next.length();
+				final String endSubstring = this.input.substring(startIndex).trim();
+				if (!endSubstring.isEmpty()) {
+					normalMentionMap.put(startIndex, new Token(endSubstring, RichTextType.TEXT));
+				}
+
+				addedStrs.clear();
+			} else {
+				normalMentionMap.put(0, new Token(this.input, RichTextType.TEXT));
+			}
+		}
+
+		private List<Token> getResults() {
+			return List.copyOf(normalMentionMap.values());
+		}
+
+		private void resolveEmojis() {
+			final int inputLength = input.length();
+			for (int last = 0; last < inputLength; last++) {
+				AliasCandidate alias = getAliasAt(input, last);
+
+				if (alias != null) {
+					last = alias.endIndex;
+
+					final String substring;
+					if (alias.fitzpatrick != null) {
+						substring = alias.emoji.getUnicode() + alias.fitzpatrick.unicode;
+					} else {
+						substring = alias.emoji.getUnicode();
+					}
+
+					final int beginIndex = last;
+
+					final boolean isInsideCustomEmote = normalMentionMap.values().stream().filter(r -> r.type() == RichTextType.EMOJI).anyMatch(r -> {
+						for (String aliasItem : alias.emoji.getAliases()) {
+							if (r.substring().startsWith(':' + aliasItem + ':', 1)) {
+								return true;
+							}
+						}
+
+						return false;
+					});
+
+					if (!isInsideCustomEmote) {
+						normalMentionMap.put(beginIndex, new Token(substring, RichTextType.UNICODE_EMOTE));
+						addedStrs.put(beginIndex, input.substring(alias.startIndex, alias.endIndex + 1));
+					}
+				}
+			}
+
+			char[] inputCharArray = input.toCharArray();
+			UnicodeCandidate next;
+			for (int i = 0; (next = getNextUnicodeCandidate(inputCharArray, i)) != null; i = next.getFitzpatrickEndIndex()) {
+				if (next.hasFitzpatrick()) {
+					normalMentionMap.put(next.getEmojiStartIndex(), new Token(next.getEmoji().getUnicode(next.getFitzpatrick()), RichTextType.UNICODE_EMOTE));
+					addedStrs.put(next.getEmojiStartIndex(), next.getEmoji().getUnicode(next.getFitzpatrick()));
+				} else {
+					normalMentionMap.put(next.getEmojiStartIndex(), new Token(next.getEmoji().getUnicode(), RichTextType.UNICODE_EMOTE));
+					addedStrs.put(next.getEmojiStartIndex(), next.getEmoji().getUnicode());
+				}
+			}
+		}
+
+		private void findAllMentions(RichTextType type, Pattern pattern) {
+			matcher.usePattern(pattern);
+			matcher.reset();
+			while (matcher.find()) {
+				final String group = matcher.group();
+				normalMentionMap.put(matcher.start(), new Token(group, type));
+				addedStrs.put(matcher.start(), group);
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.freya02.botcommands.othertests;
+
+import com.freya02.botcommands.api.components.ComponentType;
+import com.freya02.botcommands.api.components.InteractionConstraints;
+import com.freya02.botcommands.internal.components.memory.MemoryComponentData;
+import com.freya02.botcommands.internal.components.signed.SignedComponentCodec;
+import net.dv8tion.jda.api.Permission;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignedComponentCodecTest {
+	private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] OTHER_KEY = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8);
+
+	private final SignedComponentCodec codec = new SignedComponentCodec(KEY);
+
+	private String encodeSample() {
+		final InteractionConstraints constraints = InteractionConstraints.ofUserIds(222078059654823936L)
+				.addRoleIds(801161492296499261L)
+				.addPermissions(Permission.MANAGE_SERVER);
+
+		final String id = codec.encode(ComponentType.PERSISTENT_BUTTON, 1_700_000_000_500L, constraints, "vote", new String[]{"42", "yes"});
+		assertNotNull(id);
+
+		return id;
+	}
+
+	@Test
+	public void roundTrip() {
+		final String id = encodeSample();
+		assertTrue(SignedComponentCodec.isSigned(id));
+		assertTrue(id.length() <= 100);
+
+		final MemoryComponentData data = codec.decode(id);
+		assertNotNull(data);
+
+		assertEquals(id, data.getComponentId());
+		assertEquals(ComponentType.PERSISTENT_BUTTON, data.getType());
+		//Rounded up to the next second
+		assertEquals(1_700_000_001_000L, data.getExpirationTimestamp());
+		assertEquals("vote", data.getHandlerName());
+		assertArrayEquals(new String[]{"42", "yes"}, data.getArgs());
+
+		final InteractionConstraints constraints = data.getInteractionConstraints();
+		assertArrayEquals(new long[]{222078059654823936L}, constraints.getUserList().toArray());
+		assertArrayEquals(new long[]{801161492296499261L}, constraints.getRoleList().toArray());
+		assertEquals(EnumSet.of(Permission.MANAGE_SERVER), constraints.getPermissions());
+	}
+
+	@Test
+	public void roundTripWithoutExpiration() {
+		final String id = codec.encode(ComponentType.PERSISTENT_SELECTION_MENU, 0, InteractionConstraints.empty(), "select", new String[0]);
+		assertNotNull(id);
+
+		final MemoryComponentData data = codec.decode(id);
+		assertNotNull(data);
+
+		assertEquals(ComponentType.PERSISTENT_SELECTION_MENU, data.getType());
+		assertEquals(0, data.getExpirationTimestamp());
+		assertEquals(0, data.getArgs().length);
+	}
+
+	@Test
+	public void tamperedPayload() {
+		final String id = encodeSample();
+
+		//Change each payload character, none of them must be accepted
+		final int separatorIndex = id.indexOf('.');
+		for (int i = 1; i < separatorIndex; i++) {
+			final char replacement = id.charAt(i) == 'A' ? 'B' : 'A';
+			final String tamperedId = id.substring(0, i) + replacement + id.substring(i + 1);
+
+			assertNull(codec.decode(tamperedId), "Tampered ID was accepted: " + tamperedId);
+		}
+	}
+
+	@Test
+	public void tamperedSignature() {
+		final String id = encodeSample();
+
+		final int lastIndex = id.length() - 1;
+		final char replacement = id.charAt(lastIndex) == 'A' ? 'B' : 'A';
+		assertNull(codec.decode(id.substring(0, lastIndex) + replacement));
+
+		//Truncated signature
+		assertNull(codec.decode(id.substring(0, lastIndex)));
+		//Missing signature
+		assertNull(codec.decode(id.substring(0, id.indexOf('.'))));
+	}
+
+	@Test
+	public void otherKey() {
+		assertNull(new SignedComponentCodec(OTHER_KEY).decode(encodeSample()));
+	}
+
+	@Test
+	public void unsignedIds() {
+		assertNull(codec.decode(""));
+		assertNull(codec.decode("not a signed id"));
+		assertNull(codec.decode("~"));
+		assertNull(codec.decode("~."));
+		assertNull(codec.decode("~!!!.???"));
+	}
+
+	@Test
+	public void tooLong() {
+		assertNull(codec.encode(ComponentType.PERSISTENT_BUTTON, 0, InteractionConstraints.empty(), "handler", new String[]{"x".repeat(100)}));
+	}
+}